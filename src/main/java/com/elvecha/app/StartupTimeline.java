@@ -0,0 +1,85 @@
+package com.elvecha.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records how long each startup phase took, measured from {@link #start()}. The timeline
+ * is printed when the {@code elvecha.startup.log} system property is true.
+ */
+public class StartupTimeline {
+    private static final StartupTimeline SHARED = new StartupTimeline();
+
+    private final List<Phase> phases = new ArrayList<>();
+    private long startNanos = System.nanoTime();
+    private long lastNanos = startNanos;
+
+    public static StartupTimeline shared() {
+        return SHARED;
+    }
+
+    public synchronized void start() {
+        phases.clear();
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+    }
+
+    /**
+     * Ends the phase that began at the previous mark (or at the start).
+     */
+    public synchronized void mark(String name) {
+        long now = System.nanoTime();
+        phases.add(new Phase(name, (now - lastNanos) / 1_000_000, (now - startNanos) / 1_000_000));
+        lastNanos = now;
+    }
+
+    public synchronized List<Phase> getPhases() {
+        return Collections.unmodifiableList(new ArrayList<>(phases));
+    }
+
+    public synchronized String format() {
+        StringBuilder out = new StringBuilder("Waktu startup:");
+        for (Phase phase : phases) {
+            out.append(String.format("%n  %-20s %6d ms (total %6d ms)",
+                phase.getName(), phase.getMillis(), phase.getElapsedMillis()));
+        }
+        return out.toString();
+    }
+
+    public void print() {
+        if (Boolean.getBoolean("elvecha.startup.log")) {
+            System.out.println(format());
+        }
+    }
+
+    public static final class Phase {
+        private final String name;
+        private final long millis;
+        private final long elapsedMillis;
+
+        Phase(String name, long millis, long elapsedMillis) {
+            this.name = name;
+            this.millis = millis;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return duration of this phase
+         */
+        public long getMillis() {
+            return millis;
+        }
+
+        /**
+         * @return time from the start to the end of this phase
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.elvecha.app;
 
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.storage.AutosaveService;
 import com.elvecha.ui.MainFrame;
+import com.elvecha.util.DummyDataGenerator;
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 public class WeddingOrganizerApp {
     
     public static void main(String[] args) {
+        StartupTimeline timeline = StartupTimeline.shared();
+        timeline.start();
+
         // Set the look and feel to system default
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -24,65 +33,72 @@ public class WeddingOrganizerApp {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        timeline.mark("look and feel");
 
-        // Create and show the application window
+        // Show the splash first, then build the window in a later event so the splash
+        // gets painted while the window is created
+        JWindow[] splash = new JWindow[1];
         SwingUtilities.invokeLater(() -> {
-            try {
-                // Create splash screen
-                JWindow splash = createSplashScreen();
-                splash.setVisible(true);
+            splash[0] = createSplashScreen();
+            splash[0].setVisible(true);
+            timeline.mark("splash");
+        });
 
-                // Simulate loading time
-                Thread.sleep(2000);
+        // The last session's autosave is read here, off the EDT, while the splash shows
+        WorkspaceSnapshot restored = AutosaveService.restore(AutosaveService.defaultWorkspacePath());
+        timeline.mark("workspace");
+        SwingUtilities.invokeLater(() -> showMainFrame(splash[0], restored, timeline));
+    }
 
-                // Create and show main frame
-                MainFrame mainFrame = new MainFrame();
+    private static void showMainFrame(JWindow splash, WorkspaceSnapshot restored, StartupTimeline timeline) {
+        try {
+            // Create and show main frame
+            MainFrame mainFrame = new MainFrame(restored);
+            splash.dispose();
+            timeline.mark("jendela utama");
+            SwingUtilities.invokeLater(() -> {
+                // Runs after the window's first paint events
+                timeline.mark("siap");
+                timeline.print();
+            });
+            
+            // Ask to load sample data, unless the previous session's work was restored
+            int option = restored != null ? JOptionPane.NO_OPTION : JOptionPane.showConfirmDialog(mainFrame,
+                "Apakah Anda ingin memuat data contoh untuk demonstrasi?",
+                "Muat Data Contoh",
+                JOptionPane.YES_NO_OPTION);
                 
-                // Ask to load sample data
-                int option = JOptionPane.showConfirmDialog(mainFrame,
-                    "Apakah Anda ingin memuat data contoh untuk demonstrasi?",
-                    "Muat Data Contoh",
-                    JOptionPane.YES_NO_OPTION);
+            if (option == JOptionPane.YES_OPTION) {
+                try {
+                    // Generate sample data
+                    List<Criteria> criteriaList = DummyDataGenerator.generateSampleCriteria();
+                    List<Alternative> alternativeList = DummyDataGenerator.generateSampleAlternatives();
+                    
+                    // Every panel follows the shared workspace
+                    mainFrame.getWorkspace().load(criteriaList, alternativeList);
                     
-                if (option == JOptionPane.YES_OPTION) {
-                    try {
-                        // Generate sample data
-                        List<Criteria> criteriaList = DummyDataGenerator.generateSampleCriteria();
-                        List<Alternative> alternativeList = DummyDataGenerator.generateSampleAlternatives();
-                        
-                        // Update all panels with sample data
-                        mainFrame.getCriteriaPanel().setCriteriaList(criteriaList);
-                        mainFrame.getAlternativePanel().setCriteriaList(criteriaList);
-                        mainFrame.getAlternativePanel().setAlternativeList(alternativeList);
-                        mainFrame.getEvaluationPanel().setData(alternativeList, criteriaList);
-                        mainFrame.getResultPanel().setData(alternativeList, criteriaList);
-                        
-                        JOptionPane.showMessageDialog(mainFrame,
-                            "Data contoh berhasil dimuat!",
-                            "Sukses",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(mainFrame,
-                            "Gagal memuat data contoh: " + e.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                    }
+                    JOptionPane.showMessageDialog(mainFrame,
+                        "Data contoh berhasil dimuat!",
+                        "Sukses",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(mainFrame,
+                        "Gagal memuat data contoh: " + e.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
                 }
+            }
 
-                mainFrame.setVisible(true);
-                
-                // Dispose splash screen
-                splash.dispose();
+            mainFrame.setVisible(true);
 
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(null,
-                    "Terjadi kesalahan saat menjalankan aplikasi: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-                System.exit(1);
-            }
-        });
+        } catch (Exception e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null,
+                "Terjadi kesalahan saat menjalankan aplikasi: " + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
     }
 
     private static JWindow createSplashScreen() {
@@ -1,17 +1,23 @@
 package com.elvecha.model;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class Alternative {
+    private static final int[] NO_IDS = new int[0];
+    private static final double[] NO_VALUES = new double[0];
+
     private String name;
-    private Map<String, Double> criteriaValues;
+    // Criterion ids from StringTable.shared(), sorted; NaN stands for a null value
+    private int[] criteriaIds = NO_IDS;
+    private double[] values = NO_VALUES;
+    private int valueCount;
     private double finalScore;
 
     public Alternative(String name) {
         validateName(name);
         this.name = name.trim();
-        this.criteriaValues = new HashMap<>();
         this.finalScore = 0.0;
     }
 
@@ -26,18 +32,57 @@ public class Alternative {
 
     public Map<String, Double> getCriteriaValues() {
         // Return a copy to prevent external modification
-        return new HashMap<>(criteriaValues);
+        StringTable names = StringTable.shared();
+        Map<String, Double> copy = new HashMap<>();
+        for (int i = 0; i < valueCount; i++) {
+            copy.put(names.get(criteriaIds[i]), boxed(values[i]));
+        }
+        return copy;
     }
 
     public void setCriteriaValue(String criteriaName, Double value) {
         validateCriteriaName(criteriaName);
         // Allow null values for criteria (represents unset values)
-        criteriaValues.put(criteriaName.trim(), value);
+        setCriteriaValue(StringTable.shared().intern(criteriaName.trim()), value != null ? value : Double.NaN);
     }
 
     public Double getCriteriaValue(String criteriaName) {
         validateCriteriaName(criteriaName);
-        return criteriaValues.get(criteriaName.trim());
+        int criteriaId = StringTable.shared().find(criteriaName.trim());
+        if (criteriaId < 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(criteriaIds, 0, valueCount, criteriaId);
+        return index >= 0 ? boxed(values[index]) : null;
+    }
+
+    /**
+     * Value lookup by criterion id (see {@link StringTable#shared()}) without boxing.
+     *
+     * @return the value, or {@code Double.NaN} when it is unset
+     */
+    public double getCriteriaValue(int criteriaId) {
+        int index = Arrays.binarySearch(criteriaIds, 0, valueCount, criteriaId);
+        return index >= 0 ? values[index] : Double.NaN;
+    }
+
+    public void setCriteriaValue(int criteriaId, double value) {
+        int index = Arrays.binarySearch(criteriaIds, 0, valueCount, criteriaId);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        index = -index - 1;
+        if (valueCount == criteriaIds.length) {
+            int capacity = Math.max(4, valueCount * 2);
+            criteriaIds = Arrays.copyOf(criteriaIds, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(criteriaIds, index, criteriaIds, index + 1, valueCount - index);
+        System.arraycopy(values, index, values, index + 1, valueCount - index);
+        criteriaIds[index] = criteriaId;
+        values[index] = value;
+        valueCount++;
     }
 
     public double getFinalScore() {
@@ -48,6 +93,10 @@ public class Alternative {
         this.finalScore = finalScore;
     }
 
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
     private void validateName(String name) {
         if (name == null) {
             throw new IllegalArgumentException("Nama alternatif tidak boleh null");
@@ -70,7 +119,7 @@ public class Alternative {
     public String toString() {
         return "Alternative{" +
                 "name='" + name + '\'' +
-                ", criteriaValues=" + criteriaValues +
+                ", criteriaValues=" + getCriteriaValues() +
                 ", finalScore=" + finalScore +
                 '}';
     }
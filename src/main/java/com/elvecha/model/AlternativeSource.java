@@ -0,0 +1,74 @@
+package com.elvecha.model;
+
+import java.util.Arrays;
+
+/**
+ * Read access to alternatives by row, so callers can pull rows on demand instead of
+ * requiring the whole workspace as a {@code List<Alternative>}.
+ */
+public interface AlternativeSource {
+
+    int getAlternativeCount();
+
+    int getCriteriaCount();
+
+    String getCriteriaName(int column);
+
+    String getAlternativeName(int row);
+
+    /**
+     * @return the value, or {@code Double.NaN} when it has not been set
+     */
+    double getValue(int row, int column);
+
+    /**
+     * Copies all criterion values of one row into {@code target}. Sources that store rows
+     * contiguously override this to avoid one lookup per column.
+     */
+    default void getValues(int row, double[] target) {
+        for (int j = 0; j < getCriteriaCount(); j++) {
+            target[j] = getValue(row, j);
+        }
+    }
+
+    /**
+     * @return the column of the named criterion, or -1 if the source does not have it
+     */
+    default int findCriteriaColumn(String criteriaName) {
+        for (int j = 0; j < getCriteriaCount(); j++) {
+            if (getCriteriaName(j).equals(criteriaName)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Constraint filter on one criterion (inclusive bounds); unset values never match.
+     * Sources with per-block statistics override this to skip blocks.
+     *
+     * @return matching row ids in ascending order
+     */
+    default int[] findRowsInRange(int column, double min, double max) {
+        int[] matches = new int[getAlternativeCount()];
+        int count = 0;
+        for (int i = 0; i < matches.length; i++) {
+            double value = getValue(i, column);
+            if (value >= min && value <= max) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    default Alternative getAlternative(int row) {
+        Alternative alternative = new Alternative(getAlternativeName(row));
+        for (int j = 0; j < getCriteriaCount(); j++) {
+            double value = getValue(row, j);
+            if (!Double.isNaN(value)) {
+                alternative.setCriteriaValue(getCriteriaName(j), value);
+            }
+        }
+        return alternative;
+    }
+}
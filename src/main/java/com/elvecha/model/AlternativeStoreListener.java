@@ -0,0 +1,28 @@
+package com.elvecha.model;
+
+/**
+ * Change notifications from a {@link ColumnarAlternativeStore}. Row and column indexes
+ * are store coordinates; ranges are inclusive.
+ */
+public interface AlternativeStoreListener {
+
+    void rowsInserted(int firstRow, int lastRow);
+
+    void rowsDeleted(int firstRow, int lastRow);
+
+    /**
+     * @param column the changed criterion column, or -1 when the name changed
+     */
+    void cellUpdated(int row, int column);
+
+    /**
+     * Values in several criterion columns of rows {@code firstRow..lastRow} changed in
+     * one batch; rows in between may be unchanged.
+     */
+    void rowsUpdated(int firstRow, int lastRow);
+
+    /**
+     * Columns were added, removed or reordered; every cached row and column is invalid.
+     */
+    void structureChanged();
+}
@@ -0,0 +1,20 @@
+package com.elvecha.model;
+
+/**
+ * Column bounds that a source can answer from precomputed statistics instead of a scan.
+ * Only set values are counted; unset values are left out of the bounds.
+ */
+public interface ColumnStatistics {
+
+    /**
+     * @return the smallest set value, or {@code Double.POSITIVE_INFINITY} if none is set
+     */
+    double getColumnMin(int column);
+
+    /**
+     * @return the largest set value, or {@code Double.NEGATIVE_INFINITY} if none is set
+     */
+    double getColumnMax(int column);
+
+    int getValueCount(int column);
+}
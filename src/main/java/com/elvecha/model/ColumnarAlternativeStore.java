@@ -0,0 +1,339 @@
+package com.elvecha.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Editable in-memory alternatives kept column by column: one primitive array per
+ * criterion and one array of name ids into a {@link StringTable}. Nothing is boxed per
+ * row, so a million rows cost a few arrays rather than a million objects.
+ *
+ * <p>Every change is reported to the registered {@link AlternativeStoreListener}s with
+ * the exact rows and cells it touched. Not thread-safe: edit on the Event Dispatch
+ * Thread and hand background work a {@link WorkspaceSnapshot}.
+ */
+public class ColumnarAlternativeStore implements AlternativeSource {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private StringTable names = new StringTable();
+    private final List<AlternativeStoreListener> listeners = new CopyOnWriteArrayList<>();
+    private String[] criteriaNames;
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    // columns[criteria][row], NaN marks an unset value
+    private double[][] columns;
+    private int rowCount;
+
+    public ColumnarAlternativeStore(List<String> criteriaNames) {
+        this.criteriaNames = criteriaNames.toArray(new String[0]);
+        this.columns = new double[this.criteriaNames.length][INITIAL_CAPACITY];
+    }
+
+    public static ColumnarAlternativeStore of(List<Criteria> criteria, List<Alternative> alternatives) {
+        List<String> criteriaNames = new ArrayList<>(criteria.size());
+        for (Criteria crit : criteria) {
+            criteriaNames.add(crit.getName());
+        }
+        ColumnarAlternativeStore store = new ColumnarAlternativeStore(criteriaNames);
+        store.ensureCapacity(alternatives.size());
+        for (Alternative alternative : alternatives) {
+            store.append(alternative);
+        }
+        return store;
+    }
+
+    public void addListener(AlternativeStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AlternativeStoreListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public int getAlternativeCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getCriteriaCount() {
+        return criteriaNames.length;
+    }
+
+    @Override
+    public String getCriteriaName(int column) {
+        return criteriaNames[column];
+    }
+
+    @Override
+    public String getAlternativeName(int row) {
+        checkRow(row);
+        return names.get(nameIds[row]);
+    }
+
+    @Override
+    public double getValue(int row, int column) {
+        checkRow(row);
+        return columns[column][row];
+    }
+
+    @Override
+    public void getValues(int row, double[] target) {
+        checkRow(row);
+        for (int j = 0; j < columns.length; j++) {
+            target[j] = columns[j][row];
+        }
+    }
+
+    /**
+     * @return a copy of one criterion's values, one per row, NaN where unset
+     */
+    public double[] copyColumn(int column) {
+        return Arrays.copyOf(columns[column], rowCount);
+    }
+
+    /**
+     * @return a copy of the alternative names, one per row
+     */
+    public String[] copyNames() {
+        return names.getAll(nameIds, rowCount);
+    }
+
+    /**
+     * Appends an alternative, taking the values of the store's criteria by name.
+     *
+     * @return the new row
+     */
+    public int addAlternative(Alternative alternative) {
+        int row = append(alternative);
+        fireRowsInserted(row, row);
+        return row;
+    }
+
+    /**
+     * @param values one value per criterion column, NaN for unset
+     * @return the new row
+     */
+    public int addRow(String name, double[] values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Jumlah nilai tidak sesuai dengan jumlah kriteria");
+        }
+        ensureCapacity(rowCount + 1);
+        int row = rowCount++;
+        nameIds[row] = names.intern(name);
+        for (int j = 0; j < columns.length; j++) {
+            columns[j][row] = values[j];
+        }
+        fireRowsInserted(row, row);
+        return row;
+    }
+
+    /**
+     * Appends many rows at once, announced as a single insert.
+     *
+     * @param values one array per criterion column, each with a value per name, NaN for unset
+     * @return the first new row
+     */
+    public int addRows(String[] rowNames, double[][] values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Jumlah nilai tidak sesuai dengan jumlah kriteria");
+        }
+        ensureCapacity(rowCount + rowNames.length);
+        int first = rowCount;
+        for (int i = 0; i < rowNames.length; i++) {
+            nameIds[first + i] = names.intern(rowNames[i]);
+        }
+        for (int j = 0; j < columns.length; j++) {
+            System.arraycopy(values[j], 0, columns[j], first, rowNames.length);
+        }
+        rowCount += rowNames.length;
+        if (rowNames.length > 0) {
+            fireRowsInserted(first, rowCount - 1);
+        }
+        return first;
+    }
+
+    public void removeRow(int row) {
+        checkRow(row);
+        int tail = rowCount - row - 1;
+        System.arraycopy(nameIds, row + 1, nameIds, row, tail);
+        for (double[] column : columns) {
+            System.arraycopy(column, row + 1, column, row, tail);
+        }
+        rowCount--;
+        fireRowsDeleted(row, row);
+    }
+
+    public void setValue(int row, int column, double value) {
+        checkRow(row);
+        double previous = columns[column][row];
+        if (Double.doubleToLongBits(previous) == Double.doubleToLongBits(value)) {
+            return;
+        }
+        columns[column][row] = value;
+        for (AlternativeStoreListener listener : listeners) {
+            listener.cellUpdated(row, column);
+        }
+    }
+
+    /**
+     * Writes a block of values, announced as one {@link AlternativeStoreListener#rowsUpdated}
+     * spanning the rows that actually changed.
+     *
+     * @param values one array per entry of {@code targetColumns}, each with a value per
+     *               entry of {@code targetRows}
+     * @return the number of cells whose value changed
+     */
+    public int setValues(int[] targetRows, int[] targetColumns, double[][] values) {
+        for (int row : targetRows) {
+            checkRow(row);
+        }
+        int changed = 0;
+        int firstRow = Integer.MAX_VALUE;
+        int lastRow = -1;
+        for (int k = 0; k < targetColumns.length; k++) {
+            double[] column = columns[targetColumns[k]];
+            for (int i = 0; i < targetRows.length; i++) {
+                int row = targetRows[i];
+                double value = values[k][i];
+                if (Double.doubleToLongBits(column[row]) != Double.doubleToLongBits(value)) {
+                    column[row] = value;
+                    changed++;
+                    firstRow = Math.min(firstRow, row);
+                    lastRow = Math.max(lastRow, row);
+                }
+            }
+        }
+        if (changed > 0) {
+            for (AlternativeStoreListener listener : listeners) {
+                listener.rowsUpdated(firstRow, lastRow);
+            }
+        }
+        return changed;
+    }
+
+    public void setAlternativeName(int row, String name) {
+        checkRow(row);
+        nameIds[row] = names.intern(name);
+        for (AlternativeStoreListener listener : listeners) {
+            listener.cellUpdated(row, -1);
+        }
+    }
+
+    /**
+     * Replaces the criterion columns. Columns whose name is kept retain their values;
+     * new columns start unset.
+     */
+    public void setCriteria(List<String> criteria) {
+        int capacity = nameIds.length;
+        double[][] remapped = new double[criteria.size()][];
+        for (int j = 0; j < remapped.length; j++) {
+            int previous = Arrays.asList(criteriaNames).indexOf(criteria.get(j));
+            if (previous >= 0) {
+                remapped[j] = columns[previous];
+            } else {
+                remapped[j] = new double[capacity];
+                Arrays.fill(remapped[j], Double.NaN);
+            }
+        }
+        criteriaNames = criteria.toArray(new String[0]);
+        columns = remapped;
+        for (AlternativeStoreListener listener : listeners) {
+            listener.structureChanged();
+        }
+    }
+
+    /**
+     * Replaces every column and row at once, announced as a single structure change.
+     */
+    public void reset(List<String> criteria, List<Alternative> alternatives) {
+        names = new StringTable();
+        criteriaNames = criteria.toArray(new String[0]);
+        int capacity = Math.max(INITIAL_CAPACITY, alternatives.size());
+        nameIds = new int[capacity];
+        columns = new double[criteriaNames.length][capacity];
+        rowCount = 0;
+        for (Alternative alternative : alternatives) {
+            append(alternative);
+        }
+        for (AlternativeStoreListener listener : listeners) {
+            listener.structureChanged();
+        }
+    }
+
+    /**
+     * Replaces every column and row with a snapshot's, copying its columns in bulk;
+     * announced as a single structure change.
+     */
+    void reset(WorkspaceSnapshot snapshot) {
+        int rows = snapshot.getAlternativeCount();
+        int capacity = Math.max(INITIAL_CAPACITY, rows);
+        names = new StringTable();
+        criteriaNames = new String[snapshot.getCriteriaCount()];
+        nameIds = new int[capacity];
+        columns = new double[criteriaNames.length][];
+        for (int j = 0; j < columns.length; j++) {
+            criteriaNames[j] = snapshot.getCriteriaName(j);
+            columns[j] = Arrays.copyOf(snapshot.column(j), capacity);
+            Arrays.fill(columns[j], rows, capacity, Double.NaN);
+        }
+        for (int i = 0; i < rows; i++) {
+            nameIds[i] = names.intern(snapshot.getAlternativeName(i));
+        }
+        rowCount = rows;
+        for (AlternativeStoreListener listener : listeners) {
+            listener.structureChanged();
+        }
+    }
+
+    public List<Alternative> toAlternativeList() {
+        List<Alternative> alternatives = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            alternatives.add(getAlternative(row));
+        }
+        return alternatives;
+    }
+
+    private int append(Alternative alternative) {
+        ensureCapacity(rowCount + 1);
+        int row = rowCount++;
+        nameIds[row] = names.intern(alternative.getName());
+        for (int j = 0; j < columns.length; j++) {
+            Double value = alternative.getCriteriaValue(criteriaNames[j]);
+            columns[j][row] = value != null ? value : Double.NaN;
+        }
+        return row;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= nameIds.length) {
+            return;
+        }
+        int capacity = Math.max(rows, nameIds.length * 2);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        for (int j = 0; j < columns.length; j++) {
+            int previous = columns[j].length;
+            columns[j] = Arrays.copyOf(columns[j], capacity);
+            Arrays.fill(columns[j], previous, capacity, Double.NaN);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Baris " + row + " tidak ada");
+        }
+    }
+
+    private void fireRowsInserted(int firstRow, int lastRow) {
+        for (AlternativeStoreListener listener : listeners) {
+            listener.rowsInserted(firstRow, lastRow);
+        }
+    }
+
+    private void fireRowsDeleted(int firstRow, int lastRow) {
+        for (AlternativeStoreListener listener : listeners) {
+            listener.rowsDeleted(firstRow, lastRow);
+        }
+    }
+}
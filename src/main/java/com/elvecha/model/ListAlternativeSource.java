@@ -0,0 +1,83 @@
+package com.elvecha.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Live view of an in-memory alternative list, with one column per criterion.
+ */
+public class ListAlternativeSource implements AlternativeSource {
+    private final List<Criteria> criteria;
+    private final List<Alternative> alternatives;
+    // Criterion ids in the shared string table, re-resolved only when a column's name
+    // changes. Entries are immutable so concurrent readers never see a half-written one.
+    private volatile ColumnKey[] columnKeys = new ColumnKey[0];
+
+    public ListAlternativeSource(List<Criteria> criteria, List<Alternative> alternatives) {
+        this.criteria = criteria;
+        this.alternatives = alternatives;
+    }
+
+    @Override
+    public int getAlternativeCount() {
+        return alternatives.size();
+    }
+
+    @Override
+    public int getCriteriaCount() {
+        return criteria.size();
+    }
+
+    @Override
+    public String getCriteriaName(int column) {
+        return criteria.get(column).getName();
+    }
+
+    @Override
+    public String getAlternativeName(int row) {
+        return alternatives.get(row).getName();
+    }
+
+    @Override
+    public double getValue(int row, int column) {
+        return alternatives.get(row).getCriteriaValue(criteriaId(column));
+    }
+
+    @Override
+    public void getValues(int row, double[] target) {
+        Alternative alternative = alternatives.get(row);
+        for (int j = 0; j < criteria.size(); j++) {
+            target[j] = alternative.getCriteriaValue(criteriaId(j));
+        }
+    }
+
+    @Override
+    public Alternative getAlternative(int row) {
+        return alternatives.get(row);
+    }
+
+    private int criteriaId(int column) {
+        ColumnKey[] keys = columnKeys;
+        if (column >= keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(column + 1, criteria.size()));
+            columnKeys = keys;
+        }
+        String name = criteria.get(column).getName();
+        ColumnKey key = keys[column];
+        if (key == null || key.name != name) {
+            key = new ColumnKey(name, StringTable.shared().intern(name));
+            keys[column] = key;
+        }
+        return key.id;
+    }
+
+    private static final class ColumnKey {
+        final String name;
+        final int id;
+
+        ColumnKey(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+}
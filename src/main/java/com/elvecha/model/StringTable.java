@@ -0,0 +1,142 @@
+package com.elvecha.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary of names. Each distinct string is stored once and referred to by a dense
+ * int id, assigned in insertion order. {@link #shared()} holds the criterion names used
+ * as keys by every {@link Alternative}; files build their own table.
+ *
+ * <p>On disk, entries are front coded: each one stores only the length of the prefix it
+ * shares with the previous entry and the remaining bytes.
+ */
+public final class StringTable {
+    private static final StringTable SHARED = new StringTable();
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] strings = new String[16];
+    private int size;
+
+    public static StringTable shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the id of {@code value}, adding it if it is not in the table yet
+     */
+    public synchronized int intern(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+        }
+        strings[size] = value;
+        ids.put(value, size);
+        return size++;
+    }
+
+    /**
+     * @return the id of {@code value}, or -1 if it is not in the table
+     */
+    public synchronized int find(String value) {
+        Integer id = ids.get(value);
+        return id != null ? id : -1;
+    }
+
+    public synchronized String get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id nama " + id + " tidak dikenal");
+        }
+        return strings[id];
+    }
+
+    /**
+     * @return the strings of the first {@code count} ids, looked up under one lock
+     */
+    public synchronized String[] getAll(int[] ids, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            if (id < 0 || id >= size) {
+                throw new IndexOutOfBoundsException("Id nama " + id + " tidak dikenal");
+            }
+            values[i] = strings[id];
+        }
+        return values;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        byte[] previous = new byte[0];
+        for (int id = 0; id < size; id++) {
+            byte[] current = strings[id].getBytes(StandardCharsets.UTF_8);
+            int shared = commonPrefix(previous, current);
+            writeVarInt(out, shared);
+            writeVarInt(out, current.length - shared);
+            out.write(current, shared, current.length - shared);
+            previous = current;
+        }
+    }
+
+    public static StringTable readFrom(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Tabel nama rusak");
+        }
+        StringTable table = new StringTable();
+        byte[] previous = new byte[0];
+        for (int i = 0; i < count; i++) {
+            int shared = readVarInt(in);
+            int suffix = readVarInt(in);
+            if (shared > previous.length || suffix < 0) {
+                throw new IOException("Tabel nama rusak");
+            }
+            byte[] current = Arrays.copyOf(previous, shared + suffix);
+            in.readFully(current, shared, suffix);
+            table.intern(new String(current, StandardCharsets.UTF_8));
+            previous = current;
+        }
+        return table;
+    }
+
+    private static int commonPrefix(byte[] a, byte[] b) {
+        int limit = Math.min(a.length, b.length);
+        int length = 0;
+        while (length < limit && a[length] == b[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Tabel nama rusak");
+    }
+}
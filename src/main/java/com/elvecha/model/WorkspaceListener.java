@@ -0,0 +1,24 @@
+package com.elvecha.model;
+
+/**
+ * Criteria notifications from a {@link WorkspaceModel}. Alternative rows and values are
+ * reported by its {@link ColumnarAlternativeStore} through an
+ * {@link AlternativeStoreListener}.
+ */
+public interface WorkspaceListener {
+
+    void criteriaAdded(int index);
+
+    void criteriaRemoved(int index);
+
+    /**
+     * The name, weight or type of the criterion at {@code index} changed.
+     */
+    void criteriaUpdated(int index);
+
+    /**
+     * The criteria were replaced, and possibly the alternatives with them; every cached
+     * criterion index is invalid.
+     */
+    void workspaceReplaced();
+}
@@ -0,0 +1,165 @@
+package com.elvecha.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The criteria and alternatives of the open workspace, shared by every panel. Panels read
+ * it in place and follow its events instead of keeping copies: criteria changes arrive
+ * through {@link WorkspaceListener}, row and value changes through the
+ * {@link ColumnarAlternativeStore} returned by {@link #getAlternatives()}, whose columns
+ * always follow the criteria order.
+ *
+ * <p>{@link #getVersion()} grows with every change of either, so work started from a
+ * {@link WorkspaceSnapshot} can tell whether its result is still current. Not
+ * thread-safe: use from the Event Dispatch Thread.
+ */
+public class WorkspaceModel {
+    private final List<Criteria> criteria = new ArrayList<>();
+    private final List<Criteria> criteriaView = Collections.unmodifiableList(criteria);
+    private final ColumnarAlternativeStore alternatives = new ColumnarAlternativeStore(new ArrayList<>());
+    private final List<WorkspaceListener> listeners = new CopyOnWriteArrayList<>();
+    private long version;
+
+    public WorkspaceModel() {
+        alternatives.addListener(new AlternativeStoreListener() {
+            @Override
+            public void rowsInserted(int firstRow, int lastRow) {
+                version++;
+            }
+
+            @Override
+            public void rowsDeleted(int firstRow, int lastRow) {
+                version++;
+            }
+
+            @Override
+            public void cellUpdated(int row, int column) {
+                version++;
+            }
+
+            @Override
+            public void rowsUpdated(int firstRow, int lastRow) {
+                version++;
+            }
+
+            @Override
+            public void structureChanged() {
+                version++;
+            }
+        });
+    }
+
+    public void addListener(WorkspaceListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(WorkspaceListener listener) {
+        listeners.remove(listener);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the criteria, read-only and live
+     */
+    public List<Criteria> getCriteria() {
+        return criteriaView;
+    }
+
+    public ColumnarAlternativeStore getAlternatives() {
+        return alternatives;
+    }
+
+    public void addCriteria(Criteria crit) {
+        criteria.add(crit);
+        version++;
+        syncColumns();
+        int index = criteria.size() - 1;
+        for (WorkspaceListener listener : listeners) {
+            listener.criteriaAdded(index);
+        }
+    }
+
+    public void removeCriteria(int index) {
+        criteria.remove(index);
+        version++;
+        syncColumns();
+        for (WorkspaceListener listener : listeners) {
+            listener.criteriaRemoved(index);
+        }
+    }
+
+    /**
+     * Call after changing the fields of the criterion at {@code index}.
+     */
+    public void updateCriteria(int index) {
+        version++;
+        // A renamed criterion starts a new, unset column
+        syncColumns();
+        for (WorkspaceListener listener : listeners) {
+            listener.criteriaUpdated(index);
+        }
+    }
+
+    /**
+     * Replaces the criteria; alternative values of criteria kept by name are retained.
+     */
+    public void setCriteria(List<Criteria> newCriteria) {
+        criteria.clear();
+        criteria.addAll(newCriteria);
+        version++;
+        syncColumns();
+        fireWorkspaceReplaced();
+    }
+
+    /**
+     * Replaces the whole workspace, taking the alternatives' values by criterion name.
+     */
+    public void load(List<Criteria> newCriteria, List<Alternative> newAlternatives) {
+        criteria.clear();
+        criteria.addAll(newCriteria);
+        alternatives.reset(criteriaNames(), newAlternatives);
+        fireWorkspaceReplaced();
+    }
+
+    /**
+     * Replaces the whole workspace with a saved one, copying its value columns in bulk.
+     */
+    public void load(WorkspaceSnapshot snapshot) {
+        criteria.clear();
+        criteria.addAll(snapshot.toCriteriaList());
+        alternatives.reset(snapshot);
+        fireWorkspaceReplaced();
+    }
+
+    // Reorders the store's columns to the criteria; weight and type edits leave them alone
+    private void syncColumns() {
+        List<String> names = criteriaNames();
+        boolean same = names.size() == alternatives.getCriteriaCount();
+        for (int j = 0; same && j < names.size(); j++) {
+            same = names.get(j).equals(alternatives.getCriteriaName(j));
+        }
+        if (!same) {
+            alternatives.setCriteria(names);
+        }
+    }
+
+    private List<String> criteriaNames() {
+        List<String> names = new ArrayList<>(criteria.size());
+        for (Criteria crit : criteria) {
+            names.add(crit.getName());
+        }
+        return names;
+    }
+
+    private void fireWorkspaceReplaced() {
+        for (WorkspaceListener listener : listeners) {
+            listener.workspaceReplaced();
+        }
+    }
+}
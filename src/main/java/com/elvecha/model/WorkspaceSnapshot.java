@@ -0,0 +1,169 @@
+package com.elvecha.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, column-oriented copy of a workspace (criteria and alternative values).
+ * Taken on the Event Dispatch Thread and handed to background writers, so it must
+ * never be mutated after construction.
+ */
+public final class WorkspaceSnapshot implements AlternativeSource {
+    private final String[] criteriaNames;
+    private final double[] weights;
+    private final String[] types;
+    private final String[] alternativeNames;
+    // values[criteria][alternative], NaN marks an unset value
+    private final double[][] values;
+
+    /**
+     * Adopts the given arrays without copying; callers must not touch them afterwards.
+     */
+    public WorkspaceSnapshot(String[] criteriaNames, double[] weights, String[] types,
+                             String[] alternativeNames, double[][] values) {
+        if (criteriaNames.length != weights.length || criteriaNames.length != types.length
+                || criteriaNames.length != values.length) {
+            throw new IllegalArgumentException("Jumlah kolom kriteria tidak konsisten");
+        }
+        for (double[] column : values) {
+            if (column.length != alternativeNames.length) {
+                throw new IllegalArgumentException("Jumlah baris alternatif tidak konsisten");
+            }
+        }
+        this.criteriaNames = criteriaNames;
+        this.weights = weights;
+        this.types = types;
+        this.alternativeNames = alternativeNames;
+        this.values = values;
+    }
+
+    /**
+     * Copies {@code source} column by column; criteria it does not have are left unset.
+     * A {@link ColumnarAlternativeStore} has its arrays copied in bulk, so taking a
+     * snapshot of a large workspace on the Event Dispatch Thread costs a few array copies.
+     */
+    public static WorkspaceSnapshot of(List<Criteria> criteria, AlternativeSource source) {
+        int cols = criteria.size();
+        int rows = source.getAlternativeCount();
+        String[] criteriaNames = new String[cols];
+        double[] weights = new double[cols];
+        String[] types = new String[cols];
+        double[][] values = new double[cols][];
+        for (int j = 0; j < cols; j++) {
+            Criteria crit = criteria.get(j);
+            criteriaNames[j] = crit.getName();
+            weights[j] = crit.getWeight();
+            types[j] = crit.getType();
+            values[j] = copyColumn(source, source.findCriteriaColumn(crit.getName()), rows);
+        }
+
+        String[] names;
+        if (source instanceof ColumnarAlternativeStore) {
+            names = ((ColumnarAlternativeStore) source).copyNames();
+        } else {
+            names = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                names[i] = source.getAlternativeName(i);
+            }
+        }
+        return new WorkspaceSnapshot(criteriaNames, weights, types, names, values);
+    }
+
+    private static double[] copyColumn(AlternativeSource source, int column, int rows) {
+        if (column >= 0 && source instanceof ColumnarAlternativeStore) {
+            return ((ColumnarAlternativeStore) source).copyColumn(column);
+        }
+        double[] values = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = column >= 0 ? source.getValue(i, column) : Double.NaN;
+        }
+        return values;
+    }
+
+    public static WorkspaceSnapshot of(List<Criteria> criteria, List<Alternative> alternatives) {
+        int cols = criteria.size();
+        int rows = alternatives.size();
+        String[] criteriaNames = new String[cols];
+        double[] weights = new double[cols];
+        String[] types = new String[cols];
+        for (int j = 0; j < cols; j++) {
+            Criteria crit = criteria.get(j);
+            criteriaNames[j] = crit.getName();
+            weights[j] = crit.getWeight();
+            types[j] = crit.getType();
+        }
+
+        String[] names = new String[rows];
+        double[][] values = new double[cols][rows];
+        for (int i = 0; i < rows; i++) {
+            Alternative alt = alternatives.get(i);
+            names[i] = alt.getName();
+            for (int j = 0; j < cols; j++) {
+                Double value = alt.getCriteriaValue(criteriaNames[j]);
+                values[j][i] = value != null ? value : Double.NaN;
+            }
+        }
+        return new WorkspaceSnapshot(criteriaNames, weights, types, names, values);
+    }
+
+    @Override
+    public int getCriteriaCount() {
+        return criteriaNames.length;
+    }
+
+    @Override
+    public int getAlternativeCount() {
+        return alternativeNames.length;
+    }
+
+    @Override
+    public String getCriteriaName(int column) {
+        return criteriaNames[column];
+    }
+
+    public double getWeight(int column) {
+        return weights[column];
+    }
+
+    public String getType(int column) {
+        return types[column];
+    }
+
+    @Override
+    public String getAlternativeName(int row) {
+        return alternativeNames[row];
+    }
+
+    @Override
+    public double getValue(int row, int column) {
+        return values[column][row];
+    }
+
+    // Shared with the store for bulk copies; never modified
+    double[] column(int column) {
+        return values[column];
+    }
+
+    public List<Criteria> toCriteriaList() {
+        List<Criteria> criteria = new ArrayList<>(criteriaNames.length);
+        for (int j = 0; j < criteriaNames.length; j++) {
+            criteria.add(new Criteria(criteriaNames[j], weights[j], types[j]));
+        }
+        return criteria;
+    }
+
+    public List<Alternative> toAlternativeList() {
+        List<Alternative> alternatives = new ArrayList<>(alternativeNames.length);
+        for (int i = 0; i < alternativeNames.length; i++) {
+            Alternative alt = new Alternative(alternativeNames[i]);
+            for (int j = 0; j < criteriaNames.length; j++) {
+                double value = values[j][i];
+                if (!Double.isNaN(value)) {
+                    alt.setCriteriaValue(criteriaNames[j], value);
+                }
+            }
+            alternatives.add(alt);
+        }
+        return alternatives;
+    }
+}
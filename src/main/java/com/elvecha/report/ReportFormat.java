@@ -0,0 +1,17 @@
+package com.elvecha.report;
+
+public enum ReportFormat {
+    PDF("pdf"),
+    EXCEL("xlsx"),
+    CSV("csv");
+
+    private final String extension;
+
+    ReportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
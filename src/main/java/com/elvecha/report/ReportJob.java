@@ -0,0 +1,179 @@
+package com.elvecha.report;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import com.elvecha.util.RankingResult;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One report to render: what to export, where, and how urgently. Also serves as the
+ * handle for following and cancelling the job once it has been submitted.
+ *
+ * <p>The source is read on a worker thread, so it must not be modified while the job
+ * runs; pass an immutable snapshot for in-memory workspaces.
+ */
+public class ReportJob {
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String name;
+    private final ReportFormat format;
+    private final Path target;
+    private final AlternativeSource source;
+    private final List<Criteria> criteria;
+    private RankingResult ranking;
+    private int priority;
+    private ReportListener listener = new ReportListener() { };
+
+    private final AtomicInteger rowsWritten = new AtomicInteger();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile int totalRows;
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Exception error;
+    private volatile Runnable dequeue;
+
+    public ReportJob(String name, ReportFormat format, Path target,
+                     AlternativeSource source, List<Criteria> criteria) {
+        this.name = name;
+        this.format = format;
+        this.target = target;
+        this.source = source;
+        this.criteria = criteria;
+    }
+
+    /**
+     * Uses an existing ranking instead of computing one on the worker.
+     */
+    public ReportJob setRanking(RankingResult ranking) {
+        this.ranking = ranking;
+        return this;
+    }
+
+    /**
+     * Jobs with a higher priority leave the queue first; equal priorities run in submission order.
+     */
+    public ReportJob setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public ReportJob setListener(ReportListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Requests cancellation. A queued job is dropped immediately; a running job stops at
+     * its next progress report and its partial output is deleted.
+     */
+    public void cancel() {
+        cancelRequested = true;
+        Runnable remove = dequeue;
+        if (remove != null && state == State.QUEUED) {
+            remove.run();
+        }
+    }
+
+    /**
+     * @return true if the job finished within the timeout
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    public AlternativeSource getSource() {
+        return source;
+    }
+
+    public List<Criteria> getCriteria() {
+        return criteria;
+    }
+
+    public RankingResult getRanking() {
+        return ranking;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public int getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    // ---- Called by ReportService ----
+
+    void onQueued(Runnable dequeue) {
+        this.dequeue = dequeue;
+    }
+
+    /**
+     * @return false if the job was cancelled (or already finished) before a worker picked it up
+     */
+    synchronized boolean start() {
+        if (state != State.QUEUED || cancelRequested) {
+            return false;
+        }
+        state = State.RUNNING;
+        return true;
+    }
+
+    void begin(RankingResult ranking, int totalRows) {
+        this.ranking = ranking;
+        this.totalRows = totalRows;
+    }
+
+    void advance(int rows) {
+        if (cancelRequested) {
+            throw new CancellationException("Laporan dibatalkan");
+        }
+        listener.onProgress(this, rowsWritten.addAndGet(rows), totalRows);
+    }
+
+    boolean finish(State outcome, Exception failure) {
+        synchronized (this) {
+            if (state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED) {
+                return false;
+            }
+            this.error = failure;
+            this.state = outcome;
+        }
+        finished.countDown();
+        listener.onFinished(this);
+        return true;
+    }
+}
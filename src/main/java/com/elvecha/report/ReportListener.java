@@ -0,0 +1,17 @@
+package com.elvecha.report;
+
+/**
+ * Callbacks for one report job. They run on the worker thread, so Swing callers must
+ * hop to the Event Dispatch Thread themselves.
+ */
+public interface ReportListener {
+
+    default void onProgress(ReportJob job, int rowsWritten, int totalRows) {
+    }
+
+    /**
+     * Called once the job has completed, failed or been cancelled; see {@link ReportJob#getState()}.
+     */
+    default void onFinished(ReportJob job) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.elvecha.report;
+
+import com.elvecha.storage.PagedAlternativeStore;
+import com.elvecha.util.CSVExporter;
+import com.elvecha.util.ExcelExporter;
+import com.elvecha.util.ExportProgress;
+import com.elvecha.util.PDFExportOptions;
+import com.elvecha.util.PDFExporter;
+import com.elvecha.util.ParallelPDFExporter;
+import com.elvecha.util.RankingResult;
+import com.elvecha.util.SAWCalculator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders report jobs (PDF, Excel, CSV) on a fixed pool of worker threads. Jobs wait in
+ * a priority queue whose capacity (queued plus running jobs) is bounded, so a batch
+ * producer cannot outrun the workers. Every job computes its own ranking if none was
+ * given and formats numbers with thread-confined formatters, so jobs never share
+ * mutable state. PDF reports longer than the parallel threshold are split into parts
+ * rendered concurrently by a {@link ParallelPDFExporter}.
+ */
+public class ReportService implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    // A shorter report fits in one part, so splitting it would only add a merge
+    public static final int DEFAULT_PARALLEL_PDF_THRESHOLD = ParallelPDFExporter.DEFAULT_ROWS_PER_PART;
+
+    private final ThreadPoolExecutor workers;
+    private final Semaphore slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ParallelPDFExporter parallelPdf;
+    private final int parallelPdfThreshold;
+
+    public ReportService() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ReportService(int workerCount, int queueCapacity) {
+        this(workerCount, queueCapacity, new ParallelPDFExporter(), DEFAULT_PARALLEL_PDF_THRESHOLD);
+    }
+
+    /**
+     * @param parallelPdfThreshold PDF reports with more rows than this are rendered by
+     *                             {@code parallelPdf}
+     */
+    public ReportService(int workerCount, int queueCapacity,
+                         ParallelPDFExporter parallelPdf, int parallelPdfThreshold) {
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Jumlah worker dan kapasitas antrian harus positif");
+        }
+        this.parallelPdf = parallelPdf;
+        this.parallelPdfThreshold = parallelPdfThreshold;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "report-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.slots = new Semaphore(queueCapacity);
+    }
+
+    /**
+     * Queues a job without blocking.
+     *
+     * @throws RejectedExecutionException if the queue is full or the service is closed
+     */
+    public ReportJob submit(ReportJob job) {
+        if (!slots.tryAcquire()) {
+            throw new RejectedExecutionException("Antrian laporan penuh");
+        }
+        enqueue(job);
+        return job;
+    }
+
+    /**
+     * Queues a job, waiting for room in the queue if necessary.
+     */
+    public ReportJob put(ReportJob job) throws InterruptedException {
+        slots.acquire();
+        enqueue(job);
+        return job;
+    }
+
+    private void enqueue(ReportJob job) {
+        Task task = new Task(job, sequence.getAndIncrement());
+        job.onQueued(() -> {
+            if (workers.remove(task)) {
+                slots.release();
+                task.release.run();
+                job.finish(ReportJob.State.CANCELLED, null);
+            }
+        });
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            task.release.run();
+            throw e;
+        }
+    }
+
+    public int getQueuedJobCount() {
+        return workers.getQueue().size();
+    }
+
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            job.finish(ReportJob.State.CANCELLED, null);
+            return;
+        }
+        try {
+            RankingResult ranking = job.getRanking() != null
+                ? job.getRanking()
+                : new SAWCalculator().rank(job.getCriteria(), job.getSource());
+            int rows = ranking.size();
+            job.begin(ranking, job.getFormat() == ReportFormat.CSV ? rows : 2 * rows);
+
+            ExportProgress progress = job::advance;
+            String path = job.getTarget().toString();
+            switch (job.getFormat()) {
+                case PDF:
+                    PDFExportOptions options = new PDFExportOptions()
+                        .setStreaming(true).setCompact(true).setProgress(progress);
+                    if (rows > parallelPdfThreshold) {
+                        // Parts report progress from their own threads; ReportJob counts atomically
+                        parallelPdf.exportResults(path, job.getSource(), ranking, job.getCriteria(), options);
+                    } else {
+                        PDFExporter.exportResults(path, job.getSource(), ranking, job.getCriteria(), options);
+                    }
+                    break;
+                case EXCEL:
+                    ExcelExporter.exportResults(path, job.getSource(), ranking, job.getCriteria(), progress);
+                    break;
+                case CSV:
+                    CSVExporter.exportResults(path, job.getSource(), ranking, job.getCriteria(), progress);
+                    break;
+                default:
+                    throw new IllegalStateException("Format laporan tidak dikenal: " + job.getFormat());
+            }
+            // A cancel that arrives after the last progress report still wins
+            if (job.isCancelRequested()) {
+                throw new CancellationException("Laporan dibatalkan");
+            }
+            job.finish(ReportJob.State.COMPLETED, null);
+        } catch (CancellationException e) {
+            deletePartialOutput(job);
+            job.finish(ReportJob.State.CANCELLED, null);
+        } catch (Exception e) {
+            deletePartialOutput(job);
+            job.finish(ReportJob.State.FAILED, e);
+        }
+    }
+
+    private static void deletePartialOutput(ReportJob job) {
+        try {
+            Files.deleteIfExists(job.getTarget());
+        } catch (IOException e) {
+            System.err.println("Gagal menghapus laporan yang tidak lengkap: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting jobs and waits for queued and running jobs to finish.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+        private final ReportJob job;
+        private final long order;
+        // A paged source must stay open while the job waits and runs
+        private final Runnable release;
+
+        Task(ReportJob job, long order) {
+            this.job = job;
+            this.order = order;
+            this.release = PagedAlternativeStore.lease(job.getSource());
+        }
+
+        @Override
+        public void run() {
+            try {
+                ReportService.this.run(job);
+            } finally {
+                release.run();
+                slots.release();
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = Integer.compare(other.job.getPriority(), job.getPriority());
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+}
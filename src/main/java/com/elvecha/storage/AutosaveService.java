@@ -0,0 +1,135 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.WorkspaceSnapshot;
+
+import javax.swing.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Debounced background autosave. Edits only restart a timer on the Event Dispatch
+ * Thread; when it fires, a snapshot is taken and serialized on a single writer thread.
+ */
+public class AutosaveService implements AutoCloseable {
+    public static final int DEFAULT_DELAY_MILLIS = 2000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Path target;
+    private final Supplier<WorkspaceSnapshot> snapshotSupplier;
+    private final Timer debounceTimer;
+    private final ExecutorService writer;
+    private final AtomicReference<WorkspaceSnapshot> pending = new AtomicReference<>();
+    private volatile long lastSavedAt;
+
+    public AutosaveService(Path target, Supplier<WorkspaceSnapshot> snapshotSupplier) {
+        this(target, snapshotSupplier, DEFAULT_DELAY_MILLIS);
+    }
+
+    public AutosaveService(Path target, Supplier<WorkspaceSnapshot> snapshotSupplier, int delayMillis) {
+        this.target = target;
+        this.snapshotSupplier = snapshotSupplier;
+        this.debounceTimer = new Timer(delayMillis, e -> saveNow());
+        this.debounceTimer.setRepeats(false);
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "workspace-autosave");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public static Path defaultWorkspacePath() {
+        return Paths.get(System.getProperty("user.home"), ".elvecha", "workspace.evw");
+    }
+
+    /**
+     * Reads the workspace a previous session autosaved to {@code target}. Call it before
+     * autosave starts, off the Event Dispatch Thread. A file that cannot be read is moved
+     * aside so the next autosave does not replace it.
+     *
+     * @return the saved workspace, or null if there is none or it could not be read
+     */
+    public static WorkspaceSnapshot restore(Path target) {
+        if (!Files.exists(target)) {
+            return null;
+        }
+        try {
+            return WorkspaceFile.read(target);
+        } catch (IOException | RuntimeException e) {
+            // Startup must go on whatever state the file is in
+            Path aside = target.resolveSibling(target.getFileName() + ".rusak");
+            System.err.println("Gagal memulihkan workspace, disimpan sebagai " + aside + ": " + e.getMessage());
+            try {
+                Files.move(target, aside, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveFailed) {
+                System.err.println("Gagal memindahkan workspace: " + moveFailed.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Records that the workspace changed. A burst of calls results in a single save
+     * once the workspace has been quiet for the configured delay.
+     */
+    public void markDirty() {
+        debounceTimer.restart();
+    }
+
+    /**
+     * Takes a snapshot on the calling thread (normally the EDT) and queues it for writing.
+     */
+    public void saveNow() {
+        debounceTimer.stop();
+        WorkspaceSnapshot snapshot = snapshotSupplier.get();
+        // Only the newest snapshot matters: if a write is already queued it will pick this one up
+        if (pending.getAndSet(snapshot) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        WorkspaceSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            WorkspaceFile.write(snapshot, target);
+            lastSavedAt = System.currentTimeMillis();
+        } catch (IOException e) {
+            System.err.println("Autosave gagal: " + e.getMessage());
+        }
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    public long getLastSavedAt() {
+        return lastSavedAt;
+    }
+
+    /**
+     * Flushes an outstanding debounced save and waits for the writer to finish.
+     */
+    @Override
+    public void close() {
+        if (debounceTimer.isRunning()) {
+            saveNow();
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
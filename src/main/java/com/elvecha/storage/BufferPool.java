@@ -0,0 +1,122 @@
+package com.elvecha.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of file pages with write-back of dirty pages on eviction. The number of
+ * frames is derived from a memory budget, so the heap cost stays fixed no matter how
+ * large the file grows.
+ */
+class BufferPool {
+    static final int MIN_FRAMES = 4;
+
+    private final FileChannel channel;
+    private final int pageSize;
+    private final int capacity;
+    private final LinkedHashMap<Integer, Page> frames;
+    private long hits;
+    private long misses;
+
+    BufferPool(FileChannel channel, int pageSize, long memoryBudgetBytes) {
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.capacity = (int) Math.max(MIN_FRAMES, Math.min(Integer.MAX_VALUE, memoryBudgetBytes / pageSize));
+        this.frames = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    synchronized Page get(int pageId) {
+        Page page = frames.get(pageId);
+        if (page != null) {
+            hits++;
+            return page;
+        }
+        misses++;
+        page = new Page(pageId, read(pageId));
+        frames.put(pageId, page);
+        evictIfNeeded();
+        return page;
+    }
+
+    /**
+     * Registers a brand-new zeroed page without reading it from disk.
+     */
+    synchronized Page create(int pageId) {
+        Page page = new Page(pageId, ByteBuffer.allocate(pageSize));
+        page.markDirty();
+        frames.put(pageId, page);
+        evictIfNeeded();
+        return page;
+    }
+
+    synchronized void flush() {
+        for (Page page : frames.values()) {
+            if (page.isDirty()) {
+                write(page);
+            }
+        }
+    }
+
+    synchronized int getCapacity() {
+        return capacity;
+    }
+
+    synchronized int getResidentPages() {
+        return frames.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Integer, Page>> it = frames.entrySet().iterator();
+        while (frames.size() > capacity && it.hasNext()) {
+            Page eldest = it.next().getValue();
+            if (eldest.isDirty()) {
+                write(eldest);
+            }
+            it.remove();
+        }
+    }
+
+    private ByteBuffer read(int pageId) {
+        ByteBuffer buffer = ByteBuffer.allocate(pageSize);
+        try {
+            long position = (long) pageId * pageSize;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    break; // beyond end of file: rest of the page stays zeroed
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca halaman " + pageId, e);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private void write(Page page) {
+        ByteBuffer buffer = page.getBuffer().duplicate();
+        buffer.clear();
+        try {
+            long position = (long) page.getId() * pageSize;
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis halaman " + page.getId(), e);
+        }
+        page.markClean();
+    }
+}
@@ -0,0 +1,381 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.util.RankingResult;
+
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Optional embedded (in-process, file-based) H2 backend for criteria, alternatives,
+ * evaluation values and ranking history. Large workspaces can be queried page by page
+ * or through indexed filters instead of being loaded into a {@code List<Alternative>}.
+ *
+ * <p>Public methods are serialized on the one connection, so background saves and
+ * ranking records may overlap; {@link #close()} waits for the call in progress.
+ */
+public class DatabaseStore implements AutoCloseable {
+    static final int BATCH_SIZE = 1000;
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS criteria ("
+            + "id INT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, "
+            + "weight DOUBLE NOT NULL, type VARCHAR(16) NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS alternatives ("
+            + "id INT PRIMARY KEY, name VARCHAR(255) NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS idx_alternatives_name ON alternatives(name)",
+        "CREATE TABLE IF NOT EXISTS evaluations ("
+            + "alternative_id INT NOT NULL, criteria_id INT NOT NULL, criteria_value DOUBLE NOT NULL, "
+            + "PRIMARY KEY (alternative_id, criteria_id))",
+        // Serves range filters such as "Harga Paket <= budget" as an index range scan
+        "CREATE INDEX IF NOT EXISTS idx_evaluations_value ON evaluations(criteria_id, criteria_value)",
+        "CREATE TABLE IF NOT EXISTS ranking_runs ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, created_at TIMESTAMP NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS ranking_history ("
+            + "run_id BIGINT NOT NULL, ranking INT NOT NULL, alternative_name VARCHAR(255) NOT NULL, "
+            + "score DOUBLE NOT NULL, PRIMARY KEY (run_id, ranking))"
+    };
+
+    private final Connection connection;
+
+    DatabaseStore(Connection connection) throws SQLException {
+        this.connection = connection;
+        createSchema();
+    }
+
+    public static DatabaseStore open(Path file) throws SQLException {
+        String url = "jdbc:h2:file:" + file.toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE";
+        return new DatabaseStore(DriverManager.getConnection(url));
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    /**
+     * Replaces the stored criteria, alternatives and evaluation values in one transaction.
+     * Ranking history is kept.
+     */
+    public synchronized void saveWorkspace(WorkspaceSnapshot snapshot) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM evaluations");
+                statement.execute("DELETE FROM alternatives");
+                statement.execute("DELETE FROM criteria");
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO criteria (id, name, weight, type) VALUES (?, ?, ?, ?)")) {
+                for (int j = 0; j < snapshot.getCriteriaCount(); j++) {
+                    insert.setInt(1, j);
+                    insert.setString(2, snapshot.getCriteriaName(j));
+                    insert.setDouble(3, snapshot.getWeight(j));
+                    insert.setString(4, snapshot.getType(j));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            try (PreparedStatement insertAlternative = connection.prepareStatement(
+                    "INSERT INTO alternatives (id, name) VALUES (?, ?)");
+                 PreparedStatement insertValue = connection.prepareStatement(
+                    "INSERT INTO evaluations (alternative_id, criteria_id, criteria_value) VALUES (?, ?, ?)")) {
+                int pendingValues = 0;
+                for (int i = 0; i < snapshot.getAlternativeCount(); i++) {
+                    insertAlternative.setInt(1, i);
+                    insertAlternative.setString(2, snapshot.getAlternativeName(i));
+                    insertAlternative.addBatch();
+
+                    for (int j = 0; j < snapshot.getCriteriaCount(); j++) {
+                        double value = snapshot.getValue(i, j);
+                        if (Double.isNaN(value)) {
+                            continue;
+                        }
+                        insertValue.setInt(1, i);
+                        insertValue.setInt(2, j);
+                        insertValue.setDouble(3, value);
+                        insertValue.addBatch();
+                        pendingValues++;
+                    }
+
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insertAlternative.executeBatch();
+                    }
+                    if (pendingValues >= BATCH_SIZE) {
+                        insertValue.executeBatch();
+                        pendingValues = 0;
+                    }
+                }
+                insertAlternative.executeBatch();
+                insertValue.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    public synchronized List<Criteria> loadCriteria() throws SQLException {
+        List<Criteria> criteria = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name, weight, type FROM criteria ORDER BY id")) {
+            while (rs.next()) {
+                criteria.add(new Criteria(rs.getString(1), rs.getDouble(2), rs.getString(3)));
+            }
+        }
+        return criteria;
+    }
+
+    public synchronized int countAlternatives() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM alternatives")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Reads the stored workspace column by column, streaming rows straight into arrays
+     * instead of building an {@link Alternative} per row.
+     */
+    public synchronized WorkspaceSnapshot loadWorkspace() throws SQLException {
+        List<Criteria> criteria = loadCriteria();
+        int cols = criteria.size();
+        String[] criteriaNames = new String[cols];
+        double[] weights = new double[cols];
+        String[] types = new String[cols];
+        for (int j = 0; j < cols; j++) {
+            criteriaNames[j] = criteria.get(j).getName();
+            weights[j] = criteria.get(j).getWeight();
+            types[j] = criteria.get(j).getType();
+        }
+        Map<Integer, Integer> columnOfId = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id FROM criteria ORDER BY id")) {
+            while (rs.next()) {
+                columnOfId.put(rs.getInt(1), columnOfId.size());
+            }
+        }
+
+        int rows = countAlternatives();
+        int[] ids = new int[rows];
+        String[] names = new String[rows];
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, name FROM alternatives ORDER BY id")) {
+            for (int i = 0; i < rows && rs.next(); i++) {
+                ids[i] = rs.getInt(1);
+                names[i] = rs.getString(2);
+            }
+        }
+
+        double[][] values = new double[cols][rows];
+        for (double[] column : values) {
+            Arrays.fill(column, Double.NaN);
+        }
+        // Both sides are ordered by alternative id, so rows are matched in one pass
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT alternative_id, criteria_id, criteria_value FROM evaluations ORDER BY alternative_id")) {
+            int row = 0;
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                while (row < rows && ids[row] < id) {
+                    row++;
+                }
+                Integer column = columnOfId.get(rs.getInt(2));
+                if (row < rows && ids[row] == id && column != null) {
+                    values[column][row] = rs.getDouble(3);
+                }
+            }
+        }
+        return new WorkspaceSnapshot(criteriaNames, weights, types, names, values);
+    }
+
+    /**
+     * Loads one page of alternatives (in insertion order) together with their values.
+     */
+    public synchronized List<Alternative> loadAlternatives(int offset, int limit) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT id, name FROM alternatives ORDER BY id LIMIT ? OFFSET ?")) {
+            query.setInt(1, limit);
+            query.setInt(2, offset);
+            return materialize(query);
+        }
+    }
+
+    /**
+     * Prefix search on the alternative name, answered from {@code idx_alternatives_name}.
+     */
+    public synchronized List<Alternative> findByNamePrefix(String prefix, int limit) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT id, name FROM alternatives WHERE name LIKE ? ESCAPE '\\' ORDER BY name LIMIT ?")) {
+            query.setString(1, escapeLike(prefix) + "%");
+            query.setInt(2, limit);
+            return materialize(query);
+        }
+    }
+
+    /**
+     * Constraint filter on one criterion (inclusive bounds), answered from
+     * {@code idx_evaluations_value} and ordered by the criterion value.
+     */
+    public synchronized List<Alternative> findInRange(String criteriaName, double min, double max, int limit)
+            throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT a.id, a.name FROM evaluations e "
+                    + "JOIN criteria c ON c.id = e.criteria_id "
+                    + "JOIN alternatives a ON a.id = e.alternative_id "
+                    + "WHERE c.name = ? AND e.criteria_value BETWEEN ? AND ? "
+                    + "ORDER BY e.criteria_value LIMIT ?")) {
+            query.setString(1, criteriaName);
+            query.setDouble(2, min);
+            query.setDouble(3, max);
+            query.setInt(4, limit);
+            return materialize(query);
+        }
+    }
+
+    /**
+     * Stores a ranked list (already sorted best first) as a new history run.
+     *
+     * @return the id of the recorded run
+     */
+    public synchronized long recordRanking(List<Alternative> rankedAlternatives) throws SQLException {
+        return recordRun(rankedAlternatives.size(),
+            rank -> rankedAlternatives.get(rank).getName(),
+            rank -> rankedAlternatives.get(rank).getFinalScore());
+    }
+
+    /**
+     * Stores the ordered ranks of {@code ranking} over {@code source} as a new history run,
+     * without building an {@link Alternative} per rank.
+     *
+     * @return the id of the recorded run
+     */
+    public synchronized long recordRanking(AlternativeSource source, RankingResult ranking) throws SQLException {
+        return recordRun(ranking.size(),
+            rank -> source.getAlternativeName(ranking.getRowAt(rank)),
+            ranking::getScoreAt);
+    }
+
+    /**
+     * @return the id of the most recent ranking run, or -1 if none was recorded
+     */
+    public synchronized long latestRunId() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MAX(id) FROM ranking_runs")) {
+            rs.next();
+            long runId = rs.getLong(1);
+            return rs.wasNull() ? -1 : runId;
+        }
+    }
+
+    private long recordRun(int count, IntFunction<String> nameAt, IntToDoubleFunction scoreAt) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long runId;
+            try (PreparedStatement insertRun = connection.prepareStatement(
+                    "INSERT INTO ranking_runs (created_at) VALUES (CURRENT_TIMESTAMP)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                insertRun.executeUpdate();
+                try (ResultSet keys = insertRun.getGeneratedKeys()) {
+                    keys.next();
+                    runId = keys.getLong(1);
+                }
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO ranking_history (run_id, ranking, alternative_name, score) VALUES (?, ?, ?, ?)")) {
+                for (int rank = 0; rank < count; rank++) {
+                    insert.setLong(1, runId);
+                    insert.setInt(2, rank + 1);
+                    insert.setString(3, nameAt.apply(rank));
+                    insert.setDouble(4, scoreAt.applyAsDouble(rank));
+                    insert.addBatch();
+                    if ((rank + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            return runId;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Returns the top {@code limit} entries of a recorded run, best first, with final scores set.
+     */
+    public synchronized List<Alternative> loadRanking(long runId, int limit) throws SQLException {
+        List<Alternative> ranking = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT alternative_name, score FROM ranking_history WHERE run_id = ? ORDER BY ranking LIMIT ?")) {
+            query.setLong(1, runId);
+            query.setInt(2, limit);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    Alternative alt = new Alternative(rs.getString(1));
+                    alt.setFinalScore(rs.getDouble(2));
+                    ranking.add(alt);
+                }
+            }
+        }
+        return ranking;
+    }
+
+    // Runs an (id, name) query, then fetches the values of just those ids in one round trip
+    private List<Alternative> materialize(PreparedStatement idQuery) throws SQLException {
+        Map<Integer, Alternative> byId = new LinkedHashMap<>();
+        try (ResultSet rs = idQuery.executeQuery()) {
+            while (rs.next()) {
+                byId.put(rs.getInt(1), new Alternative(rs.getString(2)));
+            }
+        }
+        if (byId.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        try (PreparedStatement values = connection.prepareStatement(
+                "SELECT e.alternative_id, c.name, e.criteria_value FROM evaluations e "
+                    + "JOIN criteria c ON c.id = e.criteria_id "
+                    + "WHERE e.alternative_id = ANY(?)")) {
+            values.setArray(1, connection.createArrayOf("INTEGER", byId.keySet().toArray()));
+            try (ResultSet rs = values.executeQuery()) {
+                while (rs.next()) {
+                    byId.get(rs.getInt(1)).setCriteriaValue(rs.getString(2), rs.getDouble(3));
+                }
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        connection.close();
+    }
+}
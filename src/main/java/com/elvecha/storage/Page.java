@@ -0,0 +1,37 @@
+package com.elvecha.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One fixed-size page frame held by the {@link BufferPool}.
+ */
+class Page {
+    private final int id;
+    private final ByteBuffer buffer;
+    private boolean dirty;
+
+    Page(int id, ByteBuffer buffer) {
+        this.id = id;
+        this.buffer = buffer;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+}
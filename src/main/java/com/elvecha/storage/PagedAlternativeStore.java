@@ -0,0 +1,713 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.ColumnStatistics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Paged on-disk store for alternatives. Rows live in slotted data pages and are reached
+ * through a row directory (row id -> page and slot), so rows can move between pages
+ * without renumbering. Pages are cached in an LRU {@link BufferPool} bounded by a
+ * memory budget, which lets a workspace far larger than the heap be browsed and ranked.
+ *
+ * <p>File layout: page 0 is the header, directory pages form a linked chain, and data
+ * pages hold records of {@code [row id][name length][UTF-8 name][double per criterion]}.
+ * Deleting a row moves the last row into its id; the slots of deleted or relocated
+ * records are tombstoned and their space is not reclaimed. A {@link ZoneMap} with
+ * per-page column statistics is kept in memory and written to a chain of zone pages
+ * on flush. Closing a store that was not changed writes nothing, and a store opened
+ * with {@link #openReadOnly} never writes. Background readers hold a {@link #lease}, which
+ * defers closing the file until they are done.
+ */
+public class PagedAlternativeStore implements AlternativeSource, ColumnStatistics, AutoCloseable {
+    public static final int DEFAULT_PAGE_SIZE = 8192;
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+    static final int MIN_PAGE_SIZE = 512;
+    static final int MAX_PAGE_SIZE = 32768;
+
+    private static final int MAGIC = 0x45565047; // "EVPG"
+    private static final short VERSION = 2;
+    private static final int NO_PAGE = -1;
+
+    // Data page header: slot count, start of the record area
+    private static final int SLOT_COUNT_OFFSET = 0;
+    private static final int FREE_END_OFFSET = 2;
+    private static final int SLOTS_OFFSET = 4;
+    private static final int SLOT_SIZE = 4;
+    // Slot offset of a deleted or relocated record; 0 is inside the page header
+    private static final int TOMBSTONE = 0;
+    private static final int NAME_OFFSET = Integer.BYTES;
+    // Directory page header: next directory page
+    private static final int DIRECTORY_ENTRIES_OFFSET = 4;
+    // Zone page header: next zone page, payload length
+    private static final int ZONE_PAYLOAD_OFFSET = 8;
+
+    private final FileChannel channel;
+    private final BufferPool bufferPool;
+    private final int pageSize;
+    private final String[] criteriaNames;
+    private final int entriesPerDirectoryPage;
+    private final boolean readOnly;
+    // Changed since the last flush
+    private boolean modified;
+
+    private int rowCount;
+    // Background readers holding the file open, and a close() waiting for them
+    private int leases;
+    private boolean closePending;
+    private int pageCount;
+    private int tailDataPage = NO_PAGE;
+    private int[] directoryPages = new int[16];
+    private int directoryPageCount;
+    private int[] zonePages = new int[0];
+    private ZoneMap zoneMap;
+
+    private PagedAlternativeStore(FileChannel channel, int pageSize, String[] criteriaNames,
+                                  long memoryBudgetBytes, boolean readOnly) {
+        this.channel = channel;
+        this.readOnly = readOnly;
+        this.pageSize = pageSize;
+        this.criteriaNames = criteriaNames;
+        this.entriesPerDirectoryPage = (pageSize - DIRECTORY_ENTRIES_OFFSET) / Long.BYTES;
+        this.bufferPool = new BufferPool(channel, pageSize, memoryBudgetBytes);
+        this.zoneMap = new ZoneMap(criteriaNames.length);
+    }
+
+    public static PagedAlternativeStore create(Path file, List<String> criteriaNames,
+                                               int pageSize, long memoryBudgetBytes) throws IOException {
+        if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                "Ukuran halaman harus antara " + MIN_PAGE_SIZE + " dan " + MAX_PAGE_SIZE);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PagedAlternativeStore store = new PagedAlternativeStore(
+            channel, pageSize, criteriaNames.toArray(new String[0]), memoryBudgetBytes, false);
+        store.pageCount = 1; // header
+        store.writeHeader();
+        return store;
+    }
+
+    public static PagedAlternativeStore open(Path file, long memoryBudgetBytes) throws IOException {
+        return open(file, memoryBudgetBytes, false);
+    }
+
+    /**
+     * Opens a store for browsing and ranking; changing it throws
+     * {@link IllegalStateException} and the file is never written.
+     */
+    public static PagedAlternativeStore openReadOnly(Path file, long memoryBudgetBytes) throws IOException {
+        return open(file, memoryBudgetBytes, true);
+    }
+
+    private static PagedAlternativeStore open(Path file, long memoryBudgetBytes, boolean readOnly)
+            throws IOException {
+        FileChannel channel = readOnly
+            ? FileChannel.open(file, StandardOpenOption.READ)
+            : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer fixed = ByteBuffer.allocate(32);
+            channel.read(fixed, 0);
+            fixed.flip();
+            if (fixed.remaining() < 10 || fixed.getInt() != MAGIC) {
+                throw new IOException("Bukan file workspace berhalaman El Vecha");
+            }
+            short version = fixed.getShort();
+            if (version != VERSION) {
+                throw new IOException("Versi file workspace tidak didukung: " + version);
+            }
+            int pageSize = fixed.getInt();
+
+            ByteBuffer header = ByteBuffer.allocate(pageSize);
+            channel.read(header, 0);
+            header.position(10);
+            int criteriaCount = header.getInt();
+            int rowCount = header.getInt();
+            int pageCount = header.getInt();
+            int firstDirectoryPage = header.getInt();
+            int tailDataPage = header.getInt();
+            int firstZonePage = header.getInt();
+            String[] criteriaNames = new String[criteriaCount];
+            for (int j = 0; j < criteriaCount; j++) {
+                criteriaNames[j] = readString(header, header.position());
+                header.position(header.position() + 2 + (header.getShort(header.position()) & 0xFFFF));
+            }
+
+            PagedAlternativeStore store = new PagedAlternativeStore(
+                channel, pageSize, criteriaNames, memoryBudgetBytes, readOnly);
+            store.rowCount = rowCount;
+            store.pageCount = pageCount;
+            store.tailDataPage = tailDataPage;
+            for (int page = firstDirectoryPage; page != NO_PAGE;
+                 page = store.bufferPool.get(page).getBuffer().getInt(0)) {
+                store.addDirectoryPage(page);
+            }
+            store.readZoneMap(firstZonePage);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies every row of {@code source} into a new paged store.
+     */
+    public static PagedAlternativeStore importFrom(AlternativeSource source, Path file,
+                                                   int pageSize, long memoryBudgetBytes) throws IOException {
+        String[] names = new String[source.getCriteriaCount()];
+        for (int j = 0; j < names.length; j++) {
+            names[j] = source.getCriteriaName(j);
+        }
+        PagedAlternativeStore store = create(file, Arrays.asList(names), pageSize, memoryBudgetBytes);
+        double[] row = new double[names.length];
+        for (int i = 0; i < source.getAlternativeCount(); i++) {
+            source.getValues(i, row);
+            store.append(source.getAlternativeName(i), row);
+        }
+        store.flush();
+        return store;
+    }
+
+    /**
+     * Writes every row of {@code source} to a new paged file next to {@code target} and
+     * renames it into place, so a failed export or a store still open on {@code target}
+     * never sees a half-written file.
+     */
+    public static void exportTo(AlternativeSource source, Path target,
+                                int pageSize, long memoryBudgetBytes) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            importFrom(source, temp, pageSize, memoryBudgetBytes).close();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ---- AlternativeSource ----
+
+    @Override
+    public synchronized int getAlternativeCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getCriteriaCount() {
+        return criteriaNames.length;
+    }
+
+    @Override
+    public String getCriteriaName(int column) {
+        return criteriaNames[column];
+    }
+
+    @Override
+    public synchronized String getAlternativeName(int row) {
+        long entry = directoryEntry(row);
+        ByteBuffer data = bufferPool.get(pageOf(entry)).getBuffer();
+        return readString(data, recordOffset(data, slotOf(entry)) + NAME_OFFSET);
+    }
+
+    @Override
+    public synchronized double getValue(int row, int column) {
+        checkColumn(column);
+        long entry = directoryEntry(row);
+        ByteBuffer data = bufferPool.get(pageOf(entry)).getBuffer();
+        return data.getDouble(valuesOffset(data, recordOffset(data, slotOf(entry))) + column * Double.BYTES);
+    }
+
+    @Override
+    public synchronized void getValues(int row, double[] target) {
+        long entry = directoryEntry(row);
+        ByteBuffer data = bufferPool.get(pageOf(entry)).getBuffer();
+        int offset = valuesOffset(data, recordOffset(data, slotOf(entry)));
+        for (int j = 0; j < criteriaNames.length; j++) {
+            target[j] = data.getDouble(offset + j * Double.BYTES);
+        }
+    }
+
+    /**
+     * Range scan over one criterion (inclusive bounds). Data pages whose zone map shows
+     * no value in range are skipped without being read.
+     *
+     * @return matching row ids in ascending order
+     */
+    @Override
+    public synchronized int[] findRowsInRange(int column, double min, double max) {
+        checkColumn(column);
+        refreshStaleZones();
+        int[] matches = new int[16];
+        int matchCount = 0;
+        for (int block = 0; block < zoneMap.getBlockCount(); block++) {
+            if (zoneMap.canSkip(block, column, min, max)) {
+                continue;
+            }
+            ByteBuffer data = bufferPool.get(zoneMap.getPageId(block)).getBuffer();
+            int slots = data.getShort(SLOT_COUNT_OFFSET) & 0xFFFF;
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = recordOffset(data, slot);
+                if (offset == TOMBSTONE) {
+                    continue;
+                }
+                double value = data.getDouble(valuesOffset(data, offset) + column * Double.BYTES);
+                if (value >= min && value <= max) {
+                    if (matchCount == matches.length) {
+                        matches = Arrays.copyOf(matches, matchCount * 2);
+                    }
+                    matches[matchCount++] = data.getInt(offset);
+                }
+            }
+        }
+        int[] rows = Arrays.copyOf(matches, matchCount);
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    // ---- ColumnStatistics, answered from the zone map ----
+
+    @Override
+    public synchronized double getColumnMin(int column) {
+        checkColumn(column);
+        refreshStaleZones();
+        double min = Double.POSITIVE_INFINITY;
+        for (int block = 0; block < zoneMap.getBlockCount(); block++) {
+            if (zoneMap.getCount(block, column) > 0) {
+                min = Math.min(min, zoneMap.getMin(block, column));
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public synchronized double getColumnMax(int column) {
+        checkColumn(column);
+        refreshStaleZones();
+        double max = Double.NEGATIVE_INFINITY;
+        for (int block = 0; block < zoneMap.getBlockCount(); block++) {
+            if (zoneMap.getCount(block, column) > 0) {
+                max = Math.max(max, zoneMap.getMax(block, column));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public synchronized int getValueCount(int column) {
+        checkColumn(column);
+        refreshStaleZones();
+        int count = 0;
+        for (int block = 0; block < zoneMap.getBlockCount(); block++) {
+            count += zoneMap.getCount(block, column);
+        }
+        return count;
+    }
+
+    // ---- Mutations ----
+
+    /**
+     * @return the row id of the new alternative
+     */
+    public synchronized int append(String name, double[] values) {
+        beginChange();
+        int row = rowCount;
+        byte[] record = encodeRecord(row, name, values);
+        if (rowCount == directoryPageCount * entriesPerDirectoryPage) {
+            allocateDirectoryPage();
+        }
+        long entry = writeRecord(record, values);
+        rowCount++;
+        setDirectoryEntry(row, entry);
+        return row;
+    }
+
+    public synchronized void update(int row, String name, double[] values) {
+        beginChange();
+        byte[] record = encodeRecord(row, name, values);
+        long entry = directoryEntry(row);
+        Page page = bufferPool.get(pageOf(entry));
+        ByteBuffer data = page.getBuffer();
+        int slotPosition = SLOTS_OFFSET + slotOf(entry) * SLOT_SIZE;
+        if (record.length <= (data.getShort(slotPosition + 2) & 0xFFFF)) {
+            int offset = data.getShort(slotPosition) & 0xFFFF;
+            putBytes(data, offset, record);
+            data.putShort(slotPosition + 2, (short) record.length);
+            page.markDirty();
+        } else {
+            // Does not fit in place: relocate and repoint the directory, the row id stays
+            data.putShort(slotPosition, (short) TOMBSTONE);
+            page.markDirty();
+            setDirectoryEntry(row, writeRecord(record, values));
+        }
+        zoneMap.invalidate(zoneMap.blockOf(pageOf(entry)));
+    }
+
+    public synchronized void setValue(int row, int column, double value) {
+        beginChange();
+        checkColumn(column);
+        long entry = directoryEntry(row);
+        Page page = bufferPool.get(pageOf(entry));
+        ByteBuffer data = page.getBuffer();
+        int position = valuesOffset(data, recordOffset(data, slotOf(entry))) + column * Double.BYTES;
+        double previous = data.getDouble(position);
+        data.putDouble(position, value);
+        page.markDirty();
+        int block = zoneMap.blockOf(pageOf(entry));
+        if (!zoneMap.replaceValue(block, column, previous, value)) {
+            zoneMap.invalidate(block);
+        }
+    }
+
+    /**
+     * Removes a row by moving the last row into its id.
+     */
+    public synchronized void delete(int row) {
+        beginChange();
+        long entry = directoryEntry(row);
+        Page page = bufferPool.get(pageOf(entry));
+        page.getBuffer().putShort(SLOTS_OFFSET + slotOf(entry) * SLOT_SIZE, (short) TOMBSTONE);
+        page.markDirty();
+        zoneMap.invalidate(zoneMap.blockOf(pageOf(entry)));
+
+        int last = rowCount - 1;
+        if (row != last) {
+            long lastEntry = directoryEntry(last);
+            Page lastPage = bufferPool.get(pageOf(lastEntry));
+            ByteBuffer data = lastPage.getBuffer();
+            data.putInt(recordOffset(data, slotOf(lastEntry)), row);
+            lastPage.markDirty();
+            setDirectoryEntry(row, lastEntry);
+        }
+        rowCount--;
+    }
+
+    public synchronized void flush() throws IOException {
+        if (readOnly) {
+            return;
+        }
+        refreshStaleZones();
+        writeZoneMap();
+        writeHeader();
+        bufferPool.flush();
+        channel.force(false);
+        modified = false;
+    }
+
+    /**
+     * Keeps {@code source} open until the returned action runs, if it is a paged store:
+     * a {@link #close()} in between takes effect once every lease is released, so a
+     * workspace replaced while a worker reads it is not closed under the worker.
+     *
+     * @return releases the lease; running it again has no effect
+     */
+    public static Runnable lease(AlternativeSource source) {
+        if (!(source instanceof PagedAlternativeStore)) {
+            return () -> { };
+        }
+        PagedAlternativeStore store = (PagedAlternativeStore) source;
+        synchronized (store) {
+            store.leases++;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                store.releaseLease();
+            }
+        };
+    }
+
+    private synchronized void releaseLease() {
+        leases--;
+        if (leases == 0 && closePending) {
+            try {
+                closeNow();
+            } catch (IOException e) {
+                System.err.println("Gagal menutup workspace: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flushes pending changes, if any, and closes the file, or lets the last lease
+     * close it if any are held.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (leases > 0) {
+            closePending = true;
+            return;
+        }
+        closeNow();
+    }
+
+    private void closeNow() throws IOException {
+        closePending = false;
+        try {
+            if (modified) {
+                flush();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    synchronized boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    // ---- Internals ----
+
+    private void beginChange() {
+        if (readOnly) {
+            throw new IllegalStateException("Workspace berhalaman dibuka hanya untuk dibaca");
+        }
+        modified = true;
+    }
+
+    private long writeRecord(byte[] record, double[] values) {
+        int needed = record.length + SLOT_SIZE;
+        if (needed > pageSize - SLOTS_OFFSET) {
+            throw new IllegalArgumentException("Data alternatif terlalu besar untuk satu halaman");
+        }
+        if (tailDataPage == NO_PAGE || freeSpace(bufferPool.get(tailDataPage).getBuffer()) < needed) {
+            tailDataPage = allocatePage();
+            Page fresh = bufferPool.get(tailDataPage);
+            fresh.getBuffer().putShort(SLOT_COUNT_OFFSET, (short) 0);
+            fresh.getBuffer().putShort(FREE_END_OFFSET, (short) pageSize);
+            fresh.markDirty();
+            zoneMap.addBlock(tailDataPage);
+        }
+
+        Page page = bufferPool.get(tailDataPage);
+        ByteBuffer data = page.getBuffer();
+        int slot = data.getShort(SLOT_COUNT_OFFSET) & 0xFFFF;
+        int offset = (data.getShort(FREE_END_OFFSET) & 0xFFFF) - record.length;
+        putBytes(data, offset, record);
+        data.putShort(SLOTS_OFFSET + slot * SLOT_SIZE, (short) offset);
+        data.putShort(SLOTS_OFFSET + slot * SLOT_SIZE + 2, (short) record.length);
+        data.putShort(SLOT_COUNT_OFFSET, (short) (slot + 1));
+        data.putShort(FREE_END_OFFSET, (short) offset);
+        page.markDirty();
+        zoneMap.include(zoneMap.blockOf(tailDataPage), values);
+        return ((long) tailDataPage << 16) | slot;
+    }
+
+    private void refreshStaleZones() {
+        double[] values = new double[criteriaNames.length];
+        for (int block = zoneMap.nextStaleBlock(0); block >= 0; block = zoneMap.nextStaleBlock(block + 1)) {
+            zoneMap.reset(block);
+            ByteBuffer data = bufferPool.get(zoneMap.getPageId(block)).getBuffer();
+            int slots = data.getShort(SLOT_COUNT_OFFSET) & 0xFFFF;
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = recordOffset(data, slot);
+                if (offset == TOMBSTONE) {
+                    continue;
+                }
+                int valuesOffset = valuesOffset(data, offset);
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = data.getDouble(valuesOffset + j * Double.BYTES);
+                }
+                zoneMap.include(block, values);
+            }
+        }
+    }
+
+    // The serialized zone map is split across a chain of pages; existing pages are reused
+    private void writeZoneMap() {
+        byte[] payload = zoneMap.serialize();
+        int chunk = pageSize - ZONE_PAYLOAD_OFFSET;
+        int needed = Math.max(1, (payload.length + chunk - 1) / chunk);
+        if (zonePages.length < needed) {
+            int previous = zonePages.length;
+            zonePages = Arrays.copyOf(zonePages, needed);
+            for (int i = previous; i < needed; i++) {
+                zonePages[i] = allocatePage();
+            }
+        }
+        for (int i = 0; i < zonePages.length; i++) {
+            Page page = bufferPool.get(zonePages[i]);
+            ByteBuffer data = page.getBuffer();
+            int start = Math.min(i * chunk, payload.length);
+            int length = Math.min(chunk, payload.length - start);
+            data.putInt(0, i + 1 < needed ? zonePages[i + 1] : NO_PAGE);
+            data.putInt(4, length);
+            putBytes(data, ZONE_PAYLOAD_OFFSET, Arrays.copyOfRange(payload, start, start + length));
+            page.markDirty();
+        }
+    }
+
+    private void readZoneMap(int firstZonePage) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        int[] pages = new int[0];
+        for (int pageId = firstZonePage; pageId != NO_PAGE; ) {
+            ByteBuffer data = bufferPool.get(pageId).getBuffer();
+            byte[] chunk = new byte[data.getInt(4)];
+            ByteBuffer view = data.duplicate();
+            view.position(ZONE_PAYLOAD_OFFSET);
+            view.get(chunk);
+            payload.write(chunk, 0, chunk.length);
+            pages = Arrays.copyOf(pages, pages.length + 1);
+            pages[pages.length - 1] = pageId;
+            pageId = data.getInt(0);
+        }
+        zonePages = pages;
+        if (pages.length > 0) {
+            zoneMap = ZoneMap.deserialize(ByteBuffer.wrap(payload.toByteArray()), criteriaNames.length);
+        }
+    }
+
+    private int freeSpace(ByteBuffer data) {
+        int slots = data.getShort(SLOT_COUNT_OFFSET) & 0xFFFF;
+        int freeEnd = data.getShort(FREE_END_OFFSET) & 0xFFFF;
+        return freeEnd - (SLOTS_OFFSET + slots * SLOT_SIZE);
+    }
+
+    private void allocateDirectoryPage() {
+        int pageId = allocatePage();
+        Page page = bufferPool.get(pageId);
+        page.getBuffer().putInt(0, NO_PAGE);
+        page.markDirty();
+        if (directoryPageCount > 0) {
+            Page previous = bufferPool.get(directoryPages[directoryPageCount - 1]);
+            previous.getBuffer().putInt(0, pageId);
+            previous.markDirty();
+        }
+        addDirectoryPage(pageId);
+    }
+
+    private void addDirectoryPage(int pageId) {
+        if (directoryPageCount == directoryPages.length) {
+            directoryPages = Arrays.copyOf(directoryPages, directoryPageCount * 2);
+        }
+        directoryPages[directoryPageCount++] = pageId;
+    }
+
+    private int allocatePage() {
+        int pageId = pageCount++;
+        bufferPool.create(pageId);
+        return pageId;
+    }
+
+    private long directoryEntry(int row) {
+        checkRow(row);
+        ByteBuffer directory = bufferPool.get(directoryPages[row / entriesPerDirectoryPage]).getBuffer();
+        return directory.getLong(DIRECTORY_ENTRIES_OFFSET + (row % entriesPerDirectoryPage) * Long.BYTES);
+    }
+
+    private void setDirectoryEntry(int row, long entry) {
+        Page page = bufferPool.get(directoryPages[row / entriesPerDirectoryPage]);
+        page.getBuffer().putLong(DIRECTORY_ENTRIES_OFFSET + (row % entriesPerDirectoryPage) * Long.BYTES, entry);
+        page.markDirty();
+    }
+
+    private static int pageOf(long entry) {
+        return (int) (entry >>> 16);
+    }
+
+    private static int slotOf(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    private static int recordOffset(ByteBuffer data, int slot) {
+        return data.getShort(SLOTS_OFFSET + slot * SLOT_SIZE) & 0xFFFF;
+    }
+
+    private static int valuesOffset(ByteBuffer data, int recordOffset) {
+        int nameOffset = recordOffset + NAME_OFFSET;
+        return nameOffset + 2 + (data.getShort(nameOffset) & 0xFFFF);
+    }
+
+    private byte[] encodeRecord(int row, String name, double[] values) {
+        if (values.length != criteriaNames.length) {
+            throw new IllegalArgumentException("Jumlah nilai harus sama dengan jumlah kriteria");
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(NAME_OFFSET + 2 + nameBytes.length + values.length * Double.BYTES);
+        record.putInt(row);
+        record.putShort((short) nameBytes.length);
+        record.put(nameBytes);
+        for (double value : values) {
+            record.putDouble(value);
+        }
+        return record.array();
+    }
+
+    private static void putBytes(ByteBuffer buffer, int offset, byte[] bytes) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer, int offset) {
+        int length = buffer.getShort(offset) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + 2);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(pageSize);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putInt(pageSize);
+        header.putInt(criteriaNames.length);
+        header.putInt(rowCount);
+        header.putInt(pageCount);
+        header.putInt(directoryPageCount > 0 ? directoryPages[0] : NO_PAGE);
+        header.putInt(tailDataPage);
+        header.putInt(zonePages.length > 0 ? zonePages[0] : NO_PAGE);
+        for (String name : criteriaNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (header.remaining() < 2 + bytes.length) {
+                throw new IOException("Nama kriteria tidak muat di header workspace");
+            }
+            header.putShort((short) bytes.length);
+            header.put(bytes);
+        }
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Baris " + row + " di luar jangkauan");
+        }
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= criteriaNames.length) {
+            throw new IndexOutOfBoundsException("Kolom " + column + " di luar jangkauan");
+        }
+    }
+}
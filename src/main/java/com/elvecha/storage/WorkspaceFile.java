@@ -0,0 +1,164 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.StringTable;
+import com.elvecha.model.WorkspaceSnapshot;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Binary workspace file. Columns are written one after another so that a reader
+ * can stream a single criterion without decoding the whole file. Names are stored
+ * once in a front-coded {@link StringTable} and referenced by id.
+ */
+public class WorkspaceFile {
+    static final int MAGIC = 0x45565753; // "EVWS"
+    static final short VERSION = 2;
+    private static final short VERSION_INLINE_NAMES = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Smallest encodings: a name is an id or an empty inline string, a criterion is a
+    // name, a weight and a type
+    private static final long MIN_NAME_BYTES = 2;
+    private static final long MIN_CRITERION_BYTES = 2 * MIN_NAME_BYTES + Double.BYTES;
+
+    /**
+     * Writes the snapshot next to the target and atomically renames it into place,
+     * so a crash mid-write never leaves a truncated workspace behind.
+     */
+    public static void write(WorkspaceSnapshot snapshot, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE));
+            writeTo(snapshot, out);
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static WorkspaceSnapshot read(Path source) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE))) {
+            return readFrom(in, Files.size(source));
+        }
+    }
+
+    static void writeTo(WorkspaceSnapshot snapshot, DataOutputStream out) throws IOException {
+        int cols = snapshot.getCriteriaCount();
+        int rows = snapshot.getAlternativeCount();
+
+        StringTable names = new StringTable();
+        int[] criteriaIds = new int[cols];
+        int[] typeIds = new int[cols];
+        for (int j = 0; j < cols; j++) {
+            criteriaIds[j] = names.intern(snapshot.getCriteriaName(j));
+            typeIds[j] = names.intern(snapshot.getType(j));
+        }
+        int[] alternativeIds = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            alternativeIds[i] = names.intern(snapshot.getAlternativeName(i));
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        names.writeTo(out);
+
+        out.writeInt(cols);
+        for (int j = 0; j < cols; j++) {
+            out.writeInt(criteriaIds[j]);
+            out.writeDouble(snapshot.getWeight(j));
+            out.writeInt(typeIds[j]);
+        }
+
+        out.writeInt(rows);
+        for (int i = 0; i < rows; i++) {
+            out.writeInt(alternativeIds[i]);
+        }
+
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++) {
+                out.writeDouble(snapshot.getValue(i, j));
+            }
+        }
+    }
+
+    static WorkspaceSnapshot readFrom(DataInputStream in) throws IOException {
+        return readFrom(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param length size of the encoded workspace; the stored counts are checked against
+     *               it before any array is allocated, so a damaged file fails with an
+     *               IOException instead of exhausting the heap
+     */
+    static WorkspaceSnapshot readFrom(DataInputStream in, long length) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Bukan file workspace El Vecha");
+        }
+        short version = in.readShort();
+        if (version != VERSION && version != VERSION_INLINE_NAMES) {
+            throw new IOException("Versi file workspace tidak didukung: " + version);
+        }
+        StringTable table = version == VERSION ? StringTable.readFrom(in) : null;
+
+        int cols = in.readInt();
+        checkCount(cols, MIN_CRITERION_BYTES, length);
+        String[] criteriaNames = new String[cols];
+        double[] weights = new double[cols];
+        String[] types = new String[cols];
+        for (int j = 0; j < cols; j++) {
+            criteriaNames[j] = readName(in, table);
+            weights[j] = in.readDouble();
+            types[j] = readName(in, table);
+        }
+
+        int rows = in.readInt();
+        checkCount(rows, MIN_NAME_BYTES + (long) Double.BYTES * cols, length);
+        String[] names = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            names[i] = readName(in, table);
+        }
+
+        double[][] values = new double[cols][rows];
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++) {
+                values[j][i] = in.readDouble();
+            }
+        }
+        return new WorkspaceSnapshot(criteriaNames, weights, types, names, values);
+    }
+
+    private static void checkCount(int count, long bytesEach, long length) throws IOException {
+        if (count < 0 || count > length / bytesEach) {
+            throw new IOException("File workspace rusak");
+        }
+    }
+
+    // Version 1 files carry names inline
+    private static String readName(DataInputStream in, StringTable table) throws IOException {
+        if (table == null) {
+            return in.readUTF();
+        }
+        try {
+            return table.get(in.readInt());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("File workspace rusak", e);
+        }
+    }
+}
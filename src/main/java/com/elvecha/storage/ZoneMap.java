@@ -0,0 +1,184 @@
+package com.elvecha.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Per-block (data page) statistics for every criterion column: minimum, maximum and
+ * number of set values, plus the number of live rows in the block. Scans consult it to
+ * skip blocks that cannot match, and normalization reads column bounds from it without
+ * touching data pages.
+ *
+ * <p>Appends widen the statistics in place. Any other change marks the block stale;
+ * stale blocks are recomputed from their page the next time statistics are needed.
+ */
+class ZoneMap {
+    private final int columns;
+    private int blockCount;
+    private int[] pageIds = new int[16];
+    private int[] liveRows = new int[16];
+    private double[] min;
+    private double[] max;
+    private int[] counts;
+    private int[] blockOfPage = new int[16];
+    private final BitSet stale = new BitSet();
+
+    ZoneMap(int columns) {
+        this.columns = columns;
+        this.min = new double[16 * columns];
+        this.max = new double[16 * columns];
+        this.counts = new int[16 * columns];
+        Arrays.fill(blockOfPage, -1);
+    }
+
+    int addBlock(int pageId) {
+        if (blockCount == pageIds.length) {
+            int capacity = blockCount * 2;
+            pageIds = Arrays.copyOf(pageIds, capacity);
+            liveRows = Arrays.copyOf(liveRows, capacity);
+            min = Arrays.copyOf(min, capacity * columns);
+            max = Arrays.copyOf(max, capacity * columns);
+            counts = Arrays.copyOf(counts, capacity * columns);
+        }
+        if (pageId >= blockOfPage.length) {
+            int previous = blockOfPage.length;
+            blockOfPage = Arrays.copyOf(blockOfPage, Math.max(pageId + 1, previous * 2));
+            Arrays.fill(blockOfPage, previous, blockOfPage.length, -1);
+        }
+        int block = blockCount++;
+        pageIds[block] = pageId;
+        blockOfPage[pageId] = block;
+        reset(block);
+        return block;
+    }
+
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    int getPageId(int block) {
+        return pageIds[block];
+    }
+
+    int blockOf(int pageId) {
+        return pageId < blockOfPage.length ? blockOfPage[pageId] : -1;
+    }
+
+    void reset(int block) {
+        liveRows[block] = 0;
+        int base = block * columns;
+        Arrays.fill(min, base, base + columns, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, base, base + columns, Double.NEGATIVE_INFINITY);
+        Arrays.fill(counts, base, base + columns, 0);
+        stale.clear(block);
+    }
+
+    /**
+     * Widens the statistics of {@code block} with one live row.
+     */
+    void include(int block, double[] values) {
+        liveRows[block]++;
+        int base = block * columns;
+        for (int j = 0; j < columns; j++) {
+            double value = values[j];
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            if (value < min[base + j]) {
+                min[base + j] = value;
+            }
+            if (value > max[base + j]) {
+                max[base + j] = value;
+            }
+            counts[base + j]++;
+        }
+    }
+
+    /**
+     * Applies an in-place change of one value when the statistics can be kept exact:
+     * the old value lay strictly inside the block's range, so it was neither a bound nor
+     * unset.
+     *
+     * @return false if the block has to be recomputed instead
+     */
+    boolean replaceValue(int block, int column, double previous, double value) {
+        int index = block * columns + column;
+        if (stale.get(block) || Double.isNaN(value)
+                || !(previous > min[index] && previous < max[index])) {
+            return false;
+        }
+        min[index] = Math.min(min[index], value);
+        max[index] = Math.max(max[index], value);
+        return true;
+    }
+
+    void invalidate(int block) {
+        stale.set(block);
+    }
+
+    boolean isStale(int block) {
+        return stale.get(block);
+    }
+
+    int nextStaleBlock(int fromBlock) {
+        return stale.nextSetBit(fromBlock);
+    }
+
+    int getLiveRows(int block) {
+        return liveRows[block];
+    }
+
+    double getMin(int block, int column) {
+        return min[block * columns + column];
+    }
+
+    double getMax(int block, int column) {
+        return max[block * columns + column];
+    }
+
+    int getCount(int block, int column) {
+        return counts[block * columns + column];
+    }
+
+    /**
+     * @return true if no set value of {@code column} in {@code block} can lie in [low, high]
+     */
+    boolean canSkip(int block, int column, double low, double high) {
+        int index = block * columns + column;
+        return counts[index] == 0 || max[index] < low || min[index] > high;
+    }
+
+    byte[] serialize() {
+        int entrySize = Integer.BYTES * 2 + columns * (Double.BYTES * 2 + Integer.BYTES);
+        ByteBuffer out = ByteBuffer.allocate(Integer.BYTES + blockCount * entrySize);
+        out.putInt(blockCount);
+        for (int block = 0; block < blockCount; block++) {
+            out.putInt(pageIds[block]);
+            out.putInt(liveRows[block]);
+            int base = block * columns;
+            for (int j = 0; j < columns; j++) {
+                out.putDouble(min[base + j]);
+                out.putDouble(max[base + j]);
+                out.putInt(counts[base + j]);
+            }
+        }
+        return out.array();
+    }
+
+    static ZoneMap deserialize(ByteBuffer in, int columns) {
+        ZoneMap zoneMap = new ZoneMap(columns);
+        int blocks = in.getInt();
+        for (int i = 0; i < blocks; i++) {
+            int block = zoneMap.addBlock(in.getInt());
+            zoneMap.liveRows[block] = in.getInt();
+            int base = block * columns;
+            for (int j = 0; j < columns; j++) {
+                zoneMap.min[base + j] = in.getDouble();
+                zoneMap.max[base + j] = in.getDouble();
+                zoneMap.counts[base + j] = in.getInt();
+            }
+        }
+        return zoneMap;
+    }
+}
@@ -0,0 +1,306 @@
+package com.elvecha.ui;
+
+import com.elvecha.ui.models.HeatmapMatrix;
+import com.elvecha.ui.renderers.CustomTableRenderer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.text.DecimalFormat;
+
+/**
+ * Paints a {@link HeatmapMatrix} with one colored cell per alternative and criterion,
+ * for matrices far too large for a table. Only the pixels in the clip are filled, straight
+ * from the matrix's primitive arrays into an image buffer; when a pixel covers several
+ * rows, the pyramid level whose blocks are closest to one pixel high is read instead.
+ *
+ * <p>The mouse wheel zooms around the pointer by its precise rotation, so trackpads zoom
+ * smoothly, and dragging pans. Rows zoom out until the whole matrix fits; criteria never
+ * get narrower than the view, since there are at most a few hundred of them.
+ */
+public class HeatmapView extends JComponent {
+    public static final double MAX_ROW_SCALE = 24.0;
+    public static final double MAX_COLUMN_SCALE = 120.0;
+    private static final double WHEEL_ZOOM = 1.2;
+    private static final int UNSET_COLOR = 0xE0E0E0;
+    private static final int BACKGROUND_COLOR = 0xF5F2E8;
+    private static final int[] HEAT = new int[256];
+
+    static {
+        for (int i = 0; i < HEAT.length; i++) {
+            HEAT[i] = CustomTableRenderer.heatColor(i / 255.0).getRGB() & 0xFFFFFF;
+        }
+    }
+
+    private final DecimalFormat df = new DecimalFormat("#.###");
+    private HeatmapMatrix matrix;
+    // Pixels per row and per criterion
+    private double rowScale = 1.0;
+    private double columnScale = 1.0;
+    // Matrix position, in rows and criteria, at the top left corner
+    private double top;
+    private double left;
+    private BufferedImage buffer;
+    private Point dragStart;
+
+    public HeatmapView() {
+        setOpaque(true);
+        setFont(new Font("Arial", Font.PLAIN, 12));
+        setToolTipText("");
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart != null) {
+                    panBy(dragStart.x - e.getX(), dragStart.y - e.getY());
+                    dragStart = e.getPoint();
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(WHEEL_ZOOM, -e.getPreciseWheelRotation()), e.getPoint());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                clampView();
+                repaint();
+            }
+        });
+    }
+
+    /**
+     * Shows {@code matrix}, keeping the zoom and position if it has the same shape as the
+     * matrix shown before, so a refresh after an edit does not jump.
+     */
+    public void setMatrix(HeatmapMatrix matrix) {
+        HeatmapMatrix previous = this.matrix;
+        this.matrix = matrix;
+        if (previous == null || matrix == null
+                || previous.getRowCount() != matrix.getRowCount()
+                || previous.getColumnCount() != matrix.getColumnCount()) {
+            fit();
+        } else {
+            repaint();
+        }
+    }
+
+    public HeatmapMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Zooms out until the whole matrix is in view.
+     */
+    public void fit() {
+        rowScale = minRowScale();
+        columnScale = minColumnScale();
+        top = 0;
+        left = 0;
+        repaint();
+    }
+
+    /**
+     * Scales both axes by {@code factor} within their limits, keeping the matrix position
+     * under {@code anchor} in place.
+     */
+    public void zoom(double factor, Point anchor) {
+        if (matrix == null) {
+            return;
+        }
+        double row = top + anchor.y / rowScale;
+        double column = left + anchor.x / columnScale;
+        rowScale = clamp(rowScale * factor, minRowScale(), MAX_ROW_SCALE);
+        columnScale = clamp(columnScale * factor, minColumnScale(), MAX_COLUMN_SCALE);
+        top = row - anchor.y / rowScale;
+        left = column - anchor.x / columnScale;
+        clampView();
+        repaint();
+    }
+
+    public void panBy(int dx, int dy) {
+        top += dy / rowScale;
+        left += dx / columnScale;
+        clampView();
+        repaint();
+    }
+
+    public double getRowScale() {
+        return rowScale;
+    }
+
+    public double getColumnScale() {
+        return columnScale;
+    }
+
+    /**
+     * @return the first row in view, possibly fractional
+     */
+    public double getTopRow() {
+        return top;
+    }
+
+    /**
+     * @return the pyramid level painted at the current zoom
+     */
+    public int getDetailLevel() {
+        if (matrix == null || rowScale >= 1.0) {
+            return 0;
+        }
+        // Blocks no taller than one pixel, so no row is skipped
+        int level = (int) Math.floor(Math.log(1.0 / rowScale) / Math.log(2.0));
+        return Math.min(level, matrix.getLevelCount() - 1);
+    }
+
+    /**
+     * @return the matrix row at a y coordinate, or -1 past the last row
+     */
+    public int rowAt(int y) {
+        if (matrix == null) {
+            return -1;
+        }
+        int row = (int) Math.floor(top + y / rowScale);
+        return row >= 0 && row < matrix.getRowCount() ? row : -1;
+    }
+
+    /**
+     * @return the criterion at an x coordinate, or -1 past the last one
+     */
+    public int columnAt(int x) {
+        if (matrix == null) {
+            return -1;
+        }
+        int column = (int) Math.floor(left + x / columnScale);
+        return column >= 0 && column < matrix.getColumnCount() ? column : -1;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int row = rowAt(e.getY());
+        int column = columnAt(e.getX());
+        if (row < 0 || column < 0) {
+            return null;
+        }
+        int level = getDetailLevel();
+        int block = row >> level;
+        float value = matrix.getValue(level, block, column);
+        String shown = Float.isNaN(value) ? "-" : df.format(value);
+        String criterion = matrix.getCriteriaName(column);
+        if (level == 0) {
+            return matrix.getAlternativeName(row) + " - " + criterion + ": " + shown;
+        }
+        int first = block << level;
+        int last = Math.min(matrix.getRowCount(), first + (1 << level)) - 1;
+        return "Baris " + (first + 1) + "-" + (last + 1) + " - " + criterion + ": rata-rata " + shown;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        if (matrix == null || matrix.getRowCount() == 0 || matrix.getColumnCount() == 0) {
+            g.setColor(new Color(BACKGROUND_COLOR));
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+            g.setColor(Color.GRAY);
+            FontMetrics metrics = g.getFontMetrics();
+            String message = "Belum ada data untuk ditampilkan";
+            g.drawString(message, (getWidth() - metrics.stringWidth(message)) / 2, getHeight() / 2);
+            return;
+        }
+        if (clip.width <= 0 || clip.height <= 0) {
+            return;
+        }
+
+        if (buffer == null || buffer.getWidth() < clip.width || buffer.getHeight() < clip.height) {
+            buffer = new BufferedImage(Math.max(clip.width, getWidth()), Math.max(clip.height, getHeight()),
+                BufferedImage.TYPE_INT_RGB);
+        }
+        int stride = buffer.getWidth();
+        int[] pixels = ((DataBufferInt) buffer.getRaster().getDataBuffer()).getData();
+
+        // Criterion of every pixel column, and whether it starts a new cell
+        int[] columns = new int[clip.width];
+        for (int x = 0; x < clip.width; x++) {
+            columns[x] = columnAt(clip.x + x);
+        }
+        boolean gridLines = columnScale >= 6;
+
+        int level = getDetailLevel();
+        int blocks = matrix.getBlockCount(level);
+        int lastBlock = Integer.MIN_VALUE;
+        for (int y = 0; y < clip.height; y++) {
+            int offset = y * stride;
+            int row = rowAt(clip.y + y);
+            int block = row >= 0 ? row >> level : -1;
+            if (block == lastBlock && y > 0) {
+                // Same block as the pixel row above: copy it
+                System.arraycopy(pixels, offset - stride, pixels, offset, clip.width);
+                continue;
+            }
+            lastBlock = block;
+            for (int x = 0; x < clip.width; x++) {
+                int column = columns[x];
+                int rgb;
+                if (block < 0 || block >= blocks || column < 0) {
+                    rgb = BACKGROUND_COLOR;
+                } else if (gridLines && x > 0 && columns[x - 1] != column) {
+                    rgb = 0xFFFFFF;
+                } else {
+                    float value = matrix.getValue(level, block, column);
+                    rgb = Float.isNaN(value) ? UNSET_COLOR : HEAT[(int) (value * 255 + 0.5f)];
+                }
+                pixels[offset + x] = rgb;
+            }
+        }
+        g.drawImage(buffer, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+            0, 0, clip.width, clip.height, null);
+    }
+
+    private double minRowScale() {
+        int rows = matrix != null ? Math.max(1, matrix.getRowCount()) : 1;
+        return Math.min(MAX_ROW_SCALE, Math.max(1, getHeight()) / (double) rows);
+    }
+
+    private double minColumnScale() {
+        int cols = matrix != null ? Math.max(1, matrix.getColumnCount()) : 1;
+        return Math.min(MAX_COLUMN_SCALE, Math.max(1, getWidth()) / (double) cols);
+    }
+
+    // Keeps the scales within limits after a resize and the matrix in view
+    private void clampView() {
+        if (matrix == null) {
+            return;
+        }
+        rowScale = clamp(rowScale, minRowScale(), MAX_ROW_SCALE);
+        columnScale = clamp(columnScale, minColumnScale(), MAX_COLUMN_SCALE);
+        top = clamp(top, 0, Math.max(0, matrix.getRowCount() - getHeight() / rowScale));
+        left = clamp(left, 0, Math.max(0, matrix.getColumnCount() - getWidth() / columnScale));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
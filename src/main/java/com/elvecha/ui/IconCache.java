@@ -0,0 +1,67 @@
+package com.elvecha.ui;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Loads the icons bundled under {@code /icons} on a background thread and keeps them for
+ * the rest of the session, so building the window never waits on image decoding and
+ * never needs the network.
+ */
+public class IconCache {
+    private static final String ICON_PATH = "/icons/";
+    private static final IconCache SHARED = new IconCache();
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "icon-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, CompletableFuture<ImageIcon>> icons = new ConcurrentHashMap<>();
+
+    public static IconCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the icon named {@code name}, completing with null if it is not bundled
+     */
+    public CompletableFuture<ImageIcon> load(String name) {
+        return icons.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> read(key), loader));
+    }
+
+    /**
+     * Hands the icon to {@code target} on the Event Dispatch Thread once it is loaded;
+     * missing icons are skipped.
+     */
+    public CompletableFuture<Void> loadInto(String name, Consumer<ImageIcon> target) {
+        return load(name).thenAccept(icon -> {
+            if (icon != null) {
+                SwingUtilities.invokeLater(() -> target.accept(icon));
+            }
+        });
+    }
+
+    private static ImageIcon read(String name) {
+        try (InputStream in = IconCache.class.getResourceAsStream(ICON_PATH + name + ".png")) {
+            BufferedImage image = in != null ? ImageIO.read(in) : null;
+            if (image == null) {
+                System.err.println("Ikon tidak ditemukan: " + name);
+                return null;
+            }
+            return new ImageIcon(image);
+        } catch (Exception e) {
+            System.err.println("Gagal memuat ikon " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,22 +1,70 @@
 package com.elvecha.ui;
 
+import com.elvecha.model.AlternativeStoreListener;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceListener;
+import com.elvecha.model.WorkspaceModel;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.report.ReportService;
+import com.elvecha.storage.AutosaveService;
+import com.elvecha.storage.DatabaseStore;
+import com.elvecha.storage.PagedAlternativeStore;
 import com.elvecha.ui.panels.*;
 import javax.swing.*;
 import java.awt.*;
-import java.net.URL;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class MainFrame extends JFrame {
+    private static final int CRITERIA_TAB = 0;
+    private static final int ALTERNATIVE_TAB = 1;
+    private static final int EVALUATION_TAB = 2;
+    private static final int RESULT_TAB = 3;
+    private static final int HEATMAP_TAB = 4;
+    private static final String PAGED_EXTENSION = ".evp";
+    // H2 appends this to the database path it is given
+    private static final String DATABASE_EXTENSION = ".mv.db";
+
     private JTabbedPane tabbedPane;
+    // Criteria and alternatives shared by every panel
+    private final WorkspaceModel workspace = new WorkspaceModel();
+    // Built the first time their tab is selected; null until then
     private CriteriaPanel criteriaPanel;
     private AlternativePanel alternativePanel;
     private EvaluationPanel evaluationPanel;
     private ResultPanel resultPanel;
+    private HeatmapPanel heatmapPanel;
     private JToolBar toolBar;
+    private AutosaveService autosaveService;
+    private ReportService reportService;
+    private PagedAlternativeStore pagedStore;
+    // Optional backend: when open, saves also go there and rankings are recorded in it
+    private DatabaseStore database;
 
     public MainFrame() {
+        this(null);
+    }
+
+    /**
+     * @param restored the workspace autosaved by the previous session, or null to start empty
+     */
+    public MainFrame(WorkspaceSnapshot restored) {
+        if (restored != null) {
+            workspace.load(restored);
+        }
         initializeFrame();
         initializeComponents();
         setupLayout();
+        setupAutosave();
         this.setVisible(true);
     }
 
@@ -39,17 +87,46 @@ public class MainFrame extends JFrame {
         tabbedPane.setFont(new Font("Arial", Font.PLAIN, 12));
         tabbedPane.setBackground(Color.decode("#f5f2e8"));
         
-        // Initialize panels
-        criteriaPanel = new CriteriaPanel();
-        alternativePanel = new AlternativePanel();
-        evaluationPanel = new EvaluationPanel();
-        resultPanel = new ResultPanel();
-        
-        // Add panels to tabbed pane
-        tabbedPane.addTab("Kriteria", createTabIcon("criteria"), criteriaPanel);
-        tabbedPane.addTab("Alternatif", createTabIcon("alternative"), alternativePanel);
-        tabbedPane.addTab("Penilaian", createTabIcon("evaluation"), evaluationPanel);
-        tabbedPane.addTab("Hasil", createTabIcon("result"), resultPanel);
+        reportService = new ReportService();
+
+        // Tabs start as placeholders; a panel is built and bound to the workspace
+        // the first time its tab is selected
+        addTab("Kriteria", "criteria");
+        addTab("Alternatif", "alternative");
+        addTab("Penilaian", "evaluation");
+        addTab("Hasil", "result");
+        addTab("Matriks", "evaluation");
+        tabbedPane.addChangeListener(e -> loadTab(tabbedPane.getSelectedIndex()));
+        loadTab(tabbedPane.getSelectedIndex());
+    }
+
+    private void loadTab(int index) {
+        switch (index) {
+            case CRITERIA_TAB:
+                getCriteriaPanel();
+                break;
+            case ALTERNATIVE_TAB:
+                getAlternativePanel();
+                break;
+            case EVALUATION_TAB:
+                getEvaluationPanel();
+                break;
+            case RESULT_TAB:
+                getResultPanel();
+                break;
+            case HEATMAP_TAB:
+                getHeatmapPanel();
+                break;
+        }
+    }
+
+    private JPanel createPlaceholder() {
+        JPanel placeholder = new JPanel(new BorderLayout());
+        placeholder.setBackground(Color.decode("#f5f2e8"));
+        JLabel label = new JLabel("Memuat...", SwingConstants.CENTER);
+        label.setFont(new Font("Arial", Font.PLAIN, 12));
+        placeholder.add(label, BorderLayout.CENTER);
+        return placeholder;
     }
 
     private JToolBar createToolBar() {
@@ -75,35 +152,41 @@ public class MainFrame extends JFrame {
         // Add separator
         toolbar.addSeparator();
         
+        // Open button
+        JButton openButton = createToolBarButton("Buka", "folder-open");
+        openButton.addActionListener(e -> handleOpen());
+        toolbar.add(openButton);
+        
         // Save button
         JButton saveButton = createToolBarButton("Simpan", "save");
         saveButton.addActionListener(e -> handleSave());
         toolbar.add(saveButton);
+
+        // Export button
+        JButton exportButton = createToolBarButton("Ekspor", "save");
+        exportButton.addActionListener(e -> handleExport());
+        toolbar.add(exportButton);
+
+        // Database button
+        JButton databaseButton = createToolBarButton("Database", "folder-open");
+        databaseButton.addActionListener(e -> handleDatabase());
+        toolbar.add(databaseButton);
         
         return toolbar;
     }
 
     private JButton createToolBarButton(String text, String iconName) {
         JButton button = new JButton(text);
-        try {
-            // Load icon from Font Awesome or similar
-            ImageIcon icon = new ImageIcon(new URL("https://raw.githubusercontent.com/FortAwesome/Font-Awesome/master/svgs/solid/" + iconName + ".svg"));
-            button.setIcon(icon);
-        } catch (Exception e) {
-            System.err.println("Could not load icon: " + iconName);
-        }
+        // Icons are bundled and decoded in the background; the button shows once loaded
+        IconCache.shared().loadInto(iconName, button::setIcon);
         button.setFocusPainted(false);
         return button;
     }
 
-    private ImageIcon createTabIcon(String iconName) {
-        try {
-            // Load icon from Font Awesome or similar
-            return new ImageIcon(new URL("https://raw.githubusercontent.com/FortAwesome/Font-Awesome/master/svgs/solid/" + iconName + ".svg"));
-        } catch (Exception e) {
-            System.err.println("Could not load icon: " + iconName);
-            return null;
-        }
+    private void addTab(String title, String iconName) {
+        int index = tabbedPane.getTabCount();
+        tabbedPane.addTab(title, createPlaceholder());
+        IconCache.shared().loadInto(iconName, icon -> tabbedPane.setIconAt(index, icon));
     }
 
     private void setupLayout() {
@@ -117,16 +200,331 @@ public class MainFrame extends JFrame {
         );
     }
 
+    private void setupAutosave() {
+        autosaveService = new AutosaveService(AutosaveService.defaultWorkspacePath(), this::createSnapshot);
+
+        // Every change to the workspace schedules a save, whichever panel or action made it
+        workspace.addListener(new WorkspaceListener() {
+            @Override
+            public void criteriaAdded(int index) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void criteriaRemoved(int index) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void criteriaUpdated(int index) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void workspaceReplaced() {
+                autosaveService.markDirty();
+            }
+        });
+        workspace.getAlternatives().addListener(new AlternativeStoreListener() {
+            @Override
+            public void rowsInserted(int firstRow, int lastRow) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void rowsDeleted(int firstRow, int lastRow) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void cellUpdated(int row, int column) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void rowsUpdated(int firstRow, int lastRow) {
+                autosaveService.markDirty();
+            }
+
+            @Override
+            public void structureChanged() {
+                autosaveService.markDirty();
+            }
+        });
+
+        // Flush any pending save before the JVM exits
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                autosaveService.close();
+                reportService.close();
+                closeDatabase();
+                closePagedStore();
+            }
+        });
+    }
+
+    private WorkspaceSnapshot createSnapshot() {
+        return WorkspaceSnapshot.of(workspace.getCriteria(), workspace.getAlternatives());
+    }
+
+    private static long pagedMemoryBudget() {
+        return Long.getLong("elvecha.bufferpool.bytes", PagedAlternativeStore.DEFAULT_MEMORY_BUDGET);
+    }
+
+    private static JFileChooser pagedFileChooser(String title) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(title);
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
+            public boolean accept(File f) {
+                return f.getName().toLowerCase().endsWith(PAGED_EXTENSION) || f.isDirectory();
+            }
+            public String getDescription() {
+                return "Workspace Berhalaman (*" + PAGED_EXTENSION + ")";
+            }
+        });
+        return fileChooser;
+    }
+
+    private void handleOpen() {
+        JFileChooser fileChooser = pagedFileChooser("Buka Workspace Berhalaman");
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        try {
+            // Paged workspaces are only browsed and ranked, so nothing is ever written back
+            PagedAlternativeStore opened = PagedAlternativeStore.openReadOnly(
+                fileChooser.getSelectedFile().toPath(), pagedMemoryBudget());
+
+            if (workspace.getCriteria().isEmpty()) {
+                // No criteria defined yet: weigh the stored columns equally
+                List<Criteria> criteriaList = new ArrayList<>();
+                for (int j = 0; j < opened.getCriteriaCount(); j++) {
+                    criteriaList.add(new Criteria(opened.getCriteriaName(j),
+                        1.0 / opened.getCriteriaCount(), "Benefit"));
+                }
+                workspace.setCriteria(criteriaList);
+            }
+            setPagedStore(opened);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                "Gagal membuka workspace: " + e.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void handleExport() {
+        if (workspace.getAlternatives().getAlternativeCount() == 0) {
+            JOptionPane.showMessageDialog(this, "Belum ada alternatif untuk diekspor!");
+            return;
+        }
+        JFileChooser fileChooser = pagedFileChooser("Ekspor Workspace Berhalaman");
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        if (!file.getName().toLowerCase().endsWith(PAGED_EXTENSION)) {
+            file = new File(file.getParentFile(), file.getName() + PAGED_EXTENSION);
+        }
+        if (file.exists() && JOptionPane.showConfirmDialog(this,
+                "File sudah ada. Timpa?", "Konfirmasi", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        Path target = file.toPath();
+        // The snapshot is taken on the EDT; the file is written in the background
+        WorkspaceSnapshot snapshot = createSnapshot();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                PagedAlternativeStore.exportTo(snapshot, target,
+                    PagedAlternativeStore.DEFAULT_PAGE_SIZE, pagedMemoryBudget());
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(MainFrame.this,
+                        snapshot.getAlternativeCount() + " alternatif berhasil diekspor ke " + target.getFileName());
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(MainFrame.this,
+                        "Gagal mengekspor workspace: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException | CancellationException e) {
+                    // Nothing to report
+                }
+            }
+        }.execute();
+    }
+
+    // Shows store in the panels, or the in-memory rows again when null. The previous store
+    // is closed once the panels have let go of it; workers, name scans and report jobs
+    // still reading it hold a lease, and the last one to finish closes the file
+    private void setPagedStore(PagedAlternativeStore store) {
+        PagedAlternativeStore previous = pagedStore;
+        pagedStore = store;
+        // Panels not built yet pick the store up when they are
+        if (alternativePanel != null) {
+            alternativePanel.setAlternativeSource(store);
+        }
+        if (resultPanel != null) {
+            resultPanel.setAlternativeSource(store);
+        }
+        if (heatmapPanel != null) {
+            heatmapPanel.setAlternativeSource(store);
+        }
+        if (previous != null && previous != store) {
+            closeQuietly(previous);
+        }
+    }
+
+    private void handleDatabase() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Buka atau Buat Database");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
+            public boolean accept(File f) {
+                return f.getName().toLowerCase().endsWith(DATABASE_EXTENSION) || f.isDirectory();
+            }
+            public String getDescription() {
+                return "Database El Vecha (*" + DATABASE_EXTENSION + ")";
+            }
+        });
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String file = fileChooser.getSelectedFile().getAbsolutePath();
+        if (file.toLowerCase().endsWith(DATABASE_EXTENSION)) {
+            file = file.substring(0, file.length() - DATABASE_EXTENSION.length());
+        }
+        Path path = Paths.get(file);
+
+        // Opening and reading the stored workspace run in the background
+        new SwingWorker<DatabaseStore, Void>() {
+            private WorkspaceSnapshot stored;
+
+            @Override
+            protected DatabaseStore doInBackground() throws SQLException {
+                DatabaseStore opened = DatabaseStore.open(path);
+                try {
+                    if (!opened.loadCriteria().isEmpty() || opened.countAlternatives() > 0) {
+                        stored = opened.loadWorkspace();
+                    }
+                } catch (SQLException e) {
+                    opened.close();
+                    throw e;
+                }
+                return opened;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    databaseOpened(get(), stored);
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(MainFrame.this,
+                        "Gagal membuka database: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException | CancellationException e) {
+                    // Nothing was opened
+                }
+            }
+        }.execute();
+    }
+
+    private void databaseOpened(DatabaseStore opened, WorkspaceSnapshot stored) {
+        closeDatabase();
+        database = opened;
+        if (stored != null) {
+            // The database's workspace replaces the open one, paged rows included
+            setPagedStore(null);
+            workspace.load(stored);
+        } else {
+            // A new database starts with the open workspace
+            saveToDatabase();
+        }
+        if (resultPanel != null) {
+            resultPanel.setDatabaseStore(database);
+        }
+    }
+
+    // The snapshot is taken on the EDT; the write runs in the background
+    private void saveToDatabase() {
+        if (database == null) {
+            return;
+        }
+        DatabaseStore target = database;
+        WorkspaceSnapshot snapshot = createSnapshot();
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws SQLException {
+                target.saveWorkspace(snapshot);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(MainFrame.this,
+                        "Gagal menyimpan ke database: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException | CancellationException e) {
+                    // Nothing to report
+                }
+            }
+        }.execute();
+    }
+
+    private void closeDatabase() {
+        if (database == null) {
+            return;
+        }
+        if (resultPanel != null) {
+            resultPanel.setDatabaseStore(null);
+        }
+        try {
+            // Waits for a save or ranking record in progress
+            database.close();
+        } catch (SQLException e) {
+            System.err.println("Gagal menutup database: " + e.getMessage());
+        }
+        database = null;
+    }
+
+    private void closePagedStore() {
+        if (pagedStore == null) {
+            return;
+        }
+        closeQuietly(pagedStore);
+        pagedStore = null;
+    }
+
+    private static void closeQuietly(PagedAlternativeStore store) {
+        try {
+            store.close();
+        } catch (Exception e) {
+            System.err.println("Gagal menutup workspace: " + e.getMessage());
+        }
+    }
+
     private void handleAdd() {
         int selectedTab = tabbedPane.getSelectedIndex();
         switch (selectedTab) {
-            case 0: // Kriteria
+            case CRITERIA_TAB:
                 criteriaPanel.handleAdd();
                 break;
-            case 1: // Alternatif
+            case ALTERNATIVE_TAB:
                 alternativePanel.handleAdd();
                 break;
-            case 2: // Penilaian
+            case EVALUATION_TAB:
                 evaluationPanel.handleAdd();
                 break;
         }
@@ -135,13 +533,13 @@ public class MainFrame extends JFrame {
     private void handleEdit() {
         int selectedTab = tabbedPane.getSelectedIndex();
         switch (selectedTab) {
-            case 0: // Kriteria
+            case CRITERIA_TAB:
                 criteriaPanel.handleEdit();
                 break;
-            case 1: // Alternatif
+            case ALTERNATIVE_TAB:
                 alternativePanel.handleEdit();
                 break;
-            case 2: // Penilaian
+            case EVALUATION_TAB:
                 evaluationPanel.handleEdit();
                 break;
         }
@@ -150,13 +548,13 @@ public class MainFrame extends JFrame {
     private void handleDelete() {
         int selectedTab = tabbedPane.getSelectedIndex();
         switch (selectedTab) {
-            case 0: // Kriteria
+            case CRITERIA_TAB:
                 criteriaPanel.handleDelete();
                 break;
-            case 1: // Alternatif
+            case ALTERNATIVE_TAB:
                 alternativePanel.handleDelete();
                 break;
-            case 2: // Penilaian
+            case EVALUATION_TAB:
                 evaluationPanel.handleDelete();
                 break;
         }
@@ -165,35 +563,79 @@ public class MainFrame extends JFrame {
     private void handleSave() {
         int selectedTab = tabbedPane.getSelectedIndex();
         switch (selectedTab) {
-            case 0: // Kriteria
+            case CRITERIA_TAB:
                 criteriaPanel.handleSave();
                 break;
-            case 1: // Alternatif
+            case ALTERNATIVE_TAB:
                 alternativePanel.handleSave();
                 break;
-            case 2: // Penilaian
+            case EVALUATION_TAB:
                 evaluationPanel.handleSave();
                 break;
-            case 3: // Hasil
+            case RESULT_TAB:
                 resultPanel.handleSave();
                 break;
         }
+
+        // After the panel, so evaluation edits it commits are saved too. Serialization
+        // runs on the autosave thread, never on the EDT
+        autosaveService.saveNow();
+        saveToDatabase();
     }
 
     // Getter methods for panels
+    public WorkspaceModel getWorkspace() {
+        return workspace;
+    }
+
     public CriteriaPanel getCriteriaPanel() {
+        if (criteriaPanel == null) {
+            criteriaPanel = new CriteriaPanel(workspace);
+            tabbedPane.setComponentAt(CRITERIA_TAB, criteriaPanel);
+        }
         return criteriaPanel;
     }
     
     public AlternativePanel getAlternativePanel() {
+        if (alternativePanel == null) {
+            alternativePanel = new AlternativePanel(workspace);
+            if (pagedStore != null) {
+                alternativePanel.setAlternativeSource(pagedStore);
+            }
+            tabbedPane.setComponentAt(ALTERNATIVE_TAB, alternativePanel);
+        }
         return alternativePanel;
     }
     
     public EvaluationPanel getEvaluationPanel() {
+        if (evaluationPanel == null) {
+            evaluationPanel = new EvaluationPanel(workspace);
+            tabbedPane.setComponentAt(EVALUATION_TAB, evaluationPanel);
+        }
         return evaluationPanel;
     }
     
     public ResultPanel getResultPanel() {
+        if (resultPanel == null) {
+            resultPanel = new ResultPanel(workspace);
+            resultPanel.setReportService(reportService);
+            resultPanel.setDatabaseStore(database);
+            if (pagedStore != null) {
+                resultPanel.setAlternativeSource(pagedStore);
+            }
+            tabbedPane.setComponentAt(RESULT_TAB, resultPanel);
+        }
         return resultPanel;
     }
+
+    public HeatmapPanel getHeatmapPanel() {
+        if (heatmapPanel == null) {
+            heatmapPanel = new HeatmapPanel(workspace);
+            if (pagedStore != null) {
+                heatmapPanel.setAlternativeSource(pagedStore);
+            }
+            tabbedPane.setComponentAt(HEATMAP_TAB, heatmapPanel);
+        }
+        return heatmapPanel;
+    }
 }
@@ -0,0 +1,306 @@
+package com.elvecha.ui;
+
+import javax.swing.*;
+import javax.swing.event.RowSorterEvent;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
+import javax.swing.table.TableModel;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scroll pane for tables with one column per criterion. Only the criterion columns that
+ * fit in the viewport are materialized in the table's column model; the horizontal bar
+ * scrolls by whole columns and moves the window of model columns those few table columns
+ * show, so header, layout and painting cost stay the same with 5 or 500 criteria.
+ *
+ * <p>The leading model columns (number and name) are frozen in a row header table that
+ * shares the model, row selection and row sorter. Columns are laid out from the model on
+ * every structure change; the table must not create its own, and its row sorter must be
+ * set before the pane is created.
+ */
+public class VirtualColumnPane extends JPanel {
+    public static final int DEFAULT_COLUMN_WIDTH = 110;
+
+    private final JTable table;
+    private final JTable frozenTable;
+    private final int frozenCount;
+    private final int columnWidth;
+    private final JScrollPane scrollPane;
+    private final JScrollBar columnBar;
+    private boolean layingOut;
+
+    /**
+     * @param frozenWidths widths of the leading model columns kept in place
+     */
+    public VirtualColumnPane(JTable table, int[] frozenWidths) {
+        this(table, frozenWidths, DEFAULT_COLUMN_WIDTH);
+    }
+
+    public VirtualColumnPane(JTable table, int[] frozenWidths, int columnWidth) {
+        super(new BorderLayout());
+        this.table = table;
+        this.frozenCount = frozenWidths.length;
+        this.columnWidth = columnWidth;
+
+        table.setAutoCreateColumnsFromModel(false);
+        while (table.getColumnCount() > 0) {
+            table.removeColumn(table.getColumnModel().getColumn(0));
+        }
+
+        frozenTable = new JTable(table.getModel()) {
+            @Override
+            public void tableChanged(TableModelEvent e) {
+                // The main table updates the shared selection and sorter; doing it here
+                // as well would shift the selection twice
+                if (e == null || e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                    super.tableChanged(e);
+                } else {
+                    revalidate();
+                    repaint();
+                }
+            }
+        };
+        frozenTable.setAutoCreateColumnsFromModel(false);
+        while (frozenTable.getColumnCount() > 0) {
+            frozenTable.removeColumn(frozenTable.getColumnModel().getColumn(0));
+        }
+        int frozenWidth = 0;
+        for (int i = 0; i < frozenCount; i++) {
+            frozenTable.addColumn(new TableColumn(i, frozenWidths[i]));
+            frozenWidth += frozenWidths[i];
+        }
+        frozenTable.setSelectionModel(table.getSelectionModel());
+        if (table.getRowSorter() != null) {
+            frozenTable.setRowSorter(new FollowingSorter<>(table.getRowSorter(), frozenTable));
+        }
+        frozenTable.setRowHeight(table.getRowHeight());
+        frozenTable.setFont(table.getFont());
+        frozenTable.getTableHeader().setFont(table.getTableHeader().getFont());
+        frozenTable.getTableHeader().setReorderingAllowed(false);
+        frozenTable.setShowGrid(table.getShowHorizontalLines());
+        frozenTable.setGridColor(table.getGridColor());
+        frozenTable.setFocusable(false);
+        frozenTable.setPreferredScrollableViewportSize(new Dimension(frozenWidth, 0));
+        // Swapping header values is cheaper than moving columns the user dragged
+        table.getTableHeader().setReorderingAllowed(false);
+
+        scrollPane = new JScrollPane(table,
+            ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.setRowHeaderView(frozenTable);
+        scrollPane.setCorner(ScrollPaneConstants.UPPER_LEFT_CORNER, frozenTable.getTableHeader());
+        scrollPane.getViewport().setBackground(Color.WHITE);
+        scrollPane.getRowHeader().setBackground(Color.WHITE);
+
+        columnBar = new JScrollBar(JScrollBar.HORIZONTAL);
+        columnBar.setUnitIncrement(1);
+        columnBar.addAdjustmentListener(e -> layoutColumns());
+
+        add(scrollPane, BorderLayout.CENTER);
+        add(columnBar, BorderLayout.SOUTH);
+
+        scrollPane.getViewport().addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                layoutColumns();
+            }
+        });
+        // Notified before the tables, since listeners run newest first
+        table.getModel().addTableModelListener(e -> {
+            if (e.getFirstRow() == TableModelEvent.HEADER_ROW) {
+                layoutColumns();
+            }
+        });
+        // Shift + wheel scrolls columns; the plain wheel still scrolls rows
+        table.addMouseWheelListener(e -> {
+            if (e.isShiftDown()) {
+                columnBar.setValue(columnBar.getValue() + e.getWheelRotation());
+            } else {
+                scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(table, e, scrollPane));
+            }
+        });
+        layoutColumns();
+    }
+
+    public JTable getFrozenTable() {
+        return frozenTable;
+    }
+
+    /**
+     * Scrolls sideways until {@code modelColumn} is shown, and returns its view index.
+     */
+    public int scrollToColumn(int modelColumn) {
+        int column = modelColumn - frozenCount;
+        if (column >= 0) {
+            int visible = columnBar.getVisibleAmount();
+            if (column < columnBar.getValue()) {
+                columnBar.setValue(column);
+            } else if (column >= columnBar.getValue() + visible) {
+                columnBar.setValue(column - visible + 1);
+            }
+        }
+        return table.convertColumnIndexToView(modelColumn);
+    }
+
+    private void layoutColumns() {
+        if (layingOut) {
+            return;
+        }
+        layingOut = true;
+        try {
+            TableModel model = table.getModel();
+            int scrollable = Math.max(0, model.getColumnCount() - frozenCount);
+            int fit = Math.max(1, scrollPane.getViewport().getWidth() / columnWidth);
+            boolean all = scrollable <= fit;
+            int first = 0;
+            int count = scrollable;
+            if (!all) {
+                first = Math.min(columnBar.getValue(), scrollable - fit);
+                columnBar.setValues(first, fit, 0, scrollable);
+                columnBar.setBlockIncrement(fit);
+                // One more column than fits, so the right edge is never left blank
+                count = Math.min(fit + 1, scrollable - first);
+            }
+            columnBar.setVisible(!all);
+            table.setAutoResizeMode(all ? JTable.AUTO_RESIZE_SUBSEQUENT_COLUMNS : JTable.AUTO_RESIZE_OFF);
+            showColumns(first, count);
+        } finally {
+            layingOut = false;
+        }
+    }
+
+    private void showColumns(int first, int count) {
+        if (table.isEditing() && !table.getCellEditor().stopCellEditing()) {
+            table.getCellEditor().cancelCellEditing();
+        }
+        TableColumnModel columns = table.getColumnModel();
+        // Keep the selected cells on their model columns while the window moves
+        List<Integer> selected = new ArrayList<>();
+        for (int view : columns.getSelectedColumns()) {
+            selected.add(columns.getColumn(view).getModelIndex());
+        }
+
+        // The table columns are reused; only their model index and header change
+        while (columns.getColumnCount() > count) {
+            columns.removeColumn(columns.getColumn(columns.getColumnCount() - 1));
+        }
+        while (columns.getColumnCount() < count) {
+            columns.addColumn(new TableColumn(0, columnWidth));
+        }
+        TableModel model = table.getModel();
+        for (int i = 0; i < count; i++) {
+            TableColumn column = columns.getColumn(i);
+            int modelIndex = frozenCount + first + i;
+            column.setModelIndex(modelIndex);
+            column.setHeaderValue(model.getColumnName(modelIndex));
+            if (table.getAutoResizeMode() == JTable.AUTO_RESIZE_OFF) {
+                column.setPreferredWidth(columnWidth);
+                column.setWidth(columnWidth);
+            }
+        }
+
+        ListSelectionModel selection = columns.getSelectionModel();
+        selection.setValueIsAdjusting(true);
+        selection.clearSelection();
+        for (int modelIndex : selected) {
+            int view = modelIndex - frozenCount - first;
+            if (view >= 0 && view < count) {
+                selection.addSelectionInterval(view, view);
+            }
+        }
+        selection.setValueIsAdjusting(false);
+
+        table.getTableHeader().repaint();
+        table.revalidate();
+        table.repaint();
+    }
+
+    /**
+     * Row sorter of the frozen table: it reads the order of the main table's sorter and
+     * forwards header clicks to it, but leaves model events to the main table. A sort only
+     * repaints the frozen table, since the main table already moved the shared selection.
+     */
+    private static final class FollowingSorter<M> extends RowSorter<M> {
+        private final RowSorter<M> sorter;
+
+        FollowingSorter(RowSorter<M> sorter, JTable frozenTable) {
+            this.sorter = sorter;
+            sorter.addRowSorterListener(e -> {
+                if (e.getType() == RowSorterEvent.Type.SORT_ORDER_CHANGED) {
+                    fireSortOrderChanged();
+                } else {
+                    frozenTable.revalidate();
+                    frozenTable.repaint();
+                }
+            });
+        }
+
+        @Override
+        public M getModel() {
+            return sorter.getModel();
+        }
+
+        @Override
+        public void toggleSortOrder(int column) {
+            sorter.toggleSortOrder(column);
+        }
+
+        @Override
+        public int convertRowIndexToModel(int index) {
+            return sorter.convertRowIndexToModel(index);
+        }
+
+        @Override
+        public int convertRowIndexToView(int index) {
+            return sorter.convertRowIndexToView(index);
+        }
+
+        @Override
+        public void setSortKeys(List<? extends SortKey> keys) {
+            sorter.setSortKeys(keys);
+        }
+
+        @Override
+        public List<? extends SortKey> getSortKeys() {
+            return sorter.getSortKeys();
+        }
+
+        @Override
+        public int getViewRowCount() {
+            return sorter.getViewRowCount();
+        }
+
+        @Override
+        public int getModelRowCount() {
+            return sorter.getModelRowCount();
+        }
+
+        @Override
+        public void modelStructureChanged() {
+        }
+
+        @Override
+        public void allRowsChanged() {
+        }
+
+        @Override
+        public void rowsInserted(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsDeleted(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow) {
+        }
+
+        @Override
+        public void rowsUpdated(int firstRow, int endRow, int column) {
+        }
+    }
+}
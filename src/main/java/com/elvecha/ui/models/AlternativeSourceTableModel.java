@@ -0,0 +1,243 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.AlternativeStoreListener;
+import com.elvecha.model.ColumnarAlternativeStore;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Table model that reads cells straight from an {@link AlternativeSource} when they are
+ * painted, instead of copying every row into the model up front.
+ *
+ * <p>When the source is a {@link ColumnarAlternativeStore}, the model follows its changes
+ * and fires row and cell events for exactly what changed, so the table repaints only
+ * the affected rows. Its rows can then also be sorted by a {@link PrimitiveRowSorter};
+ * sorting a paged source would read every row from disk, so it is not sortable.
+ */
+public class AlternativeSourceTableModel extends AbstractTableModel
+        implements AlternativeStoreListener, ColumnKeys {
+    private AlternativeSource source;
+    private final String nameColumn;
+    private final String actionColumn;
+    // Value of the last column for a source row
+    private final IntFunction<Object> actionValue;
+    // Source rows currently shown, ascending, or null for all rows
+    private int[] visibleRows;
+
+    public AlternativeSourceTableModel(AlternativeSource source, String nameColumn,
+                                       String actionColumn, Object actionValue) {
+        this(source, nameColumn, actionColumn, row -> actionValue);
+    }
+
+    public AlternativeSourceTableModel(AlternativeSource source, String nameColumn,
+                                       String actionColumn, IntFunction<Object> actionValue) {
+        this.nameColumn = nameColumn;
+        this.actionColumn = actionColumn;
+        this.actionValue = actionValue;
+        attach(source);
+    }
+
+    public void setSource(AlternativeSource source) {
+        if (this.source instanceof ColumnarAlternativeStore) {
+            ((ColumnarAlternativeStore) this.source).removeListener(this);
+        }
+        attach(source);
+        this.visibleRows = null;
+        fireTableStructureChanged();
+    }
+
+    private void attach(AlternativeSource source) {
+        this.source = source;
+        if (source instanceof ColumnarAlternativeStore) {
+            ((ColumnarAlternativeStore) source).addListener(this);
+        }
+    }
+
+    public AlternativeSource getSource() {
+        return source;
+    }
+
+    /**
+     * Restricts the model to the given source rows (ascending), or shows all rows when
+     * {@code null}.
+     */
+    public void setVisibleRows(int[] rows) {
+        this.visibleRows = rows;
+        fireTableDataChanged();
+    }
+
+    public int getSourceRow(int rowIndex) {
+        return visibleRows != null ? visibleRows[rowIndex] : rowIndex;
+    }
+
+    /**
+     * @return the model row showing {@code sourceRow}, or -1 if it is filtered out
+     */
+    public int getModelRow(int sourceRow) {
+        if (visibleRows == null) {
+            return sourceRow;
+        }
+        int index = Arrays.binarySearch(visibleRows, sourceRow);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return visibleRows != null ? visibleRows.length : source.getAlternativeCount();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return source.getCriteriaCount() + 3;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == 0) {
+            return "No";
+        }
+        if (column == 1) {
+            return nameColumn;
+        }
+        if (column == getColumnCount() - 1) {
+            return actionColumn;
+        }
+        return source.getCriteriaName(column - 2);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (columnIndex == 0) {
+            return rowIndex + 1;
+        }
+        int row = getSourceRow(rowIndex);
+        if (columnIndex == getColumnCount() - 1) {
+            return actionValue.apply(row);
+        }
+        if (columnIndex == 1) {
+            return source.getAlternativeName(row);
+        }
+        double value = source.getValue(row, columnIndex - 2);
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    @Override
+    public KeyType getKeyType(int column) {
+        if (!(source instanceof ColumnarAlternativeStore) || column == getColumnCount() - 1) {
+            return KeyType.NONE;
+        }
+        return column == 1 ? KeyType.TEXT : KeyType.NUMBER;
+    }
+
+    @Override
+    public double[] getNumberKeys(int column) {
+        double[] keys;
+        if (column >= 2 && visibleRows == null) {
+            // Read straight from the store's column array
+            keys = ((ColumnarAlternativeStore) source).copyColumn(column - 2);
+        } else {
+            keys = new double[getRowCount()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = column == 0 ? i : source.getValue(getSourceRow(i), column - 2);
+            }
+        }
+        // Unset values sort as the 0 they are shown as
+        for (int i = 0; i < keys.length; i++) {
+            if (Double.isNaN(keys[i])) {
+                keys[i] = 0.0;
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public String[] getTextKeys(int column) {
+        String[] keys = new String[getRowCount()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = source.getAlternativeName(getSourceRow(i));
+        }
+        return keys;
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int lastRow) {
+        if (visibleRows == null) {
+            fireTableRowsInserted(firstRow, lastRow);
+            return;
+        }
+        // New rows stay hidden until the filter is applied again; shift the ids after them
+        int count = lastRow - firstRow + 1;
+        for (int i = 0; i < visibleRows.length; i++) {
+            if (visibleRows[i] >= firstRow) {
+                visibleRows[i] += count;
+            }
+        }
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int lastRow) {
+        if (visibleRows == null) {
+            fireTableRowsDeleted(firstRow, lastRow);
+            return;
+        }
+        int count = lastRow - firstRow + 1;
+        int kept = 0;
+        int firstRemoved = -1;
+        int lastRemoved = -1;
+        for (int i = 0; i < visibleRows.length; i++) {
+            int row = visibleRows[i];
+            if (row >= firstRow && row <= lastRow) {
+                if (firstRemoved < 0) {
+                    firstRemoved = i;
+                }
+                lastRemoved = i;
+                continue;
+            }
+            visibleRows[kept++] = row > lastRow ? row - count : row;
+        }
+        visibleRows = Arrays.copyOf(visibleRows, kept);
+        if (firstRemoved >= 0) {
+            fireTableRowsDeleted(firstRemoved, lastRemoved);
+        }
+    }
+
+    @Override
+    public void cellUpdated(int row, int column) {
+        int modelRow = getModelRow(row);
+        if (modelRow < 0) {
+            return;
+        }
+        if (column < 0) {
+            fireTableCellUpdated(modelRow, 1);
+        } else {
+            fireTableCellUpdated(modelRow, column + 2);
+        }
+        // The last column may be derived from the row's values
+        fireTableCellUpdated(modelRow, getColumnCount() - 1);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int lastRow) {
+        if (visibleRows == null) {
+            fireTableRowsUpdated(firstRow, lastRow);
+            return;
+        }
+        // Visible rows are ascending, so the shown part of the range is contiguous
+        int first = Arrays.binarySearch(visibleRows, firstRow);
+        int last = Arrays.binarySearch(visibleRows, lastRow);
+        first = first >= 0 ? first : -first - 1;
+        last = last >= 0 ? last : -last - 2;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    @Override
+    public void structureChanged() {
+        visibleRows = null;
+        fireTableStructureChanged();
+    }
+}
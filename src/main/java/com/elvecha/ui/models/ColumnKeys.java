@@ -0,0 +1,25 @@
+package com.elvecha.ui.models;
+
+/**
+ * Sort keys of a table model, read a whole column at a time into primitive arrays so a
+ * {@link PrimitiveRowSorter} never boxes or formats a cell to compare it.
+ */
+public interface ColumnKeys {
+
+    enum KeyType { NUMBER, TEXT, NONE }
+
+    /**
+     * @return how {@code column} sorts; {@link KeyType#NONE} if it cannot be sorted
+     */
+    KeyType getKeyType(int column);
+
+    /**
+     * @return one key per model row, for a {@link KeyType#NUMBER} column
+     */
+    double[] getNumberKeys(int column);
+
+    /**
+     * @return one key per model row, for a {@link KeyType#TEXT} column
+     */
+    String[] getTextKeys(int column);
+}
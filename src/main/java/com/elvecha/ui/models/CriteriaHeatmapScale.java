@@ -0,0 +1,161 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import com.elvecha.ui.renderers.HeatmapScale;
+
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heat of the criterion cells of an {@link AlternativeSourceTableModel}, normalized the
+ * way SAW does: value / max for benefit criteria and min / value for cost criteria.
+ * Column bounds are kept from the model's events, so painting only divides. Each bound
+ * remembers a row holding it: a cell edit widens the bounds in place, and its column is
+ * rescanned only when the edit moved the value of such a row. The table repaints only
+ * if the bounds moved. Unset values are left out of the bounds and painted without heat.
+ */
+public class CriteriaHeatmapScale implements HeatmapScale, TableModelListener {
+    // Table columns before the first criterion: "No" and the name
+    private static final int FIRST_CRITERIA_COLUMN = 2;
+
+    private final JTable table;
+    private final AlternativeSourceTableModel model;
+    private final Map<String, String> types = new HashMap<>();
+    private boolean[] benefit = new boolean[0];
+    private double[] min = new double[0];
+    private double[] max = new double[0];
+    // Source rows holding min and max, or -1 while the column has no values
+    private int[] minRow = new int[0];
+    private int[] maxRow = new int[0];
+
+    public CriteriaHeatmapScale(JTable table, AlternativeSourceTableModel model) {
+        this.table = table;
+        this.model = model;
+        model.addTableModelListener(this);
+        rescanAll();
+    }
+
+    public void setCriteria(List<Criteria> criteria) {
+        types.clear();
+        for (Criteria crit : criteria) {
+            types.put(crit.getName(), crit.getType());
+        }
+        rescanAll();
+        table.repaint();
+    }
+
+    @Override
+    public double normalized(int modelRow, int modelColumn) {
+        int column = modelColumn - FIRST_CRITERIA_COLUMN;
+        if (column < 0 || column >= min.length) {
+            return Double.NaN;
+        }
+        double value = model.getSource().getValue(model.getSourceRow(modelRow), column);
+        double normalized = benefit[column] ? value / max[column] : min[column] / value;
+        // NaN for unset values, infinite for a zero divisor
+        return Double.isFinite(normalized) ? normalized : Double.NaN;
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        int column = e.getColumn() - FIRST_CRITERIA_COLUMN;
+        boolean changed;
+        if (e.getType() == TableModelEvent.UPDATE && e.getFirstRow() != TableModelEvent.HEADER_ROW
+                && column >= 0 && column < min.length) {
+            changed = e.getLastRow() == Integer.MAX_VALUE
+                ? rescan(column)
+                : updated(e.getFirstRow(), e.getLastRow(), column);
+        } else if (e.getType() == TableModelEvent.UPDATE && e.getColumn() != TableModelEvent.ALL_COLUMNS) {
+            // Name or status cell: no values changed
+            changed = false;
+        } else {
+            changed = rescanAll();
+        }
+        if (changed) {
+            table.repaint();
+        }
+    }
+
+    private boolean rescanAll() {
+        AlternativeSource source = model.getSource();
+        int cols = source.getCriteriaCount();
+        boolean changed = cols != min.length;
+        if (changed) {
+            benefit = new boolean[cols];
+            min = new double[cols];
+            max = new double[cols];
+            minRow = new int[cols];
+            maxRow = new int[cols];
+        }
+        for (int j = 0; j < cols; j++) {
+            String type = types.get(source.getCriteriaName(j));
+            boolean isBenefit = type == null || !type.equalsIgnoreCase("cost");
+            changed |= benefit[j] != isBenefit;
+            benefit[j] = isBenefit;
+            changed |= rescan(j);
+        }
+        return changed;
+    }
+
+    /*
+     * Folds edited model rows into one column's bounds. Rows other than the two holders
+     * kept their old values inside the bounds, so their new values can only widen them.
+     * Staged edits fire here too but leave the stored value alone: they read back
+     * unchanged and cost no rescan.
+     */
+    private boolean updated(int firstRow, int lastRow, int column) {
+        AlternativeSource source = model.getSource();
+        double low = min[column];
+        double high = max[column];
+        for (int modelRow = firstRow; modelRow <= lastRow; modelRow++) {
+            int row = model.getSourceRow(modelRow);
+            double value = source.getValue(row, column);
+            if ((row == minRow[column] && !(value <= min[column]))
+                    || (row == maxRow[column] && !(value >= max[column]))) {
+                // A holder moved inward or was unset: the bound may now sit elsewhere
+                rescan(column);
+                break;
+            }
+            if (value < min[column]) {
+                min[column] = value;
+                minRow[column] = row;
+            }
+            if (value > max[column]) {
+                max[column] = value;
+                maxRow[column] = row;
+            }
+        }
+        return Double.compare(low, min[column]) != 0 || Double.compare(high, max[column]) != 0;
+    }
+
+    // Recomputes one column's bounds; true if they differ from before
+    private boolean rescan(int column) {
+        AlternativeSource source = model.getSource();
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        int lowRow = -1;
+        int highRow = -1;
+        for (int row = 0; row < source.getAlternativeCount(); row++) {
+            double value = source.getValue(row, column);
+            if (value < low) {
+                low = value;
+                lowRow = row;
+            }
+            if (value > high) {
+                high = value;
+                highRow = row;
+            }
+        }
+        boolean changed = Double.compare(low, min[column]) != 0 || Double.compare(high, max[column]) != 0;
+        min[column] = low;
+        max[column] = high;
+        minRow[column] = lowRow;
+        maxRow[column] = highRow;
+        return changed;
+    }
+}
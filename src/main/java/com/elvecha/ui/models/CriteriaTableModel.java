@@ -0,0 +1,75 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.Criteria;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+/**
+ * Criteria table that reads each cell from the panel's criteria list when it is painted.
+ * Edits are announced with row events, so the list is never copied into table rows.
+ */
+public class CriteriaTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"No", "Nama Kriteria", "Bobot", "Jenis"};
+
+    private List<Criteria> criteria;
+
+    public CriteriaTableModel(List<Criteria> criteria) {
+        this.criteria = criteria;
+    }
+
+    public void setCriteria(List<Criteria> criteria) {
+        this.criteria = criteria;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Call after {@code criteria.add(...)} appended one entry.
+     */
+    public void criteriaAdded() {
+        int row = criteria.size() - 1;
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Call after {@code criteria.remove(rowIndex)}.
+     */
+    public void criteriaRemoved(int rowIndex) {
+        fireTableRowsDeleted(rowIndex, rowIndex);
+    }
+
+    public void criteriaUpdated(int rowIndex) {
+        fireTableRowsUpdated(rowIndex, rowIndex);
+    }
+
+    @Override
+    public int getRowCount() {
+        return criteria.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (columnIndex == 0) {
+            return rowIndex + 1;
+        }
+        Criteria crit = criteria.get(rowIndex);
+        switch (columnIndex) {
+            case 1:
+                return crit.getName();
+            case 2:
+                return crit.getWeight();
+            default:
+                return crit.getType();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Evaluation grid whose criterion cells are edited in place. Edits are staged in the
+ * model and shown instead of the stored value until {@link #commit()} writes them to the
+ * store together, or {@link #discard()} drops them. The store then announces each changed
+ * cell, so a commit repaints only those cells and never rebuilds the table.
+ *
+ * <p>Staged edits follow inserted and deleted rows; a structure change of the store
+ * drops them, since their columns may no longer exist.
+ */
+public class EvaluationTableModel extends AlternativeSourceTableModel {
+    // Table columns before the first criterion: "No" and the name
+    private static final int FIRST_CRITERIA_COLUMN = 2;
+
+    private final ColumnarAlternativeStore store;
+    // Staged values by cell key, in the order they were entered
+    private Map<Long, Double> pending = new LinkedHashMap<>();
+
+    public EvaluationTableModel(ColumnarAlternativeStore store, String nameColumn,
+                                String statusColumn, IntFunction<Object> statusValue) {
+        super(store, nameColumn, statusColumn, statusValue);
+        this.store = store;
+    }
+
+    /**
+     * Parses an evaluation typed into a cell.
+     *
+     * @throws IllegalArgumentException with a message for the user if it is not a valid value
+     */
+    public static double parseValue(String text) {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("Nilai tidak boleh kosong!");
+        }
+        double value;
+        try {
+            value = Double.parseDouble(trimmed.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nilai harus berupa angka!");
+        }
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Nilai harus berupa angka terhingga!");
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Nilai tidak boleh negatif!");
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return columnIndex >= FIRST_CRITERIA_COLUMN && columnIndex < getColumnCount() - 1;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (isCellEditable(rowIndex, columnIndex)) {
+            Double staged = pending.get(key(getSourceRow(rowIndex), columnIndex - FIRST_CRITERIA_COLUMN));
+            if (staged != null) {
+                return staged;
+            }
+        }
+        return super.getValueAt(rowIndex, columnIndex);
+    }
+
+    /**
+     * Stages a value for a criterion cell; a value equal to the stored one clears the
+     * staged edit instead.
+     *
+     * @throws IllegalArgumentException if the value is not a valid evaluation
+     */
+    @Override
+    public void setValueAt(Object value, int rowIndex, int columnIndex) {
+        if (!isCellEditable(rowIndex, columnIndex)) {
+            return;
+        }
+        double parsed = value instanceof Number
+            ? parseValue(value.toString())
+            : parseValue((String) value);
+        int row = getSourceRow(rowIndex);
+        int column = columnIndex - FIRST_CRITERIA_COLUMN;
+        if (Double.compare(parsed, store.getValue(row, column)) == 0) {
+            pending.remove(key(row, column));
+        } else {
+            pending.put(key(row, column), parsed);
+        }
+        fireTableCellUpdated(rowIndex, columnIndex);
+    }
+
+    /**
+     * Criterion columns sort by what the grid shows, staged values included.
+     */
+    @Override
+    public double[] getNumberKeys(int column) {
+        double[] keys = super.getNumberKeys(column);
+        if (isCellEditable(0, column)) {
+            for (Map.Entry<Long, Double> edit : pending.entrySet()) {
+                int modelRow = getModelRow(rowOf(edit.getKey()));
+                if (modelRow >= 0 && columnOf(edit.getKey()) + FIRST_CRITERIA_COLUMN == column) {
+                    keys[modelRow] = edit.getValue();
+                }
+            }
+        }
+        return keys;
+    }
+
+    public boolean isPending(int rowIndex, int columnIndex) {
+        return isCellEditable(rowIndex, columnIndex)
+            && pending.containsKey(key(getSourceRow(rowIndex), columnIndex - FIRST_CRITERIA_COLUMN));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every staged value to the store at once.
+     *
+     * @return the number of cells written
+     */
+    public int commit() {
+        Map<Long, Double> edits = pending;
+        // Cleared first, so the store's cell events already read the committed values
+        pending = new LinkedHashMap<>();
+        for (Map.Entry<Long, Double> edit : edits.entrySet()) {
+            long key = edit.getKey();
+            store.setValue(rowOf(key), columnOf(key), edit.getValue());
+        }
+        return edits.size();
+    }
+
+    /**
+     * Writes a block of values straight to the store in one batch, replacing staged edits
+     * of those cells. The store announces it as a single rows update.
+     *
+     * @param modelRows    table rows, one per entry of each {@code values} array
+     * @param modelColumns criterion columns of the table, one per {@code values} array
+     * @return the number of cells whose value changed
+     */
+    public int paste(int[] modelRows, int[] modelColumns, double[][] values) {
+        int[] rows = new int[modelRows.length];
+        for (int i = 0; i < modelRows.length; i++) {
+            rows[i] = getSourceRow(modelRows[i]);
+        }
+        int[] columns = new int[modelColumns.length];
+        for (int k = 0; k < modelColumns.length; k++) {
+            if (!isCellEditable(0, modelColumns[k])) {
+                throw new IllegalArgumentException("Kolom " + getColumnName(modelColumns[k]) + " tidak dapat diisi");
+            }
+            columns[k] = modelColumns[k] - FIRST_CRITERIA_COLUMN;
+        }
+        int dropped = 0;
+        if (!pending.isEmpty()) {
+            for (int row : rows) {
+                for (int column : columns) {
+                    dropped += pending.remove(key(row, column)) != null ? 1 : 0;
+                }
+            }
+        }
+        int changed = store.setValues(rows, columns, values);
+        if (changed == 0 && dropped > 0) {
+            // The store fired nothing, but cells that showed a staged value must repaint
+            fireTableRowsUpdated(Arrays.stream(modelRows).min().getAsInt(),
+                Arrays.stream(modelRows).max().getAsInt());
+        }
+        return changed;
+    }
+
+    /**
+     * Drops every staged value, repainting the cells that showed one.
+     */
+    public void discard() {
+        List<Long> keys = new ArrayList<>(pending.keySet());
+        pending.clear();
+        for (long key : keys) {
+            int modelRow = getModelRow(rowOf(key));
+            if (modelRow >= 0) {
+                fireTableCellUpdated(modelRow, columnOf(key) + FIRST_CRITERIA_COLUMN);
+            }
+        }
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int lastRow) {
+        if (!pending.isEmpty()) {
+            Map<Long, Double> shifted = new LinkedHashMap<>();
+            int count = lastRow - firstRow + 1;
+            for (Map.Entry<Long, Double> edit : pending.entrySet()) {
+                int row = rowOf(edit.getKey());
+                shifted.put(key(row >= firstRow ? row + count : row, columnOf(edit.getKey())), edit.getValue());
+            }
+            pending = shifted;
+        }
+        super.rowsInserted(firstRow, lastRow);
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int lastRow) {
+        Map<Long, Double> kept = new LinkedHashMap<>();
+        int count = lastRow - firstRow + 1;
+        for (Map.Entry<Long, Double> edit : pending.entrySet()) {
+            int row = rowOf(edit.getKey());
+            if (row < firstRow) {
+                kept.put(edit.getKey(), edit.getValue());
+            } else if (row > lastRow) {
+                kept.put(key(row - count, columnOf(edit.getKey())), edit.getValue());
+            }
+        }
+        pending = kept;
+        super.rowsDeleted(firstRow, lastRow);
+    }
+
+    @Override
+    public void structureChanged() {
+        pending.clear();
+        super.structureChanged();
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static int rowOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int columnOf(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,183 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import com.elvecha.util.ExportProgress;
+
+import java.util.List;
+
+/**
+ * The normalized decision matrix of an {@link AlternativeSource}, alternatives by criteria,
+ * with a pyramid of block averages for painting it zoomed out. Level 0 holds one value per
+ * row; each level above averages pairs of blocks of the level below, so level {@code k}
+ * has one value per {@code 2^k} rows and a view showing many rows per pixel reads only as
+ * many values as it has pixels.
+ *
+ * <p>Values are normalized the way SAW does: value / max for benefit criteria and
+ * min / value for cost criteria. Unset values are left out of the bounds and the
+ * averages; a block with no values at all is NaN. Built off the EDT and immutable after;
+ * only the values are copied, names are read from the source when asked for.
+ */
+public final class HeatmapMatrix {
+    static final int PROGRESS_INTERVAL_ROWS = 1000;
+
+    private final AlternativeSource source;
+    private final String[] criteriaNames;
+    private final int rowCount;
+    // [level][column][block]
+    private final float[][][] levels;
+
+    private HeatmapMatrix(AlternativeSource source, String[] criteriaNames, int rowCount, float[][][] levels) {
+        this.source = source;
+        this.criteriaNames = criteriaNames;
+        this.rowCount = rowCount;
+        this.levels = levels;
+    }
+
+    /**
+     * @param progress advanced by the rows read, in chunks of {@link #PROGRESS_INTERVAL_ROWS},
+     *                 during each of the two passes over the source; may throw
+     *                 {@link java.util.concurrent.CancellationException} to stop early
+     */
+    public static HeatmapMatrix of(List<Criteria> criteria, AlternativeSource source, ExportProgress progress) {
+        int rows = source.getAlternativeCount();
+        int cols = criteria.size();
+        String[] criteriaNames = new String[cols];
+        int levelCount = 1;
+        while ((1 << (levelCount - 1)) < rows) {
+            levelCount++;
+        }
+
+        float[][][] levels = new float[levelCount][cols][];
+        for (int j = 0; j < cols; j++) {
+            criteriaNames[j] = criteria.get(j).getName();
+        }
+        normalize(criteria, source, rows, levels[0], progress);
+        for (int j = 0; j < cols; j++) {
+            // Values behind each block, so averages of averages stay exact
+            int[] counts = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                counts[i] = Float.isNaN(levels[0][j][i]) ? 0 : 1;
+            }
+            for (int level = 1; level < levelCount; level++) {
+                float[] below = levels[level - 1][j];
+                float[] blocks = new float[(below.length + 1) / 2];
+                int[] blockCounts = new int[blocks.length];
+                for (int b = 0; b < blocks.length; b++) {
+                    int left = 2 * b;
+                    int right = left + 1;
+                    int count = counts[left];
+                    double sum = count > 0 ? (double) below[left] * count : 0.0;
+                    if (right < below.length && counts[right] > 0) {
+                        sum += (double) below[right] * counts[right];
+                        count += counts[right];
+                    }
+                    blocks[b] = count > 0 ? (float) (sum / count) : Float.NaN;
+                    blockCounts[b] = count;
+                }
+                levels[level][j] = blocks;
+                counts = blockCounts;
+            }
+        }
+        return new HeatmapMatrix(source, criteriaNames, rows, levels);
+    }
+
+    /*
+     * Fills one normalized column per criterion. The source is read a row at a time, once
+     * for the bounds and once more for the scores, since paged sources keep rows together.
+     */
+    private static void normalize(List<Criteria> criteria, AlternativeSource source, int rows,
+                                  float[][] normalized, ExportProgress progress) {
+        int cols = criteria.size();
+        // -1 where the source does not have the criterion; every value is then unset
+        int[] sourceColumns = new int[cols];
+        boolean[] benefit = new boolean[cols];
+        double[] low = new double[cols];
+        double[] high = new double[cols];
+        for (int j = 0; j < cols; j++) {
+            Criteria crit = criteria.get(j);
+            sourceColumns[j] = source.findCriteriaColumn(crit.getName());
+            benefit[j] = crit.getType().equalsIgnoreCase("benefit");
+            low[j] = Double.POSITIVE_INFINITY;
+            high[j] = Double.NEGATIVE_INFINITY;
+            normalized[j] = new float[rows];
+        }
+        if (cols == 0) {
+            return;
+        }
+
+        double[] values = new double[source.getCriteriaCount()];
+        for (int i = 0; i < rows; i++) {
+            source.getValues(i, values);
+            for (int j = 0; j < cols; j++) {
+                double value = sourceColumns[j] >= 0 ? values[sourceColumns[j]] : Double.NaN;
+                if (!Double.isNaN(value)) {
+                    low[j] = Math.min(low[j], value);
+                    high[j] = Math.max(high[j], value);
+                }
+            }
+            reportRow(progress, i + 1);
+        }
+        progress.advance(rows % PROGRESS_INTERVAL_ROWS);
+
+        for (int i = 0; i < rows; i++) {
+            source.getValues(i, values);
+            for (int j = 0; j < cols; j++) {
+                double value = sourceColumns[j] >= 0 ? values[sourceColumns[j]] : Double.NaN;
+                double score = benefit[j] ? value / high[j] : low[j] / value;
+                // NaN for unset values, infinite for a zero divisor
+                normalized[j][i] = Double.isFinite(score) ? (float) Math.max(0.0, Math.min(1.0, score)) : Float.NaN;
+            }
+            reportRow(progress, i + 1);
+        }
+        progress.advance(rows % PROGRESS_INTERVAL_ROWS);
+    }
+
+    private static void reportRow(ExportProgress progress, int rowsRead) {
+        if (rowsRead % PROGRESS_INTERVAL_ROWS == 0) {
+            progress.advance(PROGRESS_INTERVAL_ROWS);
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return criteriaNames.length;
+    }
+
+    public String getCriteriaName(int column) {
+        return criteriaNames[column];
+    }
+
+    public String getAlternativeName(int row) {
+        return source.getAlternativeName(row);
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * @return the number of blocks of {@code 2^level} rows at that level
+     */
+    public int getBlockCount(int level) {
+        return getColumnCount() > 0 ? levels[level][0].length : 0;
+    }
+
+    /**
+     * @return the average normalized value of rows {@code block * 2^level} up to the next
+     *         block, in [0, 1], or NaN if none of them is set
+     */
+    public float getValue(int level, int block, int column) {
+        return levels[level][column][block];
+    }
+
+    /**
+     * @return the values of one column at a level, one per block; shared, do not modify
+     */
+    public float[] getColumn(int level, int column) {
+        return levels[level][column];
+    }
+}
@@ -0,0 +1,228 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.util.NameIndex;
+
+import javax.swing.RowFilter;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Debounced name search for a table whose model rows are the indexed row ids. The
+ * {@link NameIndex} lives on its own thread: edits and queries are queued there in
+ * order, and matches come back to the Event Dispatch Thread as a filter of model rows.
+ * Sources too large for the heap are not indexed: see {@link #scan}.
+ *
+ * <p>All methods must be called on the Event Dispatch Thread.
+ */
+public class NameSearch {
+    public static final int DEBOUNCE_MILLIS = 150;
+    // Rows a scan reads between checks for a newer query
+    private static final int SCAN_CHECK_ROWS = 1024;
+
+    // Receives the matching model rows, or null when the query is empty
+    private final Consumer<BitSet> filter;
+    private final NameIndex index = new NameIndex();
+    private final ExecutorService indexThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "name-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Timer debounce;
+    private String query = "";
+    // Bumped by every query and edit; results from an older generation are dropped, and a
+    // scan that falls behind stops early
+    private volatile long generation;
+    // Set while names are scanned instead of indexed
+    private IntFunction<String> scanNames;
+    private int scanCount;
+    private Supplier<Runnable> scanLease;
+
+    public NameSearch(TableRowSorter<? extends TableModel> sorter) {
+        this(matches -> sorter.setRowFilter(matches != null ? new RowIdFilter(matches) : null));
+    }
+
+    public NameSearch(PrimitiveRowSorter<?> sorter) {
+        this(sorter::setRowFilter);
+    }
+
+    private NameSearch(Consumer<BitSet> filter) {
+        this.filter = filter;
+        this.debounce = new Timer(DEBOUNCE_MILLIS, e -> runQuery());
+        this.debounce.setRepeats(false);
+    }
+
+    /**
+     * Restarts the debounce delay; the search runs once typing pauses.
+     */
+    public void setQuery(String text) {
+        query = text;
+        debounce.restart();
+    }
+
+    /**
+     * Replaces the index with names captured on the calling thread.
+     */
+    public void rebuild(List<String> names) {
+        String[] captured = names.toArray(new String[0]);
+        rebuild(captured.length, row -> captured[row]);
+    }
+
+    /**
+     * Replaces the index, reading names on the index thread; {@code names} must tolerate
+     * being called from there.
+     */
+    public void rebuild(int count, IntFunction<String> names) {
+        scanNames = null;
+        scanLease = null;
+        edited(() -> {
+            index.clear();
+            for (int row = 0; row < count; row++) {
+                index.add(names.apply(row));
+            }
+        });
+    }
+
+    /**
+     * Drops the index and answers each query by reading all {@code count} names on the
+     * index thread instead, so no name is kept in the heap. Each query costs a full scan;
+     * a scan overtaken by a newer query stops early. {@code lease} is called before each
+     * scan is queued and the returned release runs when the scan ends.
+     */
+    public void scan(int count, IntFunction<String> names, Supplier<Runnable> lease) {
+        scanNames = names;
+        scanCount = count;
+        scanLease = lease;
+        edited(index::clear);
+    }
+
+    /**
+     * Call after a row was appended to the model.
+     */
+    public void added(String name) {
+        edited(() -> index.add(name));
+    }
+
+    /**
+     * Call after rows were appended to the model in one batch; the index is updated and
+     * searched again once, not once per row.
+     */
+    public void added(String[] names) {
+        edited(() -> {
+            for (String name : names) {
+                index.add(name);
+            }
+        });
+    }
+
+    /**
+     * Call after a model row was removed; later rows move up by one.
+     */
+    public void removed(int row) {
+        edited(() -> index.remove(row));
+    }
+
+    /**
+     * Call after model rows {@code firstRow..lastRow} were removed in one batch.
+     */
+    public void removed(int firstRow, int lastRow) {
+        edited(() -> {
+            for (int row = lastRow; row >= firstRow; row--) {
+                index.remove(row);
+            }
+        });
+    }
+
+    public void dispose() {
+        debounce.stop();
+        // Not interrupted: queued scans may read a paged store, which an interrupt would
+        // close, and must release it when done
+        indexThread.shutdown();
+    }
+
+    private void edited(Runnable update) {
+        generation++;
+        indexThread.execute(update);
+        if (!query.isEmpty()) {
+            // Row ids may have moved: filter again against the updated index
+            debounce.stop();
+            runQuery();
+        }
+    }
+
+    private void runQuery() {
+        long requested = ++generation;
+        String text = query;
+        if (text.isEmpty()) {
+            filter.accept(null);
+            return;
+        }
+        if (scanNames != null) {
+            runScan(requested, text);
+            return;
+        }
+        indexThread.execute(() -> {
+            int[] rows = index.search(text);
+            BitSet matches = new BitSet();
+            for (int row : rows) {
+                matches.set(row);
+            }
+            deliver(requested, matches);
+        });
+    }
+
+    private void runScan(long requested, String text) {
+        IntFunction<String> names = scanNames;
+        int count = scanCount;
+        Runnable release = scanLease.get();
+        indexThread.execute(() -> {
+            BitSet matches = new BitSet();
+            try {
+                // Same matching as NameIndex: case-insensitive substring
+                String normalized = text.toLowerCase(Locale.ROOT);
+                for (int row = 0; row < count; row++) {
+                    if (row % SCAN_CHECK_ROWS == 0 && requested != generation) {
+                        return;
+                    }
+                    if (names.apply(row).toLowerCase(Locale.ROOT).contains(normalized)) {
+                        matches.set(row);
+                    }
+                }
+            } finally {
+                release.run();
+            }
+            deliver(requested, matches);
+        });
+    }
+
+    private void deliver(long requested, BitSet matches) {
+        SwingUtilities.invokeLater(() -> {
+            if (requested == generation) {
+                filter.accept(matches);
+            }
+        });
+    }
+
+    // Accepts model rows by id without reading any cell
+    private static final class RowIdFilter extends RowFilter<TableModel, Integer> {
+        private final BitSet rows;
+
+        RowIdFilter(BitSet rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+            return rows.get(entry.getIdentifier());
+        }
+    }
+}
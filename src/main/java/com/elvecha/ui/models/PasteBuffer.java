@@ -0,0 +1,182 @@
+package com.elvecha.ui.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A rectangular block of tab-separated text copied from a spreadsheet, parsed and
+ * validated into one array per column so it can be written to the store in a single
+ * batch. Parsing touches no Swing or store state, so it runs off the EDT; the buffer is
+ * immutable once built.
+ *
+ * <p>Blank cells are unset (NaN). Every other cell must pass
+ * {@link EvaluationTableModel#parseValue}; the first invalid cell fails the whole paste.
+ */
+public final class PasteBuffer {
+    private final String[] names;
+    // Criteria the columns were matched to; null for a block of values
+    private final List<String> criteriaNames;
+    // [column][row]
+    private final double[][] columns;
+
+    private PasteBuffer(String[] names, List<String> criteriaNames, double[][] columns) {
+        this.names = names;
+        this.criteriaNames = criteriaNames;
+        this.columns = columns;
+    }
+
+    /**
+     * Parses a block of values only, such as a range of evaluation cells.
+     *
+     * @throws IllegalArgumentException naming the first invalid cell
+     */
+    public static PasteBuffer parseValues(String text) {
+        List<String[]> rows = splitRows(text);
+        int width = 0;
+        for (String[] cells : rows) {
+            width = Math.max(width, cells.length);
+        }
+        double[][] columns = new double[width][rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String[] cells = rows.get(i);
+            for (int j = 0; j < width; j++) {
+                columns[j][i] = j < cells.length ? parseCell(cells[j], i, j) : Double.NaN;
+            }
+        }
+        return new PasteBuffer(null, null, columns);
+    }
+
+    /**
+     * Parses whole alternatives: a name followed by one value per criterion. The values
+     * follow {@code criteriaNames} in order, unless the first row is a header naming the
+     * criteria, in which case columns are matched by name and may come in any order.
+     *
+     * @return a buffer with one column per criterion, unset where none was pasted
+     * @throws IllegalArgumentException naming the first invalid cell or unknown header
+     */
+    public static PasteBuffer parseAlternatives(String text, List<String> criteriaNames) {
+        List<String[]> rows = splitRows(text);
+        int[] target = null;
+        if (!rows.isEmpty() && isHeader(rows.get(0))) {
+            String[] header = rows.remove(0);
+            target = new int[header.length];
+            for (int j = 1; j < header.length; j++) {
+                target[j] = indexOfIgnoreCase(criteriaNames, header[j].trim());
+                if (target[j] < 0) {
+                    throw new IllegalArgumentException("Kriteria \"" + header[j].trim() + "\" tidak dikenal");
+                }
+            }
+        }
+
+        String[] names = new String[rows.size()];
+        double[][] columns = new double[criteriaNames.size()][rows.size()];
+        for (double[] column : columns) {
+            Arrays.fill(column, Double.NaN);
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            String[] cells = rows.get(i);
+            String name = cells[0].trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Baris " + (i + 1) + ": nama tidak boleh kosong!");
+            }
+            names[i] = name;
+            if (cells.length - 1 > (target != null ? target.length - 1 : columns.length)) {
+                throw new IllegalArgumentException("Baris " + (i + 1) + ": kolom melebihi jumlah kriteria");
+            }
+            for (int j = 1; j < cells.length; j++) {
+                int column = target != null ? target[j] : j - 1;
+                columns[column][i] = parseCell(cells[j], i, j);
+            }
+        }
+        return new PasteBuffer(names, new ArrayList<>(criteriaNames), columns);
+    }
+
+    public int getRowCount() {
+        return columns.length > 0 ? columns[0].length : names != null ? names.length : 0;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public boolean isSingleValue() {
+        return names == null && columns.length == 1 && columns[0].length == 1;
+    }
+
+    /**
+     * @return the alternative names, or null for a block of values
+     */
+    public String[] getNames() {
+        return names;
+    }
+
+    /**
+     * @return the criteria the columns follow, or null for a block of values
+     */
+    public List<String> getCriteriaNames() {
+        return criteriaNames;
+    }
+
+    /**
+     * @return the values of one column, one per row; the array is shared, do not modify it
+     */
+    public double[] getColumn(int column) {
+        return columns[column];
+    }
+
+    public double getValue(int row, int column) {
+        return columns[column][row];
+    }
+
+    // Lines split on CR/LF, cells on tabs; a trailing line break adds no row
+    private static List<String[]> splitRows(String text) {
+        List<String[]> rows = new ArrayList<>();
+        String[] lines = text.split("\r\n|\n|\r", -1);
+        int count = lines.length;
+        while (count > 0 && lines[count - 1].isEmpty()) {
+            count--;
+        }
+        for (int i = 0; i < count; i++) {
+            rows.add(lines[i].split("\t", -1));
+        }
+        return rows;
+    }
+
+    private static double parseCell(String cell, int row, int column) {
+        if (cell.trim().isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return EvaluationTableModel.parseValue(cell);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Baris " + (row + 1) + ", kolom " + (column + 1) + ": " + e.getMessage(), e);
+        }
+    }
+
+    // A header row has at least one value cell that is not a number at all; invalid
+    // numbers such as negatives are left to fail validation
+    private static boolean isHeader(String[] cells) {
+        for (int j = 1; j < cells.length; j++) {
+            String cell = cells[j].trim();
+            if (!cell.isEmpty()) {
+                try {
+                    Double.parseDouble(cell.replace(',', '.'));
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int indexOfIgnoreCase(List<String> values, String value) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i).equalsIgnoreCase(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,249 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.util.IndexSort;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.table.TableModel;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row sorter that orders row-index permutations against primitive column keys from the
+ * model's {@link ColumnKeys}, instead of comparing boxed cell values the way
+ * {@code TableRowSorter} does. The permutation of every column and direction sorted is
+ * cached until that column changes, so toggling between headers does not sort again.
+ *
+ * <p>Only the primary sort key is applied; ties keep model order. Rows are filtered by
+ * model row id. Like {@code DefaultRowSorter}, updated rows are not re-sorted unless
+ * {@link #setSortsOnUpdates(boolean) sortsOnUpdates} is set, but inserts and deletes are.
+ */
+public class PrimitiveRowSorter<M extends TableModel & ColumnKeys> extends RowSorter<M> {
+    private final M model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    // Model rows shown, or null for all rows
+    private BitSet filter;
+    private boolean sortsOnUpdates;
+    // Sorted permutations of all model rows, by column and direction
+    private final Map<Integer, int[]> permutations = new HashMap<>();
+    // View to model rows, or null while neither sorted nor filtered
+    private int[] viewToModel;
+    // Inverse of viewToModel, built on first use
+    private int[] modelToView;
+    // Model row count viewToModel was built for
+    private int sortedRowCount;
+
+    public PrimitiveRowSorter(M model) {
+        this.model = model;
+        this.sortedRowCount = model.getRowCount();
+    }
+
+    @Override
+    public M getModel() {
+        return model;
+    }
+
+    public boolean isSortable(int column) {
+        return model.getKeyType(column) != ColumnKeys.KeyType.NONE;
+    }
+
+    public void setSortsOnUpdates(boolean sortsOnUpdates) {
+        this.sortsOnUpdates = sortsOnUpdates;
+    }
+
+    /**
+     * Shows only the given model rows, or all rows when {@code rows} is null.
+     */
+    public void setRowFilter(BitSet rows) {
+        this.filter = rows;
+        sort();
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        if (!isSortable(column)) {
+            return;
+        }
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+            && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING) {
+            order = SortOrder.DESCENDING;
+        }
+        setSortKeys(Collections.singletonList(new SortKey(column, order)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> primary = keys == null || keys.isEmpty()
+            ? Collections.emptyList()
+            : Collections.singletonList(keys.get(0));
+        if (!primary.equals(sortKeys)) {
+            sortKeys = primary;
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (index < 0 || index >= getViewRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid index");
+        }
+        return viewToModel != null ? viewToModel[index] : index;
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= getModelRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid index");
+        }
+        if (viewToModel == null) {
+            return index;
+        }
+        if (modelToView == null) {
+            modelToView = new int[sortedRowCount];
+            Arrays.fill(modelToView, -1);
+            for (int view = 0; view < viewToModel.length; view++) {
+                modelToView[viewToModel[view]] = view;
+            }
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel != null ? viewToModel.length : model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        permutations.clear();
+        if (!sortKeys.isEmpty()) {
+            sortKeys = Collections.emptyList();
+            fireSortOrderChanged();
+        }
+        sort();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        permutations.clear();
+        sort();
+    }
+
+    // Tables sharing this sorter each forward the same insert or delete; only the
+    // first one that finds the row count changed sorts again
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        if (model.getRowCount() != sortedRowCount) {
+            permutations.clear();
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        if (model.getRowCount() != sortedRowCount) {
+            permutations.clear();
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        permutations.clear();
+        if (sortsOnUpdates && !sortKeys.isEmpty()) {
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        permutations.remove(cacheKey(column, false));
+        permutations.remove(cacheKey(column, true));
+        if (sortsOnUpdates && !sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+            sort();
+        }
+    }
+
+    private void sort() {
+        int rowCount = model.getRowCount();
+        int[] order = null;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getSortOrder() != SortOrder.UNSORTED
+            && sortKeys.get(0).getColumn() < model.getColumnCount()) {
+            order = permutation(sortKeys.get(0).getColumn(), sortKeys.get(0).getSortOrder() == SortOrder.DESCENDING);
+        }
+        if (order == null && filter == null && viewToModel == null) {
+            // Still in model order; nothing for listeners to remap
+            sortedRowCount = rowCount;
+            return;
+        }
+
+        int[] previous = viewToModel;
+        if (previous == null) {
+            // Listeners map their selection through the order before the change
+            previous = new int[sortedRowCount];
+            for (int i = 0; i < previous.length; i++) {
+                previous[i] = i;
+            }
+        }
+        if (order == null && filter == null) {
+            viewToModel = null;
+        } else {
+            int[] view = new int[rowCount];
+            int count = 0;
+            for (int i = 0; i < rowCount; i++) {
+                int row = order != null ? order[i] : i;
+                if (filter == null || filter.get(row)) {
+                    view[count++] = row;
+                }
+            }
+            viewToModel = count == rowCount ? view : Arrays.copyOf(view, count);
+        }
+        modelToView = null;
+        sortedRowCount = rowCount;
+        fireRowSorterChanged(previous);
+    }
+
+    // Sorted model rows of a column, or null if it cannot be sorted
+    private int[] permutation(int column, boolean descending) {
+        int key = cacheKey(column, descending);
+        int[] order = permutations.get(key);
+        if (order == null) {
+            switch (model.getKeyType(column)) {
+                case NUMBER:
+                    double[] numbers = model.getNumberKeys(column);
+                    order = descending ? IndexSort.descending(numbers) : IndexSort.ascending(numbers);
+                    break;
+                case TEXT:
+                    order = IndexSort.sorted(model.getTextKeys(column), descending
+                        ? String.CASE_INSENSITIVE_ORDER.reversed()
+                        : String.CASE_INSENSITIVE_ORDER);
+                    break;
+                default:
+                    return null;
+            }
+            permutations.put(key, order);
+        }
+        return order;
+    }
+
+    private static int cacheKey(int column, boolean descending) {
+        return column * 2 + (descending ? 1 : 0);
+    }
+}
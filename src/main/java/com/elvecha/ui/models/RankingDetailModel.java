@@ -0,0 +1,121 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import com.elvecha.util.RankingResult;
+
+import javax.swing.AbstractListModel;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Calculation details of every ranked alternative as a flat list of lines: the name,
+ * one line per criterion, the final score and a blank separator. Lines are formatted
+ * when a list asks for them, so only the rows scrolled into view are ever built. A list
+ * holds at most {@code Integer.MAX_VALUE} lines, so the details of the lowest ranks of
+ * a very large ranking with many criteria are left out.
+ */
+public class RankingDetailModel extends AbstractListModel<String> {
+    private final DecimalFormat df = new DecimalFormat("#.###");
+    private AlternativeSource source;
+    private RankingResult ranking;
+    private String[] criteriaNames = new String[0];
+    private double[] weights = new double[0];
+    // Source column of each criterion, or -1 if the source lacks it
+    private int[] columns = new int[0];
+
+    public void setRanking(AlternativeSource source, RankingResult ranking, List<Criteria> criteria) {
+        int oldSize = getSize();
+        this.source = source;
+        this.ranking = ranking;
+        int cols = criteria.size();
+        criteriaNames = new String[cols];
+        weights = new double[cols];
+        columns = new int[cols];
+        for (int j = 0; j < cols; j++) {
+            Criteria crit = criteria.get(j);
+            criteriaNames[j] = crit.getName();
+            weights[j] = crit.getWeight();
+            columns[j] = source.findCriteriaColumn(crit.getName());
+        }
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (getSize() > 0) {
+            fireIntervalAdded(this, 0, getSize() - 1);
+        }
+    }
+
+    /**
+     * Replaces the ranking when only ranks {@code firstRank..lastRank} differ, with the
+     * same alternatives and criteria as before.
+     */
+    public void updateRanking(AlternativeSource source, RankingResult ranking, int firstRank, int lastRank) {
+        this.source = source;
+        this.ranking = ranking;
+        int shown = shownRanks();
+        if (firstRank >= shown) {
+            return;
+        }
+        int stride = linesPerRank();
+        fireContentsChanged(this, firstRank * stride, Math.min(lastRank + 1, shown) * stride - 1);
+    }
+
+    /**
+     * Replaces a partial ranking with one that orders more ranks, appending just the new
+     * lines; the ranks already shown must be the same.
+     */
+    public void extendRanking(RankingResult ranking) {
+        int oldSize = getSize();
+        this.ranking = ranking;
+        if (getSize() > oldSize) {
+            fireIntervalAdded(this, oldSize, getSize() - 1);
+        }
+    }
+
+    public int linesPerRank() {
+        return criteriaNames.length + 3;
+    }
+
+    /**
+     * @return whether the line is an alternative name or final score
+     */
+    public boolean isHeading(int index) {
+        int line = index % linesPerRank();
+        return line == 0 || line == criteriaNames.length + 1;
+    }
+
+    // Whole ranks whose lines fit in an int index
+    private int shownRanks() {
+        if (ranking == null) {
+            return 0;
+        }
+        return Math.min(ranking.size(), Integer.MAX_VALUE / linesPerRank());
+    }
+
+    @Override
+    public int getSize() {
+        return shownRanks() * linesPerRank();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        int stride = linesPerRank();
+        int rank = index / stride;
+        int line = index % stride;
+        int row = ranking.getRowAt(rank);
+        if (line == 0) {
+            return source.getAlternativeName(row);
+        }
+        if (line == criteriaNames.length + 1) {
+            return "Nilai Akhir: " + df.format(ranking.getScoreAt(rank));
+        }
+        if (line == criteriaNames.length + 2) {
+            return "";
+        }
+        int j = line - 1;
+        double value = columns[j] >= 0 ? source.getValue(row, columns[j]) : Double.NaN;
+        return String.format("%s: %s (Bobot: %.2f)",
+            criteriaNames[j], Double.isNaN(value) ? "-" : df.format(value), weights[j]);
+    }
+}
@@ -0,0 +1,112 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.storage.PagedAlternativeStore;
+import com.elvecha.util.RankingResult;
+
+import javax.swing.table.AbstractTableModel;
+import java.text.DecimalFormat;
+
+/**
+ * Ranking table whose rows are looked up in the {@link RankingResult} on demand. Rank,
+ * score and status sort by score; names sort unless the source is a paged store, whose
+ * names would have to be read from disk.
+ */
+public class RankingTableModel extends AbstractTableModel implements ColumnKeys {
+    private static final String[] COLUMNS = {"Ranking", "Wedding Organizer", "Nilai Akhir", "Status"};
+
+    private final DecimalFormat df = new DecimalFormat("#.###");
+    private AlternativeSource source;
+    private RankingResult ranking;
+
+    public void setRanking(AlternativeSource source, RankingResult ranking) {
+        this.source = source;
+        this.ranking = ranking;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Replaces the ranking when only ranks {@code firstRank..lastRank} differ from the
+     * current one, repainting just those rows.
+     */
+    public void updateRanking(AlternativeSource source, RankingResult ranking, int firstRank, int lastRank) {
+        this.source = source;
+        this.ranking = ranking;
+        fireTableRowsUpdated(firstRank, lastRank);
+    }
+
+    /**
+     * Replaces a partial ranking with one that orders more ranks, appending just the new
+     * rows; the ranks already shown must be the same.
+     */
+    public void extendRanking(RankingResult ranking) {
+        int oldSize = getRowCount();
+        this.ranking = ranking;
+        if (ranking.size() > oldSize) {
+            fireTableRowsInserted(oldSize, ranking.size() - 1);
+        }
+    }
+
+    public RankingResult getRanking() {
+        return ranking;
+    }
+
+    public AlternativeSource getSource() {
+        return source;
+    }
+
+    @Override
+    public int getRowCount() {
+        return ranking != null ? ranking.size() : 0;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        switch (columnIndex) {
+            case 0:
+                return rowIndex + 1;
+            case 1:
+                return source.getAlternativeName(ranking.getRowAt(rowIndex));
+            case 2:
+                return df.format(ranking.getScoreAt(rowIndex));
+            default:
+                return RankingResult.getRecommendation(ranking.getScoreAt(rowIndex));
+        }
+    }
+
+    @Override
+    public KeyType getKeyType(int column) {
+        if (column == 1) {
+            return source instanceof PagedAlternativeStore ? KeyType.NONE : KeyType.TEXT;
+        }
+        return KeyType.NUMBER;
+    }
+
+    @Override
+    public double[] getNumberKeys(int column) {
+        double[] keys = new double[getRowCount()];
+        for (int rank = 0; rank < keys.length; rank++) {
+            keys[rank] = column == 0 ? rank : ranking.getScoreAt(rank);
+        }
+        return keys;
+    }
+
+    @Override
+    public String[] getTextKeys(int column) {
+        String[] keys = new String[getRowCount()];
+        for (int rank = 0; rank < keys.length; rank++) {
+            keys[rank] = source.getAlternativeName(ranking.getRowAt(rank));
+        }
+        return keys;
+    }
+}
@@ -1,8 +1,17 @@
 package com.elvecha.ui.panels;
 
 import com.elvecha.model.Alternative;
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.AlternativeStoreListener;
+import com.elvecha.model.ColumnarAlternativeStore;
 import com.elvecha.model.Criteria;
-import com.elvecha.ui.models.CustomTableModel;
+import com.elvecha.model.WorkspaceModel;
+import com.elvecha.storage.PagedAlternativeStore;
+import com.elvecha.ui.VirtualColumnPane;
+import com.elvecha.ui.models.AlternativeSourceTableModel;
+import com.elvecha.ui.models.NameSearch;
+import com.elvecha.ui.models.PasteBuffer;
+import com.elvecha.ui.models.PrimitiveRowSorter;
 import com.elvecha.ui.renderers.CustomTableRenderer;
 
 import javax.swing.*;
@@ -10,16 +19,26 @@ import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.Function;
 
 public class AlternativePanel extends JPanel {
     private JTable table;
-    private CustomTableModel tableModel;
-    private List<Alternative> alternativeList;
+    private AlternativeSourceTableModel tableModel;
+    private final WorkspaceModel workspace;
+    // The workspace alternatives, one primitive array per criterion
+    private final ColumnarAlternativeStore store;
     private JTextField searchField;
-    private List<Criteria> criteriaList;
+    private NameSearch nameSearch;
+    // Set when a paged workspace is opened; rows are then read on demand from disk
+    private AlternativeSource pagedSource;
 
     public AlternativePanel() {
-        alternativeList = new ArrayList<>();
+        this(new WorkspaceModel());
+    }
+
+    public AlternativePanel(WorkspaceModel workspace) {
+        this.workspace = workspace;
+        this.store = workspace.getAlternatives();
         initializeComponents();
         setupLayout();
         addListeners();
@@ -27,20 +46,15 @@ public class AlternativePanel extends JPanel {
 
     private void initializeComponents() {
         // Initialize table model with dynamic columns based on criteria
-        List<String> columns = new ArrayList<>();
-        columns.add("No");
-        columns.add("Nama WO");
-        if (criteriaList != null) {
-            for (Criteria criteria : criteriaList) {
-                columns.add(criteria.getName());
-            }
-        }
-        columns.add("Aksi");
-        
-        tableModel = new CustomTableModel(columns);
+        tableModel = new AlternativeSourceTableModel(currentSource(), "Nama WO", "Aksi", "✏️🗑️");
         
         // Initialize table
         table = new JTable(tableModel);
+        // Sorts row indexes against the store's columns, so a header click stays fast at a million rows
+        PrimitiveRowSorter<AlternativeSourceTableModel> sorter = new PrimitiveRowSorter<>(tableModel);
+        table.setRowSorter(sorter);
+        nameSearch = new NameSearch(sorter);
+        rebuildIndex();
         table.setRowHeight(30);
         table.setFont(new Font("Arial", Font.PLAIN, 12));
         table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
@@ -51,23 +65,8 @@ public class AlternativePanel extends JPanel {
         CustomTableRenderer renderer = new CustomTableRenderer(-1); // No type column in alternatives
         table.setDefaultRenderer(Object.class, renderer);
         
-        // Add mouse listeners for hover effect
-        table.addMouseMotionListener(new MouseMotionAdapter() {
-            @Override
-            public void mouseMoved(MouseEvent e) {
-                int row = table.rowAtPoint(e.getPoint());
-                renderer.setHoveredRow(row);
-                table.repaint();
-            }
-        });
-        
-        table.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseExited(MouseEvent e) {
-                renderer.setHoveredRow(-1);
-                table.repaint();
-            }
-        });
+        // Hovering repaints only the rows entered and left
+        renderer.installHover(table);
 
         // Search field
         searchField = new JTextField(20);
@@ -85,11 +84,14 @@ public class AlternativePanel extends JPanel {
         searchPanel.add(searchField);
         add(searchPanel, BorderLayout.NORTH);
 
-        // Table in center with scroll pane
-        JScrollPane scrollPane = new JScrollPane(table);
-        scrollPane.setBackground(Color.decode("#f5f2e8"));
-        scrollPane.getViewport().setBackground(Color.WHITE);
-        add(scrollPane, BorderLayout.CENTER);
+        // Table in center; only the criterion columns in view are materialized and the
+        // number and name columns stay in place
+        VirtualColumnPane tablePane = new VirtualColumnPane(table, new int[]{50, 200});
+        tablePane.setBackground(Color.decode("#f5f2e8"));
+        CustomTableRenderer frozenRenderer = new CustomTableRenderer(-1);
+        frozenRenderer.installHover(tablePane.getFrozenTable());
+        tablePane.getFrozenTable().setDefaultRenderer(Object.class, frozenRenderer);
+        add(tablePane, BorderLayout.CENTER);
     }
 
     private void addListeners() {
@@ -98,41 +100,126 @@ public class AlternativePanel extends JPanel {
             public void removeUpdate(javax.swing.event.DocumentEvent e) { search(); }
             public void insertUpdate(javax.swing.event.DocumentEvent e) { search(); }
         });
+
+        // Rows copied from a spreadsheet are parsed in the background and appended at once
+        ClipboardPaste.install(table, this, this::pasteParser, this::applyPaste);
+
+        // The table model follows the store itself; the name index is kept in step here
+        store.addListener(new AlternativeStoreListener() {
+            @Override
+            public void rowsInserted(int firstRow, int lastRow) {
+                if (pagedSource == null) {
+                    String[] names = new String[lastRow - firstRow + 1];
+                    for (int row = firstRow; row <= lastRow; row++) {
+                        names[row - firstRow] = store.getAlternativeName(row);
+                    }
+                    nameSearch.added(names);
+                }
+            }
+
+            @Override
+            public void rowsDeleted(int firstRow, int lastRow) {
+                if (pagedSource == null) {
+                    nameSearch.removed(firstRow, lastRow);
+                }
+            }
+
+            @Override
+            public void cellUpdated(int row, int column) {
+                if (column < 0 && pagedSource == null) {
+                    rebuildIndex();
+                }
+            }
+
+            @Override
+            public void rowsUpdated(int firstRow, int lastRow) {
+                // Values only; names are unchanged
+            }
+
+            @Override
+            public void structureChanged() {
+                if (pagedSource == null) {
+                    rebuildIndex();
+                }
+            }
+        });
     }
 
     private void search() {
-        String searchText = searchField.getText().toLowerCase();
-        List<List<Object>> filteredData = new ArrayList<>();
-        int counter = 1;
-
-        for (Alternative alternative : alternativeList) {
-            if (alternative.getName().toLowerCase().contains(searchText)) {
-                List<Object> row = createRowData(counter++, alternative);
-                filteredData.add(row);
+        // Debounced; matching runs on the index thread
+        nameSearch.setQuery(searchField.getText());
+    }
+
+    private void rebuildIndex() {
+        AlternativeSource source = currentSource();
+        if (source == store) {
+            // The store is confined to the EDT, so its names are captured here
+            List<String> names = new ArrayList<>(store.getAlternativeCount());
+            for (int row = 0; row < store.getAlternativeCount(); row++) {
+                names.add(store.getAlternativeName(row));
             }
+            nameSearch.rebuild(names);
+        } else {
+            // Paged stores may not fit the heap: names are scanned from disk per query
+            nameSearch.scan(source.getAlternativeCount(), source::getAlternativeName,
+                () -> PagedAlternativeStore.lease(source));
         }
+    }
 
-        tableModel.setData(filteredData);
+    private AlternativeSource currentSource() {
+        return pagedSource != null ? pagedSource : store;
     }
 
-    private List<Object> createRowData(int counter, Alternative alternative) {
-        List<Object> row = new ArrayList<>();
-        row.add(counter);
-        row.add(alternative.getName());
-        
-        if (criteriaList != null) {
-            for (Criteria criteria : criteriaList) {
-                Double value = alternative.getCriteriaValue(criteria.getName());
-                row.add(value != null ? value : 0.0);
-            }
+    private boolean checkEditable() {
+        if (pagedSource != null) {
+            JOptionPane.showMessageDialog(this,
+                "Workspace berhalaman hanya dapat dijelajahi dan diperingkat!");
+            return false;
         }
-        
-        row.add("✏️🗑️"); // Action icons
-        return row;
+        return true;
+    }
+
+    private List<String> storeCriteriaNames() {
+        List<String> criteriaNames = new ArrayList<>(store.getCriteriaCount());
+        for (int j = 0; j < store.getCriteriaCount(); j++) {
+            criteriaNames.add(store.getCriteriaName(j));
+        }
+        return criteriaNames;
+    }
+
+    private Function<String, PasteBuffer> pasteParser() {
+        if (!checkEditable()) {
+            return null;
+        }
+        if (store.getCriteriaCount() == 0) {
+            JOptionPane.showMessageDialog(this, "Harap tambahkan kriteria terlebih dahulu!");
+            return null;
+        }
+        // Captured here: the parse runs off the EDT and must not read the store
+        List<String> criteriaNames = storeCriteriaNames();
+        return text -> PasteBuffer.parseAlternatives(text, criteriaNames);
+    }
+
+    private void applyPaste(PasteBuffer buffer) {
+        if (pagedSource != null || !storeCriteriaNames().equals(buffer.getCriteriaNames())) {
+            JOptionPane.showMessageDialog(this, "Kriteria berubah saat menempel, silakan tempel ulang!");
+            return;
+        }
+        double[][] values = new double[buffer.getColumnCount()][];
+        for (int j = 0; j < values.length; j++) {
+            values[j] = buffer.getColumn(j);
+        }
+        // One insert event for the whole block
+        store.addRows(buffer.getNames(), values);
+        JOptionPane.showMessageDialog(this, buffer.getRowCount() + " Wedding Organizer berhasil ditambahkan!");
     }
 
     public void handleAdd() {
-        if (criteriaList == null || criteriaList.isEmpty()) {
+        if (!checkEditable()) {
+            return;
+        }
+        List<Criteria> criteriaList = workspace.getCriteria();
+        if (criteriaList.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Harap tambahkan kriteria terlebih dahulu!");
             return;
         }
@@ -207,8 +294,8 @@ public class AlternativePanel extends JPanel {
                     }
                 }
 
-                alternativeList.add(newAlternative);
-                refreshTable();
+                // The store announces the new row to the table model and the index
+                store.addAlternative(newAlternative);
                 dialog.dispose();
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog, "Terjadi kesalahan: " + ex.getMessage());
@@ -236,7 +323,10 @@ public class AlternativePanel extends JPanel {
             return;
         }
 
-        Alternative selectedAlternative = alternativeList.get(selectedRow);
+        if (!checkEditable()) {
+            return;
+        }
+        Alternative selectedAlternative = store.getAlternative(table.convertRowIndexToModel(selectedRow));
         // Create edit dialog similar to handleAdd() but with pre-filled values
         // ... (implement similar to handleAdd with pre-filled values)
     }
@@ -247,6 +337,9 @@ public class AlternativePanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Pilih Wedding Organizer yang akan dihapus!");
             return;
         }
+        if (!checkEditable()) {
+            return;
+        }
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Apakah Anda yakin ingin menghapus Wedding Organizer ini?",
@@ -254,8 +347,7 @@ public class AlternativePanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            alternativeList.remove(selectedRow);
-            refreshTable();
+            store.removeRow(table.convertRowIndexToModel(selectedRow));
         }
     }
 
@@ -265,36 +357,33 @@ public class AlternativePanel extends JPanel {
     }
 
     private void refreshTable() {
-        List<List<Object>> data = new ArrayList<>();
-        int counter = 1;
-        for (Alternative alternative : alternativeList) {
-            List<Object> row = createRowData(counter++, alternative);
-            data.add(row);
+        // Cells are read from the source on paint; edits to the store arrive as row events
+        if (tableModel.getSource() != currentSource()) {
+            tableModel.setSource(currentSource());
+            rebuildIndex();
         }
-        tableModel.setData(data);
-    }
-
-    public void setCriteriaList(List<Criteria> criteriaList) {
-        this.criteriaList = criteriaList;
-        // Reinitialize table with updated columns
-        initializeComponents();
-        refreshTable();
     }
 
+    /**
+     * @return a copy of the in-memory alternatives
+     */
     public List<Alternative> getAlternativeList() {
-        return alternativeList;
+        return store.toAlternativeList();
     }
 
-    public void setAlternativeList(List<Alternative> alternatives) {
-        this.alternativeList = new ArrayList<>(alternatives);
-        refreshTable();
+    /**
+     * @return the in-memory alternatives, read in place
+     */
+    public AlternativeSource getAlternativeSource() {
+        return store;
     }
 
-    public void setCriteriaList(List<Criteria> criteria) {
-        this.criteriaList = new ArrayList<>(criteria);
-        // Reinitialize table with updated columns
-        initializeComponents();
-        setupLayout();
+    /**
+     * Browses a workspace that is too large for the heap; rows are pulled from
+     * {@code source} only when they are painted.
+     */
+    public void setAlternativeSource(AlternativeSource source) {
+        this.pagedSource = source;
         refreshTable();
     }
 }
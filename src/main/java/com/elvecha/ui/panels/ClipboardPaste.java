@@ -0,0 +1,98 @@
+package com.elvecha.ui.panels;
+
+import com.elvecha.ui.models.PasteBuffer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Paste of spreadsheet ranges into a panel table. The clipboard text is read on the EDT,
+ * parsed into a {@link PasteBuffer} on a background thread, and handed back to the EDT
+ * to be applied in one batch.
+ */
+final class ClipboardPaste {
+    private final JComponent owner;
+    private final Supplier<Function<String, PasteBuffer>> parser;
+    private final Consumer<PasteBuffer> applier;
+    private SwingWorker<PasteBuffer, Void> worker;
+
+    private ClipboardPaste(JComponent owner, Supplier<Function<String, PasteBuffer>> parser,
+                           Consumer<PasteBuffer> applier) {
+        this.owner = owner;
+        this.parser = parser;
+        this.applier = applier;
+    }
+
+    /**
+     * Replaces the table's paste action (Ctrl+V, Shift+Insert).
+     *
+     * @param parser  called on the EDT when a paste starts, returning the parse to run off
+     *                the EDT, or null to cancel the paste; the parse must only use its
+     *                argument and values captured here
+     * @param applier runs on the EDT with the parsed buffer
+     */
+    static void install(JTable table, JComponent owner, Supplier<Function<String, PasteBuffer>> parser,
+                        Consumer<PasteBuffer> applier) {
+        ClipboardPaste paste = new ClipboardPaste(owner, parser, applier);
+        table.getActionMap().put(TransferHandler.getPasteAction().getValue(Action.NAME), new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                paste.start();
+            }
+        });
+    }
+
+    private void start() {
+        if (worker != null) {
+            return; // the previous paste is still being parsed
+        }
+        Function<String, PasteBuffer> parse = parser.get();
+        if (parse == null) {
+            return;
+        }
+        String text;
+        try {
+            text = (String) Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+        } catch (UnsupportedFlavorException | IOException | IllegalStateException e) {
+            JOptionPane.showMessageDialog(owner, "Clipboard tidak berisi teks yang dapat ditempel!");
+            return;
+        }
+
+        worker = new SwingWorker<PasteBuffer, Void>() {
+            @Override
+            protected PasteBuffer doInBackground() {
+                return parse.apply(text);
+            }
+
+            @Override
+            protected void done() {
+                worker = null;
+                try {
+                    PasteBuffer buffer = get();
+                    if (buffer.getRowCount() > 0) {
+                        applier.accept(buffer);
+                    }
+                } catch (CancellationException e) {
+                    // nothing to apply
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(owner,
+                        "Gagal menempel data: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+}
@@ -1,10 +1,14 @@
 package com.elvecha.ui.panels;
 
 import com.elvecha.model.Criteria;
-import com.elvecha.ui.models.CustomTableModel;
+import com.elvecha.model.WorkspaceListener;
+import com.elvecha.model.WorkspaceModel;
+import com.elvecha.ui.models.CriteriaTableModel;
+import com.elvecha.ui.models.NameSearch;
 import com.elvecha.ui.renderers.CustomTableRenderer;
 
 import javax.swing.*;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
@@ -12,24 +16,32 @@ import java.util.List;
 
 public class CriteriaPanel extends JPanel {
     private JTable table;
-    private CustomTableModel tableModel;
-    private List<Criteria> criteriaList;
+    private CriteriaTableModel tableModel;
+    private final WorkspaceModel workspace;
     private JTextField searchField;
+    private NameSearch nameSearch;
     
     public CriteriaPanel() {
-        criteriaList = new ArrayList<>();
+        this(new WorkspaceModel());
+    }
+
+    public CriteriaPanel(WorkspaceModel workspace) {
+        this.workspace = workspace;
         initializeComponents();
         setupLayout();
         addListeners();
     }
 
     private void initializeComponents() {
-        // Initialize table model with columns
-        List<String> columns = Arrays.asList("No", "Nama Kriteria", "Bobot", "Jenis");
-        tableModel = new CustomTableModel(columns);
+        // Cells are read from the workspace criteria on paint
+        tableModel = new CriteriaTableModel(workspace.getCriteria());
         
         // Initialize table
         table = new JTable(tableModel);
+        TableRowSorter<CriteriaTableModel> sorter = new TableRowSorter<>(tableModel);
+        table.setRowSorter(sorter);
+        nameSearch = new NameSearch(sorter);
+        rebuildIndex();
         table.setRowHeight(30);
         table.setFont(new Font("Arial", Font.PLAIN, 12));
         table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
@@ -40,23 +52,8 @@ public class CriteriaPanel extends JPanel {
         CustomTableRenderer renderer = new CustomTableRenderer(3); // 3 is the index of "Jenis" column
         table.setDefaultRenderer(Object.class, renderer);
         
-        // Add mouse listener for hover effect
-        table.addMouseMotionListener(new MouseMotionAdapter() {
-            @Override
-            public void mouseMoved(MouseEvent e) {
-                int row = table.rowAtPoint(e.getPoint());
-                renderer.setHoveredRow(row);
-                table.repaint();
-            }
-        });
-        
-        table.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseExited(MouseEvent e) {
-                renderer.setHoveredRow(-1);
-                table.repaint();
-            }
-        });
+        // Hovering repaints only the rows entered and left
+        renderer.installHover(table);
 
         // Search field
         searchField = new JTextField(20);
@@ -87,25 +84,38 @@ public class CriteriaPanel extends JPanel {
             public void removeUpdate(javax.swing.event.DocumentEvent e) { search(); }
             public void insertUpdate(javax.swing.event.DocumentEvent e) { search(); }
         });
-    }
 
-    private void search() {
-        String searchText = searchField.getText().toLowerCase();
-        List<List<Object>> filteredData = new ArrayList<>();
-        int counter = 1;
-
-        for (Criteria criteria : criteriaList) {
-            if (criteria.getName().toLowerCase().contains(searchText)) {
-                List<Object> row = new ArrayList<>();
-                row.add(counter++);
-                row.add(criteria.getName());
-                row.add(criteria.getWeight());
-                row.add(criteria.getType());
-                filteredData.add(row);
+        // Every criteria change, from this panel or elsewhere, arrives here
+        workspace.addListener(new WorkspaceListener() {
+            @Override
+            public void criteriaAdded(int index) {
+                tableModel.criteriaAdded();
+                nameSearch.added(workspace.getCriteria().get(index).getName());
             }
-        }
 
-        tableModel.setData(filteredData);
+            @Override
+            public void criteriaRemoved(int index) {
+                tableModel.criteriaRemoved(index);
+                nameSearch.removed(index);
+            }
+
+            @Override
+            public void criteriaUpdated(int index) {
+                tableModel.criteriaUpdated(index);
+                rebuildIndex();
+            }
+
+            @Override
+            public void workspaceReplaced() {
+                tableModel.setCriteria(workspace.getCriteria());
+                rebuildIndex();
+            }
+        });
+    }
+
+    private void search() {
+        // Debounced; matching runs on the index thread
+        nameSearch.setQuery(searchField.getText());
     }
 
     public void handleAdd() {
@@ -156,9 +166,7 @@ public class CriteriaPanel extends JPanel {
                     return;
                 }
 
-                Criteria newCriteria = new Criteria(name, weight, type);
-                criteriaList.add(newCriteria);
-                refreshTable();
+                workspace.addCriteria(new Criteria(name, weight, type));
                 dialog.dispose();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog, "Bobot harus berupa angka!");
@@ -186,7 +194,7 @@ public class CriteriaPanel extends JPanel {
             return;
         }
 
-        Criteria selectedCriteria = criteriaList.get(selectedRow);
+        Criteria selectedCriteria = workspace.getCriteria().get(table.convertRowIndexToModel(selectedRow));
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Edit Kriteria", true);
         // Similar to handleAdd() but with pre-filled values
         // ... (implement similar to handleAdd with pre-filled values)
@@ -205,8 +213,7 @@ public class CriteriaPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            criteriaList.remove(selectedRow);
-            refreshTable();
+            workspace.removeCriteria(table.convertRowIndexToModel(selectedRow));
         }
     }
 
@@ -215,26 +222,18 @@ public class CriteriaPanel extends JPanel {
         JOptionPane.showMessageDialog(this, "Data kriteria berhasil disimpan!");
     }
 
-    private void refreshTable() {
-        List<List<Object>> data = new ArrayList<>();
-        int counter = 1;
-        for (Criteria criteria : criteriaList) {
-            List<Object> row = new ArrayList<>();
-            row.add(counter++);
-            row.add(criteria.getName());
-            row.add(criteria.getWeight());
-            row.add(criteria.getType());
-            data.add(row);
+    private void rebuildIndex() {
+        List<String> names = new ArrayList<>(workspace.getCriteria().size());
+        for (Criteria criteria : workspace.getCriteria()) {
+            names.add(criteria.getName());
         }
-        tableModel.setData(data);
+        nameSearch.rebuild(names);
     }
 
+    /**
+     * @return the workspace criteria, read-only
+     */
     public List<Criteria> getCriteriaList() {
-        return criteriaList;
-    }
-
-    public void setCriteriaList(List<Criteria> criteria) {
-        this.criteriaList = new ArrayList<>(criteria);
-        refreshTable();
+        return workspace.getCriteria();
     }
 }
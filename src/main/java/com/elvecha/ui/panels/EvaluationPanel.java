@@ -1,28 +1,47 @@
 package com.elvecha.ui.panels;
 
-import com.elvecha.model.Alternative;
+import com.elvecha.model.ColumnarAlternativeStore;
 import com.elvecha.model.Criteria;
-import com.elvecha.ui.models.CustomTableModel;
+import com.elvecha.model.WorkspaceListener;
+import com.elvecha.model.WorkspaceModel;
+import com.elvecha.ui.VirtualColumnPane;
+import com.elvecha.ui.models.CriteriaHeatmapScale;
+import com.elvecha.ui.models.EvaluationTableModel;
+import com.elvecha.ui.models.PasteBuffer;
+import com.elvecha.ui.models.PrimitiveRowSorter;
 import com.elvecha.ui.renderers.CustomTableRenderer;
 
 import javax.swing.*;
+import javax.swing.border.LineBorder;
 import java.awt.*;
-import java.awt.event.*;
-import java.util.*;
-import java.util.List;
+import java.util.Arrays;
 
 public class EvaluationPanel extends JPanel {
+    private static final Color PENDING_COLOR = new Color(255, 240, 180);
+
     private JTable table;
-    private CustomTableModel tableModel;
-    private List<Alternative> alternativeList;
-    private List<Criteria> criteriaList;
+    private VirtualColumnPane tablePane;
+    private EvaluationTableModel tableModel;
+    private final WorkspaceModel workspace;
+    // The workspace alternatives; committed evaluations are written straight into it
+    private final ColumnarAlternativeStore store;
     private JComboBox<String> filterCombo;
-    private JPanel evaluationForm;
+    private CriteriaHeatmapScale heatmapScale;
+    private JLabel pendingLabel;
+    private JButton commitButton;
+    private JButton discardButton;
 
     public EvaluationPanel() {
+        this(new WorkspaceModel());
+    }
+
+    public EvaluationPanel(WorkspaceModel workspace) {
+        this.workspace = workspace;
+        this.store = workspace.getAlternatives();
         initializeComponents();
         setupLayout();
         addListeners();
+        updatePendingState();
     }
 
     private void initializeComponents() {
@@ -30,35 +49,53 @@ public class EvaluationPanel extends JPanel {
         filterCombo = new JComboBox<>(new String[]{"Semua Kriteria", "Benefit", "Cost"});
         filterCombo.setFont(new Font("Arial", Font.PLAIN, 12));
 
-        // Initialize table model with columns
-        List<String> columns = new ArrayList<>();
-        columns.add("No");
-        columns.add("Wedding Organizer");
-        if (criteriaList != null) {
-            for (Criteria criteria : criteriaList) {
-                columns.add(criteria.getName());
-            }
-        }
-        columns.add("Status");
+        // Cells are read from the store on paint; criterion cells are edited in place and
+        // staged in the model until committed
+        tableModel = new EvaluationTableModel(store, "Wedding Organizer", "Status",
+            row -> isComplete(row) ? "✓ Lengkap" : "⚠ Belum Lengkap");
 
-        tableModel = new CustomTableModel(columns);
-        
-        // Initialize table
+        // Initialize table; header clicks sort row indexes against the shown values
         table = new JTable(tableModel);
+        table.setRowSorter(new PrimitiveRowSorter<>(tableModel));
         table.setRowHeight(30);
         table.setFont(new Font("Arial", Font.PLAIN, 12));
         table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         table.setShowGrid(true);
         table.setGridColor(Color.LIGHT_GRAY);
-        
-        // Set custom renderer
-        CustomTableRenderer renderer = new CustomTableRenderer(-1);
+        table.setCellSelectionEnabled(true);
+        table.setSurrendersFocusOnKeystroke(true);
+        table.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+
+        // Set custom renderer; criterion cells are shaded by their normalized score and
+        // staged values are bold on a yellow background
+        Font pendingFont = new Font("Arial", Font.BOLD, 12);
+        CustomTableRenderer renderer = new CustomTableRenderer(-1) {
+            @Override
+            public Component getTableCellRendererComponent(JTable table, Object value,
+                                                           boolean isSelected, boolean hasFocus,
+                                                           int row, int column) {
+                Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+                if (tableModel.isPending(table.convertRowIndexToModel(row), table.convertColumnIndexToModel(column))) {
+                    c.setFont(pendingFont);
+                    if (!isSelected) {
+                        c.setBackground(PENDING_COLOR);
+                    }
+                }
+                return c;
+            }
+        };
+        heatmapScale = new CriteriaHeatmapScale(table, tableModel);
+        heatmapScale.setCriteria(workspace.getCriteria());
+        renderer.setHeatmap(heatmapScale);
+        renderer.installHover(table);
         table.setDefaultRenderer(Object.class, renderer);
-        
-        // Initialize evaluation form
-        evaluationForm = new JPanel();
-        evaluationForm.setLayout(new BoxLayout(evaluationForm, BoxLayout.Y_AXIS));
-        evaluationForm.setBackground(Color.decode("#f5f2e8"));
+        table.setDefaultEditor(Object.class, new EvaluationCellEditor());
+
+        // Batch bar: staged edits are written to the workspace together
+        pendingLabel = new JLabel();
+        pendingLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        commitButton = new JButton("Simpan Perubahan");
+        discardButton = new JButton("Batalkan");
     }
 
     private void setupLayout() {
@@ -72,176 +109,179 @@ public class EvaluationPanel extends JPanel {
         topPanel.add(filterCombo);
         add(topPanel, BorderLayout.NORTH);
 
-        // Split pane for table and evaluation form
-        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
-        
-        // Left side - Table
-        JScrollPane tableScrollPane = new JScrollPane(table);
-        tableScrollPane.setPreferredSize(new Dimension(500, 400));
-        
-        // Right side - Evaluation form
-        JScrollPane formScrollPane = new JScrollPane(evaluationForm);
-        formScrollPane.setPreferredSize(new Dimension(300, 400));
-        
-        splitPane.setLeftComponent(tableScrollPane);
-        splitPane.setRightComponent(formScrollPane);
-        splitPane.setDividerLocation(500);
-        
-        add(splitPane, BorderLayout.CENTER);
+        // Center - editable table; only the criterion columns in view are materialized
+        // and the number and name columns stay in place
+        tablePane = new VirtualColumnPane(table, new int[]{50, 200});
+        tablePane.setPreferredSize(new Dimension(800, 400));
+        CustomTableRenderer frozenRenderer = new CustomTableRenderer(-1);
+        frozenRenderer.installHover(tablePane.getFrozenTable());
+        tablePane.getFrozenTable().setDefaultRenderer(Object.class, frozenRenderer);
+        add(tablePane, BorderLayout.CENTER);
+
+        // Bottom - pending edits and batch actions
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        bottomPanel.setBackground(Color.decode("#f5f2e8"));
+        bottomPanel.add(pendingLabel);
+        bottomPanel.add(discardButton);
+        bottomPanel.add(commitButton);
+        add(bottomPanel, BorderLayout.SOUTH);
     }
 
     private void addListeners() {
         filterCombo.addActionListener(e -> refreshTable());
+        commitButton.addActionListener(e -> commitEdits());
+        discardButton.addActionListener(e -> discardEdits());
+        // Spreadsheet ranges are parsed in the background and written in one batch
+        ClipboardPaste.install(table, this, () -> PasteBuffer::parseValues, this::applyPaste);
 
-        table.getSelectionModel().addListSelectionListener(e -> {
-            if (!e.getValueIsAdjusting()) {
-                int selectedRow = table.getSelectedRow();
-                if (selectedRow != -1) {
-                    showEvaluationForm(selectedRow);
-                }
+        // Staging, committing and store changes all end in a table event
+        tableModel.addTableModelListener(e -> updatePendingState());
+
+        workspace.addListener(new WorkspaceListener() {
+            @Override
+            public void criteriaAdded(int index) {
+                criteriaChanged();
+            }
+
+            @Override
+            public void criteriaRemoved(int index) {
+                criteriaChanged();
+            }
+
+            @Override
+            public void criteriaUpdated(int index) {
+                criteriaChanged();
+            }
+
+            @Override
+            public void workspaceReplaced() {
+                criteriaChanged();
             }
         });
     }
 
-    private void showEvaluationForm(int selectedRow) {
-        evaluationForm.removeAll();
-        
-        if (alternativeList == null || criteriaList == null || 
-            selectedRow >= alternativeList.size()) {
-            evaluationForm.revalidate();
-            evaluationForm.repaint();
-            return;
+    private void criteriaChanged() {
+        // An open editor points at a column that may be gone
+        if (table.isEditing()) {
+            table.getCellEditor().cancelCellEditing();
         }
+        heatmapScale.setCriteria(workspace.getCriteria());
+        refreshTable();
+    }
 
-        Alternative alternative = alternativeList.get(selectedRow);
-        
-        // Add title
-        JLabel titleLabel = new JLabel("Evaluasi: " + alternative.getName());
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        evaluationForm.add(titleLabel);
-        evaluationForm.add(Box.createVerticalStrut(10));
-
-        // Add criteria evaluation fields
-        Map<String, JTextField> valueFields = new HashMap<>();
-        
-        for (Criteria criteria : criteriaList) {
-            JPanel criteriaPanel = new JPanel();
-            criteriaPanel.setLayout(new BoxLayout(criteriaPanel, BoxLayout.Y_AXIS));
-            criteriaPanel.setBackground(Color.decode("#f5f2e8"));
-            criteriaPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            
-            JLabel nameLabel = new JLabel(criteria.getName());
-            nameLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-            
-            JTextField valueField = new JTextField(10);
-            valueField.setText(String.valueOf(
-                alternative.getCriteriaValue(criteria.getName()) != null ? 
-                alternative.getCriteriaValue(criteria.getName()) : 0.0
-            ));
-            valueFields.put(criteria.getName(), valueField);
-            
-            criteriaPanel.add(nameLabel);
-            criteriaPanel.add(valueField);
-            criteriaPanel.add(Box.createVerticalStrut(5));
-            
-            evaluationForm.add(criteriaPanel);
-            evaluationForm.add(Box.createVerticalStrut(10));
-        }
+    private void updatePendingState() {
+        int count = tableModel.getPendingCount();
+        pendingLabel.setText(count == 0 ? "Tidak ada perubahan" : count + " perubahan belum disimpan");
+        commitButton.setEnabled(count > 0);
+        discardButton.setEnabled(count > 0);
+    }
 
-        // Add save button
-        JButton saveButton = new JButton("Simpan Evaluasi");
-        saveButton.setAlignmentX(Component.LEFT_ALIGNMENT);
-        saveButton.addActionListener(e -> {
-            try {
-                // Validate and save values
-                for (Criteria criteria : criteriaList) {
-                    JTextField field = valueFields.get(criteria.getName());
-                    String valueStr = field.getText().trim();
-                    
-                    if (valueStr.isEmpty()) {
-                        JOptionPane.showMessageDialog(this, 
-                            "Nilai untuk " + criteria.getName() + " tidak boleh kosong!");
-                        return;
-                    }
-                    
-                    try {
-                        double value = Double.parseDouble(valueStr);
-                        if (value < 0) {
-                            JOptionPane.showMessageDialog(this, 
-                                "Nilai untuk " + criteria.getName() + " tidak boleh negatif!");
-                            return;
-                        }
-                        alternative.setCriteriaValue(criteria.getName(), value);
-                    } catch (NumberFormatException ex) {
-                        JOptionPane.showMessageDialog(this, 
-                            "Nilai untuk " + criteria.getName() + " harus berupa angka!");
-                        return;
-                    }
-                }
-                
-                refreshTable();
-                JOptionPane.showMessageDialog(this, "Evaluasi berhasil disimpan!");
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Terjadi kesalahan: " + ex.getMessage());
-            }
-        });
+    private boolean stopEditing() {
+        return !table.isEditing() || table.getCellEditor().stopCellEditing();
+    }
 
-        evaluationForm.add(saveButton);
-        
-        evaluationForm.revalidate();
-        evaluationForm.repaint();
+    private void commitEdits() {
+        if (!stopEditing()) {
+            return; // the open cell holds an invalid value
+        }
+        // Each changed cell is announced by the store to every panel showing it
+        tableModel.commit();
     }
 
-    private void refreshTable() {
-        if (alternativeList == null || criteriaList == null) {
+    private void discardEdits() {
+        if (table.isEditing()) {
+            table.getCellEditor().cancelCellEditing();
+        }
+        tableModel.discard();
+    }
+
+    // A single copied value fills every selected criterion cell; a block is written
+    // from the top-left selected cell
+    private void applyPaste(PasteBuffer buffer) {
+        int[] viewRows = table.getSelectedRows();
+        int[] viewColumns = table.getSelectedColumns();
+        if (viewRows.length == 0 || viewColumns.length == 0) {
+            JOptionPane.showMessageDialog(this, "Pilih sel awal untuk menempel!");
             return;
         }
+        if (table.isEditing()) {
+            table.getCellEditor().cancelCellEditing();
+        }
 
-        List<List<Object>> data = new ArrayList<>();
-        int counter = 1;
-        String filterType = (String) filterCombo.getSelectedItem();
+        // Rows are view rows; columns are model columns, since only those in view are in the table
+        int[] rows;
+        int[] columns;
+        double[][] values;
+        if (buffer.isSingleValue()) {
+            rows = viewRows;
+            columns = Arrays.stream(viewColumns)
+                .map(table::convertColumnIndexToModel)
+                .filter(column -> tableModel.isCellEditable(0, column))
+                .toArray();
+            values = new double[columns.length][rows.length];
+            for (double[] column : values) {
+                Arrays.fill(column, buffer.getValue(0, 0));
+            }
+        } else {
+            int firstRow = viewRows[0];
+            int firstColumn = table.convertColumnIndexToModel(viewColumns[0]);
+            if (firstRow + buffer.getRowCount() > table.getRowCount()
+                    || firstColumn + buffer.getColumnCount() > tableModel.getColumnCount()) {
+                JOptionPane.showMessageDialog(this, "Data yang ditempel (" + buffer.getRowCount() + " baris, "
+                    + buffer.getColumnCount() + " kolom) melebihi tabel!");
+                return;
+            }
+            rows = new int[buffer.getRowCount()];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = firstRow + i;
+            }
+            columns = new int[buffer.getColumnCount()];
+            values = new double[columns.length][];
+            for (int k = 0; k < columns.length; k++) {
+                columns[k] = firstColumn + k;
+                values[k] = buffer.getColumn(k);
+            }
+        }
 
-        for (Alternative alternative : alternativeList) {
-            boolean includeRow = true;
-            
-            if (!filterType.equals("Semua Kriteria")) {
-                // Check if alternative has any criteria of the selected type
-                boolean hasMatchingCriteria = false;
-                for (Criteria criteria : criteriaList) {
-                    if (criteria.getType().equalsIgnoreCase(filterType)) {
-                        hasMatchingCriteria = true;
-                        break;
-                    }
-                }
-                includeRow = hasMatchingCriteria;
+        int[] modelRows = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            modelRows[i] = table.convertRowIndexToModel(rows[i]);
+        }
+        for (int column : columns) {
+            if (!tableModel.isCellEditable(0, column)) {
+                JOptionPane.showMessageDialog(this, "Hanya kolom kriteria yang dapat diisi!");
+                return;
             }
+        }
+        tableModel.paste(modelRows, columns, values);
+    }
 
-            if (includeRow) {
-                List<Object> row = new ArrayList<>();
-                row.add(counter++);
-                row.add(alternative.getName());
-                
-                for (Criteria criteria : criteriaList) {
-                    Double value = alternative.getCriteriaValue(criteria.getName());
-                    row.add(value != null ? value : 0.0);
-                }
-                
-                // Add status (complete/incomplete)
-                boolean isComplete = true;
-                for (Criteria criteria : criteriaList) {
-                    if (alternative.getCriteriaValue(criteria.getName()) == null) {
-                        isComplete = false;
-                        break;
-                    }
+    private void refreshTable() {
+        String filterType = (String) filterCombo.getSelectedItem();
+        boolean includeRows = true;
+        if (!filterType.equals("Semua Kriteria")) {
+            // Rows are shown only if some criterion has the selected type
+            includeRows = false;
+            for (Criteria criteria : workspace.getCriteria()) {
+                if (criteria.getType().equalsIgnoreCase(filterType)) {
+                    includeRows = true;
+                    break;
                 }
-                row.add(isComplete ? "✓ Lengkap" : "⚠ Belum Lengkap");
-                
-                data.add(row);
             }
         }
+        if (table.isEditing()) {
+            table.getCellEditor().cancelCellEditing();
+        }
+        tableModel.setVisibleRows(includeRows ? null : new int[0]);
+    }
 
-        tableModel.setData(data);
+    private boolean isComplete(int row) {
+        for (int j = 0; j < store.getCriteriaCount(); j++) {
+            if (Double.isNaN(store.getValue(row, j))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void handleAdd() {
@@ -254,7 +294,14 @@ public class EvaluationPanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Pilih Wedding Organizer yang akan dievaluasi!");
             return;
         }
-        showEvaluationForm(selectedRow);
+        if (store.getCriteriaCount() == 0) {
+            JOptionPane.showMessageDialog(this, "Tambahkan kriteria terlebih dahulu!");
+            return;
+        }
+        // Start editing the row's first criterion in place
+        if (table.editCellAt(selectedRow, tablePane.scrollToColumn(2))) {
+            table.getEditorComponent().requestFocusInWindow();
+        }
     }
 
     public void handleDelete() {
@@ -262,24 +309,50 @@ public class EvaluationPanel extends JPanel {
     }
 
     public void handleSave() {
-        // Save all evaluations
-        JOptionPane.showMessageDialog(this, "Semua evaluasi berhasil disimpan!");
+        if (!stopEditing()) {
+            return;
+        }
+        int count = tableModel.commit();
+        JOptionPane.showMessageDialog(this, count == 0
+            ? "Tidak ada perubahan evaluasi."
+            : count + " nilai evaluasi berhasil disimpan!");
     }
 
-    public void setData(List<Alternative> alternatives, List<Criteria> criteria) {
-        this.alternativeList = new ArrayList<>(alternatives);
-        this.criteriaList = new ArrayList<>(criteria);
-        
-        // Reinitialize components with new data
-        initializeComponents();
-        setupLayout();
-        
-        // Refresh the table and evaluation form
-        refreshTable();
-        
-        // If there are alternatives, show the first one in the evaluation form
-        if (!alternativeList.isEmpty()) {
-            showEvaluationForm(0);
+    // Validates each cell as it is left: an invalid value keeps the editor open, marked
+    // red, with the reason as its tooltip
+    private static class EvaluationCellEditor extends DefaultCellEditor {
+        private final JTextField field;
+
+        EvaluationCellEditor() {
+            super(new JTextField());
+            field = (JTextField) getComponent();
+            field.setFont(new Font("Arial", Font.PLAIN, 12));
+            field.setHorizontalAlignment(SwingConstants.RIGHT);
+        }
+
+        @Override
+        public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected,
+                                                     int row, int column) {
+            field.setBorder(new LineBorder(Color.GRAY));
+            field.setToolTipText(null);
+            return super.getTableCellEditorComponent(table, value, isSelected, row, column);
+        }
+
+        @Override
+        public boolean stopCellEditing() {
+            try {
+                EvaluationTableModel.parseValue(field.getText());
+            } catch (IllegalArgumentException e) {
+                field.setBorder(new LineBorder(Color.RED));
+                field.setToolTipText(e.getMessage());
+                return false;
+            }
+            return super.stopCellEditing();
+        }
+
+        @Override
+        public Object getCellEditorValue() {
+            return field.getText();
         }
     }
 }
@@ -0,0 +1,285 @@
+package com.elvecha.ui.panels;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.AlternativeStoreListener;
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceListener;
+import com.elvecha.model.WorkspaceModel;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.storage.PagedAlternativeStore;
+import com.elvecha.ui.HeatmapView;
+import com.elvecha.ui.models.HeatmapMatrix;
+import com.elvecha.util.ExportProgress;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shows the normalized decision matrix as a heatmap. The matrix is rebuilt in the
+ * background whenever the data changes, but only while the tab is shown; edits made
+ * while it is hidden are caught up on when it is shown again.
+ */
+public class HeatmapPanel extends JPanel {
+    // Edits arriving within this window trigger one rebuild
+    private static final int REFRESH_COALESCE_MILLIS = 300;
+    private static final double BUTTON_ZOOM = 2.0;
+
+    private final WorkspaceModel workspace;
+    private final ColumnarAlternativeStore store;
+    // Set when a paged workspace is opened; rows are then read on demand from disk
+    private AlternativeSource pagedSource;
+    private HeatmapView heatmapView;
+    private JButton zoomInButton;
+    private JButton zoomOutButton;
+    private JButton fitButton;
+    private JProgressBar matrixProgress;
+    private JLabel statusLabel;
+    private javax.swing.Timer refreshTimer;
+    private MatrixWorker matrixWorker;
+    // Data changed since the matrix was last built
+    private boolean stale = true;
+
+    public HeatmapPanel() {
+        this(new WorkspaceModel());
+    }
+
+    public HeatmapPanel(WorkspaceModel workspace) {
+        this.workspace = workspace;
+        this.store = workspace.getAlternatives();
+        initializeComponents();
+        setupLayout();
+        addListeners();
+    }
+
+    private void initializeComponents() {
+        heatmapView = new HeatmapView();
+
+        zoomInButton = new JButton("Perbesar");
+        zoomInButton.addActionListener(e -> zoomAroundCenter(BUTTON_ZOOM));
+        zoomOutButton = new JButton("Perkecil");
+        zoomOutButton.addActionListener(e -> zoomAroundCenter(1.0 / BUTTON_ZOOM));
+        fitButton = new JButton("Tampilkan Semua");
+        fitButton.addActionListener(e -> heatmapView.fit());
+
+        matrixProgress = new JProgressBar(0, 100);
+        matrixProgress.setStringPainted(true);
+        matrixProgress.setVisible(false);
+        statusLabel = new JLabel();
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+
+        refreshTimer = new javax.swing.Timer(REFRESH_COALESCE_MILLIS, e -> refresh());
+        refreshTimer.setRepeats(false);
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout(10, 10));
+        setBackground(Color.decode("#f5f2e8"));
+
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        topPanel.setBackground(Color.decode("#f5f2e8"));
+        topPanel.add(zoomInButton);
+        topPanel.add(zoomOutButton);
+        topPanel.add(fitButton);
+        topPanel.add(matrixProgress);
+        topPanel.add(statusLabel);
+        add(topPanel, BorderLayout.NORTH);
+
+        heatmapView.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
+        add(heatmapView, BorderLayout.CENTER);
+
+        JLabel hint = new JLabel("Gulir untuk memperbesar, seret untuk menggeser. "
+            + "Hijau: nilai ternormalisasi tinggi, merah: rendah, abu-abu: belum diisi.");
+        hint.setFont(new Font("Arial", Font.PLAIN, 12));
+        add(hint, BorderLayout.SOUTH);
+    }
+
+    private void addListeners() {
+        store.addListener(new AlternativeStoreListener() {
+            @Override
+            public void rowsInserted(int firstRow, int lastRow) {
+                dataChanged();
+            }
+
+            @Override
+            public void rowsDeleted(int firstRow, int lastRow) {
+                dataChanged();
+            }
+
+            @Override
+            public void cellUpdated(int row, int column) {
+                dataChanged();
+            }
+
+            @Override
+            public void rowsUpdated(int firstRow, int lastRow) {
+                dataChanged();
+            }
+
+            @Override
+            public void structureChanged() {
+                dataChanged();
+            }
+        });
+
+        workspace.addListener(new WorkspaceListener() {
+            @Override
+            public void criteriaAdded(int index) {
+                dataChanged();
+            }
+
+            @Override
+            public void criteriaRemoved(int index) {
+                dataChanged();
+            }
+
+            @Override
+            public void criteriaUpdated(int index) {
+                // A changed type flips the normalization
+                dataChanged();
+            }
+
+            @Override
+            public void workspaceReplaced() {
+                dataChanged();
+            }
+        });
+
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing() && stale) {
+                refresh();
+            }
+        });
+    }
+
+    private void dataChanged() {
+        stale = true;
+        if (isShowing()) {
+            refreshTimer.restart();
+        }
+    }
+
+    private void zoomAroundCenter(double factor) {
+        heatmapView.zoom(factor, new Point(heatmapView.getWidth() / 2, heatmapView.getHeight() / 2));
+    }
+
+    /**
+     * Rebuilds the matrix from the current data in the background.
+     */
+    public void refresh() {
+        refreshTimer.stop();
+        stale = false;
+        if (matrixWorker != null) {
+            // Not interrupted, which would close a paged store's file channel; the worker
+            // stops at its next progress report
+            matrixWorker.cancel(false);
+        }
+
+        List<Criteria> criteria = new ArrayList<>(workspace.getCriteria());
+        AlternativeSource source = pagedSource != null ? pagedSource : store;
+        if (criteria.isEmpty() || source.getAlternativeCount() == 0) {
+            matrixWorker = null;
+            showMatrixProgress(false);
+            heatmapView.setMatrix(null);
+            statusLabel.setText("");
+            return;
+        }
+        // The worker must not see later edits: in-memory data is read from a snapshot
+        if (pagedSource == null) {
+            source = WorkspaceSnapshot.of(criteria, store);
+        }
+        matrixWorker = new MatrixWorker(source, criteria);
+        matrixWorker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                matrixProgress.setValue((Integer) e.getNewValue());
+            }
+        });
+        showMatrixProgress(true);
+        matrixWorker.execute();
+    }
+
+    private void showMatrixProgress(boolean running) {
+        matrixProgress.setValue(0);
+        matrixProgress.setVisible(running);
+        revalidate();
+    }
+
+    private class MatrixWorker extends SwingWorker<HeatmapMatrix, Void> {
+        private final AlternativeSource source;
+        private final List<Criteria> criteria;
+        // Keeps a paged source open until the worker is done
+        private final Runnable release;
+
+        MatrixWorker(AlternativeSource source, List<Criteria> criteria) {
+            this.source = source;
+            this.criteria = criteria;
+            this.release = PagedAlternativeStore.lease(source);
+        }
+
+        @Override
+        protected HeatmapMatrix doInBackground() {
+            // Rows are read twice: once for the bounds, once for the scores
+            long total = Math.max(1, 2L * source.getAlternativeCount());
+            long[] read = new long[1];
+            ExportProgress progress = rows -> {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
+                read[0] += rows;
+                setProgress((int) Math.min(100, read[0] * 100 / total));
+            };
+            return HeatmapMatrix.of(criteria, source, progress);
+        }
+
+        @Override
+        protected void done() {
+            try {
+                matrixFinished(this);
+            } finally {
+                release.run();
+            }
+        }
+    }
+
+    private void matrixFinished(MatrixWorker worker) {
+        if (worker != matrixWorker) {
+            return; // superseded by a newer rebuild
+        }
+        matrixWorker = null;
+        showMatrixProgress(false);
+        if (worker.isCancelled()) {
+            return;
+        }
+
+        HeatmapMatrix matrix;
+        try {
+            matrix = worker.get();
+        } catch (ExecutionException e) {
+            JOptionPane.showMessageDialog(this,
+                "Terjadi kesalahan dalam menyusun matriks: " + e.getCause().getMessage());
+            return;
+        } catch (InterruptedException | CancellationException e) {
+            return;
+        }
+        heatmapView.setMatrix(matrix);
+        statusLabel.setText(matrix.getRowCount() + " alternatif x " + matrix.getColumnCount() + " kriteria");
+    }
+
+    public HeatmapView getHeatmapView() {
+        return heatmapView;
+    }
+
+    /**
+     * Shows a workspace that is too large for the heap, reading rows from {@code source}
+     * as needed instead of copying them into lists.
+     */
+    public void setAlternativeSource(AlternativeSource source) {
+        this.pagedSource = source;
+        dataChanged();
+    }
+}
@@ -1,55 +1,111 @@
 package com.elvecha.ui.panels;
 
 import com.elvecha.model.Alternative;
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.AlternativeStoreListener;
+import com.elvecha.model.ColumnarAlternativeStore;
 import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceListener;
+import com.elvecha.model.WorkspaceModel;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.report.ReportFormat;
+import com.elvecha.report.ReportJob;
+import com.elvecha.report.ReportListener;
+import com.elvecha.report.ReportService;
+import com.elvecha.storage.DatabaseStore;
+import com.elvecha.storage.PagedAlternativeStore;
+import com.elvecha.util.ChartService;
+import com.elvecha.util.ExportProgress;
+import com.elvecha.util.LiveRanking;
+import com.elvecha.util.RankSelection;
+import com.elvecha.util.RankingResult;
 import com.elvecha.util.SAWCalculator;
-import com.elvecha.util.PDFExporter;
-import com.elvecha.ui.models.CustomTableModel;
-import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
-import org.jfree.chart.JFreeChart;
-import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.category.DefaultCategoryDataset;
+import com.elvecha.ui.models.PrimitiveRowSorter;
+import com.elvecha.ui.models.RankingDetailModel;
+import com.elvecha.ui.models.RankingTableModel;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.sql.SQLException;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 public class ResultPanel extends JPanel {
+    // Evaluation edits arriving within this window are applied as one batch
+    private static final int LIVE_COALESCE_MILLIS = 100;
+    // Ranks ordered before results are first shown; enough for the screen and the chart
+    private static final int TOP_RANKS = ChartService.CHART_LIMIT;
+    // Ranks ordered per partial result while the tail is filled in
+    private static final int TAIL_CHUNK_RANKS = 50_000;
+    // Ranks listed from the latest recorded run
+    private static final int HISTORY_RANKS = 10;
+
     private JTable table;
-    private CustomTableModel tableModel;
-    private List<Alternative> alternativeList;
-    private List<Criteria> criteriaList;
+    private RankingTableModel tableModel;
+    private final WorkspaceModel workspace;
+    private final ColumnarAlternativeStore store;
+    // Set when a paged workspace is opened; rows are then read on demand from disk
+    private AlternativeSource pagedSource;
     private SAWCalculator sawCalculator;
-    private ChartPanel chartPanel;
-    private JPanel detailPanel;
+    private ChartImagePanel chartPanel;
+    private CompletableFuture<ChartService.RankingChart> pendingChart;
+    private RankingDetailModel detailModel;
+    private JList<String> detailList;
+    private JButton calculateButton;
+    private JProgressBar rankingProgress;
+    private JButton cancelRankingButton;
+    private RankingWorker rankingWorker;
+    private JCheckBox liveRankingCheck;
+    private JButton historyButton;
+    // Set while a database is open; finished rankings are recorded there as history
+    private DatabaseStore database;
+    private javax.swing.Timer liveTimer;
+    // Kept current by evaluation edits while live ranking is on
+    private LiveRanking liveRanking;
+    // Store rows edited since the last live update
+    private final BitSet pendingRows = new BitSet();
+    // Bumped when rows or criteria change, which invalidates a live ranking's rows
+    private long structureVersion;
+    // Ranking work skipped while the tab was hidden; done once it is shown
+    private boolean rankWhenShown;
+    private JButton exportButton;
+    private JProgressBar exportProgress;
+    private JButton cancelExportButton;
+    private ReportService reportService;
+    private ReportJob exportJob;
     private DecimalFormat df;
 
     public ResultPanel() {
+        this(new WorkspaceModel());
+    }
+
+    public ResultPanel(WorkspaceModel workspace) {
+        this.workspace = workspace;
+        this.store = workspace.getAlternatives();
         sawCalculator = new SAWCalculator();
         df = new DecimalFormat("#.###");
         initializeComponents();
         setupLayout();
+        addListeners();
     }
 
     private void initializeComponents() {
         // Initialize table model with columns
-        List<String> columns = Arrays.asList(
-            "Ranking", 
-            "Wedding Organizer", 
-            "Nilai Akhir", 
-            "Status"
-        );
-        
-        tableModel = new CustomTableModel(columns);
+        tableModel = new RankingTableModel();
         
-        // Initialize table
+        // Initialize table; rows are ranks, so a sorted view is redone whenever ranks move
         table = new JTable(tableModel);
+        PrimitiveRowSorter<RankingTableModel> sorter = new PrimitiveRowSorter<>(tableModel);
+        sorter.setSortsOnUpdates(true);
+        table.setRowSorter(sorter);
         table.setRowHeight(30);
         table.setFont(new Font("Arial", Font.PLAIN, 12));
         table.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
@@ -57,13 +113,45 @@ public class ResultPanel extends JPanel {
         table.setGridColor(Color.LIGHT_GRAY);
         
         // Initialize chart panel
-        chartPanel = new ChartPanel(null);
+        chartPanel = new ChartImagePanel();
         chartPanel.setPreferredSize(new Dimension(400, 300));
         
-        // Initialize detail panel
-        detailPanel = new JPanel();
-        detailPanel.setLayout(new BoxLayout(detailPanel, BoxLayout.Y_AXIS));
-        detailPanel.setBackground(Color.decode("#f5f2e8"));
+        // Detail lines are formatted on demand; fixed cell sizes keep JList from
+        // measuring every line, so only the visible ones are ever built
+        detailModel = new RankingDetailModel();
+        detailList = new JList<>(detailModel);
+        detailList.setFixedCellHeight(18);
+        detailList.setFixedCellWidth(380);
+        detailList.setBackground(Color.decode("#f5f2e8"));
+        detailList.setCellRenderer(new DetailLineRenderer(detailModel));
+
+        // Ranking progress, shown while scores are computed in the background
+        calculateButton = new JButton("Hitung Peringkat");
+        calculateButton.addActionListener(e -> calculateRankings());
+        rankingProgress = new JProgressBar(0, 100);
+        rankingProgress.setStringPainted(true);
+        rankingProgress.setVisible(false);
+        cancelRankingButton = new JButton("Batal Hitung");
+        cancelRankingButton.addActionListener(e -> cancelRanking());
+        cancelRankingButton.setVisible(false);
+        liveRankingCheck = new JCheckBox("Peringkat Otomatis");
+        liveRankingCheck.setBackground(Color.decode("#f5f2e8"));
+        liveRankingCheck.addActionListener(e -> liveRankingToggled());
+        liveTimer = new javax.swing.Timer(LIVE_COALESCE_MILLIS, e -> applyLiveEdits());
+        liveTimer.setRepeats(false);
+        historyButton = new JButton("Riwayat");
+        historyButton.addActionListener(e -> showHistory());
+        historyButton.setEnabled(false);
+
+        // Export progress, shown while a report is rendered in the background
+        exportButton = new JButton("Export PDF");
+        exportButton.addActionListener(e -> exportToPDF());
+        exportProgress = new JProgressBar();
+        exportProgress.setStringPainted(true);
+        exportProgress.setVisible(false);
+        cancelExportButton = new JButton("Batal");
+        cancelExportButton.addActionListener(e -> cancelExport());
+        cancelExportButton.setVisible(false);
     }
 
     private void setupLayout() {
@@ -74,14 +162,14 @@ public class ResultPanel extends JPanel {
         JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         topPanel.setBackground(Color.decode("#f5f2e8"));
         
-        JButton calculateButton = new JButton("Hitung Peringkat");
-        calculateButton.addActionListener(e -> calculateRankings());
-        
-        JButton exportButton = new JButton("Export PDF");
-        exportButton.addActionListener(e -> exportToPDF());
-        
         topPanel.add(calculateButton);
+        topPanel.add(rankingProgress);
+        topPanel.add(cancelRankingButton);
+        topPanel.add(liveRankingCheck);
+        topPanel.add(historyButton);
         topPanel.add(exportButton);
+        topPanel.add(exportProgress);
+        topPanel.add(cancelExportButton);
         add(topPanel, BorderLayout.NORTH);
 
         // Center panel with table and chart
@@ -97,9 +185,15 @@ public class ResultPanel extends JPanel {
         leftPanel.add(tableScrollPane, BorderLayout.CENTER);
         
         // Details
-        JScrollPane detailScrollPane = new JScrollPane(detailPanel);
+        JLabel detailTitle = new JLabel("Detail Perhitungan");
+        detailTitle.setFont(new Font("Arial", Font.BOLD, 14));
+        JPanel detailPanel = new JPanel(new BorderLayout(0, 5));
+        detailPanel.setBackground(Color.decode("#f5f2e8"));
+        detailPanel.add(detailTitle, BorderLayout.NORTH);
+        JScrollPane detailScrollPane = new JScrollPane(detailList);
         detailScrollPane.setPreferredSize(new Dimension(400, 200));
-        leftPanel.add(detailScrollPane, BorderLayout.SOUTH);
+        detailPanel.add(detailScrollPane, BorderLayout.CENTER);
+        leftPanel.add(detailPanel, BorderLayout.SOUTH);
         
         // Right side - Chart
         JPanel rightPanel = new JPanel(new BorderLayout());
@@ -113,125 +207,432 @@ public class ResultPanel extends JPanel {
         add(mainSplitPane, BorderLayout.CENTER);
     }
 
+    private void addListeners() {
+        store.addListener(new AlternativeStoreListener() {
+            @Override
+            public void rowsInserted(int firstRow, int lastRow) {
+                structureChanged();
+            }
+
+            @Override
+            public void rowsDeleted(int firstRow, int lastRow) {
+                structureChanged();
+            }
+
+            @Override
+            public void cellUpdated(int row, int column) {
+                // Column -1 is a rename, picked up with the row's values
+                if (liveRankingCheck.isSelected() && pagedSource == null) {
+                    pendingRows.set(row);
+                    scheduleLiveUpdate();
+                }
+            }
+
+            @Override
+            public void rowsUpdated(int firstRow, int lastRow) {
+                // A pasted block is re-scored in one live update
+                if (liveRankingCheck.isSelected() && pagedSource == null) {
+                    pendingRows.set(firstRow, lastRow + 1);
+                    scheduleLiveUpdate();
+                }
+            }
+
+            @Override
+            public void structureChanged() {
+                ResultPanel.this.structureChanged();
+            }
+        });
+
+        workspace.addListener(new WorkspaceListener() {
+            @Override
+            public void criteriaAdded(int index) {
+                structureChanged();
+            }
+
+            @Override
+            public void criteriaRemoved(int index) {
+                structureChanged();
+            }
+
+            @Override
+            public void criteriaUpdated(int index) {
+                // Weights and types are baked into the live ranking
+                structureChanged();
+            }
+
+            @Override
+            public void workspaceReplaced() {
+                structureChanged();
+                if (hasData() && !isShowing()) {
+                    rankWhenShown = true;
+                } else if (hasData()) {
+                    calculateRankings();
+                } else {
+                    tableModel.setRanking(store, null);
+                    detailModel.setRanking(store, null, workspace.getCriteria());
+                    chartPanel.setImage(null);
+                }
+            }
+        });
+
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing() && rankWhenShown) {
+                rankWhenShown = false;
+                if (liveRankingCheck.isSelected() && pagedSource == null) {
+                    applyLiveEdits();
+                } else if (hasData()) {
+                    calculateRankings();
+                }
+            }
+        });
+    }
+
+    // Rows or criteria changed: the live ranking no longer lines up with the store
+    private void structureChanged() {
+        structureVersion++;
+        liveRanking = null;
+        pendingRows.clear();
+        if (liveRankingCheck.isSelected() && pagedSource == null) {
+            scheduleLiveUpdate();
+        }
+    }
+
+    private boolean hasData() {
+        AlternativeSource source = currentSource();
+        return source.getAlternativeCount() > 0 && !workspace.getCriteria().isEmpty();
+    }
+
     private void calculateRankings() {
-        if (alternativeList == null || criteriaList == null || 
-            alternativeList.isEmpty() || criteriaList.isEmpty()) {
+        if (!hasData()) {
             JOptionPane.showMessageDialog(this, 
                 "Data kriteria dan alternatif harus diisi terlebih dahulu!");
             return;
         }
 
-        try {
-            // Calculate rankings using SAW
-            List<Alternative> rankedAlternatives = 
-                sawCalculator.calculate(criteriaList, new ArrayList<>(alternativeList));
-            
-            // Update table
-            List<List<Object>> data = new ArrayList<>();
-            int rank = 1;
-            
-            for (Alternative alt : rankedAlternatives) {
-                List<Object> row = new ArrayList<>();
-                row.add(rank++);
-                row.add(alt.getName());
-                row.add(df.format(alt.getFinalScore()));
-                row.add(alt.getFinalScore() >= 0.7 ? "Sangat Direkomendasikan" :
-                       alt.getFinalScore() >= 0.5 ? "Direkomendasikan" : "Kurang Direkomendasikan");
-                data.add(row);
+        cancelRanking();
+        // The worker must not see later edits: in-memory data is ranked from a snapshot
+        List<Criteria> criteria = new ArrayList<>(workspace.getCriteria());
+        AlternativeSource rankedSource = pagedSource != null
+            ? pagedSource
+            : WorkspaceSnapshot.of(criteria, store);
+        liveRanking = null;
+        pendingRows.clear();
+        rankingWorker = new RankingWorker(rankedSource, criteria,
+            liveRankingCheck.isSelected() && rankedSource instanceof WorkspaceSnapshot);
+        rankingWorker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                rankingProgress.setValue((Integer) e.getNewValue());
             }
-            
-            tableModel.setData(data);
-            
-            // Update chart
-            updateChart(rankedAlternatives);
-            
-            // Update details
-            updateDetails(rankedAlternatives);
-            
-        } catch (Exception e) {
+        });
+        showRankingProgress(true);
+        rankingWorker.execute();
+    }
+
+    // Not interrupted: an interrupt closes a paged store's file channel for good. The
+    // worker stops at its next progress report instead.
+    private void cancelRanking() {
+        if (rankingWorker != null) {
+            rankingWorker.cancel(false);
+        }
+    }
+
+    private void showRankingProgress(boolean running) {
+        calculateButton.setEnabled(!running);
+        rankingProgress.setValue(0);
+        rankingProgress.setVisible(running);
+        cancelRankingButton.setVisible(running);
+        revalidate();
+    }
+
+    // Runs on the EDT once the worker has published its immutable result
+    private void rankingFinished(RankingWorker worker) {
+        if (worker != rankingWorker) {
+            return; // superseded by a newer calculation
+        }
+        rankingWorker = null;
+        showRankingProgress(false);
+        if (worker.isCancelled()) {
+            return;
+        }
+
+        RankingResult ranking;
+        try {
+            ranking = worker.get();
+        } catch (ExecutionException e) {
             JOptionPane.showMessageDialog(this, 
-                "Terjadi kesalahan dalam perhitungan: " + e.getMessage());
+                "Terjadi kesalahan dalam perhitungan: " + e.getCause().getMessage());
+            return;
+        } catch (InterruptedException | CancellationException e) {
+            return;
+        }
+
+        AlternativeSource source = worker.source;
+        if (worker.live != null && worker.structureVersion == structureVersion) {
+            // Values edited meanwhile are queued in pendingRows and applied next
+            liveRanking = worker.live;
         }
+
+        if (worker.shown != null) {
+            // The top ranks and chart are already shown; only the tail is left
+            tableModel.extendRanking(ranking);
+            detailModel.extendRanking(ranking);
+        } else {
+            showRanking(source, ranking, worker.criteria);
+        }
+        recordHistory(source, ranking);
     }
 
-    private void updateChart(List<Alternative> rankedAlternatives) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        
-        // Add data points
-        for (Alternative alt : rankedAlternatives) {
-            dataset.addValue(alt.getFinalScore(), "Nilai", alt.getName());
+    // Live updates are not recorded, only calculations run to completion
+    private void recordHistory(AlternativeSource source, RankingResult ranking) {
+        if (database == null) {
+            return;
         }
-        
-        // Create chart
-        JFreeChart chart = ChartFactory.createBarChart(
-            "Perbandingan Nilai Wedding Organizer",  // Chart title
-            "Wedding Organizer",                     // X-axis label
-            "Nilai",                                 // Y-axis label
-            dataset,
-            PlotOrientation.VERTICAL,
-            true,
-            true,
-            false
-        );
-        
-        // Customize chart
-        chart.setBackgroundPaint(Color.white);
-        
-        // Update chart panel
-        chartPanel.setChart(chart);
-        chartPanel.repaint();
+        DatabaseStore target = database;
+        Runnable release = PagedAlternativeStore.lease(source);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws SQLException {
+                target.recordRanking(source, ranking);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                release.run();
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    System.err.println("Gagal mencatat riwayat peringkat: " + e.getCause().getMessage());
+                } catch (InterruptedException | CancellationException e) {
+                    // Nothing to report
+                }
+            }
+        }.execute();
     }
 
-    private void updateDetails(List<Alternative> rankedAlternatives) {
-        detailPanel.removeAll();
-        
-        // Add title
-        JLabel titleLabel = new JLabel("Detail Perhitungan");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        detailPanel.add(titleLabel);
-        detailPanel.add(Box.createVerticalStrut(10));
-        
-        // Add calculation details for each alternative
-        for (Alternative alt : rankedAlternatives) {
-            JPanel altPanel = new JPanel();
-            altPanel.setLayout(new BoxLayout(altPanel, BoxLayout.Y_AXIS));
-            altPanel.setBackground(Color.decode("#f5f2e8"));
-            altPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            
-            JLabel nameLabel = new JLabel(alt.getName());
-            nameLabel.setFont(new Font("Arial", Font.BOLD, 12));
-            altPanel.add(nameLabel);
-            
-            for (Criteria crit : criteriaList) {
-                Double value = alt.getCriteriaValue(crit.getName());
-                String detail = String.format("%s: %s (Bobot: %.2f)", 
-                    crit.getName(), 
-                    df.format(value), 
-                    crit.getWeight()
-                );
-                JLabel detailLabel = new JLabel(detail);
-                detailLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-                altPanel.add(detailLabel);
+    private void showHistory() {
+        DatabaseStore source = database;
+        if (source == null) {
+            return;
+        }
+        historyButton.setEnabled(false);
+        new SwingWorker<List<Alternative>, Void>() {
+            @Override
+            protected List<Alternative> doInBackground() throws SQLException {
+                long runId = source.latestRunId();
+                return runId >= 0 ? source.loadRanking(runId, HISTORY_RANKS) : Collections.emptyList();
+            }
+
+            @Override
+            protected void done() {
+                historyButton.setEnabled(database != null);
+                List<Alternative> history;
+                try {
+                    history = get();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(ResultPanel.this,
+                        "Gagal membaca riwayat peringkat: " + e.getCause().getMessage());
+                    return;
+                } catch (InterruptedException | CancellationException e) {
+                    return;
+                }
+                if (history.isEmpty()) {
+                    JOptionPane.showMessageDialog(ResultPanel.this, "Belum ada riwayat peringkat.");
+                    return;
+                }
+                StringBuilder text = new StringBuilder("Peringkat terakhir yang tercatat:\n");
+                for (int rank = 0; rank < history.size(); rank++) {
+                    Alternative alt = history.get(rank);
+                    text.append(rank + 1).append(". ").append(alt.getName())
+                        .append(" (").append(df.format(alt.getFinalScore())).append(")\n");
+                }
+                JOptionPane.showMessageDialog(ResultPanel.this, text.toString(),
+                    "Riwayat Peringkat", JOptionPane.INFORMATION_MESSAGE);
             }
-            
-            JLabel scoreLabel = new JLabel(
-                "Nilai Akhir: " + df.format(alt.getFinalScore())
-            );
-            scoreLabel.setFont(new Font("Arial", Font.BOLD, 12));
-            altPanel.add(scoreLabel);
-            
-            detailPanel.add(altPanel);
-            detailPanel.add(Box.createVerticalStrut(10));
+        }.execute();
+    }
+
+    // Runs on the EDT for each coalesced partial result: the top ranks and the chart
+    // first, then the tail as it is ordered
+    private void rankingProgressed(RankingWorker worker, RankingResult partial) {
+        if (worker != rankingWorker || worker.isCancelled()) {
+            return;
         }
-        
-        detailPanel.revalidate();
-        detailPanel.repaint();
+        if (worker.shown == null) {
+            showRanking(worker.source, partial, worker.criteria);
+        } else {
+            tableModel.extendRanking(partial);
+            detailModel.extendRanking(partial);
+        }
+        worker.shown = partial;
+    }
+
+    private void showRanking(AlternativeSource source, RankingResult ranking, List<Criteria> criteria) {
+        // Update table
+        tableModel.setRanking(source, ranking);
+
+        // Update chart; it only shows ranks the first partial result already has
+        updateChart(source, ranking);
+
+        // Update details
+        detailModel.setRanking(source, ranking, criteria);
+    }
+
+    private class RankingWorker extends SwingWorker<RankingResult, RankingResult> {
+        private final AlternativeSource source;
+        private final List<Criteria> criteria;
+        private final boolean prepareLive;
+        private final long structureVersion = ResultPanel.this.structureVersion;
+        // Keeps a paged source open until the worker is done
+        private final Runnable release;
+        // Set in the background; read after get() on the EDT
+        private LiveRanking live;
+        // Latest partial result shown; EDT only
+        private RankingResult shown;
+
+        RankingWorker(AlternativeSource source, List<Criteria> criteria, boolean prepareLive) {
+            this.source = source;
+            this.criteria = criteria;
+            this.prepareLive = prepareLive;
+            this.release = PagedAlternativeStore.lease(source);
+        }
+
+        @Override
+        protected RankingResult doInBackground() {
+            // Two scoring passes over the rows, then ordering them
+            long total = 3L * source.getAlternativeCount();
+            long[] read = new long[1];
+            ExportProgress progress = rows -> {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
+                read[0] += rows;
+                setProgress((int) Math.min(100, read[0] * 100 / total));
+            };
+            double[] scores = sawCalculator.score(criteria, source, progress);
+
+            // The top ranks take one pass to select, whatever the catalogue size; the
+            // tail follows in chunks, which the EDT coalesces into few table updates
+            RankSelection selection = new RankSelection(scores);
+            int ranked = selection.next(TOP_RANKS);
+            progress.advance(ranked);
+            while (!selection.isComplete()) {
+                publish(selection.getResult());
+                int before = ranked;
+                ranked = selection.next(TAIL_CHUNK_RANKS);
+                progress.advance(ranked - before);
+            }
+            RankingResult ranking = selection.getResult();
+            if (prepareLive) {
+                live = new LiveRanking(criteria, (WorkspaceSnapshot) source, ranking);
+            }
+            return ranking;
+        }
+
+        @Override
+        protected void process(List<RankingResult> partials) {
+            // Each partial result extends the previous ones
+            rankingProgressed(this, partials.get(partials.size() - 1));
+        }
+
+        @Override
+        protected void done() {
+            try {
+                rankingFinished(this);
+            } finally {
+                release.run();
+            }
+        }
+    }
+
+    private void liveRankingToggled() {
+        if (!liveRankingCheck.isSelected()) {
+            liveRanking = null;
+            pendingRows.clear();
+            return;
+        }
+        if (pagedSource == null && hasData()) {
+            calculateRankings();
+        }
+    }
+
+    // Edits arriving within LIVE_COALESCE_MILLIS are applied as one batch
+    private void scheduleLiveUpdate() {
+        if (!liveTimer.isRunning()) {
+            liveTimer.start();
+        }
+    }
+
+    private void applyLiveEdits() {
+        if (rankingWorker != null) {
+            // A full ranking is running from an older snapshot; apply once it is done
+            liveTimer.restart();
+            return;
+        }
+        if (!liveRankingCheck.isSelected() || pagedSource != null) {
+            return;
+        }
+        if (!isShowing()) {
+            // Edits stay queued until the tab is selected
+            rankWhenShown = true;
+            return;
+        }
+        if (liveRanking == null) {
+            // Rows or criteria changed since the last ranking
+            if (hasData()) {
+                calculateRankings();
+            }
+            return;
+        }
+        if (pendingRows.isEmpty()) {
+            return;
+        }
+
+        int criteriaCount = workspace.getCriteria().size();
+        for (int row = pendingRows.nextSetBit(0); row >= 0; row = pendingRows.nextSetBit(row + 1)) {
+            liveRanking.setName(row, store.getAlternativeName(row));
+            for (int j = 0; j < criteriaCount; j++) {
+                liveRanking.setValue(row, j, store.getValue(row, j));
+            }
+        }
+        pendingRows.clear();
+
+        LiveRanking.RankRange changed = liveRanking.commit();
+        if (changed == null) {
+            return;
+        }
+        WorkspaceSnapshot source = liveRanking.getSnapshot();
+        RankingResult ranking = liveRanking.getRanking();
+
+        // Patch only the ranks that moved; the chart is re-rendered only if its bars changed
+        tableModel.updateRanking(source, ranking, changed.getFirst(), changed.getLast());
+        updateChart(source, ranking);
+        detailModel.updateRanking(source, ranking, changed.getFirst(), changed.getLast());
+    }
+
+    private AlternativeSource currentSource() {
+        return pagedSource != null ? pagedSource : store;
+    }
+
+    private void updateChart(AlternativeSource source, RankingResult ranking) {
+        // Rendered off the EDT; an unchanged ranking reuses the cached image
+        CompletableFuture<ChartService.RankingChart> chart = ChartService.shared().render(source, ranking);
+        pendingChart = chart;
+        chart.whenComplete((rendered, error) -> SwingUtilities.invokeLater(() -> {
+            if (pendingChart != chart) {
+                return;
+            }
+            if (error != null) {
+                System.err.println("Gagal membuat grafik: " + error.getMessage());
+                chartPanel.setImage(null);
+            } else {
+                chartPanel.setImage(rendered.getImage());
+            }
+        }));
     }
 
     private void exportToPDF() {
-        if (alternativeList == null || alternativeList.isEmpty() || 
-            criteriaList == null || criteriaList.isEmpty()) {
+        if (!hasData()) {
             JOptionPane.showMessageDialog(this,
                 "Tidak ada data yang dapat diekspor!",
                 "Error",
@@ -275,20 +676,28 @@ public class ResultPanel extends JPanel {
                     }
                 }
 
-                // Export to PDF
-                PDFExporter.exportResults(file.getAbsolutePath(), alternativeList, criteriaList);
-                
-                // Show success message with option to open file
-                int openFile = JOptionPane.showConfirmDialog(this,
-                    "PDF berhasil dibuat!\nApakah Anda ingin membuka file?",
-                    "Sukses",
-                    JOptionPane.YES_NO_OPTION,
-                    JOptionPane.INFORMATION_MESSAGE);
-                
-                if (openFile == JOptionPane.YES_OPTION) {
-                    // Open PDF with default system viewer
-                    Desktop.getDesktop().open(file);
+                // The shown ranking is exported together with the immutable source it was
+                // computed from. Without one, a snapshot is taken and the report service ranks it.
+                RankingResult ranking = tableModel.getRanking();
+                AlternativeSource exportSource;
+                if (ranking != null) {
+                    exportSource = tableModel.getSource();
+                    if (!ranking.isComplete()) {
+                        // The tail is still being ordered; the report service ranks the source itself
+                        ranking = null;
+                    }
+                } else if (pagedSource != null) {
+                    exportSource = pagedSource;
+                } else {
+                    exportSource = WorkspaceSnapshot.of(workspace.getCriteria(), store);
                 }
+                ReportJob job = new ReportJob(file.getName(), ReportFormat.PDF, file.toPath(),
+                    exportSource, new ArrayList<>(workspace.getCriteria()))
+                    .setRanking(ranking)
+                    .setListener(new ExportListener());
+                getReportService().submit(job);
+                exportJob = job;
+                showExportProgress(true);
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(this,
                     "Gagal membuat PDF: " + e.getMessage(),
@@ -299,25 +708,155 @@ public class ResultPanel extends JPanel {
         }
     }
 
-    public void setData(List<Alternative> alternatives, List<Criteria> criteria) {
-        this.alternativeList = new ArrayList<>(alternatives);
-        this.criteriaList = new ArrayList<>(criteria);
-        
-        // Reinitialize components with new data
-        initializeComponents();
-        setupLayout();
-        
-        // Calculate and display rankings
-        SwingUtilities.invokeLater(() -> {
-            try {
-                calculateRankings();
-            } catch (Exception e) {
+    private void cancelExport() {
+        if (exportJob != null) {
+            exportJob.cancel();
+        }
+    }
+
+    private void showExportProgress(boolean running) {
+        exportButton.setEnabled(!running);
+        exportProgress.setValue(0);
+        exportProgress.setVisible(running);
+        cancelExportButton.setVisible(running);
+        revalidate();
+    }
+
+    private void exportFinished(ReportJob job) {
+        exportJob = null;
+        showExportProgress(false);
+        switch (job.getState()) {
+            case COMPLETED:
+                // Show success message with option to open file
+                int openFile = JOptionPane.showConfirmDialog(this,
+                    "PDF berhasil dibuat!\nApakah Anda ingin membuka file?",
+                    "Sukses",
+                    JOptionPane.YES_NO_OPTION,
+                    JOptionPane.INFORMATION_MESSAGE);
+
+                if (openFile == JOptionPane.YES_OPTION) {
+                    try {
+                        // Open PDF with default system viewer
+                        Desktop.getDesktop().open(job.getTarget().toFile());
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+                break;
+            case FAILED:
                 JOptionPane.showMessageDialog(this,
-                    "Terjadi kesalahan saat menghitung peringkat: " + e.getMessage(),
+                    "Gagal membuat PDF: " + job.getError().getMessage(),
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
+                job.getError().printStackTrace();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private ReportService getReportService() {
+        if (reportService == null) {
+            reportService = new ReportService(1, ReportService.DEFAULT_QUEUE_CAPACITY);
+        }
+        return reportService;
+    }
+
+    public void setReportService(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    // Report callbacks arrive on a worker thread
+    private class ExportListener implements ReportListener {
+        @Override
+        public void onProgress(ReportJob job, int rowsWritten, int totalRows) {
+            SwingUtilities.invokeLater(() -> {
+                exportProgress.setMaximum(totalRows);
+                exportProgress.setValue(rowsWritten);
+            });
+        }
+
+        @Override
+        public void onFinished(ReportJob job) {
+            SwingUtilities.invokeLater(() -> exportFinished(job));
+        }
+    }
+
+    // One shared label paints every detail line; names and scores are bold
+    private static class DetailLineRenderer extends DefaultListCellRenderer {
+        private final Font plain = new Font("Arial", Font.PLAIN, 12);
+        private final Font bold = new Font("Arial", Font.BOLD, 12);
+        private final RankingDetailModel model;
+
+        DetailLineRenderer(RankingDetailModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            setFont(model.isHeading(index) ? bold : plain);
+            return this;
+        }
+    }
+
+    // Paints the shared chart image scaled to fit, keeping its aspect ratio
+    private static class ChartImagePanel extends JPanel {
+        private BufferedImage image;
+
+        ChartImagePanel() {
+            setBackground(Color.white);
+        }
+
+        void setImage(BufferedImage image) {
+            this.image = image;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (image == null) {
+                return;
             }
-        });
+            double scale = Math.min((double) getWidth() / image.getWidth(),
+                (double) getHeight() / image.getHeight());
+            int width = (int) (image.getWidth() * scale);
+            int height = (int) (image.getHeight() * scale);
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.drawImage(image, (getWidth() - width) / 2, (getHeight() - height) / 2, width, height, null);
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Ranks a workspace that is too large for the heap, reading rows from {@code source}
+     * as needed instead of copying them into lists; null goes back to the in-memory rows.
+     * The new source is ranked when the tab is next shown.
+     */
+    public void setAlternativeSource(AlternativeSource source) {
+        // A ranking of the previous source must not outlive it
+        cancelRanking();
+        this.pagedSource = source;
+        structureChanged();
+        tableModel.setRanking(currentSource(), null);
+        detailModel.setRanking(currentSource(), null, workspace.getCriteria());
+        chartPanel.setImage(null);
+        if (hasData() && !isShowing()) {
+            rankWhenShown = true;
+        } else if (hasData()) {
+            calculateRankings();
+        }
+    }
+
+    /**
+     * Records every finished ranking in {@code database}, or stops recording when null.
+     */
+    public void setDatabaseStore(DatabaseStore database) {
+        this.database = database;
+        historyButton.setEnabled(database != null);
     }
 
     public void handleSave() {
@@ -1,17 +1,35 @@
 package com.elvecha.ui.renderers;
 
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
+/**
+ * Shared cell renderer for the panel tables. Painting a cell allocates nothing of its
+ * own: colors are constants or come from a precomputed ramp, and padded borders are
+ * built once per base border.
+ */
 public class CustomTableRenderer extends DefaultTableCellRenderer {
     private static final Color HOVER_COLOR = new Color(242, 242, 242);
     private static final Color BENEFIT_COLOR = new Color(230, 255, 230);
     private static final Color COST_COLOR = new Color(255, 230, 230);
     private static final Color ALTERNATE_ROW_COLOR = new Color(250, 250, 250);
-    
+    private static final Border PADDING = BorderFactory.createEmptyBorder(2, 5, 2, 5);
+    // Low scores are light red, middle ones light yellow, high ones light green
+    private static final Color[] HEAT_RAMP = createRamp(64,
+        new Color(255, 205, 205), new Color(255, 245, 200), new Color(205, 240, 205));
+
     private int hoveredRow = -1;
     private int typeColumnIndex = -1;
+    private HeatmapScale heatmap;
+    // Focus and no-focus border set by the superclass -> the same border with padding
+    private final Map<Border, Border> paddedBorders = new IdentityHashMap<>();
 
     public CustomTableRenderer(int typeColumnIndex) {
         this.typeColumnIndex = typeColumnIndex;
@@ -21,6 +39,55 @@ public class CustomTableRenderer extends DefaultTableCellRenderer {
         this.hoveredRow = row;
     }
 
+    /**
+     * Colors cells by their normalized score; cells the scale returns NaN for keep the
+     * alternating row colors. Pass null to turn the heatmap off.
+     */
+    public void setHeatmap(HeatmapScale heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * Tracks the row under the mouse on {@code table}, repainting only the row that lost
+     * the hover and the row that gained it.
+     */
+    public void installHover(JTable table) {
+        table.addMouseMotionListener(new MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                moveHover(table, table.rowAtPoint(e.getPoint()));
+            }
+        });
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseExited(MouseEvent e) {
+                moveHover(table, -1);
+            }
+        });
+    }
+
+    private void moveHover(JTable table, int row) {
+        if (row == hoveredRow) {
+            return;
+        }
+        repaintRow(table, hoveredRow);
+        hoveredRow = row;
+        repaintRow(table, row);
+    }
+
+    private static void repaintRow(JTable table, int row) {
+        if (row < 0 || row >= table.getRowCount()) {
+            return;
+        }
+        Rectangle cell = table.getCellRect(row, 0, true);
+        table.repaint(0, cell.y, table.getWidth(), cell.height);
+    }
+
+    public static Color heatColor(double normalized) {
+        double clamped = Math.max(0.0, Math.min(1.0, normalized));
+        return HEAT_RAMP[(int) Math.round(clamped * (HEAT_RAMP.length - 1))];
+    }
+
     @Override
     public Component getTableCellRendererComponent(JTable table, Object value,
                                                  boolean isSelected, boolean hasFocus,
@@ -45,16 +112,26 @@ public class CustomTableRenderer extends DefaultTableCellRenderer {
                     c.setBackground(COST_COLOR);
                 }
             } else {
-                // Alternate row colors
-                c.setBackground(row % 2 == 0 ? Color.WHITE : ALTERNATE_ROW_COLOR);
+                double heat = heatmap != null
+                    ? heatmap.normalized(table.convertRowIndexToModel(row), table.convertColumnIndexToModel(column))
+                    : Double.NaN;
+                if (!Double.isNaN(heat)) {
+                    c.setBackground(heatColor(heat));
+                } else {
+                    // Alternate row colors
+                    c.setBackground(row % 2 == 0 ? Color.WHITE : ALTERNATE_ROW_COLOR);
+                }
             }
         }
 
-        // Add border
-        setBorder(BorderFactory.createCompoundBorder(
-            getBorder(),
-            BorderFactory.createEmptyBorder(2, 5, 2, 5)
-        ));
+        // Add padding around the border the superclass chose
+        Border base = getBorder();
+        Border padded = paddedBorders.get(base);
+        if (padded == null) {
+            padded = BorderFactory.createCompoundBorder(base, PADDING);
+            paddedBorders.put(base, padded);
+        }
+        setBorder(padded);
 
         // Center align the content
         setHorizontalAlignment(SwingConstants.CENTER);
@@ -66,4 +143,20 @@ public class CustomTableRenderer extends DefaultTableCellRenderer {
 
         return c;
     }
+
+    private static Color[] createRamp(int steps, Color low, Color middle, Color high) {
+        Color[] ramp = new Color[steps];
+        for (int i = 0; i < steps; i++) {
+            double t = i / (double) (steps - 1);
+            ramp[i] = t < 0.5 ? blend(low, middle, t * 2) : blend(middle, high, (t - 0.5) * 2);
+        }
+        return ramp;
+    }
+
+    private static Color blend(Color from, Color to, double t) {
+        return new Color(
+            (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t),
+            (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t),
+            (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t));
+    }
 }
@@ -0,0 +1,11 @@
+package com.elvecha.ui.renderers;
+
+/**
+ * Supplies the heat of table cells for {@link CustomTableRenderer}.
+ */
+public interface HeatmapScale {
+    /**
+     * @return the cell's normalized score in [0, 1], or NaN to paint it without heat
+     */
+    double normalized(int modelRow, int modelColumn);
+}
@@ -0,0 +1,78 @@
+package com.elvecha.util;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes a ranking as one CSV table (rank, name, score, status, then one column per
+ * criterion), streaming row by row from the source.
+ */
+public class CSVExporter {
+    // Locale-independent so the file reads back the same everywhere; one per thread
+    private static final ThreadLocal<DecimalFormat> NUMBER_FORMAT = ThreadLocal.withInitial(
+        () -> new DecimalFormat("0.######", DecimalFormatSymbols.getInstance(Locale.ROOT)));
+
+    public static void exportResults(String filePath, AlternativeSource source, RankingResult ranking,
+                                     List<Criteria> criteria, ExportProgress progress) throws IOException {
+        PDFExporter.validate(filePath, ranking.size(), criteria);
+        DecimalFormat format = NUMBER_FORMAT.get();
+
+        int[] sourceColumns = new int[criteria.size()];
+        for (int j = 0; j < sourceColumns.length; j++) {
+            sourceColumns[j] = source.findCriteriaColumn(criteria.get(j).getName());
+        }
+
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8))) {
+            out.write("Peringkat,Wedding Organizer,Nilai Akhir,Status");
+            for (Criteria crit : criteria) {
+                out.write(',');
+                out.write(escape(crit.getName()));
+            }
+            out.write('\n');
+
+            double[] values = new double[source.getCriteriaCount()];
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                int row = ranking.getRowAt(rank);
+                double score = ranking.getScoreAt(rank);
+                source.getValues(row, values);
+
+                out.write(String.valueOf(rank + 1));
+                out.write(',');
+                out.write(escape(source.getAlternativeName(row)));
+                out.write(',');
+                out.write(format.format(score));
+                out.write(',');
+                out.write(RankingResult.getRecommendation(score));
+                for (int column : sourceColumns) {
+                    out.write(',');
+                    double value = column >= 0 ? values[column] : Double.NaN;
+                    if (!Double.isNaN(value)) {
+                        out.write(format.format(value));
+                    }
+                }
+                out.write('\n');
+                PDFExporter.reportRow(progress, rank + 1);
+            }
+            progress.advance(ranking.size() % PDFExporter.PROGRESS_INTERVAL_ROWS);
+        }
+    }
+
+    static String escape(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0
+                && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
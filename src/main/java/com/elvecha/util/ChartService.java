@@ -0,0 +1,175 @@
+package com.elvecha.util;
+
+import com.elvecha.model.AlternativeSource;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.category.DefaultCategoryDataset;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Renders the ranking bar chart off-screen on a background thread and caches the result
+ * by the content it shows, so the result panel and the PDF export share one image and an
+ * unchanged ranking is never rendered twice.
+ *
+ * <p>Only the top {@link #CHART_LIMIT} alternatives are charted; bars beyond that are
+ * unreadable.
+ */
+public class ChartService {
+    public static final int CHART_LIMIT = 50;
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+    private static final int CACHE_SIZE = 8;
+    private static final ChartService SHARED = new ChartService();
+
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "chart-renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Least recently used entry is evicted first
+    private final Map<ChartKey, CompletableFuture<RankingChart>> cache =
+        new LinkedHashMap<ChartKey, CompletableFuture<RankingChart>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ChartKey, CompletableFuture<RankingChart>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    private int renderCount;
+
+    public static ChartService shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the chart for the top of {@code ranking}, rendering it in the background if
+     * no chart with the same names and scores is cached. Names and scores are read on the
+     * calling thread; {@code source} is not touched afterwards.
+     */
+    public CompletableFuture<RankingChart> render(AlternativeSource source, RankingResult ranking) {
+        ChartKey key = ChartKey.of(source, ranking);
+        synchronized (cache) {
+            CompletableFuture<RankingChart> chart = cache.get(key);
+            if (chart == null || chart.isCompletedExceptionally()) {
+                chart = CompletableFuture.supplyAsync(() -> draw(key), renderer);
+                cache.put(key, chart);
+                renderCount++;
+            }
+            return chart;
+        }
+    }
+
+    /**
+     * @return how many charts have been rendered since creation
+     */
+    public int getRenderCount() {
+        synchronized (cache) {
+            return renderCount;
+        }
+    }
+
+    private static RankingChart draw(ChartKey key) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (int i = 0; i < key.names.length; i++) {
+            dataset.addValue(key.scores[i], "Nilai", key.names[i]);
+        }
+        JFreeChart chart = ChartFactory.createBarChart(
+            "Perbandingan Nilai Wedding Organizer",  // Chart title
+            "Wedding Organizer",                     // X-axis label
+            "Nilai",                                 // Y-axis label
+            dataset,
+            PlotOrientation.VERTICAL,
+            true,
+            false,
+            false
+        );
+        chart.setBackgroundPaint(Color.white);
+        return new RankingChart(chart.createBufferedImage(WIDTH, HEIGHT));
+    }
+
+    /**
+     * A rendered chart. The PNG encoding used by the PDF export is produced once, on first
+     * request.
+     */
+    public static final class RankingChart {
+        private final BufferedImage image;
+        private byte[] png;
+
+        RankingChart(BufferedImage image) {
+            this.image = image;
+        }
+
+        public BufferedImage getImage() {
+            return image;
+        }
+
+        public synchronized byte[] getPng() {
+            if (png == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try {
+                    ImageIO.write(image, "png", out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                png = out.toByteArray();
+            }
+            return png;
+        }
+    }
+
+    // Charted names and scores; the hash is computed once since keys are compared on
+    // every lookup
+    private static final class ChartKey {
+        final String[] names;
+        final double[] scores;
+        private final int hash;
+
+        private ChartKey(String[] names, double[] scores) {
+            this.names = names;
+            this.scores = scores;
+            this.hash = 31 * Arrays.hashCode(names) + Arrays.hashCode(scores);
+        }
+
+        static ChartKey of(AlternativeSource source, RankingResult ranking) {
+            int shown = Math.min(ranking.size(), CHART_LIMIT);
+            String[] names = new String[shown];
+            double[] scores = new double[shown];
+            for (int rank = 0; rank < shown; rank++) {
+                names[rank] = source.getAlternativeName(ranking.getRowAt(rank));
+                scores[rank] = ranking.getScoreAt(rank);
+            }
+            return new ChartKey(names, scores);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChartKey)) {
+                return false;
+            }
+            ChartKey other = (ChartKey) o;
+            return hash == other.hash
+                && Arrays.equals(names, other.names)
+                && Arrays.equals(scores, other.scores);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
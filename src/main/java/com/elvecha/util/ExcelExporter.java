@@ -0,0 +1,94 @@
+package com.elvecha.util;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes a ranking to an .xlsx workbook with a "Peringkat" and a "Detail Nilai" sheet.
+ * Uses POI's streaming workbook, so only a small window of rows is kept in memory.
+ */
+public class ExcelExporter {
+    private static final int ROW_WINDOW = 100;
+
+    public static void exportResults(String filePath, AlternativeSource source, RankingResult ranking,
+                                     List<Criteria> criteria, ExportProgress progress) throws IOException {
+        PDFExporter.validate(filePath, ranking.size(), criteria);
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        try {
+            Font boldFont = workbook.createFont();
+            boldFont.setBold(true);
+            CellStyle headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(boldFont);
+
+            // Ranking sheet
+            Sheet rankingSheet = workbook.createSheet("Peringkat");
+            writeHeader(rankingSheet.createRow(0), headerStyle,
+                "Peringkat", "Wedding Organizer", "Nilai Akhir", "Status");
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                double score = ranking.getScoreAt(rank);
+                Row row = rankingSheet.createRow(rank + 1);
+                row.createCell(0).setCellValue(rank + 1);
+                row.createCell(1).setCellValue(source.getAlternativeName(ranking.getRowAt(rank)));
+                row.createCell(2).setCellValue(score);
+                row.createCell(3).setCellValue(RankingResult.getRecommendation(score));
+                PDFExporter.reportRow(progress, rank + 1);
+            }
+            progress.advance(ranking.size() % PDFExporter.PROGRESS_INTERVAL_ROWS);
+
+            // Detail sheet
+            Sheet detailSheet = workbook.createSheet("Detail Nilai");
+            String[] headers = new String[criteria.size() + 1];
+            int[] sourceColumns = new int[criteria.size()];
+            headers[0] = "Wedding Organizer";
+            for (int j = 0; j < sourceColumns.length; j++) {
+                headers[j + 1] = criteria.get(j).getName();
+                sourceColumns[j] = source.findCriteriaColumn(criteria.get(j).getName());
+            }
+            writeHeader(detailSheet.createRow(0), headerStyle, headers);
+
+            double[] values = new double[source.getCriteriaCount()];
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                int sourceRow = ranking.getRowAt(rank);
+                source.getValues(sourceRow, values);
+                Row row = detailSheet.createRow(rank + 1);
+                row.createCell(0).setCellValue(source.getAlternativeName(sourceRow));
+                for (int j = 0; j < sourceColumns.length; j++) {
+                    double value = sourceColumns[j] >= 0 ? values[sourceColumns[j]] : Double.NaN;
+                    if (!Double.isNaN(value)) {
+                        row.createCell(j + 1).setCellValue(value);
+                    }
+                }
+                PDFExporter.reportRow(progress, rank + 1);
+            }
+            progress.advance(ranking.size() % PDFExporter.PROGRESS_INTERVAL_ROWS);
+
+            try (OutputStream out = new FileOutputStream(filePath)) {
+                workbook.write(out);
+            }
+        } finally {
+            // Removes the temporary files backing the streamed sheets
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void writeHeader(Row row, CellStyle style, String... titles) {
+        for (int i = 0; i < titles.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(titles[i]);
+            cell.setCellStyle(style);
+        }
+    }
+}
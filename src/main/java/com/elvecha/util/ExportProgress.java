@@ -0,0 +1,16 @@
+package com.elvecha.util;
+
+/**
+ * Receives row progress from the exporters and the ranking calculator. Implementations
+ * may throw {@link java.util.concurrent.CancellationException} to abort the work.
+ */
+@FunctionalInterface
+public interface ExportProgress {
+    ExportProgress NONE = rows -> { };
+
+    /**
+     * Reports that {@code rows} more table rows were written. May be called from several
+     * threads at once when parts of a report are rendered in parallel.
+     */
+    void advance(int rows);
+}
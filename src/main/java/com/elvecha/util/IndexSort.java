@@ -0,0 +1,111 @@
+package com.elvecha.util;
+
+import java.util.Comparator;
+
+/**
+ * Sorts row-index permutations against primitive keys, without boxing.
+ */
+public class IndexSort {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * @return row indexes ordered by {@code keys} from highest to lowest; ties keep row order
+     */
+    public static int[] descending(double[] keys) {
+        return sort(keys, 1);
+    }
+
+    /**
+     * @return row indexes ordered by {@code keys} from lowest to highest; ties keep row order
+     */
+    public static int[] ascending(double[] keys) {
+        return sort(keys, -1);
+    }
+
+    /**
+     * @return row indexes ordered by {@code keys} under {@code comparator}; ties keep row order
+     */
+    public static int[] sorted(String[] keys, Comparator<String> comparator) {
+        int[] order = identity(keys.length);
+        mergeSort(order, new int[order.length], keys, comparator, 0, order.length);
+        return order;
+    }
+
+    private static int[] identity(int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    // Keys are copied and moved along with their rows, so merging reads memory in order
+    // instead of looking every row's key up at random
+    private static int[] sort(double[] keys, int sign) {
+        int[] order = identity(keys.length);
+        mergeSort(keys.clone(), order, new double[keys.length], new int[keys.length], sign, 0, keys.length);
+        return order;
+    }
+
+    // sign is 1 for highest first, -1 for lowest first
+    private static void mergeSort(double[] keys, int[] order, double[] keyBuffer, int[] orderBuffer,
+                                  int sign, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                double key = keys[i];
+                int row = order[i];
+                int j = i - 1;
+                while (j >= from && sign * Double.compare(keys[j], key) < 0) {
+                    keys[j + 1] = keys[j];
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                order[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(keys, order, keyBuffer, orderBuffer, sign, from, mid);
+        mergeSort(keys, order, keyBuffer, orderBuffer, sign, mid, to);
+        if (sign * Double.compare(keys[mid - 1], keys[mid]) >= 0) {
+            return; // already in order
+        }
+        System.arraycopy(keys, from, keyBuffer, from, to - from);
+        System.arraycopy(order, from, orderBuffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && sign * Double.compare(keyBuffer[left], keyBuffer[right]) >= 0)) {
+                keys[k] = keyBuffer[left];
+                order[k] = orderBuffer[left++];
+            } else {
+                keys[k] = keyBuffer[right];
+                order[k] = orderBuffer[right++];
+            }
+        }
+    }
+
+    private static void mergeSort(int[] order, int[] buffer, String[] keys, Comparator<String> comparator,
+                                  int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, keys, comparator, from, mid);
+        mergeSort(order, buffer, keys, comparator, mid, to);
+        if (comparator.compare(keys[order[mid - 1]], keys[order[mid]]) <= 0) {
+            return; // already in order
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && comparator.compare(keys[buffer[left]], keys[buffer[right]]) <= 0)) {
+                order[k] = buffer[left++];
+            } else {
+                order[k] = buffer[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.elvecha.util;
+
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a SAW ranking current while single values change, without ranking the whole
+ * workspace again. Edits are buffered with {@link #setValue} and applied together by
+ * {@link #commit()}, as are renames buffered with {@link #setName}: only the changed
+ * rows are re-scored and moved to their new rank, unless a column minimum or maximum
+ * moved, in which case every score depends on it and all rows are re-scored from the
+ * cached columns.
+ *
+ * <p>Each commit publishes a new {@link WorkspaceSnapshot} and {@link RankingResult};
+ * published objects are never modified, so they can be handed to background readers.
+ * Only columns that changed are copied. Not thread-safe.
+ */
+public class LiveRanking {
+    private final String[] criteriaNames;
+    private final double[] weights;
+    private final String[] types;
+    private final boolean[] benefit;
+    private String[] names;
+    private double[][] columns;
+    private final double[] min;
+    private final double[] max;
+    private final int[] minCount;
+    private final int[] maxCount;
+    private double[] scores;
+    private int[] order;
+    private final int[] rankOf;
+
+    private WorkspaceSnapshot snapshot;
+    private RankingResult ranking;
+    // Pending edits: row, column, value
+    private int[] pendingRows = new int[16];
+    private int[] pendingColumns = new int[16];
+    private double[] pendingValues = new double[16];
+    private int pendingCount;
+    // Pending renames by row; rare, so kept in a map
+    private final Map<Integer, String> pendingNames = new HashMap<>();
+
+    /**
+     * @param ranking a ranking of {@code snapshot} under {@code criteria}, whose columns
+     *                must be the criteria in order
+     */
+    public LiveRanking(List<Criteria> criteria, WorkspaceSnapshot snapshot, RankingResult ranking) {
+        int cols = criteria.size();
+        int rows = snapshot.getAlternativeCount();
+        if (snapshot.getCriteriaCount() != cols || ranking.size() != rows) {
+            throw new IllegalArgumentException("Peringkat tidak sesuai dengan data");
+        }
+        this.criteriaNames = new String[cols];
+        this.weights = new double[cols];
+        this.types = new String[cols];
+        this.benefit = new boolean[cols];
+        this.columns = new double[cols][];
+        for (int j = 0; j < cols; j++) {
+            Criteria crit = criteria.get(j);
+            criteriaNames[j] = crit.getName();
+            weights[j] = crit.getWeight();
+            types[j] = crit.getType();
+            benefit[j] = crit.getType().equalsIgnoreCase("benefit");
+            columns[j] = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                columns[j][i] = snapshot.getValue(i, j);
+            }
+        }
+        this.names = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            names[i] = snapshot.getAlternativeName(i);
+        }
+
+        this.min = new double[cols];
+        this.max = new double[cols];
+        this.minCount = new int[cols];
+        this.maxCount = new int[cols];
+        for (int j = 0; j < cols; j++) {
+            scanColumn(j);
+        }
+        this.scores = new double[rows];
+        this.order = new int[rows];
+        this.rankOf = new int[rows];
+        for (int rank = 0; rank < rows; rank++) {
+            int row = ranking.getRowAt(rank);
+            order[rank] = row;
+            rankOf[row] = rank;
+            scores[row] = ranking.getScore(row);
+        }
+        this.snapshot = snapshot;
+        this.ranking = ranking;
+    }
+
+    public WorkspaceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public RankingResult getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Buffers a new value for one cell; NaN marks it unset.
+     */
+    public void setValue(int row, int column, double value) {
+        if (row < 0 || row >= names.length) {
+            throw new IndexOutOfBoundsException("Baris " + row + " tidak ada");
+        }
+        if (pendingCount == pendingRows.length) {
+            int capacity = pendingCount * 2;
+            pendingRows = Arrays.copyOf(pendingRows, capacity);
+            pendingColumns = Arrays.copyOf(pendingColumns, capacity);
+            pendingValues = Arrays.copyOf(pendingValues, capacity);
+        }
+        pendingRows[pendingCount] = row;
+        pendingColumns[pendingCount] = column;
+        pendingValues[pendingCount] = value;
+        pendingCount++;
+    }
+
+    /**
+     * Buffers a new name for one row; names do not affect scores.
+     */
+    public void setName(int row, String name) {
+        if (row < 0 || row >= names.length) {
+            throw new IndexOutOfBoundsException("Baris " + row + " tidak ada");
+        }
+        pendingNames.put(row, name);
+    }
+
+    /**
+     * Applies the buffered edits and publishes a new snapshot and ranking.
+     *
+     * @return the ranks whose row, score or name changed, or null if nothing changed
+     */
+    public RankRange commit() {
+        BitSet changedRows = new BitSet();
+        BitSet copiedColumns = new BitSet();
+        double[] previousMin = min.clone();
+        double[] previousMax = max.clone();
+        for (int k = 0; k < pendingCount; k++) {
+            int row = pendingRows[k];
+            int column = pendingColumns[k];
+            double value = pendingValues[k];
+            double previous = columns[column][row];
+            if (Double.doubleToLongBits(previous) == Double.doubleToLongBits(value)) {
+                continue;
+            }
+            if (!copiedColumns.get(column)) {
+                // Published snapshots share the old array
+                columns[column] = columns[column].clone();
+                copiedColumns.set(column);
+            }
+            columns[column][row] = value;
+            replaceInBounds(column, valueOf(previous), valueOf(value));
+            changedRows.set(row);
+        }
+        pendingCount = 0;
+        BitSet renamedRows = new BitSet();
+        for (Map.Entry<Integer, String> rename : pendingNames.entrySet()) {
+            int row = rename.getKey();
+            if (rename.getValue().equals(names[row])) {
+                continue;
+            }
+            if (renamedRows.isEmpty()) {
+                // Published snapshots share the old array
+                names = names.clone();
+            }
+            names[row] = rename.getValue();
+            renamedRows.set(row);
+        }
+        pendingNames.clear();
+        if (changedRows.isEmpty() && renamedRows.isEmpty()) {
+            return null;
+        }
+
+        snapshot = new WorkspaceSnapshot(criteriaNames, weights, types, names, columns.clone());
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        // Renamed rows keep their scores; only value edits move rows
+        if (!changedRows.isEmpty()) {
+            scores = scores.clone();
+            order = order.clone();
+            if (!Arrays.equals(previousMin, min) || !Arrays.equals(previousMax, max)) {
+                // Normalization changed for every row
+                for (int row = 0; row < scores.length; row++) {
+                    scores[row] = score(row);
+                }
+                order = IndexSort.descending(scores);
+                for (int rank = 0; rank < order.length; rank++) {
+                    rankOf[order[rank]] = rank;
+                }
+                first = 0;
+                last = order.length - 1;
+            } else {
+                for (int row = changedRows.nextSetBit(0); row >= 0; row = changedRows.nextSetBit(row + 1)) {
+                    int from = rankOf[row];
+                    scores[row] = score(row);
+                    int to = move(row, from);
+                    first = Math.min(first, Math.min(from, to));
+                    last = Math.max(last, Math.max(from, to));
+                }
+            }
+        }
+        for (int row = renamedRows.nextSetBit(0); row >= 0; row = renamedRows.nextSetBit(row + 1)) {
+            first = Math.min(first, rankOf[row]);
+            last = Math.max(last, rankOf[row]);
+        }
+        ranking = new RankingResult(order, scores);
+        return new RankRange(first, last);
+    }
+
+    // Same arithmetic as SAWCalculator.rank, so live and full rankings agree exactly
+    private double score(int row) {
+        double score = 0.0;
+        for (int j = 0; j < columns.length; j++) {
+            double value = valueOf(columns[j][row]);
+            double normalized = benefit[j] ? value / max[j] : min[j] / value;
+            score += normalized * weights[j];
+        }
+        return score;
+    }
+
+    // Moves row from rank `from` to the rank its new score earns; ties keep row order
+    private int move(int row, int from) {
+        System.arraycopy(order, from + 1, order, from, order.length - from - 1);
+        int low = 0;
+        int high = order.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (before(order[mid], row)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        System.arraycopy(order, low, order, low + 1, order.length - low - 1);
+        order[low] = row;
+        for (int rank = Math.min(from, low); rank <= Math.max(from, low); rank++) {
+            rankOf[order[rank]] = rank;
+        }
+        return low;
+    }
+
+    private boolean before(int a, int b) {
+        int compare = Double.compare(scores[a], scores[b]);
+        return compare > 0 || (compare == 0 && a < b);
+    }
+
+    private void replaceInBounds(int column, double previous, double value) {
+        if (previous == max[column]) {
+            maxCount[column]--;
+        }
+        if (previous == min[column]) {
+            minCount[column]--;
+        }
+        if (value > max[column]) {
+            max[column] = value;
+            maxCount[column] = 1;
+        } else if (value == max[column]) {
+            maxCount[column]++;
+        }
+        if (value < min[column]) {
+            min[column] = value;
+            minCount[column] = 1;
+        } else if (value == min[column]) {
+            minCount[column]++;
+        }
+        if (maxCount[column] == 0 || minCount[column] == 0) {
+            // The only row holding a bound moved inward
+            scanColumn(column);
+        }
+    }
+
+    private void scanColumn(int column) {
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        int lowCount = 0;
+        int highCount = 0;
+        for (double raw : columns[column]) {
+            double value = valueOf(raw);
+            if (value < low) {
+                low = value;
+                lowCount = 1;
+            } else if (value == low) {
+                lowCount++;
+            }
+            if (value > high) {
+                high = value;
+                highCount = 1;
+            } else if (value == high) {
+                highCount++;
+            }
+        }
+        min[column] = low;
+        max[column] = high;
+        minCount[column] = lowCount;
+        maxCount[column] = highCount;
+    }
+
+    // Unset values count as 0, as in SAWCalculator
+    private static double valueOf(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    /**
+     * Inclusive range of zero-based ranks touched by a commit.
+     */
+    public static final class RankRange {
+        private final int first;
+        private final int last;
+
+        RankRange(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getLast() {
+            return last;
+        }
+    }
+}
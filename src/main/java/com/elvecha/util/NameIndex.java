@@ -0,0 +1,180 @@
+package com.elvecha.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive substring index over row names. Every name is split into trigrams
+ * (three consecutive characters) and each trigram keeps a sorted list of the rows that
+ * contain it. A query intersects the lists of its own trigrams and checks only the
+ * surviving rows; queries shorter than three characters fall back to a scan.
+ *
+ * <p>Rows are dense ids: names are appended at the end and removing a row moves every
+ * later row up by one, matching {@link com.elvecha.model.ColumnarAlternativeStore}. Not
+ * thread-safe; confine an index to one thread.
+ */
+public class NameIndex {
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private String[] names = new String[16];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        postings.clear();
+        names = new String[16];
+        size = 0;
+    }
+
+    /**
+     * Indexes {@code name} as the row after the current last one.
+     *
+     * @return the new row
+     */
+    public int add(String name) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        int row = size++;
+        String normalized = normalize(name);
+        names[row] = normalized;
+        for (long trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).append(row);
+        }
+        return row;
+    }
+
+    public void remove(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Baris " + row + " tidak ada");
+        }
+        for (long trigram : trigrams(names[row])) {
+            Postings list = postings.get(trigram);
+            list.remove(row);
+            if (list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        for (Postings list : postings.values()) {
+            list.shiftAfter(row);
+        }
+        System.arraycopy(names, row + 1, names, row, size - row - 1);
+        names[--size] = null;
+    }
+
+    /**
+     * @return rows whose name contains {@code query} ignoring case, ascending; all rows
+     *         for an empty query
+     */
+    public int[] search(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < 3) {
+            return scan(normalized);
+        }
+
+        long[] keys = trigrams(normalized);
+        Postings[] lists = new Postings[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = postings.get(keys[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        // Intersect starting from the shortest list so the candidate set shrinks fastest
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] candidates = Arrays.copyOf(lists[0].rows, lists[0].size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = lists[i].retain(candidates, count);
+        }
+
+        // Trigrams may all occur without the query occurring as a whole
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if (names[candidates[i]].contains(normalized)) {
+                candidates[matches++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    private int[] scan(String normalized) {
+        int[] matches = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (names[row].contains(normalized)) {
+                matches[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    // Distinct trigrams of text, each packed as three 16-bit chars
+    private static long[] trigrams(String text) {
+        int count = Math.max(0, text.length() - 2);
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    // Sorted row ids of one trigram
+    private static final class Postings {
+        int[] rows = new int[4];
+        int size;
+
+        void append(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        void remove(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            if (index >= 0) {
+                System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+                size--;
+            }
+        }
+
+        void shiftAfter(int row) {
+            int index = Arrays.binarySearch(rows, 0, size, row);
+            for (int i = index >= 0 ? index + 1 : -index - 1; i < size; i++) {
+                rows[i]--;
+            }
+        }
+
+        // Keeps the first count candidates that are also in this list; both are sorted
+        int retain(int[] candidates, int count) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count && j < size; i++) {
+                int row = candidates[i];
+                while (j < size && rows[j] < row) {
+                    j++;
+                }
+                if (j < size && rows[j] == row) {
+                    candidates[kept++] = row;
+                }
+            }
+            return kept;
+        }
+    }
+}
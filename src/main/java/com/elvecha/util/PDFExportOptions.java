@@ -0,0 +1,60 @@
+package com.elvecha.util;
+
+/**
+ * Settings for {@link PDFExporter} and {@link ParallelPDFExporter}.
+ */
+public class PDFExportOptions {
+    private boolean streaming;
+    private boolean compact;
+    private boolean chart = true;
+    private ExportProgress progress = ExportProgress.NONE;
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Writes the ranking and detail tables as iText large tables, flushed every few hundred
+     * rows, so finished pages go to disk and memory stays flat regardless of the row count.
+     */
+    public PDFExportOptions setStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * Optimizes for file size and write time: full compression with object and xref
+     * streams, one shared font per document, and the running header, footer and table
+     * headers drawn once as form XObjects that every page references.
+     */
+    public PDFExportOptions setCompact(boolean compact) {
+        this.compact = compact;
+        return this;
+    }
+
+    public boolean isChart() {
+        return chart;
+    }
+
+    /**
+     * Includes the ranking bar chart after the ranking table. The image comes from
+     * {@link ChartService}, so a chart already shown on screen is not rendered again.
+     */
+    public PDFExportOptions setChart(boolean chart) {
+        this.chart = chart;
+        return this;
+    }
+
+    public ExportProgress getProgress() {
+        return progress;
+    }
+
+    public PDFExportOptions setProgress(ExportProgress progress) {
+        this.progress = progress;
+        return this;
+    }
+}
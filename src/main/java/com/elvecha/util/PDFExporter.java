@@ -1,33 +1,194 @@
 package com.elvecha.util;
 
 import com.elvecha.model.Alternative;
+import com.elvecha.model.AlternativeSource;
 import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.events.PdfDocumentEvent;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Canvas;
 import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.property.TextAlignment;
-import com.itextpdf.layout.property.UnitValue;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.properties.Property;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.renderer.IRenderer;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 public class PDFExporter {
-    private static final DecimalFormat df = new DecimalFormat("#.###");
+    // DecimalFormat is not thread-safe; parts of one report may be rendered concurrently
+    private static final ThreadLocal<DecimalFormat> df =
+        ThreadLocal.withInitial(() -> new DecimalFormat("#.###"));
+    static final int LARGE_TABLE_THRESHOLD = 1000;
+    static final int FLUSH_INTERVAL_ROWS = 200;
+    static final int PROGRESS_INTERVAL_ROWS = 100;
+    static final float HEADER_ROW_HEIGHT = 22;
+    private static final float HEADER_FONT_SIZE = 10;
+    private static final float HEADER_PADDING = 3;
+    // Taller headers would eat most of every page; they are written as ordinary cells
+    static final float MAX_HEADER_TEMPLATE_HEIGHT = 4 * HEADER_ROW_HEIGHT;
 
     public static void exportResults(String filePath, 
                                    List<Alternative> alternatives,
                                    List<Criteria> criteria) throws Exception {
+        if (alternatives == null) {
+            throw new IllegalArgumentException("Daftar alternatif tidak boleh null");
+        }
+        validate(filePath, alternatives.size(), criteria);
+        double[] scores = new double[alternatives.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = alternatives.get(i).getFinalScore();
+        }
+        exportResults(filePath, new ListAlternativeSource(criteria, alternatives),
+            RankingResult.inRowOrder(scores), criteria);
+    }
+
+    /**
+     * Exports a ranking, pulling each row from {@code source} only when its cells are written.
+     * Rankings larger than {@link #LARGE_TABLE_THRESHOLD} rows are written in streaming mode.
+     */
+    public static void exportResults(String filePath,
+                                   AlternativeSource source,
+                                   RankingResult ranking,
+                                   List<Criteria> criteria) throws Exception {
+        exportResults(filePath, source, ranking, criteria, ranking.size() > LARGE_TABLE_THRESHOLD);
+    }
+
+    /**
+     * @param streaming see {@link PDFExportOptions#setStreaming(boolean)}
+     */
+    public static void exportResults(String filePath,
+                                   AlternativeSource source,
+                                   RankingResult ranking,
+                                   List<Criteria> criteria,
+                                   boolean streaming) throws Exception {
+        exportResults(filePath, source, ranking, criteria, new PDFExportOptions().setStreaming(streaming));
+    }
+
+    /**
+     * Progress is reported for the ranking and detail tables together, {@code 2 * ranking.size()} rows.
+     */
+    public static void exportResults(String filePath,
+                                   AlternativeSource source,
+                                   RankingResult ranking,
+                                   List<Criteria> criteria,
+                                   PDFExportOptions options) throws Exception {
+        validate(filePath, ranking.size(), criteria);
+        // Renders in the background while the ranking table is written
+        CompletableFuture<ChartService.RankingChart> chart = options.isChart()
+            ? ChartService.shared().render(source, ranking)
+            : null;
+
         // Create PDF document
-        PdfWriter writer = new PdfWriter(filePath);
+        PdfWriter writer = new PdfWriter(filePath, writerProperties(options));
         PdfDocument pdf = new PdfDocument(writer);
         Document document = new Document(pdf);
+        if (options.isCompact()) {
+            PageTemplate template = new PageTemplate(pdf, pdf.getDefaultPageSize(), setCompactFont(document));
+            pdf.addEventHandler(PdfDocumentEvent.END_PAGE, event -> {
+                PdfPage page = ((PdfDocumentEvent) event).getPage();
+                template.apply(page, pdf.getPageNumber(page), 0);
+            });
+        }
+
+        addIntroduction(document, criteria);
+
+        // Add ranking results
+        document.add(new Paragraph("Hasil Peringkat:").setBold());
+        addResultTable(document, source, ranking, 0, ranking.size(), options);
+
+        if (chart != null) {
+            addChart(document, chart);
+        }
+
+        document.add(new Paragraph("\n"));
+
+        // Add detailed scores
+        document.add(new Paragraph("Detail Nilai per Kriteria:").setBold());
+        addDetailTable(document, source, ranking, criteria, 0, ranking.size(), options);
+
+        addFooter(document);
 
+        // Close document
+        document.close();
+    }
+
+    static void addChart(Document document, CompletableFuture<ChartService.RankingChart> chart)
+            throws Exception {
+        byte[] png;
+        try {
+            png = chart.get().getPng();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+        document.add(new Paragraph("\n"));
+        document.add(new Paragraph("Grafik Perbandingan Nilai:").setBold());
+        document.add(new Image(ImageDataFactory.create(png)).setAutoScaleWidth(true));
+    }
+
+    /**
+     * Gives a compact document the one font its text, header template and page template
+     * share, so the font is written to the file once.
+     */
+    static PdfFont setCompactFont(Document document) throws IOException {
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        document.setFont(font);
+        return font;
+    }
+
+    // Full compression also packs objects into object streams and writes an xref stream
+    static WriterProperties writerProperties(PDFExportOptions options) {
+        WriterProperties properties = new WriterProperties();
+        if (options.isCompact()) {
+            properties.setFullCompressionMode(true);
+        }
+        return properties;
+    }
+
+    /**
+     * Rejects exports that cannot produce a meaningful report. Shared by all exporters.
+     */
+    static void validate(String filePath, int rows, List<Criteria> criteria) {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new IllegalArgumentException("Path file tidak boleh kosong");
+        }
+        if (criteria == null) {
+            throw new IllegalArgumentException("Daftar kriteria tidak boleh null");
+        }
+        if (rows == 0 || criteria.isEmpty()) {
+            throw new IllegalArgumentException("Tidak ada data yang dapat diekspor");
+        }
+    }
+
+    /**
+     * Adds the title, date and criteria table.
+     */
+    static void addIntroduction(Document document, List<Criteria> criteria) {
         // Add title
         Paragraph title = new Paragraph("Hasil Perhitungan SAW - El Vecha Wedding Organizer")
             .setTextAlignment(TextAlignment.CENTER)
@@ -59,69 +220,185 @@ public class PDFExporter {
         for (Criteria crit : criteria) {
             criteriaTable.addCell(new Cell().add(new Paragraph(String.valueOf(counter++))));
             criteriaTable.addCell(new Cell().add(new Paragraph(crit.getName())));
-            criteriaTable.addCell(new Cell().add(new Paragraph(df.format(crit.getWeight()))));
+            criteriaTable.addCell(new Cell().add(new Paragraph(df.get().format(crit.getWeight()))));
             criteriaTable.addCell(new Cell().add(new Paragraph(crit.getType())));
         }
         document.add(criteriaTable);
 
         document.add(new Paragraph("\n"));
+    }
+
+    static void addFooter(Document document) {
+        document.add(new Paragraph("\n"));
+        document.add(new Paragraph("* Dokumen ini digenerate secara otomatis oleh sistem")
+            .setFontSize(8)
+            .setItalic());
+    }
+
+    /**
+     * Adds the ranking table for ranks {@code [fromRank, toRank)}.
+     */
+    static void addResultTable(Document document, AlternativeSource source, RankingResult ranking,
+                               int fromRank, int toRank, PDFExportOptions options) {
+        boolean streaming = options.isStreaming();
+        ExportProgress progress = options.getProgress();
+        Table resultTable = new Table(UnitValue.createPercentArray(4), streaming).useAllAvailableWidth();
 
-        // Add ranking results
-        document.add(new Paragraph("Hasil Peringkat:").setBold());
-        Table resultTable = new Table(UnitValue.createPercentArray(4)).useAllAvailableWidth();
-        
         // Add result headers
-        resultTable.addCell(new Cell().add(new Paragraph("Peringkat").setBold()));
-        resultTable.addCell(new Cell().add(new Paragraph("Wedding Organizer").setBold()));
-        resultTable.addCell(new Cell().add(new Paragraph("Nilai Akhir").setBold()));
-        resultTable.addCell(new Cell().add(new Paragraph("Status").setBold()));
+        addHeaders(document, resultTable, options, "Peringkat", "Wedding Organizer", "Nilai Akhir", "Status");
+        if (streaming) {
+            document.add(resultTable);
+        }
 
         // Add result data
-        counter = 1;
-        for (Alternative alt : alternatives) {
-            resultTable.addCell(new Cell().add(new Paragraph(String.valueOf(counter++))));
-            resultTable.addCell(new Cell().add(new Paragraph(alt.getName())));
-            resultTable.addCell(new Cell().add(new Paragraph(df.format(alt.getFinalScore()))));
-            
-            String status = alt.getFinalScore() >= 0.7 ? "Sangat Direkomendasikan" :
-                          alt.getFinalScore() >= 0.5 ? "Direkomendasikan" : 
-                          "Kurang Direkomendasikan";
-            resultTable.addCell(new Cell().add(new Paragraph(status)));
-        }
-        document.add(resultTable);
-
-        document.add(new Paragraph("\n"));
+        for (int rank = fromRank; rank < toRank; rank++) {
+            double score = ranking.getScoreAt(rank);
+            resultTable.addCell(new Cell().add(new Paragraph(String.valueOf(rank + 1))));
+            resultTable.addCell(new Cell().add(new Paragraph(source.getAlternativeName(ranking.getRowAt(rank)))));
+            resultTable.addCell(new Cell().add(new Paragraph(df.get().format(score))));
+            resultTable.addCell(new Cell().add(new Paragraph(RankingResult.getRecommendation(score))));
+            reportRow(progress, rank - fromRank + 1);
+            if (streaming && (rank - fromRank + 1) % FLUSH_INTERVAL_ROWS == 0) {
+                resultTable.flush();
+            }
+        }
+        progress.advance((toRank - fromRank) % PROGRESS_INTERVAL_ROWS);
+        finishTable(document, resultTable, streaming);
+    }
 
-        // Add detailed scores
-        document.add(new Paragraph("Detail Nilai per Kriteria:").setBold());
-        Table detailTable = new Table(UnitValue.createPercentArray(criteria.size() + 1))
+    /**
+     * Adds the per-criterion detail table for ranks {@code [fromRank, toRank)}.
+     */
+    static void addDetailTable(Document document, AlternativeSource source, RankingResult ranking,
+                               List<Criteria> criteria, int fromRank, int toRank, PDFExportOptions options) {
+        boolean streaming = options.isStreaming();
+        ExportProgress progress = options.getProgress();
+        Table detailTable = new Table(UnitValue.createPercentArray(criteria.size() + 1), streaming)
             .useAllAvailableWidth();
         
         // Add detail headers
-        detailTable.addCell(new Cell().add(new Paragraph("Wedding Organizer").setBold()));
-        for (Criteria crit : criteria) {
-            detailTable.addCell(new Cell().add(new Paragraph(crit.getName()).setBold()));
+        String[] headers = new String[criteria.size() + 1];
+        headers[0] = "Wedding Organizer";
+        for (int j = 0; j < criteria.size(); j++) {
+            headers[j + 1] = criteria.get(j).getName();
+        }
+        addHeaders(document, detailTable, options, headers);
+        if (streaming) {
+            document.add(detailTable);
         }
 
         // Add detail data
-        for (Alternative alt : alternatives) {
-            detailTable.addCell(new Cell().add(new Paragraph(alt.getName())));
-            for (Criteria crit : criteria) {
-                Double value = alt.getCriteriaValue(crit.getName());
+        int[] sourceColumns = new int[criteria.size()];
+        for (int j = 0; j < sourceColumns.length; j++) {
+            sourceColumns[j] = source.findCriteriaColumn(criteria.get(j).getName());
+        }
+        double[] values = new double[source.getCriteriaCount()];
+        for (int rank = fromRank; rank < toRank; rank++) {
+            int row = ranking.getRowAt(rank);
+            source.getValues(row, values);
+            detailTable.addCell(new Cell().add(new Paragraph(source.getAlternativeName(row))));
+            for (int column : sourceColumns) {
+                double value = column >= 0 ? values[column] : Double.NaN;
                 detailTable.addCell(new Cell().add(
-                    new Paragraph(value != null ? df.format(value) : "-")
+                    new Paragraph(!Double.isNaN(value) ? df.get().format(value) : "-")
                 ));
             }
+            reportRow(progress, rank - fromRank + 1);
+            if (streaming && (rank - fromRank + 1) % FLUSH_INTERVAL_ROWS == 0) {
+                detailTable.flush();
+            }
         }
-        document.add(detailTable);
+        progress.advance((toRank - fromRank) % PROGRESS_INTERVAL_ROWS);
+        finishTable(document, detailTable, streaming);
+    }
 
-        // Add footer
-        document.add(new Paragraph("\n"));
-        document.add(new Paragraph("* Dokumen ini digenerate secara otomatis oleh sistem")
-            .setFontSize(8)
-            .setItalic());
+    static void reportRow(ExportProgress progress, int rowsWritten) {
+        if (rowsWritten % PROGRESS_INTERVAL_ROWS == 0) {
+            progress.advance(PROGRESS_INTERVAL_ROWS);
+        }
+    }
 
-        // Close document
-        document.close();
+    // Large tables repeat their header on every page. In compact mode the header row is
+    // drawn once into a form XObject and each repetition only references it.
+    private static void addHeaders(Document document, Table table, PDFExportOptions options, String... titles) {
+        PdfFormXObject header = options.isCompact() ? createHeaderTemplate(document, titles) : null;
+        if (header != null) {
+            Cell cell = new Cell(1, titles.length).setPadding(0).setBorder(Border.NO_BORDER)
+                .add(new Image(header).setAutoScaleWidth(true));
+            if (options.isStreaming()) {
+                table.addHeaderCell(cell);
+            } else {
+                table.addCell(cell);
+            }
+            return;
+        }
+        for (String title : titles) {
+            Cell cell = new Cell().add(new Paragraph(title).setBold());
+            if (options.isStreaming()) {
+                table.addHeaderCell(cell);
+            } else {
+                table.addCell(cell);
+            }
+        }
+    }
+
+    /**
+     * Draws the header row into a form XObject with equal-width columns spanning the content
+     * area, matching {@code UnitValue.createPercentArray(n)}. Titles are wrapped with the
+     * document's font and the row grows to the tallest one.
+     *
+     * @return the template, or null if a title does not fit within
+     *         {@link #MAX_HEADER_TEMPLATE_HEIGHT}
+     */
+    static PdfFormXObject createHeaderTemplate(Document document, String[] titles) {
+        PdfDocument pdf = document.getPdfDocument();
+        PdfFont font = document.getProperty(Property.FONT);
+        float width = pdf.getDefaultPageSize().getWidth() - document.getLeftMargin() - document.getRightMargin();
+        float columnWidth = width / titles.length;
+        float textWidth = columnWidth - 2 * HEADER_PADDING;
+        if (textWidth <= 0) {
+            return null;
+        }
+
+        Paragraph[] paragraphs = new Paragraph[titles.length];
+        float textHeight = 0;
+        for (int i = 0; i < titles.length; i++) {
+            paragraphs[i] = new Paragraph(titles[i]).setBold().setFontSize(HEADER_FONT_SIZE).setMargin(0);
+            if (font != null) {
+                paragraphs[i].setFont(font);
+            }
+            IRenderer renderer = paragraphs[i].createRendererSubTree().setParent(document.getRenderer());
+            LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1,
+                new Rectangle(textWidth, MAX_HEADER_TEMPLATE_HEIGHT - 2 * HEADER_PADDING))));
+            if (result.getStatus() != LayoutResult.FULL) {
+                return null;
+            }
+            textHeight = Math.max(textHeight, result.getOccupiedArea().getBBox().getHeight());
+        }
+
+        float height = Math.max(HEADER_ROW_HEIGHT, textHeight + 2 * HEADER_PADDING);
+        PdfFormXObject header = new PdfFormXObject(new Rectangle(width, height));
+        PdfCanvas canvas = new PdfCanvas(header, pdf);
+        for (int i = 0; i < titles.length; i++) {
+            Rectangle area = new Rectangle(i * columnWidth + HEADER_PADDING, HEADER_PADDING,
+                textWidth, height - 2 * HEADER_PADDING);
+            try (Canvas cell = new Canvas(canvas, area)) {
+                cell.add(paragraphs[i]);
+            }
+        }
+        canvas.setLineWidth(0.5f);
+        for (int i = 0; i < titles.length; i++) {
+            canvas.rectangle(i * columnWidth, 0, columnWidth, height);
+        }
+        canvas.stroke().release();
+        return header;
+    }
+
+    private static void finishTable(Document document, Table table, boolean streaming) {
+        if (streaming) {
+            table.complete();
+        } else {
+            document.add(table);
+        }
     }
 }
@@ -0,0 +1,65 @@
+package com.elvecha.util;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+
+/**
+ * Running page header and footer. The fixed text is drawn once into a form XObject that
+ * every page references; only the page number is written per page.
+ */
+class PageTemplate {
+    static final String RUNNING_HEADER = "El Vecha Wedding Organizer - Hasil Perhitungan SAW";
+    private static final float FONT_SIZE = 8;
+    private static final float HEADER_OFFSET = 20;
+    private static final float FOOTER_OFFSET = 15;
+
+    private final PdfFont font;
+    private final PdfFormXObject template;
+    private final Rectangle pageSize;
+
+    /**
+     * @param font the document's font, so the template does not add another copy
+     */
+    PageTemplate(PdfDocument pdf, Rectangle pageSize, PdfFont font) {
+        this.pageSize = pageSize;
+        this.font = font;
+        this.template = new PdfFormXObject(pageSize);
+        PdfCanvas canvas = new PdfCanvas(template, pdf);
+        float width = font.getWidth(RUNNING_HEADER, FONT_SIZE);
+        canvas.beginText()
+            .setFontAndSize(font, FONT_SIZE)
+            .moveText((pageSize.getWidth() - width) / 2, pageSize.getTop() - HEADER_OFFSET)
+            .showText(RUNNING_HEADER)
+            .endText();
+        // Rules separating the header and footer from the content
+        float left = pageSize.getLeft() + 36;
+        float right = pageSize.getRight() - 36;
+        canvas.setLineWidth(0.5f)
+            .moveTo(left, pageSize.getTop() - HEADER_OFFSET - 4).lineTo(right, pageSize.getTop() - HEADER_OFFSET - 4)
+            .moveTo(left, pageSize.getBottom() + FOOTER_OFFSET + 10).lineTo(right, pageSize.getBottom() + FOOTER_OFFSET + 10)
+            .stroke();
+        canvas.release();
+    }
+
+    /**
+     * @param totalPages the page count, or 0 when it is not known yet
+     */
+    void apply(PdfPage page, int pageNumber, int totalPages) {
+        String label = totalPages > 0
+            ? "Halaman " + pageNumber + " dari " + totalPages
+            : "Halaman " + pageNumber;
+        PdfCanvas canvas = new PdfCanvas(page.newContentStreamAfter(), page.getResources(), page.getDocument());
+        canvas.addXObjectAt(template, 0, 0);
+        float width = font.getWidth(label, FONT_SIZE);
+        canvas.beginText()
+            .setFontAndSize(font, FONT_SIZE)
+            .moveText((pageSize.getWidth() - width) / 2, pageSize.getBottom() + FOOTER_OFFSET)
+            .showText(label)
+            .endText();
+        canvas.release();
+    }
+}
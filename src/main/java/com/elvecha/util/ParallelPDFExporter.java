@@ -0,0 +1,246 @@
+package com.elvecha.util;
+
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.Criteria;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Renders the ranking and detail sections of a report as separate row ranges on a
+ * worker pool, each into its own temporary PDF, then merges the parts in order and
+ * stamps a shared running header and "Halaman x dari n" footer on every page.
+ *
+ * <p>{@code source} is read from several threads at once, so it must tolerate
+ * concurrent reads.
+ */
+public class ParallelPDFExporter {
+    public static final int DEFAULT_ROWS_PER_PART = 5000;
+
+    private final int threads;
+    private final int rowsPerPart;
+
+    public ParallelPDFExporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_ROWS_PER_PART);
+    }
+
+    public ParallelPDFExporter(int threads, int rowsPerPart) {
+        if (threads < 1 || rowsPerPart < 1) {
+            throw new IllegalArgumentException("Jumlah thread dan baris per bagian harus positif");
+        }
+        this.threads = threads;
+        this.rowsPerPart = rowsPerPart;
+    }
+
+    public void exportResults(String filePath, AlternativeSource source, RankingResult ranking,
+                              List<Criteria> criteria) throws Exception {
+        exportResults(filePath, source, ranking, criteria, new PDFExportOptions());
+    }
+
+    public void exportResults(String filePath, AlternativeSource source, RankingResult ranking,
+                              List<Criteria> criteria, ExportProgress progress) throws Exception {
+        exportResults(filePath, source, ranking, criteria, new PDFExportOptions().setProgress(progress));
+    }
+
+    /**
+     * Streaming is chosen per part by its row count; {@link PDFExportOptions#isStreaming()}
+     * is ignored.
+     */
+    public void exportResults(String filePath, AlternativeSource source, RankingResult ranking,
+                              List<Criteria> criteria, PDFExportOptions options) throws Exception {
+        PDFExporter.validate(filePath, ranking.size(), criteria);
+        List<Part> parts = planParts(ranking.size());
+        CompletableFuture<ChartService.RankingChart> chart = options.isChart()
+            ? ChartService.shared().render(source, ranking)
+            : null;
+        Path tempDir = Files.createTempDirectory("elvecha-pdf");
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, parts.size()), r -> {
+            Thread thread = new Thread(r, "pdf-part-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Parts are stopped at their next progress report rather than interrupted: an
+        // interrupt would close the file channel of a paged source they all read
+        AtomicBoolean stop = new AtomicBoolean();
+        ExportProgress progress = rows -> {
+            if (stop.get()) {
+                throw new CancellationException();
+            }
+            options.getProgress().advance(rows);
+        };
+        try {
+            List<Future<Path>> rendered = new ArrayList<>(parts.size());
+            for (int i = 0; i < parts.size(); i++) {
+                Part part = parts.get(i);
+                Path target = tempDir.resolve("part-" + i + ".pdf");
+                rendered.add(pool.submit(() -> {
+                    if (stop.get()) {
+                        throw new CancellationException();
+                    }
+                    renderPart(part, target, source, ranking, criteria, chart, options, progress);
+                    return target;
+                }));
+            }
+
+            List<Path> files = new ArrayList<>(parts.size());
+            for (Future<Path> future : rendered) {
+                try {
+                    files.add(future.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            merge(files, filePath, options);
+        } finally {
+            // Parts still running after a failure stop on their own; they must be done
+            // writing before their files are deleted
+            stop.set(true);
+            pool.shutdown();
+            awaitParts(pool);
+            deleteParts(tempDir);
+        }
+    }
+
+    private static void awaitParts(ExecutorService pool) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Ranking rows first, then detail rows; the introduction opens the first part and
+    // the closing note ends the last one
+    private List<Part> planParts(int rows) {
+        List<Part> parts = new ArrayList<>();
+        for (int from = 0; from < rows; from += rowsPerPart) {
+            parts.add(new Part(false, from, Math.min(rows, from + rowsPerPart)));
+        }
+        for (int from = 0; from < rows; from += rowsPerPart) {
+            parts.add(new Part(true, from, Math.min(rows, from + rowsPerPart)));
+        }
+        parts.get(0).first = true;
+        parts.get(parts.size() - 1).last = true;
+        return parts;
+    }
+
+    private static void renderPart(Part part, Path target, AlternativeSource source,
+                                   RankingResult ranking, List<Criteria> criteria,
+                                   CompletableFuture<ChartService.RankingChart> chart,
+                                   PDFExportOptions options, ExportProgress progress) throws Exception {
+        PDFExportOptions partOptions = new PDFExportOptions()
+            .setStreaming(part.toRank - part.fromRank > PDFExporter.LARGE_TABLE_THRESHOLD)
+            .setCompact(options.isCompact())
+            .setProgress(progress);
+        PdfWriter writer = new PdfWriter(target.toString(), PDFExporter.writerProperties(options));
+        try (Document document = new Document(new PdfDocument(writer))) {
+            if (options.isCompact()) {
+                PDFExporter.setCompactFont(document);
+            }
+            if (part.first) {
+                PDFExporter.addIntroduction(document, criteria);
+            }
+            if (!part.detail) {
+                if (part.fromRank == 0) {
+                    document.add(new Paragraph("Hasil Peringkat:").setBold());
+                }
+                PDFExporter.addResultTable(document, source, ranking, part.fromRank, part.toRank,
+                    partOptions);
+                if (chart != null && part.toRank == ranking.size()) {
+                    PDFExporter.addChart(document, chart);
+                }
+            } else {
+                if (part.fromRank == 0) {
+                    document.add(new Paragraph("Detail Nilai per Kriteria:").setBold());
+                }
+                PDFExporter.addDetailTable(document, source, ranking, criteria,
+                    part.fromRank, part.toRank, partOptions);
+            }
+            if (part.last) {
+                PDFExporter.addFooter(document);
+            }
+        }
+    }
+
+    // Pages are stamped and flushed as soon as their part is merged, so the merged
+    // document never holds more than one part in memory
+    private static void merge(List<Path> files, String filePath, PDFExportOptions options) throws Exception {
+        int totalPages = 0;
+        for (Path file : files) {
+            try (PdfDocument part = new PdfDocument(new PdfReader(file.toString()))) {
+                totalPages += part.getNumberOfPages();
+            }
+        }
+
+        PdfWriter writer = new PdfWriter(filePath, PDFExporter.writerProperties(options));
+        try (PdfDocument output = new PdfDocument(writer)) {
+            PdfMerger merger = new PdfMerger(output);
+            PageTemplate template = new PageTemplate(output, output.getDefaultPageSize(),
+                PdfFontFactory.createFont(StandardFonts.HELVETICA));
+            int pageNumber = 0;
+            for (Path file : files) {
+                try (PdfDocument part = new PdfDocument(new PdfReader(file.toString()))) {
+                    merger.merge(part, 1, part.getNumberOfPages());
+                }
+                while (pageNumber < output.getNumberOfPages()) {
+                    pageNumber++;
+                    PdfPage page = output.getPage(pageNumber);
+                    template.apply(page, pageNumber, totalPages);
+                    page.flush();
+                }
+            }
+        }
+    }
+
+    private static void deleteParts(Path tempDir) throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(tempDir);
+    }
+
+    private static final class Part {
+        final boolean detail;
+        final int fromRank;
+        final int toRank;
+        boolean first;
+        boolean last;
+
+        Part(boolean detail, int fromRank, int toRank) {
+            this.detail = detail;
+            this.fromRank = fromRank;
+            this.toRank = toRank;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.elvecha.util;
+
+/**
+ * Orders rows by score, best first, a few ranks at a time. The rows sit in a heap built in
+ * linear time, so the top ranks are known long before the whole catalogue is ordered;
+ * each further rank costs one heap removal. Ties keep row order, giving exactly the order
+ * of {@link IndexSort#descending(double[])}.
+ *
+ * <p>Not thread-safe; results handed to other threads must be published safely.
+ */
+public final class RankSelection {
+    private final double[] scores;
+    private final int[] heap;
+    private int heapSize;
+    private final int[] order;
+    private int ranked;
+
+    public RankSelection(double[] scores) {
+        this.scores = scores;
+        this.heap = new int[scores.length];
+        for (int i = 0; i < heap.length; i++) {
+            heap[i] = i;
+        }
+        this.heapSize = heap.length;
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        this.order = new int[scores.length];
+    }
+
+    /**
+     * Orders up to {@code count} more ranks.
+     *
+     * @return the number of ranks ordered so far
+     */
+    public int next(int count) {
+        int end = (int) Math.min(order.length, (long) ranked + count);
+        while (ranked < end) {
+            order[ranked++] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(0);
+        }
+        return ranked;
+    }
+
+    public boolean isComplete() {
+        return ranked == order.length;
+    }
+
+    /**
+     * @return the ranks ordered so far; later calls to {@link #next} do not change it
+     */
+    public RankingResult getResult() {
+        return new RankingResult(order, ranked, scores);
+    }
+
+    private void siftDown(int index) {
+        int row = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], row)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    // Higher score first; equal scores by row, as a stable sort would leave them
+    private boolean before(int a, int b) {
+        int compare = Double.compare(scores[a], scores[b]);
+        return compare > 0 || (compare == 0 && a < b);
+    }
+}
@@ -0,0 +1,87 @@
+package com.elvecha.util;
+
+/**
+ * Immutable outcome of a SAW ranking over an {@link com.elvecha.model.AlternativeSource}:
+ * one score per source row and the rows ordered best first.
+ *
+ * <p>A partial result orders only the best {@link #size()} rows, while every row already
+ * has its score. Ranks past that are still being ordered by whoever made the result and
+ * are never read through it.
+ */
+public final class RankingResult {
+    private final int[] order;
+    private final int ranked;
+    private final double[] scores;
+
+    /**
+     * Adopts the given arrays without copying.
+     *
+     * @param order  source rows, best first
+     * @param scores final score per source row
+     */
+    public RankingResult(int[] order, double[] scores) {
+        this(order, order.length, scores);
+    }
+
+    /**
+     * Adopts the given arrays without copying; only the first {@code ranked} entries of
+     * {@code order} are read.
+     */
+    public RankingResult(int[] order, int ranked, double[] scores) {
+        if (order.length != scores.length) {
+            throw new IllegalArgumentException("Order and scores must have the same length");
+        }
+        if (ranked < 0 || ranked > order.length) {
+            throw new IllegalArgumentException("Ranked count out of range: " + ranked);
+        }
+        this.order = order;
+        this.ranked = ranked;
+        this.scores = scores;
+    }
+
+    /**
+     * Wraps scores that are already in ranking order (row i is rank i + 1).
+     */
+    public static RankingResult inRowOrder(double[] scores) {
+        int[] order = new int[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return new RankingResult(order, scores);
+    }
+
+    /**
+     * @return the number of ranks ordered so far; all of them unless partial
+     */
+    public int size() {
+        return ranked;
+    }
+
+    /**
+     * @return whether every row has its rank
+     */
+    public boolean isComplete() {
+        return ranked == order.length;
+    }
+
+    /**
+     * @param rank zero-based rank
+     * @return the source row at that rank
+     */
+    public int getRowAt(int rank) {
+        return order[rank];
+    }
+
+    public double getScore(int row) {
+        return scores[row];
+    }
+
+    public double getScoreAt(int rank) {
+        return scores[order[rank]];
+    }
+
+    public static String getRecommendation(double score) {
+        return score >= 0.7 ? "Sangat Direkomendasikan" :
+               score >= 0.5 ? "Direkomendasikan" : "Kurang Direkomendasikan";
+    }
+}
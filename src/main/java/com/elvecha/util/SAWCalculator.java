@@ -1,80 +1,149 @@
 package com.elvecha.util;
 
 import com.elvecha.model.Alternative;
+import com.elvecha.model.AlternativeSource;
+import com.elvecha.model.ColumnStatistics;
 import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
 import java.util.*;
 
 public class SAWCalculator {
-    
+    static final int PROGRESS_INTERVAL_ROWS = 1000;
+
     public List<Alternative> calculate(List<Criteria> criteria, List<Alternative> alternatives) {
         if (criteria.isEmpty() || alternatives.isEmpty()) {
             throw new IllegalArgumentException("Criteria and alternatives lists cannot be empty");
         }
 
-        // Step 1: Create decision matrix
-        double[][] matrix = createDecisionMatrix(criteria, alternatives);
-        
-        // Step 2: Normalize the matrix
-        double[][] normalizedMatrix = normalizeMatrix(matrix, criteria);
-        
-        // Step 3: Calculate weighted sum and set final scores
-        calculateFinalScores(normalizedMatrix, criteria, alternatives);
-        
-        // Step 4: Sort alternatives by final score (descending)
+        RankingResult ranking = rank(criteria, new ListAlternativeSource(criteria, alternatives));
+
+        // Set final scores
+        for (int i = 0; i < alternatives.size(); i++) {
+            alternatives.get(i).setFinalScore(ranking.getScore(i));
+        }
+
+        // Sort alternatives by final score (descending)
         alternatives.sort((a1, a2) -> Double.compare(a2.getFinalScore(), a1.getFinalScore()));
-        
+
         return alternatives;
     }
 
-    private double[][] createDecisionMatrix(List<Criteria> criteria, List<Alternative> alternatives) {
-        double[][] matrix = new double[alternatives.size()][criteria.size()];
-        
-        for (int i = 0; i < alternatives.size(); i++) {
-            Alternative alt = alternatives.get(i);
-            for (int j = 0; j < criteria.size(); j++) {
-                Criteria crit = criteria.get(j);
-                Double value = alt.getCriteriaValue(crit.getName());
-                matrix[i][j] = value != null ? value : 0.0;
-            }
-        }
-        
-        return matrix;
+    /**
+     * Ranks the rows of {@code source} in two streaming passes (column statistics, then
+     * weighted sums). Only one row is held at a time, so sources backed by disk pages
+     * are read sequentially and never materialized. Sources that implement
+     * {@link ColumnStatistics} skip the first pass.
+     */
+    public RankingResult rank(List<Criteria> criteria, AlternativeSource source) {
+        return rank(criteria, source, ExportProgress.NONE);
     }
 
-    private double[][] normalizeMatrix(double[][] matrix, List<Criteria> criteria) {
-        int rows = matrix.length;
-        int cols = matrix[0].length;
-        double[][] normalized = new double[rows][cols];
+    /**
+     * @param progress advanced by the rows read in each pass, {@code 2 * rows} in total; may
+     *                 throw {@link java.util.concurrent.CancellationException} to stop early
+     */
+    public RankingResult rank(List<Criteria> criteria, AlternativeSource source, ExportProgress progress) {
+        double[] scores = score(criteria, source, progress);
+
+        // Step 3: Order rows by final score (descending)
+        return new RankingResult(IndexSort.descending(scores), scores);
+    }
 
+    /**
+     * Scores every row without ordering them, so callers can order the top ranks first,
+     * for instance with a {@link RankSelection}.
+     *
+     * @param progress advanced as by {@link #rank(List, AlternativeSource, ExportProgress)}
+     * @return the final score per source row
+     */
+    public double[] score(List<Criteria> criteria, AlternativeSource source, ExportProgress progress) {
+        int rows = source.getAlternativeCount();
+        if (criteria.isEmpty() || rows == 0) {
+            throw new IllegalArgumentException("Criteria and alternatives lists cannot be empty");
+        }
+
+        int cols = criteria.size();
+        int[] sourceColumns = new int[cols];
+        boolean[] benefit = new boolean[cols];
+        double[] weights = new double[cols];
         for (int j = 0; j < cols; j++) {
-            double[] column = new double[rows];
-            for (int i = 0; i < rows; i++) {
-                column[i] = matrix[i][j];
-            }
+            Criteria crit = criteria.get(j);
+            sourceColumns[j] = source.findCriteriaColumn(crit.getName());
+            benefit[j] = crit.getType().equalsIgnoreCase("benefit");
+            weights[j] = crit.getWeight();
+        }
 
-            double max = Arrays.stream(column).max().getAsDouble();
-            double min = Arrays.stream(column).min().getAsDouble();
+        double[] row = new double[source.getCriteriaCount()];
+        double[] max = new double[cols];
+        double[] min = new double[cols];
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
 
+        // Step 1: Column statistics for normalization
+        if (source instanceof ColumnStatistics) {
+            columnStatistics((ColumnStatistics) source, rows, sourceColumns, min, max);
+            progress.advance(rows);
+        } else {
             for (int i = 0; i < rows; i++) {
-                if (criteria.get(j).getType().equalsIgnoreCase("benefit")) {
-                    normalized[i][j] = matrix[i][j] / max;
-                } else { // Cost criteria
-                    normalized[i][j] = min / matrix[i][j];
+                source.getValues(i, row);
+                for (int j = 0; j < cols; j++) {
+                    double value = valueOf(row, sourceColumns[j]);
+                    max[j] = Math.max(max[j], value);
+                    min[j] = Math.min(min[j], value);
                 }
+                reportRow(progress, i + 1);
             }
+            progress.advance(rows % PROGRESS_INTERVAL_ROWS);
         }
 
-        return normalized;
+        // Step 2: Normalize and calculate weighted sum
+        double[] scores = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            source.getValues(i, row);
+            double score = 0.0;
+            for (int j = 0; j < cols; j++) {
+                double value = valueOf(row, sourceColumns[j]);
+                double normalized = benefit[j] ? value / max[j] : min[j] / value;
+                score += normalized * weights[j];
+            }
+            scores[i] = score;
+            reportRow(progress, i + 1);
+        }
+        progress.advance(rows % PROGRESS_INTERVAL_ROWS);
+        return scores;
     }
 
-    private void calculateFinalScores(double[][] normalizedMatrix, List<Criteria> criteria, 
-                                    List<Alternative> alternatives) {
-        for (int i = 0; i < alternatives.size(); i++) {
-            double score = 0.0;
-            for (int j = 0; j < criteria.size(); j++) {
-                score += normalizedMatrix[i][j] * criteria.get(j).getWeight();
+    // Bounds from precomputed statistics; any unset value in a column counts as 0
+    private static void columnStatistics(ColumnStatistics stats, int rows, int[] sourceColumns,
+                                         double[] min, double[] max) {
+        for (int j = 0; j < sourceColumns.length; j++) {
+            int column = sourceColumns[j];
+            if (column < 0) {
+                min[j] = 0.0;
+                max[j] = 0.0;
+                continue;
             }
-            alternatives.get(i).setFinalScore(score);
+            min[j] = stats.getColumnMin(column);
+            max[j] = stats.getColumnMax(column);
+            if (stats.getValueCount(column) < rows) {
+                min[j] = Math.min(min[j], 0.0);
+                max[j] = Math.max(max[j], 0.0);
+            }
+        }
+    }
+
+    private static void reportRow(ExportProgress progress, int rowsRead) {
+        if (rowsRead % PROGRESS_INTERVAL_ROWS == 0) {
+            progress.advance(PROGRESS_INTERVAL_ROWS);
+        }
+    }
+
+    // Unset values count as 0, as in the decision matrix
+    private static double valueOf(double[] row, int sourceColumn) {
+        if (sourceColumn < 0) {
+            return 0.0;
         }
+        double value = row[sourceColumn];
+        return Double.isNaN(value) ? 0.0 : value;
     }
 }
@@ -2,6 +2,9 @@ package com.elvecha;
 
 import com.elvecha.util.*;
 import com.elvecha.model.*;
+import com.elvecha.report.*;
+import com.elvecha.storage.*;
+import com.elvecha.ui.*;
 import com.elvecha.ui.models.*;
 import com.elvecha.ui.renderers.*;
 import com.elvecha.integration.*;
@@ -54,15 +57,43 @@ import java.util.List;
     // Model Tests
     CriteriaTest.class,
     AlternativeTest.class,
+    StringTableTest.class,
+    ColumnarAlternativeStoreTest.class,
+    WorkspaceModelTest.class,
     
     // Utility Tests
     SAWCalculatorTest.class,
     DummyDataGeneratorTest.class,
     PDFExporterTest.class,
+    ParallelPDFExporterTest.class,
+    ChartServiceTest.class,
+    NameIndexTest.class,
+    LiveRankingTest.class,
+    RankSelectionTest.class,
     TestUtilsTest.class,
     
+    // Storage Tests
+    WorkspaceFileTest.class,
+    AutosaveServiceTest.class,
+    DatabaseStoreTest.class,
+    PagedAlternativeStoreTest.class,
+    
+    // Report Tests
+    ReportServiceTest.class,
+    
     // UI Model Tests
     CustomTableModelTest.class,
+    AlternativeSourceTableModelTest.class,
+    EvaluationTableModelTest.class,
+    PasteBufferTest.class,
+    PrimitiveRowSorterTest.class,
+    RankingDetailModelTest.class,
+    RankingTableModelTest.class,
+    CriteriaHeatmapScaleTest.class,
+    HeatmapMatrixTest.class,
+    IconCacheTest.class,
+    VirtualColumnPaneTest.class,
+    HeatmapViewTest.class,
     CustomTableRendererTest.class,
     
     // Test Framework Tests
@@ -156,6 +156,17 @@ public class AlternativeTest {
             preciseScore, alternative.getFinalScore(), 0.000001);
     }
 
+    @Test
+    public void testCriteriaValueById() {
+        alternative.setCriteriaValue(TEST_CRITERIA, TEST_VALUE);
+        int criteriaId = StringTable.shared().find(TEST_CRITERIA);
+
+        assertEquals("Value should be reachable by id",
+            TEST_VALUE, alternative.getCriteriaValue(criteriaId), 0.001);
+        assertTrue("Unset id should read as NaN",
+            Double.isNaN(alternative.getCriteriaValue(StringTable.shared().intern("Belum Diisi"))));
+    }
+
     @Test
     public void testCriteriaValueModification() {
         alternative.setCriteriaValue(TEST_CRITERIA, TEST_VALUE);
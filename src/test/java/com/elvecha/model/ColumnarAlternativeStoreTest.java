@@ -0,0 +1,158 @@
+package com.elvecha.model;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ColumnarAlternativeStoreTest {
+    private ColumnarAlternativeStore store;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga Paket", "Rating Pelanggan"));
+        events = new ArrayList<>();
+        store.addListener(new AlternativeStoreListener() {
+            public void rowsInserted(int firstRow, int lastRow) { events.add("insert " + firstRow); }
+            public void rowsDeleted(int firstRow, int lastRow) { events.add("delete " + firstRow); }
+            public void cellUpdated(int row, int column) { events.add("update " + row + "," + column); }
+            public void rowsUpdated(int firstRow, int lastRow) { events.add("update rows " + firstRow + "-" + lastRow); }
+            public void structureChanged() { events.add("structure"); }
+        });
+    }
+
+    @Test
+    public void testAddAndReadColumns() {
+        for (int i = 0; i < 100; i++) {
+            store.addRow("WO " + i, new double[]{1000.0 + i, Double.NaN});
+        }
+
+        assertEquals("All rows should be stored", 100, store.getAlternativeCount());
+        assertEquals("Name should come from the dictionary", "WO 57", store.getAlternativeName(57));
+        assertEquals("Value should be read from its column", 1057.0, store.getValue(57, 0), 0.0);
+        assertTrue("Unset value should read as NaN", Double.isNaN(store.getValue(57, 1)));
+        assertEquals("Each append should fire one insert", 100, events.size());
+        assertEquals("Insert should name the new row", "insert 99", events.get(99));
+    }
+
+    @Test
+    public void testRemoveShiftsRows() {
+        store.addRow("A", new double[]{1, 1});
+        store.addRow("B", new double[]{2, 2});
+        store.addRow("C", new double[]{3, 3});
+
+        store.removeRow(1);
+
+        assertEquals("Row should be removed", 2, store.getAlternativeCount());
+        assertEquals("Later rows should move up", "C", store.getAlternativeName(1));
+        assertEquals("Values should move with their row", 3.0, store.getValue(1, 0), 0.0);
+        assertEquals("Delete should name the removed row", "delete 1", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testSetValueFiresCellEvent() {
+        store.addRow("A", new double[]{1, 1});
+        events.clear();
+
+        store.setValue(0, 1, 4.5);
+        store.setValue(0, 1, 4.5);
+
+        assertEquals("Value should be updated", 4.5, store.getValue(0, 1), 0.0);
+        assertEquals("Unchanged value should not fire", Arrays.asList("update 0,1"), events);
+    }
+
+    @Test
+    public void testAddRowsFiresSingleInsert() {
+        store.addRow("A", new double[]{1, 1});
+        events.clear();
+        String[] names = new String[500];
+        double[][] values = new double[2][500];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "WO " + i;
+            values[0][i] = i;
+            values[1][i] = Double.NaN;
+        }
+
+        int first = store.addRows(names, values);
+
+        assertEquals("New rows should follow the existing one", 1, first);
+        assertEquals("All rows should be stored", 501, store.getAlternativeCount());
+        assertEquals("Value should land in its row", 499.0, store.getValue(500, 0), 0.0);
+        assertEquals("Name should land in its row", "WO 499", store.getAlternativeName(500));
+        assertEquals("Block should fire one insert", Arrays.asList("insert 1"), events);
+    }
+
+    @Test
+    public void testSetValuesFiresSingleRowsUpdate() {
+        for (int i = 0; i < 10; i++) {
+            store.addRow("WO " + i, new double[]{i, i});
+        }
+        events.clear();
+
+        int changed = store.setValues(new int[]{2, 3, 7}, new int[]{1},
+            new double[][]{{9.0, 3.0, 9.0}});
+
+        assertEquals("Unchanged cell should not count", 2, changed);
+        assertEquals("Value should be written", 9.0, store.getValue(7, 1), 0.0);
+        assertEquals("Block should fire one event spanning the changed rows",
+            Arrays.asList("update rows 2-7"), events);
+
+        events.clear();
+        store.setValues(new int[]{2}, new int[]{1}, new double[][]{{9.0}});
+        assertTrue("No change should fire nothing", events.isEmpty());
+    }
+
+    @Test
+    public void testSetCriteriaKeepsColumnsByName() {
+        Alternative alternative = new Alternative("A");
+        alternative.setCriteriaValue("Harga Paket", 5.0);
+        alternative.setCriteriaValue("Rating Pelanggan", 4.0);
+        store.addAlternative(alternative);
+
+        store.setCriteria(Arrays.asList("Rating Pelanggan", "Lokasi"));
+
+        assertEquals("Column count should follow the criteria", 2, store.getCriteriaCount());
+        assertEquals("Kept column should keep its values", 4.0, store.getValue(0, 0), 0.0);
+        assertTrue("New column should start unset", Double.isNaN(store.getValue(0, 1)));
+        assertEquals("Alternative should round-trip", 4.0,
+            store.toAlternativeList().get(0).getCriteriaValue("Rating Pelanggan"), 0.0);
+        assertEquals("Structure change should be announced", "structure", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testCopyColumnIsTrimmedAndDetached() {
+        store.addRow("A", new double[]{1, 1});
+        store.addRow("B", new double[]{2, Double.NaN});
+
+        double[] column = store.copyColumn(1);
+        column[0] = 9;
+
+        assertEquals("Copy should hold one value per row", 2, column.length);
+        assertTrue("Unset value should stay NaN", Double.isNaN(column[1]));
+        assertEquals("Copy should not write through", 1.0, store.getValue(0, 1), 0.0);
+    }
+
+    @Test
+    public void testSnapshotFollowsCriteriaAndIsDetached() {
+        store.addRow("A", new double[]{1, 10});
+        store.addRow("B", new double[]{2, Double.NaN});
+
+        WorkspaceSnapshot snapshot = WorkspaceSnapshot.of(Arrays.asList(
+            new Criteria("Rating Pelanggan", 0.5, "benefit"),
+            new Criteria("Jarak", 0.2, "cost"),
+            new Criteria("Harga Paket", 0.3, "cost")), store);
+        store.setValue(0, 0, 99);
+        store.setAlternativeName(1, "C");
+
+        assertEquals("Snapshot should have every row", 2, snapshot.getAlternativeCount());
+        assertEquals("Columns should follow the criteria order", 10.0, snapshot.getValue(0, 0), 0.0);
+        assertTrue("Unset value should stay NaN", Double.isNaN(snapshot.getValue(1, 0)));
+        assertTrue("Criterion the store lacks should be unset", Double.isNaN(snapshot.getValue(0, 1)));
+        assertEquals("Later edits should not reach the snapshot", 1.0, snapshot.getValue(0, 2), 0.0);
+        assertEquals("Names should be copied", "B", snapshot.getAlternativeName(1));
+    }
+}
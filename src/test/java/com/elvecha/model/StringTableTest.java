@@ -0,0 +1,61 @@
+package com.elvecha.model;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class StringTableTest {
+    private StringTable table;
+
+    @Before
+    public void setUp() {
+        table = new StringTable();
+    }
+
+    @Test
+    public void testInternReturnsSameId() {
+        int first = table.intern("Harga Paket");
+        int second = table.intern("Rating Pelanggan");
+
+        assertEquals("Ids should be assigned in order", 0, first);
+        assertEquals("Ids should be assigned in order", 1, second);
+        assertEquals("Known string should keep its id", first, table.intern("Harga Paket"));
+        assertEquals("Table should hold distinct strings only", 2, table.size());
+        assertEquals("Id should resolve to the string", "Rating Pelanggan", table.get(second));
+    }
+
+    @Test
+    public void testFindUnknownString() {
+        assertEquals("Unknown string should not be found", -1, table.find("Lokasi"));
+        assertEquals("Find should not add strings", 0, table.size());
+    }
+
+    @Test
+    public void testRoundTripIsFrontCoded() throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            table.intern("Wedding Organizer Jakarta Selatan " + i);
+        }
+        table.intern("Paket Pernikahan Ñusantara");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        table.writeTo(new DataOutputStream(bytes));
+        StringTable restored = StringTable.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals("All strings should be restored", 1001, restored.size());
+        assertEquals("Ids should be preserved", "Wedding Organizer Jakarta Selatan 517", restored.get(517));
+        assertEquals("Non-ASCII strings should survive", "Paket Pernikahan Ñusantara", restored.get(1000));
+        assertTrue("Shared prefixes should not be repeated", bytes.size() < 1000 * 10);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetUnknownId() {
+        table.get(0);
+    }
+}
@@ -0,0 +1,142 @@
+package com.elvecha.model;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class WorkspaceModelTest {
+    private WorkspaceModel workspace;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        workspace = new WorkspaceModel();
+        events = new ArrayList<>();
+        workspace.addListener(new WorkspaceListener() {
+            public void criteriaAdded(int index) { events.add("added " + index); }
+            public void criteriaRemoved(int index) { events.add("removed " + index); }
+            public void criteriaUpdated(int index) { events.add("updated " + index); }
+            public void workspaceReplaced() { events.add("replaced"); }
+        });
+        workspace.getAlternatives().addListener(new AlternativeStoreListener() {
+            public void rowsInserted(int firstRow, int lastRow) { events.add("insert " + firstRow); }
+            public void rowsDeleted(int firstRow, int lastRow) { events.add("delete " + firstRow); }
+            public void cellUpdated(int row, int column) { events.add("cell " + row + "," + column); }
+            public void rowsUpdated(int firstRow, int lastRow) { events.add("rows " + firstRow + "-" + lastRow); }
+            public void structureChanged() { events.add("structure"); }
+        });
+    }
+
+    @Test
+    public void testAddCriteriaAddsStoreColumn() {
+        workspace.addCriteria(new Criteria("Harga Paket", 0.6, "cost"));
+        workspace.addCriteria(new Criteria("Rating Pelanggan", 0.4, "benefit"));
+
+        ColumnarAlternativeStore store = workspace.getAlternatives();
+        assertEquals("Store should have one column per criterion", 2, store.getCriteriaCount());
+        assertEquals("Columns should follow the criteria order", "Rating Pelanggan", store.getCriteriaName(1));
+        assertEquals("Each addition should announce its index",
+            Arrays.asList("structure", "added 0", "structure", "added 1"), events);
+    }
+
+    @Test
+    public void testRemoveCriteriaKeepsOtherValues() {
+        workspace.addCriteria(new Criteria("Harga Paket", 0.6, "cost"));
+        workspace.addCriteria(new Criteria("Rating Pelanggan", 0.4, "benefit"));
+        workspace.getAlternatives().addRow("WO A", new double[]{5000.0, 4.5});
+
+        workspace.removeCriteria(0);
+
+        ColumnarAlternativeStore store = workspace.getAlternatives();
+        assertEquals("Removed criterion should drop its column", 1, store.getCriteriaCount());
+        assertEquals("Remaining value should be kept", 4.5, store.getValue(0, 0), 0.0);
+        assertEquals("Removal should be announced last", "removed 0", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testWeightUpdateDoesNotRestructureStore() {
+        workspace.addCriteria(new Criteria("Harga Paket", 0.6, "cost"));
+        workspace.getAlternatives().addRow("WO A", new double[]{5000.0});
+        events.clear();
+
+        workspace.getCriteria().get(0).setWeight(0.8);
+        workspace.updateCriteria(0);
+
+        assertEquals("Weight change should only announce the update",
+            Arrays.asList("updated 0"), events);
+        assertEquals("Value should be untouched", 5000.0, workspace.getAlternatives().getValue(0, 0), 0.0);
+    }
+
+    @Test
+    public void testLoadFiresSingleStructureChange() {
+        List<Criteria> criteria = Arrays.asList(
+            new Criteria("Harga Paket", 0.6, "cost"),
+            new Criteria("Rating Pelanggan", 0.4, "benefit"));
+        List<Alternative> alternatives = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Alternative alt = new Alternative("WO " + i);
+            alt.setCriteriaValue("Harga Paket", 1000.0 + i);
+            alt.setCriteriaValue("Rating Pelanggan", 4.0);
+            alternatives.add(alt);
+        }
+
+        workspace.load(criteria, alternatives);
+
+        assertEquals("Load should fire one store event and one replacement",
+            Arrays.asList("structure", "replaced"), events);
+        assertEquals("All alternatives should be loaded", 50, workspace.getAlternatives().getAlternativeCount());
+        assertEquals("Values should be taken by criterion name",
+            1049.0, workspace.getAlternatives().getValue(49, 0), 0.0);
+    }
+
+    @Test
+    public void testLoadSnapshotReplacesWorkspace() {
+        workspace.addCriteria(new Criteria("Lama", 1.0, "benefit"));
+        workspace.getAlternatives().addRow("WO Lama", new double[]{1.0});
+        events.clear();
+        WorkspaceSnapshot snapshot = new WorkspaceSnapshot(
+            new String[]{"Harga Paket", "Rating Pelanggan"}, new double[]{0.6, 0.4},
+            new String[]{"cost", "benefit"}, new String[]{"WO A", "WO B"},
+            new double[][]{{5000.0, 4500.0}, {4.5, Double.NaN}});
+
+        workspace.load(snapshot);
+
+        assertEquals("Load should fire one store event and one replacement",
+            Arrays.asList("structure", "replaced"), events);
+        assertEquals("Criteria should come from the snapshot", "Rating Pelanggan",
+            workspace.getCriteria().get(1).getName());
+        assertEquals("Weights should come from the snapshot", 0.6, workspace.getCriteria().get(0).getWeight(), 0.0);
+        assertEquals("Rows should come from the snapshot", 2, workspace.getAlternatives().getAlternativeCount());
+        assertEquals("Names should come from the snapshot", "WO B", workspace.getAlternatives().getAlternativeName(1));
+        assertEquals("Values should be copied", 4500.0, workspace.getAlternatives().getValue(1, 0), 0.0);
+        assertTrue("Unset values should stay unset", Double.isNaN(workspace.getAlternatives().getValue(1, 1)));
+
+        workspace.getAlternatives().addRow("WO C", new double[]{1.0, 2.0});
+        assertEquals("Snapshot should not see later edits", 2, snapshot.getAlternativeCount());
+        workspace.getAlternatives().setValue(0, 0, 1.0);
+        assertEquals("Snapshot values should not be shared", 5000.0, snapshot.getValue(0, 0), 0.0);
+    }
+
+    @Test
+    public void testVersionGrowsWithEveryChange() {
+        long start = workspace.getVersion();
+        workspace.addCriteria(new Criteria("Harga Paket", 0.6, "cost"));
+        long afterCriteria = workspace.getVersion();
+        workspace.getAlternatives().addRow("WO A", new double[]{5000.0});
+        long afterRow = workspace.getVersion();
+        workspace.getAlternatives().setValue(0, 0, 4500.0);
+
+        assertTrue("Criteria change should bump the version", afterCriteria > start);
+        assertTrue("New row should bump the version", afterRow > afterCriteria);
+        assertTrue("Value edit should bump the version", workspace.getVersion() > afterRow);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCriteriaViewIsReadOnly() {
+        workspace.getCriteria().add(new Criteria("Harga Paket", 0.6, "cost"));
+    }
+}
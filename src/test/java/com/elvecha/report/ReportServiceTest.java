@@ -0,0 +1,256 @@
+package com.elvecha.report;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.storage.PagedAlternativeStore;
+import com.elvecha.util.DummyDataGenerator;
+import com.elvecha.util.ParallelPDFExporter;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class ReportServiceTest {
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private Path tempDir;
+    private List<Criteria> criteria;
+    private WorkspaceSnapshot snapshot;
+    private ReportService service;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("report-test");
+        criteria = DummyDataGenerator.generateSampleCriteria();
+        snapshot = WorkspaceSnapshot.of(criteria, DummyDataGenerator.generateSampleAlternatives());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (service != null) {
+            service.close();
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(tempDir);
+    }
+
+    @Test
+    public void testRendersAllFormats() throws Exception {
+        service = new ReportService(2, 16);
+        ReportJob pdf = service.submit(job("laporan.pdf", ReportFormat.PDF));
+        ReportJob excel = service.submit(job("laporan.xlsx", ReportFormat.EXCEL));
+        ReportJob csv = service.submit(job("laporan.csv", ReportFormat.CSV));
+
+        for (ReportJob job : new ReportJob[]{pdf, excel, csv}) {
+            assertTrue("Job should finish", job.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals("Job should complete: " + job.getError(), ReportJob.State.COMPLETED, job.getState());
+            assertEquals("Progress should reach the total", job.getTotalRows(), job.getRowsWritten());
+        }
+
+        List<String> lines = Files.readAllLines(csv.getTarget(), StandardCharsets.UTF_8);
+        assertEquals("CSV should have a header and one line per alternative", 6, lines.size());
+        assertTrue("Best alternative should come first", lines.get(1).startsWith("1,"));
+
+        try (InputStream in = Files.newInputStream(excel.getTarget());
+             Workbook workbook = new XSSFWorkbook(in)) {
+            assertEquals("Workbook should have ranking and detail sheets", 2, workbook.getNumberOfSheets());
+            assertEquals("Ranking sheet should list every alternative", 5,
+                workbook.getSheet("Peringkat").getLastRowNum());
+        }
+    }
+
+    @Test
+    public void testHigherPriorityLeavesQueueFirst() throws Exception {
+        service = new ReportService(1, 16);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJob blocker = service.submit(blockingJob(release));
+
+        List<String> finished = Collections.synchronizedList(new ArrayList<>());
+        ReportListener recorder = new ReportListener() {
+            @Override
+            public void onFinished(ReportJob job) {
+                finished.add(job.getName());
+            }
+        };
+        ReportJob low = service.submit(job("rendah.csv", ReportFormat.CSV).setListener(recorder));
+        ReportJob high = service.submit(job("tinggi.csv", ReportFormat.CSV).setPriority(10).setListener(recorder));
+
+        release.countDown();
+        assertTrue("Jobs should finish", low.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue("Jobs should finish", high.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue("Blocker should finish", blocker.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("High priority job should run first", "tinggi.csv", finished.get(0));
+    }
+
+    @Test
+    public void testQueueIsBounded() throws Exception {
+        service = new ReportService(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJob blocker = service.submit(blockingJob(release));
+        try {
+            service.submit(job("penuh.csv", ReportFormat.CSV));
+            fail("Submitting beyond capacity should be rejected");
+        } catch (RejectedExecutionException expected) {
+            // expected
+        } finally {
+            release.countDown();
+        }
+        assertTrue("Blocker should finish", blocker.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelQueuedAndRunningJobs() throws Exception {
+        service = new ReportService(1, 16);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJob running = service.submit(blockingJob(release));
+        ReportJob queued = service.submit(job("antri.csv", ReportFormat.CSV));
+
+        queued.cancel();
+        assertEquals("Queued job should be dropped", ReportJob.State.CANCELLED, queued.getState());
+
+        running.cancel();
+        release.countDown();
+        assertTrue("Running job should stop", running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("Running job should be cancelled", ReportJob.State.CANCELLED, running.getState());
+        assertFalse("Partial output should be deleted", Files.exists(running.getTarget()));
+        assertFalse("Dropped job should write nothing", Files.exists(queued.getTarget()));
+    }
+
+    @Test
+    public void testConcurrentJobsDoNotCorruptNumbers() throws Exception {
+        service = new ReportService(4, 64);
+        List<Alternative> alternatives = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Alternative alt = new Alternative("WO " + i);
+            alt.setCriteriaValue("Harga Paket", 40000000.0 + i * 12345.678);
+            alt.setCriteriaValue("Rating Pelanggan", 3.0 + (i % 20) / 10.0);
+            alternatives.add(alt);
+        }
+        WorkspaceSnapshot large = WorkspaceSnapshot.of(criteria, alternatives);
+
+        List<ReportJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            jobs.add(service.submit(new ReportJob("klien-" + i, ReportFormat.CSV,
+                tempDir.resolve("klien-" + i + ".csv"), large, criteria)));
+        }
+        List<String> expected = null;
+        for (ReportJob job : jobs) {
+            assertTrue("Job should finish", job.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals("Job should complete", ReportJob.State.COMPLETED, job.getState());
+            List<String> lines = Files.readAllLines(job.getTarget(), StandardCharsets.UTF_8);
+            if (expected == null) {
+                expected = lines;
+            }
+            assertEquals("Every client report should be identical", expected, lines);
+        }
+    }
+
+    @Test
+    public void testLongPdfReportsAreRenderedInParallel() throws Exception {
+        // Five rows: above a threshold of four, rendered in parts of two rows
+        service = new ReportService(1, 16, new ParallelPDFExporter(2, 2), 4);
+        Set<String> parallelThreads = ConcurrentHashMap.newKeySet();
+        ReportJob parallel = service.submit(job("paralel.pdf", ReportFormat.PDF)
+            .setListener(threadRecorder(parallelThreads)));
+        assertTrue("Job should finish", parallel.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("Job should complete: " + parallel.getError(), ReportJob.State.COMPLETED, parallel.getState());
+        assertEquals("Progress from every part should reach the total",
+            parallel.getTotalRows(), parallel.getRowsWritten());
+        assertEquals("Parts should be rendered off the report worker",
+            Collections.singleton("pdf-part-renderer"), parallelThreads);
+
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(parallel.getTarget().toString()))) {
+            for (int page = 1; page <= pdf.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page)));
+            }
+        }
+        for (int i = 0; i < snapshot.getAlternativeCount(); i++) {
+            assertTrue("Merged report should list " + snapshot.getAlternativeName(i),
+                text.indexOf(snapshot.getAlternativeName(i)) >= 0);
+        }
+
+        service.close();
+        service = new ReportService(1, 16, new ParallelPDFExporter(2, 2), 5);
+        Set<String> singleThreads = ConcurrentHashMap.newKeySet();
+        ReportJob single = service.submit(job("tunggal.pdf", ReportFormat.PDF)
+            .setListener(threadRecorder(singleThreads)));
+        assertTrue("Job should finish", single.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("Job should complete: " + single.getError(), ReportJob.State.COMPLETED, single.getState());
+        assertEquals("A report at the threshold should stay on the report worker",
+            Collections.singleton("report-worker-1"), singleThreads);
+    }
+
+    @Test
+    public void testPagedStoreClosedWhileQueuedStaysOpenForTheJob() throws Exception {
+        service = new ReportService(1, 16);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJob blocker = service.submit(blockingJob(release));
+        PagedAlternativeStore paged = PagedAlternativeStore.importFrom(snapshot, tempDir.resolve("paged.evp"),
+            PagedAlternativeStore.DEFAULT_PAGE_SIZE, PagedAlternativeStore.DEFAULT_MEMORY_BUDGET);
+        ReportJob job = service.submit(new ReportJob("paged.csv", ReportFormat.CSV,
+            tempDir.resolve("paged.csv"), paged, criteria));
+
+        // The workspace is replaced while the job waits
+        paged.close();
+        release.countDown();
+
+        assertTrue("Job should finish", job.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("Job should still read the store: " + job.getError(), ReportJob.State.COMPLETED, job.getState());
+        assertEquals("Every alternative should be written", 6,
+            Files.readAllLines(job.getTarget(), StandardCharsets.UTF_8).size());
+        assertTrue("Blocker should finish", blocker.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private static ReportListener threadRecorder(Set<String> threads) {
+        return new ReportListener() {
+            @Override
+            public void onProgress(ReportJob job, int rowsWritten, int totalRows) {
+                threads.add(Thread.currentThread().getName());
+            }
+        };
+    }
+
+    private ReportJob job(String fileName, ReportFormat format) {
+        return new ReportJob(fileName, format, tempDir.resolve(fileName), snapshot, criteria);
+    }
+
+    // Holds its worker at the first progress report until released
+    private ReportJob blockingJob(CountDownLatch release) {
+        return job("blokir.csv", ReportFormat.CSV).setListener(new ReportListener() {
+            @Override
+            public void onProgress(ReportJob job, int rowsWritten, int totalRows) {
+                try {
+                    release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+}
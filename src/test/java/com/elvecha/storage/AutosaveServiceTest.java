@@ -0,0 +1,123 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.util.DummyDataGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AutosaveServiceTest {
+    private Path tempDir;
+    private Path workspacePath;
+    private AtomicInteger snapshotCount;
+    private AutosaveService service;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("autosave-test");
+        workspacePath = tempDir.resolve("workspace.evw");
+        snapshotCount = new AtomicInteger();
+        service = new AutosaveService(workspacePath, () -> {
+            snapshotCount.incrementAndGet();
+            return WorkspaceSnapshot.of(
+                DummyDataGenerator.generateSampleCriteria(),
+                DummyDataGenerator.generateSampleAlternatives());
+        }, 50);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        service.close();
+        Files.deleteIfExists(workspacePath);
+        Files.deleteIfExists(tempDir.resolve("workspace.evw.rusak"));
+        Files.deleteIfExists(tempDir);
+    }
+
+    @Test
+    public void testSaveNowWritesWorkspace() throws IOException {
+        service.saveNow();
+        service.close();
+
+        assertTrue("Workspace should be written", Files.exists(workspacePath));
+        assertEquals("Saved workspace should be readable",
+            5, WorkspaceFile.read(workspacePath).getAlternativeCount());
+        assertTrue("Save time should be recorded", service.getLastSavedAt() > 0);
+    }
+
+    @Test
+    public void testBurstOfEditsIsCoalesced() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            service.markDirty();
+        }
+        Thread.sleep(500);
+
+        assertEquals("Burst should produce a single snapshot", 1, snapshotCount.get());
+    }
+
+    @Test
+    public void testCloseFlushesPendingSave() {
+        service.markDirty();
+        service.close();
+
+        assertTrue("Pending save should be flushed on close", Files.exists(workspacePath));
+    }
+
+    @Test
+    public void testRestoreReadsPreviousSave() throws IOException {
+        assertNull("Nothing should be restored before the first save", AutosaveService.restore(workspacePath));
+        service.saveNow();
+        service.close();
+
+        WorkspaceSnapshot restored = AutosaveService.restore(workspacePath);
+
+        assertNotNull("Saved workspace should be restored", restored);
+        assertEquals("Restored workspace should have every alternative", 5, restored.getAlternativeCount());
+    }
+
+    @Test
+    public void testUnreadableSaveIsMovedAside() throws IOException {
+        Files.write(workspacePath, new byte[]{1, 2, 3});
+
+        assertNull("Unreadable save should not be restored", AutosaveService.restore(workspacePath));
+        assertFalse("Unreadable save should not be left for autosave to replace", Files.exists(workspacePath));
+        assertTrue("Unreadable save should be kept aside",
+            Files.exists(tempDir.resolve("workspace.evw.rusak")));
+    }
+
+    @Test
+    public void testDamagedCountsAreMovedAside() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(WorkspaceFile.MAGIC);
+            out.writeShort(WorkspaceFile.VERSION);
+            out.writeInt(0); // empty name table
+            out.writeInt(Integer.MAX_VALUE); // criteria count far beyond the file
+        }
+        Files.write(workspacePath, bytes.toByteArray());
+
+        assertNull("Damaged save should not be restored", AutosaveService.restore(workspacePath));
+        assertTrue("Damaged save should be kept aside",
+            Files.exists(tempDir.resolve("workspace.evw.rusak")));
+
+        bytes.reset();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(WorkspaceFile.MAGIC);
+            out.writeShort(WorkspaceFile.VERSION);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(-5); // negative row count
+        }
+        Files.write(workspacePath, bytes.toByteArray());
+
+        assertNull("Damaged save should not be restored", AutosaveService.restore(workspacePath));
+        assertFalse("Damaged save should not be left for the next launch", Files.exists(workspacePath));
+    }
+}
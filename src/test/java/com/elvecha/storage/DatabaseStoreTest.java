@@ -0,0 +1,141 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.util.DummyDataGenerator;
+import com.elvecha.util.RankingResult;
+import com.elvecha.util.SAWCalculator;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+public class DatabaseStoreTest {
+    private Path tempDir;
+    private DatabaseStore store;
+    private List<Criteria> criteria;
+    private List<Alternative> alternatives;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        tempDir = Files.createTempDirectory("database-test");
+        store = DatabaseStore.open(tempDir.resolve("workspace"));
+        criteria = DummyDataGenerator.generateSampleCriteria();
+        alternatives = DummyDataGenerator.generateSampleAlternatives();
+        store.saveWorkspace(WorkspaceSnapshot.of(criteria, alternatives));
+    }
+
+    @After
+    public void tearDown() throws IOException, SQLException {
+        store.close();
+        FileUtils.deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    public void testSaveAndLoadCriteria() throws SQLException {
+        List<Criteria> loaded = store.loadCriteria();
+        assertEquals("Criteria count should match", criteria.size(), loaded.size());
+        assertEquals("Criteria order should be kept", "Harga Paket", loaded.get(0).getName());
+        assertEquals("Weight should match", 0.35, loaded.get(0).getWeight(), 0.001);
+    }
+
+    @Test
+    public void testLoadAlternativesByPage() throws SQLException {
+        assertEquals("All alternatives should be stored", 5, store.countAlternatives());
+
+        List<Alternative> page = store.loadAlternatives(2, 2);
+        assertEquals("Page size should be respected", 2, page.size());
+        assertEquals("Page should start at offset", "Smart Wedding", page.get(0).getName());
+        assertEquals("Values should be loaded",
+            35000000.0, page.get(0).getCriteriaValue("Harga Paket"), 0.001);
+    }
+
+    @Test
+    public void testSaveReplacesPreviousWorkspace() throws SQLException {
+        store.saveWorkspace(WorkspaceSnapshot.of(criteria, alternatives.subList(0, 2)));
+        assertEquals("Old alternatives should be replaced", 2, store.countAlternatives());
+    }
+
+    @Test
+    public void testFindByNamePrefix() throws SQLException {
+        List<Alternative> found = store.findByNamePrefix("Ro", 10);
+        assertEquals("One alternative should match", 1, found.size());
+        assertEquals("Royal Wedding should match", "Royal Wedding", found.get(0).getName());
+        assertEquals("Wildcards should be escaped", 0, store.findByNamePrefix("%", 10).size());
+    }
+
+    @Test
+    public void testFindInRange() throws SQLException {
+        List<Alternative> found = store.findInRange("Harga Paket", 0, 50000000, 10);
+        assertEquals("Three alternatives fit the budget", 3, found.size());
+        assertEquals("Results should be ordered by value", "Smart Wedding", found.get(0).getName());
+        assertEquals("Results should be ordered by value", "Happy Wedding", found.get(2).getName());
+    }
+
+    @Test
+    public void testRecordAndLoadRanking() throws SQLException {
+        List<Alternative> ranked = new SAWCalculator().calculate(criteria, alternatives);
+        long runId = store.recordRanking(ranked);
+
+        List<Alternative> history = store.loadRanking(runId, 3);
+        assertEquals("Limit should be respected", 3, history.size());
+        assertEquals("Best alternative should come first",
+            ranked.get(0).getName(), history.get(0).getName());
+        assertEquals("Score should be stored",
+            ranked.get(0).getFinalScore(), history.get(0).getFinalScore(), 0.0001);
+    }
+
+    @Test
+    public void testLoadWorkspaceRestoresEveryValue() throws SQLException {
+        WorkspaceSnapshot saved = WorkspaceSnapshot.of(criteria, alternatives);
+        WorkspaceSnapshot loaded = store.loadWorkspace();
+
+        assertEquals("Criteria count should match", saved.getCriteriaCount(), loaded.getCriteriaCount());
+        assertEquals("Criterion type should match", saved.getType(0), loaded.getType(0));
+        assertEquals("Alternative count should match", saved.getAlternativeCount(), loaded.getAlternativeCount());
+        for (int i = 0; i < saved.getAlternativeCount(); i++) {
+            assertEquals("Name should match", saved.getAlternativeName(i), loaded.getAlternativeName(i));
+            for (int j = 0; j < saved.getCriteriaCount(); j++) {
+                assertEquals("Value should match", saved.getValue(i, j), loaded.getValue(i, j), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testLoadWorkspaceKeepsUnsetValues() throws SQLException {
+        store.saveWorkspace(new WorkspaceSnapshot(new String[]{"Harga Paket", "Rating"},
+            new double[]{0.5, 0.5}, new String[]{"Cost", "Benefit"}, new String[]{"A", "B"},
+            new double[][]{{Double.NaN, 2.0}, {4.0, Double.NaN}}));
+
+        WorkspaceSnapshot loaded = store.loadWorkspace();
+
+        assertTrue("Unset value should stay unset", Double.isNaN(loaded.getValue(0, 0)));
+        assertEquals("Set value should be loaded", 4.0, loaded.getValue(0, 1), 0.0);
+        assertEquals("Set value should be loaded", 2.0, loaded.getValue(1, 0), 0.0);
+        assertTrue("Unset value should stay unset", Double.isNaN(loaded.getValue(1, 1)));
+    }
+
+    @Test
+    public void testRecordRankingResult() throws SQLException {
+        assertEquals("No run should be recorded yet", -1, store.latestRunId());
+        WorkspaceSnapshot snapshot = WorkspaceSnapshot.of(criteria, alternatives);
+        RankingResult ranking = new RankingResult(new int[]{3, 0, 1, 4, 2}, new double[]{0.8, 0.7, 0.1, 0.9, 0.5});
+
+        long runId = store.recordRanking(snapshot, ranking);
+
+        assertEquals("Recorded run should be the latest", runId, store.latestRunId());
+        List<Alternative> history = store.loadRanking(runId, 10);
+        assertEquals("Every rank should be stored", 5, history.size());
+        assertEquals("Best row should come first", snapshot.getAlternativeName(3), history.get(0).getName());
+        assertEquals("Score should follow the row", 0.9, history.get(0).getFinalScore(), 0.0);
+        assertEquals("Worst row should come last", snapshot.getAlternativeName(2), history.get(4).getName());
+    }
+}
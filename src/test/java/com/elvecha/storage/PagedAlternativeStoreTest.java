@@ -0,0 +1,285 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
+import com.elvecha.util.DummyDataGenerator;
+import com.elvecha.util.RankingResult;
+import com.elvecha.util.SAWCalculator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PagedAlternativeStoreTest {
+    private static final int PAGE_SIZE = 1024;
+
+    private Path tempDir;
+    private Path storePath;
+    private PagedAlternativeStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("paged-test");
+        storePath = tempDir.resolve("workspace.evp");
+        store = PagedAlternativeStore.create(storePath, Arrays.asList("Harga", "Rating"), PAGE_SIZE, 8 * PAGE_SIZE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(storePath);
+        Files.deleteIfExists(tempDir);
+    }
+
+    @Test
+    public void testAppendAndRead() {
+        int row = store.append("WO A", new double[]{50000000.0, 4.5});
+
+        assertEquals("First row id should be 0", 0, row);
+        assertEquals("Row count should be 1", 1, store.getAlternativeCount());
+        assertEquals("Name should match", "WO A", store.getAlternativeName(0));
+        assertEquals("Value should match", 4.5, store.getValue(0, 1), 0.001);
+    }
+
+    @Test
+    public void testManyRowsStayWithinMemoryBudget() {
+        for (int i = 0; i < 5000; i++) {
+            store.append("WO " + i, new double[]{i, i * 0.5});
+        }
+
+        assertEquals("All rows should be stored", 5000, store.getAlternativeCount());
+        assertEquals("Early row should be readable", "WO 17", store.getAlternativeName(17));
+        assertEquals("Late row should be readable", 4999 * 0.5, store.getValue(4999, 1), 0.001);
+        assertTrue("Buffer pool should respect its budget",
+            store.getBufferPool().getResidentPages() <= store.getBufferPool().getCapacity());
+    }
+
+    @Test
+    public void testReopenKeepsRows() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            store.append("WO " + i, new double[]{i, Double.NaN});
+        }
+        store.close();
+
+        store = PagedAlternativeStore.open(storePath, 8 * PAGE_SIZE);
+        assertEquals("Row count should survive reopen", 500, store.getAlternativeCount());
+        assertEquals("Criteria names should survive reopen", "Rating", store.getCriteriaName(1));
+        assertEquals("Name should survive reopen", "WO 321", store.getAlternativeName(321));
+        assertTrue("Unset values should survive reopen", Double.isNaN(store.getValue(321, 1)));
+    }
+
+    @Test
+    public void testUpdateRelocatesLongerRecord() {
+        store.append("A", new double[]{1, 2});
+        store.append("B", new double[]{3, 4});
+
+        store.update(0, "Nama yang jauh lebih panjang dari sebelumnya", new double[]{5, 6});
+
+        assertEquals("Row id should be stable", "Nama yang jauh lebih panjang dari sebelumnya",
+            store.getAlternativeName(0));
+        assertEquals("Updated value should be visible", 6.0, store.getValue(0, 1), 0.001);
+        assertEquals("Other rows should be untouched", "B", store.getAlternativeName(1));
+    }
+
+    @Test
+    public void testDeleteMovesLastRow() {
+        store.append("A", new double[]{1, 1});
+        store.append("B", new double[]{2, 2});
+        store.append("C", new double[]{3, 3});
+
+        store.delete(0);
+
+        assertEquals("Row count should shrink", 2, store.getAlternativeCount());
+        assertEquals("Last row should take the deleted id", "C", store.getAlternativeName(0));
+        assertEquals("Other rows should keep their id", "B", store.getAlternativeName(1));
+    }
+
+    @Test
+    public void testSetValueInPlace() {
+        store.append("A", new double[]{1, 1});
+        store.setValue(0, 0, 42.0);
+        assertEquals("Value should be updated", 42.0, store.getValue(0, 0), 0.001);
+    }
+
+    @Test
+    public void testImportFromSource() throws IOException {
+        Path importPath = tempDir.resolve("import.evp");
+        try (PagedAlternativeStore imported = PagedAlternativeStore.importFrom(
+                new ListAlternativeSource(DummyDataGenerator.generateSampleCriteria(),
+                    DummyDataGenerator.generateSampleAlternatives()),
+                importPath, PAGE_SIZE, 8 * PAGE_SIZE)) {
+            assertEquals("All alternatives should be imported", 5, imported.getAlternativeCount());
+            assertEquals("Values should be imported", 65000000.0,
+                imported.getValue(3, imported.findCriteriaColumn("Harga Paket")), 0.001);
+        } finally {
+            Files.deleteIfExists(importPath);
+        }
+    }
+
+    @Test
+    public void testRangeScanSkipsPagesOutsideRange() {
+        for (int i = 0; i < 2000; i++) {
+            store.append("WO " + i, new double[]{i, i % 5});
+        }
+        long missesBefore = store.getBufferPool().getMisses();
+
+        int[] rows = store.findRowsInRange(0, 100, 109);
+
+        assertEquals("Ten rows should match", 10, rows.length);
+        assertEquals("Matches should be in row order", 100, rows[0]);
+        assertEquals("Matches should be in row order", 109, rows[9]);
+        assertTrue("Only the pages holding the range should be read",
+            store.getBufferPool().getMisses() - missesBefore <= 2);
+    }
+
+    @Test
+    public void testColumnStatisticsFollowMutations() {
+        store.append("A", new double[]{10, 1});
+        store.append("B", new double[]{20, Double.NaN});
+        store.append("C", new double[]{30, 3});
+
+        assertEquals("Min should come from the zone map", 10.0, store.getColumnMin(0), 0.001);
+        assertEquals("Max should come from the zone map", 30.0, store.getColumnMax(0), 0.001);
+        assertEquals("Unset values should not be counted", 2, store.getValueCount(1));
+
+        store.setValue(2, 0, 15.0);
+        assertEquals("Lowering the max should be reflected", 20.0, store.getColumnMax(0), 0.001);
+
+        store.delete(0);
+        assertEquals("Deleted rows should leave the statistics", 15.0, store.getColumnMin(0), 0.001);
+        assertArrayEquals("Moved row should be found under its new id",
+            new int[]{0}, store.findRowsInRange(0, 15, 15));
+
+        store.update(1, "B dengan nama yang jauh lebih panjang", new double[]{50, 5});
+        assertEquals("Relocated row should update the statistics", 50.0, store.getColumnMax(0), 0.001);
+        assertArrayEquals("Relocated row should be found once", new int[]{1}, store.findRowsInRange(0, 40, 60));
+    }
+
+    @Test
+    public void testZoneMapSurvivesReopen() throws IOException {
+        for (int i = 0; i < 1000; i++) {
+            store.append("WO " + i, new double[]{i, 1});
+        }
+        store.delete(999);
+        store.close();
+
+        store = PagedAlternativeStore.open(storePath, 8 * PAGE_SIZE);
+        assertEquals("Max should survive reopen", 998.0, store.getColumnMax(0), 0.001);
+        assertEquals("Count should survive reopen", 999, store.getValueCount(1));
+        assertEquals("Range scan should work after reopen", 5, store.findRowsInRange(0, 500, 504).length);
+    }
+
+    @Test
+    public void testRankingUsesZoneMapStatistics() {
+        List<Criteria> criteria = Arrays.asList(
+            new Criteria("Harga", 0.6, "Cost"),
+            new Criteria("Rating", 0.4, "Benefit"));
+        List<Alternative> alternatives = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            double[] values = {1000 + (i * 37) % 500, i % 7 == 0 ? Double.NaN : (i % 10) / 2.0};
+            store.append("WO " + i, values);
+            Alternative alt = new Alternative("WO " + i);
+            alt.setCriteriaValue("Harga", values[0]);
+            if (!Double.isNaN(values[1])) {
+                alt.setCriteriaValue("Rating", values[1]);
+            }
+            alternatives.add(alt);
+        }
+
+        SAWCalculator calculator = new SAWCalculator();
+        RankingResult fromStore = calculator.rank(criteria, store);
+        RankingResult fromList = calculator.rank(criteria,
+            new ListAlternativeSource(criteria, alternatives));
+
+        for (int i = 0; i < 300; i++) {
+            assertEquals("Scores should match a full scan", fromList.getScore(i), fromStore.getScore(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void testExportReplacesFileAtomically() throws IOException {
+        store.append("WO Lama", new double[]{1, 2});
+        store.close();
+        store = PagedAlternativeStore.openReadOnly(storePath, 8 * PAGE_SIZE);
+        List<Criteria> criteria = DummyDataGenerator.generateSampleCriteria();
+        List<Alternative> alternatives = DummyDataGenerator.generateSampleAlternatives();
+
+        PagedAlternativeStore.exportTo(new ListAlternativeSource(criteria, alternatives),
+            storePath, PAGE_SIZE, 8 * PAGE_SIZE);
+
+        assertEquals("Store open on the old file should still read it", "WO Lama", store.getAlternativeName(0));
+        assertFalse("Temporary file should be renamed away",
+            Files.exists(tempDir.resolve("workspace.evp.tmp")));
+        try (PagedAlternativeStore exported = PagedAlternativeStore.openReadOnly(storePath, 8 * PAGE_SIZE)) {
+            assertEquals("Every alternative should be exported", alternatives.size(), exported.getAlternativeCount());
+            assertEquals("Names should be exported", alternatives.get(2).getName(), exported.getAlternativeName(2));
+        }
+    }
+
+    @Test
+    public void testLeaseDefersClose() throws IOException {
+        store.append("WO Dibaca", new double[]{1, 2});
+        Runnable first = PagedAlternativeStore.lease(store);
+        Runnable second = PagedAlternativeStore.lease(store);
+
+        store.close();
+        assertTrue("Leased store should stay open", store.isOpen());
+        assertEquals("Leased store should still be readable", "WO Dibaca", store.getAlternativeName(0));
+
+        first.run();
+        first.run();
+        assertTrue("Releasing one lease twice should not release the other", store.isOpen());
+        second.run();
+        assertFalse("Last release should close the store", store.isOpen());
+    }
+
+    @Test
+    public void testCloseWithoutChangesWritesNothing() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            store.append("WO " + i, new double[]{i, i});
+        }
+        store.close();
+        byte[] written = Files.readAllBytes(storePath);
+
+        store = PagedAlternativeStore.open(storePath, 8 * PAGE_SIZE);
+        for (int i = 0; i < store.getAlternativeCount(); i++) {
+            store.getValue(i, 0);
+        }
+        store.close();
+
+        assertArrayEquals("Browsing should leave the file as it was", written, Files.readAllBytes(storePath));
+    }
+
+    @Test
+    public void testReadOnlyStoreRejectsChanges() throws IOException {
+        store.append("WO A", new double[]{1, 2});
+        store.close();
+        byte[] written = Files.readAllBytes(storePath);
+
+        store = PagedAlternativeStore.openReadOnly(storePath, 8 * PAGE_SIZE);
+        assertTrue("Store should report read-only", store.isReadOnly());
+        assertEquals("Rows should be readable", 2.0, store.getValue(0, 1), 0.0);
+        try {
+            store.setValue(0, 1, 3);
+            fail("Changing a read-only store should fail");
+        } catch (IllegalStateException expected) {
+            // The file must stay untouched
+        }
+        store.close();
+
+        assertArrayEquals("Read-only store should never write", written, Files.readAllBytes(storePath));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testReadOutOfRange() {
+        store.getAlternativeName(0);
+    }
+}
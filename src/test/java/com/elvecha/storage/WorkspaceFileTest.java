@@ -0,0 +1,108 @@
+package com.elvecha.storage;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.util.DummyDataGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class WorkspaceFileTest {
+    private Path tempDir;
+    private Path workspacePath;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("workspace-test");
+        workspacePath = tempDir.resolve("workspace.evw");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workspacePath);
+        Files.deleteIfExists(tempDir);
+    }
+
+    @Test
+    public void testWriteAndReadRoundTrip() throws IOException {
+        List<Criteria> criteria = DummyDataGenerator.generateSampleCriteria();
+        List<Alternative> alternatives = DummyDataGenerator.generateSampleAlternatives();
+
+        WorkspaceFile.write(WorkspaceSnapshot.of(criteria, alternatives), workspacePath);
+        WorkspaceSnapshot loaded = WorkspaceFile.read(workspacePath);
+
+        assertEquals("Criteria count should match", criteria.size(), loaded.getCriteriaCount());
+        assertEquals("Alternative count should match", alternatives.size(), loaded.getAlternativeCount());
+        assertEquals("Criteria type should survive", "Cost", loaded.getType(0));
+        assertEquals("Values should survive",
+            75000000.0, loaded.getValue(0, 0), 0.001);
+
+        List<Alternative> restored = loaded.toAlternativeList();
+        assertEquals("Names should survive", "Elegant Wedding", restored.get(0).getName());
+        assertEquals("Rating should survive",
+            4.8, restored.get(0).getCriteriaValue("Rating Pelanggan"), 0.001);
+    }
+
+    @Test
+    public void testUnsetValuesStayUnset() throws IOException {
+        List<Criteria> criteria = DummyDataGenerator.generateSampleCriteria();
+        List<Alternative> alternatives = DummyDataGenerator.generateSampleAlternatives();
+        alternatives.add(new Alternative("Baru"));
+
+        WorkspaceFile.write(WorkspaceSnapshot.of(criteria, alternatives), workspacePath);
+        List<Alternative> restored = WorkspaceFile.read(workspacePath).toAlternativeList();
+
+        assertNull("Unset value should remain null",
+            restored.get(restored.size() - 1).getCriteriaValue("Harga Paket"));
+    }
+
+    @Test
+    public void testNoTemporaryFileLeftBehind() throws IOException {
+        WorkspaceFile.write(WorkspaceSnapshot.of(
+            DummyDataGenerator.generateSampleCriteria(),
+            DummyDataGenerator.generateSampleAlternatives()), workspacePath);
+
+        assertTrue("Workspace file should exist", Files.exists(workspacePath));
+        assertFalse("Temporary file should be renamed away",
+            Files.exists(tempDir.resolve("workspace.evw.tmp")));
+    }
+
+    @Test
+    public void testReadsVersionWithInlineNames() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(WorkspaceFile.MAGIC);
+        out.writeShort(1);
+        out.writeInt(1);
+        out.writeUTF("Harga Paket");
+        out.writeDouble(0.5);
+        out.writeUTF("Cost");
+        out.writeInt(1);
+        out.writeUTF("Elegant Wedding");
+        out.writeDouble(75000000.0);
+
+        WorkspaceSnapshot loaded = WorkspaceFile.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals("Criteria name should be read inline", "Harga Paket", loaded.getCriteriaName(0));
+        assertEquals("Alternative name should be read inline", "Elegant Wedding", loaded.getAlternativeName(0));
+        assertEquals("Value should be read", 75000000.0, loaded.getValue(0, 0), 0.001);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadRejectsForeignFile() throws IOException {
+        Files.write(workspacePath, new byte[]{1, 2, 3, 4, 5, 6});
+        WorkspaceFile.read(workspacePath);
+    }
+}
@@ -0,0 +1,117 @@
+package com.elvecha.ui;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.model.Criteria;
+import com.elvecha.ui.models.HeatmapMatrix;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.SwingUtilities;
+import java.awt.Point;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+public class HeatmapViewTest {
+    private static final int ROWS = 100_000;
+
+    private HeatmapView view;
+
+    @Before
+    public void setUp() throws Exception {
+        ColumnarAlternativeStore store = new ColumnarAlternativeStore(Arrays.asList("Harga", "Kualitas"));
+        for (int i = 0; i < ROWS; i++) {
+            store.addRow("WO " + i, new double[]{1 + i % 10, 1 + i % 7});
+        }
+        HeatmapMatrix matrix = HeatmapMatrix.of(
+            Arrays.asList(new Criteria("Harga", 0.5, "cost"), new Criteria("Kualitas", 0.5, "benefit")),
+            store, rows -> { });
+        onEdt(() -> {
+            view = new HeatmapView();
+            view.setSize(400, 500);
+            view.setMatrix(matrix);
+        });
+    }
+
+    @Test
+    public void testFitShowsEveryRowAtACoarseLevel() throws Exception {
+        onEdt(() -> {
+            assertEquals("Whole matrix should fit the height", 500.0 / ROWS, view.getRowScale(), 1e-12);
+            assertEquals("Few criteria should stop at the widest column",
+                HeatmapView.MAX_COLUMN_SCALE, view.getColumnScale(), 1e-9);
+            assertEquals("Last pixel row should reach the last rows", ROWS - 1, view.rowAt(499), 200);
+            // 200 rows per pixel: blocks of 128 rows are the largest no taller than a pixel
+            assertEquals("Should paint 128-row blocks", 7, view.getDetailLevel());
+        });
+    }
+
+    @Test
+    public void testZoomKeepsAnchorInPlace() throws Exception {
+        onEdt(() -> {
+            Point anchor = new Point(100, 250);
+            int row = view.rowAt(anchor.y);
+            view.zoom(50, anchor);
+
+            assertEquals("Row under the pointer should stay under it", row, view.rowAt(anchor.y), 1);
+            assertEquals("Rows should be 50 times taller", 50 * 500.0 / ROWS, view.getRowScale(), 1e-12);
+            assertEquals("Criteria should not get wider than the limit",
+                HeatmapView.MAX_COLUMN_SCALE, view.getColumnScale(), 1e-9);
+        });
+    }
+
+    @Test
+    public void testZoomAndPanStayInBounds() throws Exception {
+        onEdt(() -> {
+            view.zoom(1e9, new Point(0, 0));
+            assertEquals("Zoom in should stop at the limit", HeatmapView.MAX_ROW_SCALE, view.getRowScale(), 1e-9);
+            assertEquals("Level 0 should be painted zoomed in", 0, view.getDetailLevel());
+
+            view.panBy(0, -1000);
+            assertEquals("Panning should stop at the first row", 0.0, view.getTopRow(), 1e-9);
+            view.panBy(0, Integer.MAX_VALUE);
+            assertEquals("Panning should stop at the last row", ROWS - 1, view.rowAt(499));
+
+            view.zoom(1e-9, new Point(0, 0));
+            assertEquals("Zoom out should stop once everything fits", 500.0 / ROWS, view.getRowScale(), 1e-12);
+        });
+    }
+
+    @Test
+    public void testPaintsHeatColors() throws Exception {
+        onEdt(() -> {
+            view.zoom(1e9, new Point(0, 0));
+            BufferedImage image = new BufferedImage(400, 500, BufferedImage.TYPE_INT_RGB);
+            view.paint(image.getGraphics());
+
+            // Row 0 has the cheapest price and the lowest quality
+            int cheap = image.getRGB(100, 5) & 0xFFFFFF;
+            int low = image.getRGB(180, 5) & 0xFFFFFF;
+            assertTrue("Best value should be green", (cheap >> 8 & 0xFF) > (cheap >> 16));
+            assertTrue("Worst value should be red", (low >> 16) > (low >> 8 & 0xFF));
+            assertNotNull("Cell should have a tooltip", view.getToolTipText(
+                new MouseEvent(view, 0, 0, 0, 100, 5, 0, false)));
+        });
+    }
+
+    private static void onEdt(ThrowingRunnable body) throws Exception {
+        Throwable[] failure = new Throwable[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        });
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+        if (failure[0] != null) {
+            throw new Exception(failure[0]);
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
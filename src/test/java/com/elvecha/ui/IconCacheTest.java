@@ -0,0 +1,35 @@
+package com.elvecha.ui;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.ImageIcon;
+import java.util.concurrent.TimeUnit;
+
+public class IconCacheTest {
+    private static final String[] BUNDLED = {
+        "add", "edit", "delete", "folder-open", "save",
+        "criteria", "alternative", "evaluation", "result"
+    };
+
+    @Test
+    public void testBundledIconsLoadFromClasspath() throws Exception {
+        for (String name : BUNDLED) {
+            ImageIcon icon = IconCache.shared().load(name).get(5, TimeUnit.SECONDS);
+            assertNotNull("Icon should be bundled: " + name, icon);
+            assertEquals("Icon should be 16 pixels wide: " + name, 16, icon.getIconWidth());
+        }
+    }
+
+    @Test
+    public void testIconsAreLoadedOnce() {
+        assertSame("Repeated loads should share one result",
+            IconCache.shared().load("save"), IconCache.shared().load("save"));
+    }
+
+    @Test
+    public void testMissingIconCompletesWithNull() throws Exception {
+        assertNull("Missing icon should not fail the load",
+            IconCache.shared().load("tidak-ada").get(5, TimeUnit.SECONDS));
+    }
+}
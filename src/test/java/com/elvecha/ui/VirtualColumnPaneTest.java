@@ -0,0 +1,149 @@
+package com.elvecha.ui;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.ui.models.AlternativeSourceTableModel;
+import com.elvecha.ui.models.PrimitiveRowSorter;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class VirtualColumnPaneTest {
+    private static final int CRITERIA = 500;
+
+    private ColumnarAlternativeStore store;
+    private JTable table;
+    private VirtualColumnPane pane;
+
+    @Before
+    public void setUp() throws Exception {
+        List<String> criteria = new ArrayList<>();
+        for (int j = 0; j < CRITERIA; j++) {
+            criteria.add("K" + j);
+        }
+        store = new ColumnarAlternativeStore(criteria);
+        for (int i = 0; i < 20; i++) {
+            store.addRow("WO " + i, new double[CRITERIA]);
+        }
+        onEdt(() -> {
+            table = new JTable(new AlternativeSourceTableModel(store, "Nama WO", "Aksi", "-"));
+            pane = new VirtualColumnPane(table, new int[]{50, 200}, 100);
+            pane.setSize(850, 400);
+            layOut(pane);
+        });
+        // Let the viewport's resize event lay the columns out
+        onEdt(() -> { });
+    }
+
+    @Test
+    public void testOnlyVisibleColumnsAreMaterialized() throws Exception {
+        onEdt(() -> {
+            assertTrue("Only columns in view should be in the column model",
+                table.getColumnCount() >= 3 && table.getColumnCount() <= 10);
+            assertEquals("Window should start at the first criterion",
+                "K0", table.getColumnModel().getColumn(0).getHeaderValue());
+            assertEquals("Frozen table should hold number and name", 2, pane.getFrozenTable().getColumnCount());
+            assertEquals("Name should be frozen", "Nama WO", pane.getFrozenTable().getColumnName(1));
+        });
+    }
+
+    @Test
+    public void testScrollingMovesTheWindow() throws Exception {
+        onEdt(() -> {
+            int view = pane.scrollToColumn(2 + 450);
+
+            assertTrue("Scrolled column should be in view", view >= 0);
+            assertEquals("View column should show the criterion",
+                "K450", table.getColumnModel().getColumn(view).getHeaderValue());
+            assertEquals("View cells should read the scrolled model column",
+                table.getModel().getValueAt(3, 2 + 450), table.getValueAt(3, view));
+            assertTrue("Column model should stay small", table.getColumnCount() <= 10);
+        });
+    }
+
+    @Test
+    public void testLastColumnIsReachable() throws Exception {
+        onEdt(() -> {
+            int last = table.getModel().getColumnCount() - 1;
+            int view = pane.scrollToColumn(last);
+
+            assertEquals("Action column should be reachable", "Aksi", table.getColumnName(view));
+        });
+    }
+
+    @Test
+    public void testStructureChangeRelaysColumns() throws Exception {
+        onEdt(() -> {
+            pane.scrollToColumn(2 + 450);
+            store.setCriteria(Arrays.asList("Harga Paket", "Rating Pelanggan"));
+
+            assertEquals("Few criteria should all be shown, with the action column", 3, table.getColumnCount());
+            assertEquals("Window should restart at the first criterion",
+                "Harga Paket", table.getColumnModel().getColumn(0).getHeaderValue());
+        });
+    }
+
+    @Test
+    public void testFrozenTableFollowsSharedSorter() throws Exception {
+        onEdt(() -> {
+            AlternativeSourceTableModel model = new AlternativeSourceTableModel(store, "Nama WO", "Aksi", "-");
+            JTable sorted = new JTable(model);
+            sorted.setRowSorter(new PrimitiveRowSorter<>(model));
+            VirtualColumnPane sortedPane = new VirtualColumnPane(sorted, new int[]{50, 200});
+            JTable frozen = sortedPane.getFrozenTable();
+            sorted.setRowSelectionInterval(3, 3);
+
+            // A click on the frozen name header sorts both tables
+            frozen.getRowSorter().toggleSortOrder(1);
+            frozen.getRowSorter().toggleSortOrder(1);
+
+            assertEquals("Frozen table should share the sort", "WO 9", frozen.getValueAt(0, 1));
+            assertEquals("Both tables should show the same order",
+                sorted.convertRowIndexToModel(0), frozen.convertRowIndexToModel(0));
+            assertEquals("Selection should follow its row once",
+                "WO 3", frozen.getValueAt(sorted.getSelectedRow(), 1));
+
+            store.addRow("WO 99", new double[CRITERIA]);
+            assertEquals("Frozen table should see the inserted row", 21, frozen.getRowCount());
+            assertEquals("Selection should stay on its row", "WO 3", frozen.getValueAt(sorted.getSelectedRow(), 1));
+        });
+    }
+
+    // validate() skips components that were never shown, so lay the tree out by hand
+    private static void layOut(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layOut((Container) child);
+            }
+        }
+    }
+
+    private static void onEdt(ThrowingRunnable body) throws Exception {
+        Throwable[] failure = new Throwable[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        });
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+        if (failure[0] != null) {
+            throw new Exception(failure[0]);
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,73 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AlternativeSourceTableModelTest {
+    private ColumnarAlternativeStore store;
+    private AlternativeSourceTableModel model;
+    private List<TableModelEvent> events;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga Paket"));
+        for (int i = 0; i < 10; i++) {
+            store.addRow("WO " + i, new double[]{i});
+        }
+        model = new AlternativeSourceTableModel(store, "Nama WO", "Aksi", "-");
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    @Test
+    public void testCellsAreReadFromStore() {
+        assertEquals("Row count should follow the store", 10, model.getRowCount());
+        assertEquals("Columns: No, name, criteria, action", 4, model.getColumnCount());
+        assertEquals("Name should come from the store", "WO 3", model.getValueAt(3, 1));
+        assertEquals("Value should come from the store", 3.0, model.getValueAt(3, 2));
+    }
+
+    @Test
+    public void testStoreEditsFireFineGrainedEvents() {
+        store.addRow("WO 10", new double[]{10});
+        store.setValue(4, 0, 40);
+        store.removeRow(0);
+
+        TableModelEvent insert = events.get(0);
+        assertEquals("Append should insert one row", TableModelEvent.INSERT, insert.getType());
+        assertEquals("Inserted row", 10, insert.getFirstRow());
+        assertEquals("Inserted row", 10, insert.getLastRow());
+
+        TableModelEvent update = events.get(1);
+        assertEquals("Value edit should update one cell", TableModelEvent.UPDATE, update.getType());
+        assertEquals("Updated row", 4, update.getFirstRow());
+        assertEquals("Updated column", 2, update.getColumn());
+
+        TableModelEvent delete = events.get(events.size() - 1);
+        assertEquals("Remove should delete one row", TableModelEvent.DELETE, delete.getType());
+        assertEquals("Deleted row", 0, delete.getFirstRow());
+        for (TableModelEvent event : events) {
+            assertNotEquals("No event should invalidate the whole table",
+                TableModelEvent.HEADER_ROW, event.getFirstRow());
+        }
+    }
+
+    @Test
+    public void testFilteredRowsFollowDeletes() {
+        model.setVisibleRows(new int[]{2, 5, 7});
+        events.clear();
+
+        store.removeRow(5);
+
+        assertEquals("Deleted row should leave the filter", 2, model.getRowCount());
+        assertEquals("Later rows should keep pointing at their data", "WO 7", model.getValueAt(1, 1));
+        assertEquals("Delete should be reported at the view index", 1, events.get(0).getFirstRow());
+    }
+}
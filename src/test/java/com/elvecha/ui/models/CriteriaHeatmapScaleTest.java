@@ -0,0 +1,71 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.model.Criteria;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.JTable;
+import java.util.Arrays;
+
+public class CriteriaHeatmapScaleTest {
+    private ColumnarAlternativeStore store;
+    private CriteriaHeatmapScale scale;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga", "Kualitas"));
+        store.addRow("WO A", new double[]{10, 50});
+        store.addRow("WO B", new double[]{20, 100});
+        store.addRow("WO C", new double[]{40, Double.NaN});
+        AlternativeSourceTableModel model = new AlternativeSourceTableModel(store, "Nama", "Aksi", "-");
+        scale = new CriteriaHeatmapScale(new JTable(model), model);
+        scale.setCriteria(Arrays.asList(new Criteria("Harga", 0.5, "cost"), new Criteria("Kualitas", 0.5, "benefit")));
+    }
+
+    @Test
+    public void testNormalizesLikeSaw() {
+        assertEquals("Cheapest cost value should score 1", 1.0, scale.normalized(0, 2), 1e-9);
+        assertEquals("Cost value should be min / value", 0.25, scale.normalized(2, 2), 1e-9);
+        assertEquals("Benefit value should be value / max", 0.5, scale.normalized(0, 3), 1e-9);
+        assertTrue("Unset value should have no heat", Double.isNaN(scale.normalized(2, 3)));
+        assertTrue("Name column should have no heat", Double.isNaN(scale.normalized(0, 1)));
+        assertTrue("Action column should have no heat", Double.isNaN(scale.normalized(0, 4)));
+    }
+
+    @Test
+    public void testEditsUpdateBounds() {
+        store.setValue(2, 1, 200);
+
+        assertEquals("New maximum should rescale the column", 0.25, scale.normalized(0, 3), 1e-9);
+
+        store.removeRow(0);
+        assertEquals("Removing the minimum should rescale the cost column", 0.5, scale.normalized(1, 2), 1e-9);
+    }
+
+    @Test
+    public void testEditingBoundHolderInwardRescans() {
+        store.setValue(2, 0, 15);
+        assertEquals("Lowering the maximum holder should rescale the cost column", 10.0 / 20, scale.normalized(1, 2), 1e-9);
+
+        store.setValue(0, 0, 30);
+        assertEquals("Raising the minimum holder should find the new minimum", 1.0, scale.normalized(2, 2), 1e-9);
+
+        store.setValue(1, 1, Double.NaN);
+        assertEquals("Unsetting the maximum holder should fall back to the next value", 1.0, scale.normalized(0, 3), 1e-9);
+    }
+
+    @Test
+    public void testStagedEditsKeepStoredBounds() {
+        EvaluationTableModel model = new EvaluationTableModel(store, "Nama", "Status", row -> "-");
+        CriteriaHeatmapScale staged = new CriteriaHeatmapScale(new JTable(model), model);
+        staged.setCriteria(Arrays.asList(new Criteria("Harga", 0.5, "cost"), new Criteria("Kualitas", 0.5, "benefit")));
+
+        model.setValueAt("1", 0, 2);
+        assertEquals("Staged value should not move the bounds", 1.0, staged.normalized(0, 2), 1e-9);
+
+        model.commit();
+        assertEquals("Committed minimum should rescale the column", 1.0 / 20, staged.normalized(1, 2), 1e-9);
+    }
+}
@@ -0,0 +1,154 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class EvaluationTableModelTest {
+    private ColumnarAlternativeStore store;
+    private EvaluationTableModel model;
+    private List<TableModelEvent> events;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga Paket", "Rating Pelanggan"));
+        for (int i = 0; i < 10; i++) {
+            store.addRow("WO " + i, new double[]{1000.0 + i, 4.0});
+        }
+        model = new EvaluationTableModel(store, "Wedding Organizer", "Status", row -> "-");
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    @Test
+    public void testOnlyCriterionCellsAreEditable() {
+        assertFalse("Row number should not be editable", model.isCellEditable(0, 0));
+        assertFalse("Name should not be editable", model.isCellEditable(0, 1));
+        assertTrue("Criterion should be editable", model.isCellEditable(0, 2));
+        assertTrue("Criterion should be editable", model.isCellEditable(0, 3));
+        assertFalse("Status should not be editable", model.isCellEditable(0, 4));
+    }
+
+    @Test
+    public void testEditIsStagedUntilCommit() {
+        model.setValueAt("1500", 3, 2);
+
+        assertEquals("Grid should show the staged value", 1500.0, model.getValueAt(3, 2));
+        assertEquals("Store should keep the old value", 1003.0, store.getValue(3, 0), 0.0);
+        assertTrue("Cell should be marked pending", model.isPending(3, 2));
+        assertEquals("One edit should be pending", 1, model.getPendingCount());
+    }
+
+    @Test
+    public void testCommitFiresOnlyChangedCells() {
+        model.setValueAt("1500", 3, 2);
+        model.setValueAt("4.5", 7, 3);
+        events.clear();
+
+        int written = model.commit();
+
+        assertEquals("Both edits should be written", 2, written);
+        assertEquals("Store should hold the first edit", 1500.0, store.getValue(3, 0), 0.0);
+        assertEquals("Store should hold the second edit", 4.5, store.getValue(7, 1), 0.0);
+        assertEquals("Nothing should stay pending", 0, model.getPendingCount());
+        for (TableModelEvent event : events) {
+            assertEquals("Commit should only update cells", TableModelEvent.UPDATE, event.getType());
+            assertTrue("Commit should only touch the edited rows",
+                event.getFirstRow() == 3 || event.getFirstRow() == 7);
+            assertEquals("Each event should cover one row", event.getFirstRow(), event.getLastRow());
+        }
+    }
+
+    @Test
+    public void testStoredValueClearsStagedEdit() {
+        model.setValueAt("1500", 3, 2);
+        model.setValueAt("1003", 3, 2);
+
+        assertFalse("Returning to the stored value should clear the edit", model.isPending(3, 2));
+        assertEquals("Nothing should be committed", 0, model.commit());
+    }
+
+    @Test
+    public void testDiscardRestoresStoredValues() {
+        model.setValueAt("1500", 3, 2);
+        model.discard();
+
+        assertEquals("Grid should show the stored value again", 1003.0, model.getValueAt(3, 2));
+        assertEquals("Nothing should stay pending", 0, model.getPendingCount());
+    }
+
+    @Test
+    public void testStagedEditFollowsDeletedRows() {
+        model.setValueAt("1500", 5, 2);
+        model.setValueAt("1", 1, 2);
+
+        store.removeRow(1);
+
+        assertEquals("Edit on the deleted row should be dropped", 1, model.getPendingCount());
+        assertTrue("Edit should move up with its row", model.isPending(4, 2));
+        model.commit();
+        assertEquals("Edit should reach its alternative", "WO 5", store.getAlternativeName(4));
+        assertEquals("Edit should reach its alternative", 1500.0, store.getValue(4, 0), 0.0);
+    }
+
+    @Test
+    public void testStructureChangeDropsStagedEdits() {
+        model.setValueAt("1500", 3, 2);
+        store.setCriteria(Arrays.asList("Harga Paket"));
+
+        assertEquals("Staged edits should be dropped", 0, model.getPendingCount());
+    }
+
+    @Test
+    public void testPasteWritesBlockWithOneEvent() {
+        model.setValueAt("1", 4, 2);
+        events.clear();
+
+        int changed = model.paste(new int[]{3, 4, 5}, new int[]{2, 3},
+            new double[][]{{10, 11, 12}, {1, 2, 3}});
+
+        assertEquals("Every pasted cell should change", 6, changed);
+        assertEquals("Pasted value should reach the store", 11.0, store.getValue(4, 0), 0.0);
+        assertFalse("Paste should replace the staged edit", model.isPending(4, 2));
+        assertEquals("Paste should fire a single table event", 1, events.size());
+        assertEquals("Event should span the pasted rows", 3, events.get(0).getFirstRow());
+        assertEquals("Event should span the pasted rows", 5, events.get(0).getLastRow());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPasteIntoNameColumnIsRejected() {
+        model.paste(new int[]{0}, new int[]{1}, new double[][]{{1}});
+    }
+
+    @Test
+    public void testParseValueRejectsInvalidInput() {
+        assertEquals("Comma should be read as decimal separator", 4.5, EvaluationTableModel.parseValue("4,5"), 0.0);
+        for (String invalid : new String[]{"", "  ", "abc", "-1", "NaN", "Infinity"}) {
+            try {
+                EvaluationTableModel.parseValue(invalid);
+                fail("Value should be rejected: " + invalid);
+            } catch (IllegalArgumentException e) {
+                assertNotNull("Rejection should explain why", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testNonFiniteValueIsNotCalledNegative() {
+        for (String invalid : new String[]{"NaN", "Infinity", "-Infinity"}) {
+            try {
+                EvaluationTableModel.parseValue(invalid);
+                fail("Value should be rejected: " + invalid);
+            } catch (IllegalArgumentException e) {
+                assertFalse("Non-finite value should not be reported as negative: " + invalid,
+                    e.getMessage().contains("negatif"));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.model.Criteria;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+public class HeatmapMatrixTest {
+    private ColumnarAlternativeStore store;
+    private List<Criteria> criteria;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga", "Kualitas"));
+        store.addRow("WO A", new double[]{10, 50});
+        store.addRow("WO B", new double[]{20, 100});
+        store.addRow("WO C", new double[]{40, Double.NaN});
+        criteria = Arrays.asList(new Criteria("Harga", 0.5, "cost"), new Criteria("Kualitas", 0.5, "benefit"));
+    }
+
+    @Test
+    public void testNormalizesLikeSaw() {
+        HeatmapMatrix matrix = HeatmapMatrix.of(criteria, store, rows -> { });
+
+        assertEquals("Should have a row per alternative", 3, matrix.getRowCount());
+        assertEquals("Should have a column per criterion", 2, matrix.getColumnCount());
+        assertEquals("Cheapest cost value should score 1", 1.0, matrix.getValue(0, 0, 0), 1e-6);
+        assertEquals("Cost value should be min / value", 0.25, matrix.getValue(0, 2, 0), 1e-6);
+        assertEquals("Benefit value should be value / max", 0.5, matrix.getValue(0, 0, 1), 1e-6);
+        assertTrue("Unset value should be NaN", Float.isNaN(matrix.getValue(0, 2, 1)));
+        assertEquals("Names should come from the source", "WO B", matrix.getAlternativeName(1));
+        assertEquals("Criteria names should follow the criteria", "Kualitas", matrix.getCriteriaName(1));
+    }
+
+    @Test
+    public void testLevelsAverageSetValues() {
+        HeatmapMatrix matrix = HeatmapMatrix.of(criteria, store, rows -> { });
+
+        assertEquals("Three rows should need levels of 1, 2 and 4 rows", 3, matrix.getLevelCount());
+        assertEquals("Level 1 should pair rows", 2, matrix.getBlockCount(1));
+        assertEquals("Top level should be one block", 1, matrix.getBlockCount(2));
+        assertEquals("Pair should be averaged", 0.75, matrix.getValue(1, 0, 0), 1e-6);
+        assertEquals("Odd row out should keep its value", 0.25, matrix.getValue(1, 1, 0), 1e-6);
+        assertTrue("Block of unset values should be NaN", Float.isNaN(matrix.getValue(1, 1, 1)));
+        assertEquals("Top level should average all rows, not the pair averages",
+            (1.0 + 0.5 + 0.25) / 3, matrix.getValue(2, 0, 0), 1e-6);
+        assertEquals("Unset values should be left out of averages", 0.75, matrix.getValue(2, 0, 1), 1e-6);
+    }
+
+    @Test
+    public void testMissingCriterionIsUnset() {
+        HeatmapMatrix matrix = HeatmapMatrix.of(
+            Arrays.asList(new Criteria("Jarak", 1.0, "cost")), store, rows -> { });
+
+        for (int i = 0; i < matrix.getRowCount(); i++) {
+            assertTrue("Criterion the store lacks should be unset", Float.isNaN(matrix.getValue(0, i, 0)));
+        }
+    }
+
+    @Test
+    public void testProgressCoversBothPasses() {
+        long[] read = new long[1];
+        HeatmapMatrix.of(criteria, store, rows -> read[0] += rows);
+
+        assertEquals("Progress should count every row once per pass", 6, read[0]);
+    }
+
+    @Test
+    public void testProgressIsReportedInChunksOfRows() {
+        ColumnarAlternativeStore large = new ColumnarAlternativeStore(Arrays.asList("Harga", "Kualitas"));
+        for (int i = 0; i < HeatmapMatrix.PROGRESS_INTERVAL_ROWS * 2 + 1; i++) {
+            large.addRow("WO " + i, new double[]{10 + i, 50});
+        }
+        int[] calls = new int[1];
+        try {
+            HeatmapMatrix.of(criteria, large, rows -> {
+                if (++calls[0] == 2) {
+                    throw new CancellationException();
+                }
+            });
+            fail("Cancelling from progress should stop the build");
+        } catch (CancellationException expected) {
+            assertEquals("Build should stop at the second chunk of the first pass", 2, calls[0]);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.elvecha.ui.models;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PasteBufferTest {
+    private static final List<String> CRITERIA = Arrays.asList("Harga Paket", "Rating Pelanggan");
+
+    @Test
+    public void testParseValuesBlock() {
+        PasteBuffer buffer = PasteBuffer.parseValues("1000\t4,5\r\n2000\t\r\n");
+
+        assertEquals("Trailing line break should add no row", 2, buffer.getRowCount());
+        assertEquals("Block should be two columns wide", 2, buffer.getColumnCount());
+        assertEquals("Comma decimal should be parsed", 4.5, buffer.getValue(0, 1), 0.0);
+        assertTrue("Blank cell should be unset", Double.isNaN(buffer.getValue(1, 1)));
+        assertNull("Value block should have no names", buffer.getNames());
+    }
+
+    @Test
+    public void testSingleValueIsDetected() {
+        assertTrue("One cell should be a single value", PasteBuffer.parseValues("7\n").isSingleValue());
+        assertFalse("Two cells should not", PasteBuffer.parseValues("7\t8").isSingleValue());
+    }
+
+    @Test
+    public void testLargeBlock() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            text.append(i).append('\t').append(i * 2).append('\t').append(i % 5).append('\n');
+        }
+
+        PasteBuffer buffer = PasteBuffer.parseValues(text.toString());
+
+        assertEquals("All rows should be parsed", 10000, buffer.getRowCount());
+        assertEquals("Last row should be parsed", 19998.0, buffer.getValue(9999, 1), 0.0);
+    }
+
+    @Test
+    public void testInvalidCellNamesItsPosition() {
+        try {
+            PasteBuffer.parseValues("1\t2\n3\tabc\n");
+            fail("Text cell should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should name the cell: " + e.getMessage(),
+                e.getMessage().startsWith("Baris 2, kolom 2"));
+        }
+    }
+
+    @Test
+    public void testAlternativesInCriteriaOrder() {
+        PasteBuffer buffer = PasteBuffer.parseAlternatives("WO A\t5000\t4.5\nWO B\t6000\n", CRITERIA);
+
+        assertArrayEquals("Names should come from the first column",
+            new String[]{"WO A", "WO B"}, buffer.getNames());
+        assertEquals("One column per criterion", 2, buffer.getColumnCount());
+        assertEquals("Values should follow the criteria order", 4.5, buffer.getValue(0, 1), 0.0);
+        assertTrue("Missing trailing cell should be unset", Double.isNaN(buffer.getValue(1, 1)));
+        assertEquals("Criteria should be recorded", CRITERIA, buffer.getCriteriaNames());
+    }
+
+    @Test
+    public void testAlternativesWithHeaderAreMatchedByName() {
+        PasteBuffer buffer = PasteBuffer.parseAlternatives(
+            "Nama\trating pelanggan\tHarga Paket\nWO A\t4.5\t5000\n", CRITERIA);
+
+        assertEquals("Header row should not become an alternative", 1, buffer.getRowCount());
+        assertEquals("Column should be matched by name", 5000.0, buffer.getValue(0, 0), 0.0);
+        assertEquals("Column should be matched by name", 4.5, buffer.getValue(0, 1), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownHeaderIsRejected() {
+        PasteBuffer.parseAlternatives("Nama\tLokasi\nWO A\t1\n", CRITERIA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyColumnsAreRejected() {
+        PasteBuffer.parseAlternatives("WO A\t1\t2\t3\n", CRITERIA);
+    }
+}
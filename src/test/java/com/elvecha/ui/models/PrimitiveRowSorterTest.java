@@ -0,0 +1,158 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public class PrimitiveRowSorterTest {
+    private static final String[] NAMES = {"delta", "Alpha", "charlie", "Bravo", "echo"};
+    private static final double[] PRICES = {300, 100, 300, 200, Double.NaN};
+
+    private ColumnarAlternativeStore store;
+    private CountingModel model;
+    private PrimitiveRowSorter<CountingModel> sorter;
+    private List<int[]> previousOrders;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga Paket"));
+        for (int i = 0; i < NAMES.length; i++) {
+            store.addRow(NAMES[i], new double[]{PRICES[i]});
+        }
+        model = new CountingModel(store);
+        sorter = new PrimitiveRowSorter<>(model);
+        previousOrders = new ArrayList<>();
+        sorter.addRowSorterListener(e -> {
+            if (e.getPreviousRowCount() > 0) {
+                previousOrders.add(new int[e.getPreviousRowCount()]);
+            }
+        });
+    }
+
+    @Test
+    public void testNumberColumnSortsBothWaysWithStableTies() {
+        sorter.toggleSortOrder(2);
+        assertArrayEquals("Unset sorts as 0; ties keep model order",
+            new int[]{4, 1, 3, 0, 2}, viewOrder());
+
+        sorter.toggleSortOrder(2);
+        assertEquals("Second click should sort descending",
+            SortOrder.DESCENDING, sorter.getSortKeys().get(0).getSortOrder());
+        assertArrayEquals("Descending ties keep model order",
+            new int[]{0, 2, 3, 1, 4}, viewOrder());
+    }
+
+    @Test
+    public void testTextColumnIgnoresCase() {
+        sorter.toggleSortOrder(1);
+
+        assertArrayEquals("Names should sort alphabetically",
+            new int[]{1, 3, 2, 0, 4}, viewOrder());
+        assertEquals("View index should invert the order", 0, sorter.convertRowIndexToView(1));
+        assertEquals("View index should invert the order", 3, sorter.convertRowIndexToView(0));
+    }
+
+    @Test
+    public void testActionColumnIsNotSortable() {
+        sorter.toggleSortOrder(3);
+
+        assertTrue("Action column should not sort", sorter.getSortKeys().isEmpty());
+        assertArrayEquals("Rows should stay in model order", new int[]{0, 1, 2, 3, 4}, viewOrder());
+    }
+
+    @Test
+    public void testPermutationIsCachedUntilColumnChanges() {
+        sorter.toggleSortOrder(2);
+        sorter.toggleSortOrder(1);
+        sorter.toggleSortOrder(2);
+        assertEquals("Returning to a sorted column should reuse its order", 1, model.numberReads);
+
+        store.setValue(1, 0, 400);
+        model.tableChanged(1, 2);
+        sorter.setSortKeys(null);
+        sorter.toggleSortOrder(2);
+
+        assertEquals("An edited column should be read again", 2, model.numberReads);
+        assertEquals("Edited row should move last", 1, sorter.convertRowIndexToModel(4));
+    }
+
+    @Test
+    public void testFilterKeepsSortOrder() {
+        BitSet rows = new BitSet();
+        rows.set(0);
+        rows.set(1);
+        rows.set(3);
+        sorter.setRowFilter(rows);
+        sorter.toggleSortOrder(2);
+
+        assertEquals("Only filtered rows should be shown", 3, sorter.getViewRowCount());
+        assertArrayEquals("Filtered rows should be sorted", new int[]{1, 3, 0}, viewOrder());
+        assertEquals("Filtered out row should have no view index", -1, sorter.convertRowIndexToView(2));
+    }
+
+    @Test
+    public void testInsertIsSortedOnceForSharingTables() {
+        sorter.toggleSortOrder(2);
+        int reads = model.numberReads;
+
+        store.addRow("foxtrot", new double[]{150});
+        // Every table sharing the sorter forwards the same insert
+        sorter.rowsInserted(5, 5);
+        sorter.rowsInserted(5, 5);
+
+        assertEquals("Insert should sort once", reads + 1, model.numberReads);
+        assertEquals("New row should take its sorted place", 5, sorter.convertRowIndexToModel(2));
+    }
+
+    @Test
+    public void testStructureChangeClearsSort() {
+        sorter.toggleSortOrder(2);
+        sorter.modelStructureChanged();
+
+        assertTrue("Sort keys should be cleared", sorter.getSortKeys().isEmpty());
+        assertEquals("Rows should be back in model order", 2, sorter.convertRowIndexToModel(2));
+    }
+
+    @Test
+    public void testListenersGetPreviousOrder() {
+        sorter.setSortKeys(Arrays.asList(new RowSorter.SortKey(2, SortOrder.ASCENDING)));
+
+        assertEquals("Sort should report the order it replaced", 1, previousOrders.size());
+        assertEquals("Previous order should cover every row", NAMES.length, previousOrders.get(0).length);
+    }
+
+    private int[] viewOrder() {
+        int[] order = new int[sorter.getViewRowCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = sorter.convertRowIndexToModel(i);
+        }
+        return order;
+    }
+
+    // Counts bulk key reads; forwards its own cell events to the sorter like JTable does
+    private class CountingModel extends AlternativeSourceTableModel {
+        int numberReads;
+
+        CountingModel(ColumnarAlternativeStore store) {
+            super(store, "Nama WO", "Aksi", "-");
+        }
+
+        @Override
+        public double[] getNumberKeys(int column) {
+            numberReads++;
+            return super.getNumberKeys(column);
+        }
+
+        void tableChanged(int row, int column) {
+            sorter.rowsUpdated(row, row, column);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.model.Criteria;
+import com.elvecha.util.RankingResult;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RankingDetailModelTest {
+    private ColumnarAlternativeStore store;
+    private List<Criteria> criteria;
+    private RankingDetailModel model;
+
+    @Before
+    public void setUp() {
+        store = new ColumnarAlternativeStore(Arrays.asList("Harga", "Kualitas"));
+        store.addRow("WO A", new double[]{10, 80});
+        store.addRow("WO B", new double[]{20, Double.NaN});
+        criteria = Arrays.asList(new Criteria("Harga", 0.6, "cost"), new Criteria("Kualitas", 0.4, "benefit"));
+        model = new RankingDetailModel();
+        model.setRanking(store, new RankingResult(new int[]{1, 0}, new double[]{0.5, 0.75}), criteria);
+    }
+
+    @Test
+    public void testLinesFollowRankOrder() {
+        assertEquals("Each rank should have name, criteria, score and separator lines", 10, model.getSize());
+        assertEquals("First line should be the top-ranked name", "WO B", model.getElementAt(0));
+        assertTrue("Unset value should be shown as a dash", model.getElementAt(2).startsWith("Kualitas: - "));
+        assertEquals("Score line should use the ranked score", "Nilai Akhir: 0.75", model.getElementAt(3));
+        assertEquals("Second rank should start after the separator", "WO A", model.getElementAt(5));
+        assertTrue("Criterion line should show the value", model.getElementAt(6).startsWith("Harga: 10 "));
+    }
+
+    @Test
+    public void testHeadingsAreNamesAndScores() {
+        assertTrue("Name line should be a heading", model.isHeading(5));
+        assertTrue("Score line should be a heading", model.isHeading(8));
+        assertFalse("Criterion line should not be a heading", model.isHeading(6));
+    }
+
+    @Test
+    public void testPartialUpdateFiresOnlyTouchedRanks() {
+        List<ListDataEvent> events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add(e);
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                events.add(e);
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                events.add(e);
+            }
+        });
+
+        model.updateRanking(store, new RankingResult(new int[]{1, 0}, new double[]{0.5, 0.8}), 0, 0);
+
+        assertEquals("One event should be fired", 1, events.size());
+        assertEquals("Event should start at the first rank", 0, events.get(0).getIndex0());
+        assertEquals("Event should end with the first rank's lines", 4, events.get(0).getIndex1());
+        assertEquals("New score should be read", "Nilai Akhir: 0.8", model.getElementAt(3));
+    }
+
+    @Test
+    public void testExtendAppendsNewRanksOnly() {
+        int[] order = {1, 0};
+        double[] scores = {0.5, 0.75};
+        model.setRanking(store, new RankingResult(order, 1, scores), criteria);
+        List<ListDataEvent> events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add(e);
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                events.add(e);
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                events.add(e);
+            }
+        });
+
+        model.extendRanking(new RankingResult(order, scores));
+
+        assertEquals("One event should be fired", 1, events.size());
+        assertEquals("Lines should be appended", ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        assertEquals("Appended lines should start after the first rank", 5, events.get(0).getIndex0());
+        assertEquals("Appended lines should cover the second rank", 9, events.get(0).getIndex1());
+        assertEquals("Second rank should be shown", "WO A", model.getElementAt(5));
+    }
+
+    @Test
+    public void testSizeStopsAtWholeRanksBelowIntLimit() {
+        int cols = 2000;
+        List<String> names = new ArrayList<>();
+        List<Criteria> many = new ArrayList<>();
+        for (int j = 0; j < cols; j++) {
+            names.add("K" + j);
+            many.add(new Criteria("K" + j, 1.0 / cols, "benefit"));
+        }
+        // 1.1M ranks of 2003 lines each would overflow an int
+        int ranks = 1_100_000;
+        RankingResult large = new RankingResult(new int[ranks], new double[ranks]);
+        model.setRanking(new ColumnarAlternativeStore(names), large, many);
+
+        int stride = model.linesPerRank();
+        assertTrue("Size should not overflow", model.getSize() > 0);
+        assertEquals("Size should hold whole ranks only", 0, model.getSize() % stride);
+        assertEquals("As many ranks as fit should be shown", Integer.MAX_VALUE / stride, model.getSize() / stride);
+        assertEquals("Last line should be a separator", "", model.getElementAt(model.getSize() - 1));
+    }
+}
@@ -0,0 +1,48 @@
+package com.elvecha.ui.models;
+
+import com.elvecha.model.ColumnarAlternativeStore;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import com.elvecha.util.SAWCalculator;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RankingTableModelTest {
+    private WorkspaceSnapshot snapshot;
+    private RankingTableModel model;
+
+    @Before
+    public void setUp() {
+        ColumnarAlternativeStore store = new ColumnarAlternativeStore(Arrays.asList("Rating"));
+        store.addRow("delta", new double[]{4});
+        store.addRow("Alpha", new double[]{2});
+        store.addRow("charlie", new double[]{5});
+        store.addRow("Bravo", new double[]{3});
+        List<Criteria> criteria = Arrays.asList(new Criteria("Rating", 1.0, "benefit"));
+        // Rankings are computed from snapshots, so this is what the result tab shows
+        snapshot = WorkspaceSnapshot.of(criteria, store);
+        model = new RankingTableModel();
+        model.setRanking(snapshot, new SAWCalculator().rank(criteria, snapshot));
+    }
+
+    @Test
+    public void testSnapshotNamesSort() {
+        assertEquals("Names of an in-memory ranking should be sortable",
+            ColumnKeys.KeyType.TEXT, model.getKeyType(1));
+
+        PrimitiveRowSorter<RankingTableModel> sorter = new PrimitiveRowSorter<>(model);
+        sorter.toggleSortOrder(1);
+
+        String[] sorted = new String[model.getRowCount()];
+        for (int view = 0; view < sorted.length; view++) {
+            sorted[view] = (String) model.getValueAt(sorter.convertRowIndexToModel(view), 1);
+        }
+        assertArrayEquals("Names should sort alphabetically ignoring case",
+            new String[]{"Alpha", "Bravo", "charlie", "delta"}, sorted);
+        assertEquals("Rank column should still follow the ranking", "charlie", model.getValueAt(0, 1));
+    }
+}
@@ -154,4 +154,30 @@ public class CustomTableRendererTest {
         // Should use default background for non-hovered rows
         assertNotEquals(new Color(242, 242, 242), c.getBackground());
     }
+
+    @Test
+    public void testBorderIsReusedAcrossPaints() {
+        JLabel first = (JLabel) renderer.getTableCellRendererComponent(
+            table, "Test", false, false, 0, 0);
+        javax.swing.border.Border border = first.getBorder();
+        JLabel second = (JLabel) renderer.getTableCellRendererComponent(
+            table, "Test", false, false, 1, 1);
+
+        assertSame("Padded border should be built once, not per paint", border, second.getBorder());
+    }
+
+    @Test
+    public void testHeatmapColorsScoredCells() {
+        renderer.setHeatmap((row, column) -> column == 3 ? row / 2.0 : Double.NaN);
+
+        Color low = renderer.getTableCellRendererComponent(table, 100.0, false, false, 0, 3).getBackground();
+        assertEquals("Lowest score should use the start of the ramp", CustomTableRenderer.heatColor(0.0), low);
+        Color high = renderer.getTableCellRendererComponent(table, 300.0, false, false, 2, 3).getBackground();
+        assertEquals("Highest score should use the end of the ramp", CustomTableRenderer.heatColor(1.0), high);
+        assertNotEquals("Ramp ends should differ", low, high);
+
+        Component plain = renderer.getTableCellRendererComponent(table, "Test 2", false, false, 1, 1);
+        assertEquals("Cells without a score should keep the row color",
+            new Color(250, 250, 250), plain.getBackground());
+    }
 }
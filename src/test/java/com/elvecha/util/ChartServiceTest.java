@@ -0,0 +1,67 @@
+package com.elvecha.util;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class ChartServiceTest {
+    private List<Alternative> alternatives;
+    private List<Criteria> criteria;
+    private ChartService chartService;
+
+    @Before
+    public void setUp() {
+        alternatives = DummyDataGenerator.generateSampleAlternatives();
+        criteria = DummyDataGenerator.generateSampleCriteria();
+        chartService = new ChartService();
+    }
+
+    @Test
+    public void testUnchangedRankingIsNotRenderedAgain() throws Exception {
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        CompletableFuture<ChartService.RankingChart> first =
+            chartService.render(source, new SAWCalculator().rank(criteria, source));
+        // Recomputing produces a new RankingResult with the same content
+        CompletableFuture<ChartService.RankingChart> second =
+            chartService.render(source, new SAWCalculator().rank(criteria, source));
+
+        assertSame("Same ranking content should share the cached chart", first.get(), second.get());
+        assertEquals("Chart should be rendered once", 1, chartService.getRenderCount());
+    }
+
+    @Test
+    public void testChangedScoresRenderNewChart() throws Exception {
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        ChartService.RankingChart before =
+            chartService.render(source, new SAWCalculator().rank(criteria, source)).get();
+
+        alternatives.get(0).setCriteriaValue("Harga Paket", 1.0);
+        source = new ListAlternativeSource(criteria, alternatives);
+        ChartService.RankingChart after =
+            chartService.render(source, new SAWCalculator().rank(criteria, source)).get();
+
+        assertNotSame("Changed scores should produce a new chart", before, after);
+        assertEquals("Both rankings should be rendered", 2, chartService.getRenderCount());
+    }
+
+    @Test
+    public void testRenderedArtifact() throws Exception {
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        ChartService.RankingChart chart =
+            chartService.render(source, new SAWCalculator().rank(criteria, source)).get();
+
+        BufferedImage image = chart.getImage();
+        assertEquals("Chart width", ChartService.WIDTH, image.getWidth());
+        assertEquals("Chart height", ChartService.HEIGHT, image.getHeight());
+        byte[] png = chart.getPng();
+        assertTrue("PNG should not be empty", png.length > 0);
+        assertSame("PNG should be encoded once", png, chart.getPng());
+    }
+}
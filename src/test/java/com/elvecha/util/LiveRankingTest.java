@@ -0,0 +1,141 @@
+package com.elvecha.util;
+
+import com.elvecha.model.Criteria;
+import com.elvecha.model.WorkspaceSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LiveRankingTest {
+    private static final int ROWS = 200;
+
+    private List<Criteria> criteria;
+    private SAWCalculator calculator;
+    private LiveRanking live;
+
+    @Before
+    public void setUp() {
+        criteria = Arrays.asList(
+            new Criteria("Harga", 0.4, "cost"),
+            new Criteria("Kualitas", 0.35, "benefit"),
+            new Criteria("Layanan", 0.25, "benefit"));
+        calculator = new SAWCalculator();
+
+        Random random = new Random(7);
+        String[] names = new String[ROWS];
+        double[][] values = new double[criteria.size()][ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            names[i] = "WO " + i;
+            for (int j = 0; j < criteria.size(); j++) {
+                values[j][i] = 10 + random.nextInt(80);
+            }
+        }
+        WorkspaceSnapshot snapshot = new WorkspaceSnapshot(
+            new String[]{"Harga", "Kualitas", "Layanan"}, new double[]{0.4, 0.35, 0.25},
+            new String[]{"cost", "benefit", "benefit"}, names, values);
+        live = new LiveRanking(criteria, snapshot, calculator.rank(criteria, snapshot));
+    }
+
+    @Test
+    public void testEditInsideBoundsMovesOnlyTouchedRanks() {
+        int row = live.getRanking().getRowAt(ROWS - 1);
+        live.setValue(row, 1, 50);
+
+        LiveRanking.RankRange changed = live.commit();
+
+        assertNotNull("Changed value should produce a range", changed);
+        assertTrue("Range should be narrower than the whole ranking",
+            changed.getFirst() > 0 || changed.getLast() < ROWS - 1);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    public void testNewMaximumRescoresEveryRow() {
+        live.setValue(3, 1, 500);
+
+        LiveRanking.RankRange changed = live.commit();
+
+        assertEquals("New maximum should touch the first rank", 0, changed.getFirst());
+        assertEquals("New maximum should touch the last rank", ROWS - 1, changed.getLast());
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    public void testRemovingOnlyMinimumRescansColumn() {
+        live.setValue(5, 0, 1);
+        live.commit();
+        live.setValue(5, 0, 60);
+        live.commit();
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    public void testRandomEditsMatchFullRanking() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            int edits = 1 + random.nextInt(4);
+            for (int k = 0; k < edits; k++) {
+                double value = random.nextInt(10) == 0 ? Double.NaN : 5 + random.nextInt(100);
+                live.setValue(random.nextInt(ROWS), random.nextInt(criteria.size()), value);
+            }
+            live.commit();
+            assertMatchesFullRanking();
+        }
+    }
+
+    @Test
+    public void testUnchangedValueCommitsNothing() {
+        WorkspaceSnapshot before = live.getSnapshot();
+        live.setValue(0, 0, before.getValue(0, 0));
+
+        assertNull("Same value should not change the ranking", live.commit());
+        assertSame("Snapshot should not be republished", before, live.getSnapshot());
+    }
+
+    @Test
+    public void testPublishedSnapshotIsNotModified() {
+        WorkspaceSnapshot before = live.getSnapshot();
+        double original = before.getValue(2, 2);
+        live.setValue(2, 2, original + 1);
+        live.commit();
+
+        assertEquals("Earlier snapshot should keep its value", original, before.getValue(2, 2), 0.0);
+        assertEquals("New snapshot should hold the edit", original + 1, live.getSnapshot().getValue(2, 2), 0.0);
+    }
+
+    @Test
+    public void testRenameRepublishesOnlyThatRank() {
+        WorkspaceSnapshot before = live.getSnapshot();
+        RankingResult ranking = live.getRanking();
+        int row = ranking.getRowAt(5);
+        live.setName(row, "WO Baru");
+
+        LiveRanking.RankRange changed = live.commit();
+
+        assertNotNull("Rename should produce a range", changed);
+        assertEquals("Range should cover only the renamed rank", 5, changed.getFirst());
+        assertEquals("Range should cover only the renamed rank", 5, changed.getLast());
+        assertEquals("New snapshot should hold the name", "WO Baru", live.getSnapshot().getAlternativeName(row));
+        assertEquals("Earlier snapshot should keep its name", "WO " + row, before.getAlternativeName(row));
+        assertEquals("Rename should not move the row", row, live.getRanking().getRowAt(5));
+
+        live.setName(row, "WO Baru");
+        assertNull("Same name should not change the ranking", live.commit());
+    }
+
+    private void assertMatchesFullRanking() {
+        RankingResult expected = calculator.rank(criteria, live.getSnapshot());
+        RankingResult actual = live.getRanking();
+        for (int rank = 0; rank < ROWS; rank++) {
+            assertEquals("Row at rank " + rank + " should match a full ranking",
+                expected.getRowAt(rank), actual.getRowAt(rank));
+            assertEquals("Score at rank " + rank + " should match a full ranking",
+                expected.getScoreAt(rank), actual.getScoreAt(rank), 0.0);
+        }
+    }
+}
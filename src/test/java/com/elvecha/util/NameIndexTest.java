@@ -0,0 +1,66 @@
+package com.elvecha.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NameIndexTest {
+    private NameIndex index;
+
+    @Before
+    public void setUp() {
+        index = new NameIndex();
+        index.add("Elegant Wedding");
+        index.add("Royal Wedding Organizer");
+        index.add("Simple Decor");
+        index.add("Wedding Dream");
+    }
+
+    @Test
+    public void testSubstringSearchIgnoresCase() {
+        assertArrayEquals("All rows containing the query should match",
+            new int[]{0, 1, 3}, index.search("WEDDING"));
+        assertArrayEquals("Match inside a word should be found",
+            new int[]{2}, index.search("ecor"));
+        assertArrayEquals("Unknown text should match nothing", new int[0], index.search("catering"));
+    }
+
+    @Test
+    public void testTrigramsAloneAreNotAMatch() {
+        index.add("abcxbcd");
+        assertArrayEquals("Rows having every trigram but not the whole query should be dropped",
+            new int[0], index.search("abcd"));
+    }
+
+    @Test
+    public void testShortQueriesScan() {
+        assertArrayEquals("Empty query should match every row",
+            new int[]{0, 1, 2, 3}, index.search(""));
+        assertArrayEquals("Two-character query should still match",
+            new int[]{1}, index.search("oy"));
+    }
+
+    @Test
+    public void testRemoveMovesLaterRowsUp() {
+        index.remove(1);
+
+        assertEquals("Row should be removed", 3, index.size());
+        assertArrayEquals("Later rows should move up by one", new int[]{0, 2}, index.search("wedding"));
+        assertArrayEquals("Removed name should no longer match", new int[0], index.search("royal"));
+
+        int row = index.add("Royal Garden");
+        assertEquals("New rows should be appended", 3, row);
+        assertArrayEquals("Appended name should be searchable", new int[]{3}, index.search("royal"));
+    }
+
+    @Test
+    public void testLargeIndex() {
+        index.clear();
+        for (int i = 0; i < 100000; i++) {
+            index.add("Vendor " + i);
+        }
+        assertArrayEquals("Exact number should narrow to its rows",
+            new int[]{12345}, index.search("vendor 12345"));
+        assertEquals("Prefix should match all its extensions", 11, index.search("dor 9999").length);
+    }
+}
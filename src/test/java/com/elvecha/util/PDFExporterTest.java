@@ -2,11 +2,19 @@ package com.elvecha.util;
 
 import com.elvecha.model.Alternative;
 import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Document;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.After;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.util.List;
 
@@ -160,4 +168,99 @@ public class PDFExporterTest {
             fail("Should handle zero values: " + e.getMessage());
         }
     }
+
+    @Test
+    public void testStreamingExportMatchesRowCount() throws Exception {
+        for (int i = 0; i < 1500; i++) {
+            Alternative alt = new Alternative("Streaming WO " + i);
+            alt.setCriteriaValue("Harga Paket", 50000000.0 + i);
+            alternatives.add(alt);
+        }
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+
+        PDFExporter.exportResults(testFilePath, source,
+            new SAWCalculator().rank(criteria, source), criteria, true);
+
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(testFilePath))) {
+            assertTrue("Streaming export should span many pages", pdf.getNumberOfPages() > 10);
+            String lastPage = PdfTextExtractor.getTextFromPage(pdf.getPage(pdf.getNumberOfPages()));
+            assertTrue("Footer should follow the completed tables",
+                lastPage.contains("digenerate secara otomatis"));
+        }
+    }
+
+    @Test
+    public void testCompactExportIsSmallerAndKeepsText() throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            Alternative alt = new Alternative("Compact WO " + i);
+            alt.setCriteriaValue("Harga Paket", 50000000.0 + i);
+            alternatives.add(alt);
+        }
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        RankingResult ranking = new SAWCalculator().rank(criteria, source);
+        String compactPath = "test_export_compact.pdf";
+
+        try {
+            PDFExporter.exportResults(testFilePath, source, ranking, criteria,
+                new PDFExportOptions().setStreaming(true));
+            PDFExporter.exportResults(compactPath, source, ranking, criteria,
+                new PDFExportOptions().setStreaming(true).setCompact(true));
+
+            assertTrue("Compact export should be smaller",
+                new File(compactPath).length() < new File(testFilePath).length());
+            try (PdfDocument pdf = new PdfDocument(new PdfReader(compactPath))) {
+                String page = PdfTextExtractor.getTextFromPage(pdf.getPage(2));
+                assertTrue("Running header should come from the page template",
+                    page.contains("Hasil Perhitungan SAW"));
+                assertTrue("Table header should come from the header template",
+                    page.contains("Nilai Akhir") || page.contains("Wedding Organizer"));
+                assertTrue("Page number should be written per page", page.contains("Halaman 2"));
+            }
+        } finally {
+            new File(compactPath).delete();
+        }
+    }
+
+    @Test
+    public void testHeaderTemplateGrowsWithWrappedTitles() throws Exception {
+        try (Document document = new Document(new PdfDocument(new PdfWriter(new ByteArrayOutputStream())))) {
+            PDFExporter.setCompactFont(document);
+
+            PdfFormXObject shortHeader = PDFExporter.createHeaderTemplate(document,
+                new String[]{"Peringkat", "Wedding Organizer", "Nilai Akhir", "Status"});
+            assertEquals("Short titles should fit one row", PDFExporter.HEADER_ROW_HEIGHT,
+                shortHeader.getBBox().toRectangle().getHeight(), 0.01);
+
+            String[] longTitles = new String[8];
+            longTitles[0] = "Wedding Organizer";
+            for (int j = 1; j < longTitles.length; j++) {
+                longTitles[j] = "Kualitas Dekorasi dan Tata Cahaya Ruangan " + j;
+            }
+            PdfFormXObject longHeader = PDFExporter.createHeaderTemplate(document, longTitles);
+            float height = longHeader.getBBox().toRectangle().getHeight();
+            assertTrue("Wrapped titles should make the row taller", height > PDFExporter.HEADER_ROW_HEIGHT);
+            assertTrue("Row should stay within the limit", height <= PDFExporter.MAX_HEADER_TEMPLATE_HEIGHT);
+
+            String[] crowded = new String[60];
+            java.util.Arrays.fill(crowded, "Kriteria Penilaian Tambahan");
+            assertNull("Titles that cannot fit should fall back to header cells",
+                PDFExporter.createHeaderTemplate(document, crowded));
+        }
+    }
+
+    @Test
+    public void testCompactExportKeepsLongCriteriaNames() throws Exception {
+        criteria.add(new Criteria("Kelengkapan Dokumentasi Foto dan Video Pernikahan", 0.05, "benefit"));
+        for (int i = 0; i < 60; i++) {
+            criteria.add(new Criteria("Kriteria Penilaian Tambahan " + i, 0.0, "benefit"));
+        }
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        RankingResult ranking = new SAWCalculator().rank(criteria, source);
+
+        // Sixty-odd columns fall back to ordinary header cells instead of failing
+        PDFExporter.exportResults(testFilePath, source, ranking, criteria,
+            new PDFExportOptions().setStreaming(true).setCompact(true));
+
+        assertTrue("PDF file should be created", new File(testFilePath).length() > 0);
+    }
 }
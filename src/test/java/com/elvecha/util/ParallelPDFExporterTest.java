@@ -0,0 +1,118 @@
+package com.elvecha.util;
+
+import com.elvecha.model.Alternative;
+import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ParallelPDFExporterTest {
+    private List<Alternative> alternatives;
+    private List<Criteria> criteria;
+    private String testFilePath;
+
+    @Before
+    public void setUp() {
+        alternatives = DummyDataGenerator.generateSampleAlternatives();
+        criteria = DummyDataGenerator.generateSampleCriteria();
+        testFilePath = "test_parallel_export.pdf";
+    }
+
+    @After
+    public void tearDown() {
+        File testFile = new File(testFilePath);
+        if (testFile.exists()) {
+            testFile.delete();
+        }
+    }
+
+    @Test
+    public void testPartsAreMergedInOrder() throws Exception {
+        for (int i = 0; i < 600; i++) {
+            Alternative alt = new Alternative("Paralel WO " + i);
+            alt.setCriteriaValue("Harga Paket", 50000000.0 + i * 1000);
+            alt.setCriteriaValue("Rating Pelanggan", 4.0);
+            alternatives.add(alt);
+        }
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        RankingResult ranking = new SAWCalculator().rank(criteria, source);
+
+        new ParallelPDFExporter(4, 100).exportResults(testFilePath, source, ranking, criteria);
+
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(testFilePath))) {
+            int pages = pdf.getNumberOfPages();
+            String firstPage = PdfTextExtractor.getTextFromPage(pdf.getPage(1));
+            String lastPage = PdfTextExtractor.getTextFromPage(pdf.getPage(pages));
+
+            assertTrue("Introduction should open the report", firstPage.contains("Kriteria yang Digunakan"));
+            assertTrue("Pages should be renumbered across parts", firstPage.contains("Halaman 1 dari " + pages));
+            assertTrue("Last page should carry the final number",
+                lastPage.contains("Halaman " + pages + " dari " + pages));
+            assertTrue("Closing note should end the report", lastPage.contains("digenerate secara otomatis"));
+        }
+    }
+
+    @Test
+    public void testCancelStopsPartsWithoutInterrupting() throws Exception {
+        for (int i = 0; i < 600; i++) {
+            Alternative alt = new Alternative("Batal WO " + i);
+            alt.setCriteriaValue("Harga Paket", 50000000.0 + i * 1000);
+            alternatives.add(alt);
+        }
+        AtomicBoolean interruptedRead = new AtomicBoolean();
+        // A paged source would lose its file channel if a reading thread were interrupted
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives) {
+            @Override
+            public String getAlternativeName(int row) {
+                if (Thread.currentThread().isInterrupted()) {
+                    interruptedRead.set(true);
+                }
+                return super.getAlternativeName(row);
+            }
+        };
+        RankingResult ranking = new SAWCalculator().rank(criteria, source);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ExportProgress progress = rows -> {
+            if (cancelled.getAndSet(true)) {
+                throw new CancellationException();
+            }
+        };
+
+        try {
+            new ParallelPDFExporter(4, 100).exportResults(testFilePath, source, ranking, criteria, progress);
+            fail("Cancelling a part should cancel the export");
+        } catch (CancellationException expected) {
+            // expected
+        }
+
+        assertFalse("Parts should not be interrupted", interruptedRead.get());
+        assertFalse("No report should be merged", new File(testFilePath).exists());
+    }
+
+    @Test
+    public void testSmallRankingProducesSingleReport() throws Exception {
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        RankingResult ranking = new SAWCalculator().rank(criteria, source);
+
+        new ParallelPDFExporter().exportResults(testFilePath, source, ranking, criteria);
+
+        File exportedFile = new File(testFilePath);
+        assertTrue("PDF file should be created", exportedFile.exists());
+        assertTrue("PDF file should not be empty", exportedFile.length() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsInvalidPartSize() {
+        new ParallelPDFExporter(2, 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.elvecha.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class RankSelectionTest {
+
+    @Test
+    public void testTopRanksComeFirst() {
+        double[] scores = {0.2, 0.9, 0.5, 0.7, 0.1};
+        RankSelection selection = new RankSelection(scores);
+
+        assertEquals("Two ranks should be ordered", 2, selection.next(2));
+        RankingResult top = selection.getResult();
+
+        assertFalse("Top ranks alone should be partial", top.isComplete());
+        assertEquals("Partial result should expose only ordered ranks", 2, top.size());
+        assertEquals("Best row should come first", 1, top.getRowAt(0));
+        assertEquals("Second best row should follow", 3, top.getRowAt(1));
+        assertEquals("Every row should already have its score", 0.1, top.getScore(4), 0.0);
+    }
+
+    @Test
+    public void testEarlierResultIsNotChangedByLaterRanks() {
+        RankSelection selection = new RankSelection(new double[]{0.2, 0.9, 0.5});
+        selection.next(1);
+        RankingResult top = selection.getResult();
+
+        assertEquals("Remaining ranks should be ordered", 3, selection.next(Integer.MAX_VALUE));
+
+        assertEquals("Earlier result should keep its size", 1, top.size());
+        assertTrue("Selection should be complete", selection.isComplete());
+        assertTrue("Final result should be complete", selection.getResult().isComplete());
+    }
+
+    @Test
+    public void testOrderMatchesStableSortWithTies() {
+        Random random = new Random(5);
+        double[] scores = new double[5000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(40) / 40.0;
+        }
+        RankSelection selection = new RankSelection(scores);
+        while (!selection.isComplete()) {
+            selection.next(333);
+        }
+
+        int[] expected = IndexSort.descending(scores);
+        RankingResult ranking = selection.getResult();
+        for (int rank = 0; rank < expected.length; rank++) {
+            assertEquals("Rank " + rank + " should match the stable sort", expected[rank], ranking.getRowAt(rank));
+        }
+    }
+
+    @Test
+    public void testEmptyScores() {
+        RankSelection selection = new RankSelection(new double[0]);
+
+        assertTrue("No rows should be complete at once", selection.isComplete());
+        assertEquals("Nothing should be ranked", 0, selection.next(10));
+    }
+}
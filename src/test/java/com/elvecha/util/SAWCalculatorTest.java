@@ -2,12 +2,14 @@ package com.elvecha.util;
 
 import com.elvecha.model.Alternative;
 import com.elvecha.model.Criteria;
+import com.elvecha.model.ListAlternativeSource;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 public class SAWCalculatorTest {
     private SAWCalculator calculator;
@@ -130,4 +132,77 @@ public class SAWCalculatorTest {
             bestPrice.getFinalScore() > 0.0
         );
     }
+
+    @Test
+    public void testRankMatchesCalculate() {
+        RankingResult ranking = calculator.rank(criteria, new ListAlternativeSource(criteria, alternatives));
+        List<Alternative> results = calculator.calculate(criteria, new ArrayList<>(alternatives));
+
+        assertEquals("Ranking should contain all alternatives", results.size(), ranking.size());
+        for (int rank = 0; rank < ranking.size(); rank++) {
+            assertEquals("Rank order should match calculate()",
+                results.get(rank).getName(), alternatives.get(ranking.getRowAt(rank)).getName());
+            assertEquals("Scores should match calculate()",
+                results.get(rank).getFinalScore(), ranking.getScoreAt(rank), 0.0001);
+        }
+    }
+
+    @Test
+    public void testRankKeepsSourceOrderForTies() {
+        List<Alternative> twins = new ArrayList<>();
+        for (String name : new String[]{"WO X", "WO Y"}) {
+            Alternative alt = new Alternative(name);
+            alt.setCriteriaValue("Harga", 1.0);
+            alt.setCriteriaValue("Vendor", 1.0);
+            alt.setCriteriaValue("Rating", 1.0);
+            twins.add(alt);
+        }
+
+        RankingResult ranking = calculator.rank(criteria, new ListAlternativeSource(criteria, twins));
+        assertEquals("Ties should keep source order", 0, ranking.getRowAt(0));
+        assertEquals("Ties should keep source order", 1, ranking.getRowAt(1));
+    }
+
+    @Test
+    public void testRankReportsProgressForBothPasses() {
+        List<Alternative> many = largeList(2500);
+        long[] reported = new long[1];
+
+        calculator.rank(criteria, new ListAlternativeSource(criteria, many), rows -> reported[0] += rows);
+
+        assertEquals("Both passes should be reported in full", 5000, reported[0]);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testRankCanBeCancelledFromProgress() {
+        List<Alternative> many = largeList(5000);
+        calculator.rank(criteria, new ListAlternativeSource(criteria, many), rows -> {
+            throw new CancellationException();
+        });
+    }
+
+    private List<Alternative> largeList(int count) {
+        List<Alternative> many = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Alternative alt = new Alternative("WO " + i);
+            alt.setCriteriaValue("Harga", 1.0 + i);
+            alt.setCriteriaValue("Vendor", 2.0);
+            alt.setCriteriaValue("Rating", 3.0);
+            many.add(alt);
+        }
+        return many;
+    }
+
+    @Test
+    public void testScoreMatchesRank() {
+        ListAlternativeSource source = new ListAlternativeSource(criteria, alternatives);
+        RankingResult ranking = calculator.rank(criteria, source);
+
+        double[] scores = calculator.score(criteria, source, ExportProgress.NONE);
+
+        assertEquals("One score per row", alternatives.size(), scores.length);
+        for (int row = 0; row < scores.length; row++) {
+            assertEquals("Score should match the ranking", ranking.getScore(row), scores[row], 0.0);
+        }
+    }
 }